@@ -0,0 +1,218 @@
+package com.github.thomasfox.sailplotter.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.analyze.DeviceOrientationAnalyzer;
+import com.github.thomasfox.sailplotter.analyze.LocationInterpolator;
+import com.github.thomasfox.sailplotter.analyze.TackAnalysis;
+import com.github.thomasfox.sailplotter.analyze.TackListByCorrelationAnalyzer;
+import com.github.thomasfox.sailplotter.analyze.TackSeriesAnalyzer;
+import com.github.thomasfox.sailplotter.analyze.UseGpsTimeDataCorrector;
+import com.github.thomasfox.sailplotter.analyze.VelocityBearingAnalyzer;
+import com.github.thomasfox.sailplotter.analyze.WindDirectionAnalyzer;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.TackList;
+import com.github.thomasfox.sailplotter.model.TackSeries;
+
+/**
+ * Measures each analysis stage and the complete analysis on a generated track.
+ * Each stage gets a fresh copy of the data as it is after the preceding stages of the complete analysis,
+ * so it sees the same input as within the complete analysis in every invocation,
+ * and neither its own output nor caches filled by earlier invocations are measured again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzerBenchmark
+{
+  private static final LoadProgress LOAD_PROGRESS = new LoadProgress(null);
+
+  /**
+   * The generated track as it is before and after the stages of the analysis.
+   * Must not be changed by the benchmarks, which work on copies.
+   */
+  @State(Scope.Benchmark)
+  public static class Track
+  {
+    @Param({"3600"})
+    public int durationSeconds;
+
+    Data generated;
+
+    Data timeCorrected;
+
+    Data interpolated;
+
+    Data analyzed;
+
+    @Setup(Level.Trial)
+    public void generateData()
+    {
+      generated = new SyntheticTrackGenerator().durationSeconds(durationSeconds).generate();
+      timeCorrected = copy(generated);
+      new UseGpsTimeDataCorrector().correct(timeCorrected);
+      interpolated = copy(timeCorrected);
+      new LocationInterpolator().interpolateLocation(interpolated);
+      analyzed = copy(generated);
+      Analyzer.analyze(analyzed, LOAD_PROGRESS);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class GeneratedInput
+  {
+    Data data;
+
+    @Setup(Level.Invocation)
+    public void copyData(Track track)
+    {
+      data = copy(track.generated);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class TimeCorrectedInput
+  {
+    Data data;
+
+    @Setup(Level.Invocation)
+    public void copyData(Track track)
+    {
+      data = copy(track.timeCorrected);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class InterpolatedInput
+  {
+    Data data;
+
+    @Setup(Level.Invocation)
+    public void copyData(Track track)
+    {
+      data = copy(track.interpolated);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class AnalyzedInput
+  {
+    Data data;
+
+    TackList tackList;
+
+    @Setup(Level.Invocation)
+    public void copyData(Track track)
+    {
+      data = copy(track.analyzed);
+      // new tacks, so the main sections determined by an earlier invocation are not reused
+      tackList = new TackListByCorrelationAnalyzer().analyze(data);
+      // as shown by the GUI before the wind direction is changed
+      data.getColumns().getLocation();
+    }
+  }
+
+  @Benchmark
+  public Data correctTimeUsingGpsTime(GeneratedInput input)
+  {
+    new UseGpsTimeDataCorrector().correct(input.data);
+    return input.data;
+  }
+
+  @Benchmark
+  public Data interpolateLocation(TimeCorrectedInput input)
+  {
+    new LocationInterpolator().interpolateLocation(input.data);
+    return input.data;
+  }
+
+  @Benchmark
+  public Data calculateVelocityAndBearing(InterpolatedInput input)
+  {
+    new VelocityBearingAnalyzer().analyze(input.data);
+    return input.data;
+  }
+
+  @Benchmark
+  public Data setWindDirection(GeneratedInput input)
+  {
+    new WindDirectionAnalyzer().analyze(input.data);
+    return input.data;
+  }
+
+  @Benchmark
+  public TackList calculateTackList(AnalyzedInput input)
+  {
+    return new TackListByCorrelationAnalyzer().analyze(input.data);
+  }
+
+  @Benchmark
+  public List<TackSeries> calculateTackSeriesList(AnalyzedInput input)
+  {
+    return new TackSeriesAnalyzer().analyze(input.tackList);
+  }
+
+  @Benchmark
+  public Data analyzeOrientation(AnalyzedInput input)
+  {
+    return new DeviceOrientationAnalyzer().analyze(input.data, LOAD_PROGRESS);
+  }
+
+  @Benchmark
+  public TackAnalysis analyzeWindDirectionChange(AnalyzedInput input)
+  {
+    return Analyzer.analyzeWindDirectionChange(input.data, input.data.getAverageWindBearing());
+  }
+
+  @Benchmark
+  public Map<String, Long> analyze(GeneratedInput input)
+  {
+    return Analyzer.analyze(input.data, LOAD_PROGRESS);
+  }
+
+  /**
+   * Copies the points and the settings of data, but not its analysis results or caches.
+   */
+  static Data copy(Data data)
+  {
+    Data.Builder builder = new Data.Builder(data.size());
+    List<Integer> segmentStartIndices = data.getSegmentStartIndices();
+    int nextSegment = 0;
+    for (int i = 0; i < data.size(); i++)
+    {
+      if (nextSegment < segmentStartIndices.size() && segmentStartIndices.get(nextSegment) == i)
+      {
+        builder.startNewSegment();
+        nextSegment++;
+      }
+      builder.add(new DataPoint(data.get(i)));
+    }
+    Data result = builder.build();
+    result.setFile(data.getFile());
+    result.setAverageWindBearing(data.getAverageWindBearing());
+    result.setBoatCoordinatesInDeviceCoordinates(data.getBoatCoordinatesInDeviceCoordinates());
+    result.deviceOrientation = data.deviceOrientation;
+    result.comment = data.comment;
+    return result;
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.thomasfox.sailplotter.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.importer.Importer;
+import com.github.thomasfox.sailplotter.model.Data;
+
+/**
+ * Measures reading a generated track with each importer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImporterBenchmark
+{
+  @Param({"SAILLOG", "GPX", "SAILRACER", "VIEWRANGER", "SAILPLOT"})
+  public TrackFileFormat format;
+
+  @Param({"3600"})
+  public int durationSeconds;
+
+  private File file;
+
+  private Importer importer;
+
+  @Setup(Level.Trial)
+  public void writeFile() throws IOException
+  {
+    Data data = new SyntheticTrackGenerator().durationSeconds(durationSeconds).generate();
+    if (format == TrackFileFormat.SAILPLOT)
+    {
+      Analyzer.analyze(data, new LoadProgress(null));
+    }
+    file = File.createTempFile("sailplotter-benchmark", format.getExtension());
+    file.delete();
+    TrackFileWriter.write(format, data, file);
+    importer = format.createImporter();
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteFile()
+  {
+    file.delete();
+  }
+
+  @Benchmark
+  public Data read()
+  {
+    return importer.read(file);
+  }
+}
@@ -0,0 +1,84 @@
+package com.github.thomasfox.sailplotter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.data.xy.XYSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
+import com.github.thomasfox.sailplotter.gui.component.plot.FullMapPlotPanel;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.MapArea;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
+
+/**
+ * Measures building the data shown in the map plots from a generated track.
+ * Runs with a headless AWT so that the plot panels can be created without a display.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PlotBenchmark
+{
+  @Param({"3600"})
+  public int durationSeconds;
+
+  /** The position relative to the zoom window, ALL for no restriction. */
+  @Param({"ALL", "IN"})
+  public String position;
+
+  private ZoomedData zoomedData;
+
+  private FullMapPlotPanel mapPlotPanel;
+
+  private TimeWindowPosition timeWindowPosition;
+
+  private DataPoint startPoint;
+
+  private LocationProjection projection;
+
+  @Setup(Level.Trial)
+  public void generateData()
+  {
+    Data data = new SyntheticTrackGenerator().durationSeconds(durationSeconds).generate();
+    Analyzer.analyze(data, new LoadProgress(null));
+    zoomedData = ZoomedDataBenchmark.createZoomedData(data);
+    mapPlotPanel = new FullMapPlotPanel();
+    mapPlotPanel.dataAndZoomChanged(data, ZoomedDataBenchmark.createMiddleThirdZoom(data));
+    timeWindowPosition = "ALL".equals(position) ? null : TimeWindowPosition.valueOf(position);
+    startPoint = data.getPointsWithLocation().get(0);
+    projection = data.getColumns().getLocationProjection();
+  }
+
+  @Benchmark
+  public MapArea calculateMapArea()
+  {
+    return MapArea.calculateFrom(zoomedData, timeWindowPosition);
+  }
+
+  @Benchmark
+  public XYSeries getXySeries()
+  {
+    return mapPlotPanel.getXySeries(
+        timeWindowPosition,
+        point -> projection.getXYRelativeTo(point, startPoint));
+  }
+}
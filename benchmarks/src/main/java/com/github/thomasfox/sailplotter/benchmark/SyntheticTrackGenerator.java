@@ -0,0 +1,223 @@
+package com.github.thomasfox.sailplotter.benchmark;
+
+import java.util.Random;
+
+import com.github.thomasfox.sailplotter.Constants;
+import com.github.thomasfox.sailplotter.model.Acceleration;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.MagneticField;
+
+/**
+ * Generates a track of a boat tacking upwind, with the wind coming from north.
+ * The track contains GPS, magnetic field and acceleration samples,
+ * each at its own rate, merged into one data set ordered by time.
+ * The boat slows down and turns through the wind during each tack,
+ * heels to leeward between tacks, and all readings carry some noise.
+ * The same settings and seed always produce the same track.
+ */
+public class SyntheticTrackGenerator
+{
+  private static final double GRAVITY = 9.81d;
+
+  /** Horizontal component of the earth magnetic field, pointing north, in micro Tesla. */
+  private static final double MAGNETIC_FIELD_NORTH = 18d;
+
+  /** Vertical component of the earth magnetic field, pointing down, in micro Tesla. */
+  private static final double MAGNETIC_FIELD_DOWN = 45d;
+
+  private static final double CLOSE_HAULED_BEARING = Math.PI / 4;
+
+  private static final long TACK_DURATION_MILLIS = 8000L;
+
+  private static final double SPEED_METRES_PER_SECOND = 3d;
+
+  private static final double SPEED_IN_TACK_METRES_PER_SECOND = 1.5d;
+
+  private static final double HEEL = 15d / 180d * Math.PI;
+
+  private long startTime = 1474466536000L;
+
+  private int durationSeconds = 3600;
+
+  private int secondsPerTack = 120;
+
+  private double locationFrequency = 1d;
+
+  private double magneticFieldFrequency = 10d;
+
+  private double accelerationFrequency = 10d;
+
+  private long seed = 42L;
+
+  public SyntheticTrackGenerator durationSeconds(int durationSeconds)
+  {
+    this.durationSeconds = durationSeconds;
+    return this;
+  }
+
+  public SyntheticTrackGenerator secondsPerTack(int secondsPerTack)
+  {
+    this.secondsPerTack = secondsPerTack;
+    return this;
+  }
+
+  /**
+   * Sets the number of GPS samples per second.
+   */
+  public SyntheticTrackGenerator locationFrequency(double locationFrequency)
+  {
+    this.locationFrequency = locationFrequency;
+    return this;
+  }
+
+  /**
+   * Sets the number of magnetic field samples per second, 0 for none.
+   */
+  public SyntheticTrackGenerator magneticFieldFrequency(double magneticFieldFrequency)
+  {
+    this.magneticFieldFrequency = magneticFieldFrequency;
+    return this;
+  }
+
+  /**
+   * Sets the number of acceleration samples per second, 0 for none.
+   */
+  public SyntheticTrackGenerator accelerationFrequency(double accelerationFrequency)
+  {
+    this.accelerationFrequency = accelerationFrequency;
+    return this;
+  }
+
+  public SyntheticTrackGenerator seed(long seed)
+  {
+    this.seed = seed;
+    return this;
+  }
+
+  public Data generate()
+  {
+    Random random = new Random(seed);
+    Data.Builder data = new Data.Builder((int) (durationSeconds
+        * (locationFrequency + magneticFieldFrequency + accelerationFrequency)));
+    long endTime = startTime + durationSeconds * 1000L;
+    double nextLocationTime = startTime;
+    double nextMagneticFieldTime = magneticFieldFrequency > 0 ? startTime : Double.MAX_VALUE;
+    double nextAccelerationTime = accelerationFrequency > 0 ? startTime : Double.MAX_VALUE;
+    double latitude = 54d / 180d * Math.PI;
+    double longitude = 10d / 180d * Math.PI;
+    long lastTime = startTime;
+    int index = 0;
+    while (true)
+    {
+      double nextTime = Math.min(nextLocationTime, Math.min(nextMagneticFieldTime, nextAccelerationTime));
+      long time = (long) nextTime;
+      if (time >= endTime)
+      {
+        break;
+      }
+      double bearing = getBearing(time);
+      double speed = getSpeed(time);
+      double distance = speed * (time - lastTime) / 1000d;
+      latitude += distance * Math.cos(bearing) / Constants.EARTH_RADIUS;
+      longitude += distance * Math.sin(bearing) / Constants.EARTH_RADIUS / Math.cos(latitude);
+      lastTime = time;
+
+      DataPoint point = data.addPoint(index++);
+      point.setTime(time);
+      if (nextTime == nextLocationTime)
+      {
+        point.setLatitude(latitude + random.nextGaussian() * 1d / Constants.EARTH_RADIUS);
+        point.setLongitude(longitude + random.nextGaussian() * 1d / Constants.EARTH_RADIUS);
+        point.setAltitude(random.nextGaussian());
+        point.setBearing(normalize(bearing + random.nextGaussian() * 2d / 180d * Math.PI));
+        point.setVelocity(Math.max(0d, speed + random.nextGaussian() * 0.1d)
+            / Constants.NAUTICAL_MILE * 3600d);
+        point.setSatelliteTime(time);
+        nextLocationTime += 1000d / locationFrequency;
+      }
+      else if (nextTime == nextMagneticFieldTime)
+      {
+        point.setMagneticField(getMagneticField(bearing, getHeel(time), random));
+        nextMagneticFieldTime += 1000d / magneticFieldFrequency;
+      }
+      else
+      {
+        point.setAcceleration(getAcceleration(getHeel(time), random));
+        nextAccelerationTime += 1000d / accelerationFrequency;
+      }
+    }
+    return data.build();
+  }
+
+  /**
+   * Returns the course over ground at the given time.
+   * Between tacks, the boat sails close hauled; during a tack,
+   * it turns linearly from one close hauled course to the other.
+   */
+  private double getBearing(long time)
+  {
+    long millisInTack = (time - startTime) % (secondsPerTack * 1000L);
+    int tackIndex = (int) ((time - startTime) / (secondsPerTack * 1000L));
+    double from = (tackIndex % 2 == 0) ? CLOSE_HAULED_BEARING : -CLOSE_HAULED_BEARING;
+    if (tackIndex == 0 || millisInTack >= TACK_DURATION_MILLIS)
+    {
+      return normalize(from);
+    }
+    double progress = (double) millisInTack / TACK_DURATION_MILLIS;
+    return normalize(-from + progress * 2 * from);
+  }
+
+  private double getSpeed(long time)
+  {
+    long millisInTack = (time - startTime) % (secondsPerTack * 1000L);
+    if (time - startTime < secondsPerTack * 1000L || millisInTack >= TACK_DURATION_MILLIS)
+    {
+      return SPEED_METRES_PER_SECOND;
+    }
+    return SPEED_IN_TACK_METRES_PER_SECOND;
+  }
+
+  /**
+   * Returns the heel angle, positive to starboard.
+   * On starboard tack (wind from starboard), the boat heels to port.
+   */
+  private double getHeel(long time)
+  {
+    double bearing = getBearing(time);
+    return -Math.sin(bearing) * HEEL / Math.sin(CLOSE_HAULED_BEARING);
+  }
+
+  /**
+   * Returns the magnetic field as measured by a device which is fixed to the boat
+   * with x pointing to the bow, y to starboard and z up.
+   */
+  private MagneticField getMagneticField(double bearing, double heel, Random random)
+  {
+    double front = MAGNETIC_FIELD_NORTH * Math.cos(bearing);
+    double starboard = -MAGNETIC_FIELD_NORTH * Math.sin(bearing);
+    double up = -MAGNETIC_FIELD_DOWN;
+    return new MagneticField(
+        front + random.nextGaussian(),
+        starboard * Math.cos(heel) + up * Math.sin(heel) + random.nextGaussian(),
+        -starboard * Math.sin(heel) + up * Math.cos(heel) + random.nextGaussian());
+  }
+
+  private Acceleration getAcceleration(double heel, Random random)
+  {
+    return new Acceleration(
+        random.nextGaussian() * 0.2d,
+        GRAVITY * Math.sin(heel) + random.nextGaussian() * 0.2d,
+        GRAVITY * Math.cos(heel) + random.nextGaussian() * 0.2d);
+  }
+
+  private double normalize(double bearing)
+  {
+    double result = bearing % (2 * Math.PI);
+    if (result < 0)
+    {
+      result += 2 * Math.PI;
+    }
+    return result;
+  }
+}
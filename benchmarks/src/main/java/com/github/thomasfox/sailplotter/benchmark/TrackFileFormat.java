@@ -0,0 +1,44 @@
+package com.github.thomasfox.sailplotter.benchmark;
+
+import java.util.function.Function;
+
+import com.github.thomasfox.sailplotter.exporter.SailplotFormat;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.importer.GpxImporter;
+import com.github.thomasfox.sailplotter.importer.Importer;
+import com.github.thomasfox.sailplotter.importer.SailRacerImporter;
+import com.github.thomasfox.sailplotter.importer.SailplotImporter;
+import com.github.thomasfox.sailplotter.importer.ViewRangerImporter;
+import com.github.thomasfox.sailplotter.importer.saillogger.SailLoggerImporter;
+
+/**
+ * The file formats which can be imported, with the importer reading each format.
+ */
+public enum TrackFileFormat
+{
+  SAILLOG(".saillog", SailLoggerImporter::new),
+  GPX(".gpx", GpxImporter::new),
+  SAILRACER(".log", SailRacerImporter::new),
+  VIEWRANGER(".json", ViewRangerImporter::new),
+  SAILPLOT(SailplotFormat.EXTENSION, SailplotImporter::new);
+
+  private final String extension;
+
+  private final Function<LoadProgress, Importer> importerFactory;
+
+  TrackFileFormat(String extension, Function<LoadProgress, Importer> importerFactory)
+  {
+    this.extension = extension;
+    this.importerFactory = importerFactory;
+  }
+
+  public String getExtension()
+  {
+    return extension;
+  }
+
+  public Importer createImporter()
+  {
+    return importerFactory.apply(new LoadProgress(null));
+  }
+}
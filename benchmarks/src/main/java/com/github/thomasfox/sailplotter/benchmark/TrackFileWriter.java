@@ -0,0 +1,185 @@
+package com.github.thomasfox.sailplotter.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.thomasfox.sailplotter.Constants;
+import com.github.thomasfox.sailplotter.exporter.Exporter;
+import com.github.thomasfox.sailplotter.model.Acceleration;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.MagneticField;
+
+/**
+ * Writes data in the file formats sailplotter can import,
+ * so that the importers can be benchmarked on generated tracks.
+ * Formats which only contain GPS data skip the other points.
+ */
+public final class TrackFileWriter
+{
+  private static final DateTimeFormatter SAIL_RACER_TIME_FORMAT
+      = DateTimeFormatter.ofPattern("yyyy.MM.dd HH:mm:ss:SSS").withZone(ZoneOffset.UTC);
+
+  private TrackFileWriter()
+  {
+  }
+
+  public static void write(TrackFileFormat format, Data data, File file)
+  {
+    try
+    {
+      switch (format)
+      {
+        case SAILLOG:
+          writeSaillog(data, file);
+          break;
+        case GPX:
+          writeGpx(data, file);
+          break;
+        case SAILRACER:
+          writeSailRacer(data, file);
+          break;
+        case VIEWRANGER:
+          writeViewRanger(data, file);
+          break;
+        case SAILPLOT:
+          new Exporter().save(file, data);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown format " + format);
+      }
+    }
+    catch (IOException e)
+    {
+      throw new RuntimeException("Could not write file " + file, e);
+    }
+  }
+
+  private static void writeSaillog(Data data, File file) throws IOException
+  {
+    try (JsonGenerator generator = new JsonFactory().createGenerator(file, JsonEncoding.UTF8))
+    {
+      generator.writeStartObject();
+      generator.writeObjectFieldStart("start");
+      generator.writeStringField("format", "1.0");
+      generator.writeNumberField("startT", data.getStartTime());
+      generator.writeEndObject();
+      generator.writeArrayFieldStart("track");
+      for (DataPoint point : data.getAllPoints())
+      {
+        generator.writeStartObject();
+        if (point.hasLocation())
+        {
+          generator.writeNumberField("locT", point.getSatelliteTime());
+          generator.writeNumberField("locLat", point.getLatitude() * 180d / Math.PI);
+          generator.writeNumberField("locLong", point.getLongitude() * 180d / Math.PI);
+          generator.writeNumberField("locBear", point.getBearing() * 180d / Math.PI);
+          generator.writeNumberField("locVel", point.getVelocity() * Constants.NAUTICAL_MILE / 3600d);
+          generator.writeNumberField("locAlt", point.getAltitude());
+          generator.writeNumberField("locAcc", 3f);
+          generator.writeNumberField("locDevT", point.getTime());
+        }
+        if (point.hasMagneticField())
+        {
+          MagneticField magneticField = point.getMagneticField();
+          generator.writeNumberField("magT", point.getTime());
+          generator.writeNumberField("magX", magneticField.x);
+          generator.writeNumberField("magY", magneticField.y);
+          generator.writeNumberField("magZ", magneticField.z);
+        }
+        if (point.hasAcceleration())
+        {
+          Acceleration acceleration = point.getAcceleration();
+          generator.writeNumberField("accT", point.getTime());
+          generator.writeNumberField("accX", acceleration.x);
+          generator.writeNumberField("accY", acceleration.y);
+          generator.writeNumberField("accZ", acceleration.z);
+        }
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeObjectFieldStart("end");
+      generator.writeNumberField("endT", data.getEndTime());
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+  }
+
+  private static void writeGpx(Data data, File file) throws IOException
+  {
+    try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+    {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      writer.write("<gpx version=\"1.1\" creator=\"sailplotter-benchmarks\" xmlns=\"http://www.topografix.com/GPX/1/1\">\n");
+      writer.write("<trk><trkseg>\n");
+      for (DataPoint point : data.getPointsWithLocation())
+      {
+        writer.write("<trkpt lat=\"" + point.getLatitude() * 180d / Math.PI
+            + "\" lon=\"" + point.getLongitude() * 180d / Math.PI + "\">"
+            + "<ele>" + point.getAltitude() + "</ele>"
+            + "<time>" + Instant.ofEpochMilli(point.getTime()) + "</time>"
+            + "</trkpt>\n");
+      }
+      writer.write("</trkseg></trk>\n");
+      writer.write("</gpx>\n");
+    }
+  }
+
+  private static void writeSailRacer(Data data, File file) throws IOException
+  {
+    try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.ISO_8859_1))
+    {
+      for (DataPoint point : data.getPointsWithLocation())
+      {
+        writer.write(SAIL_RACER_TIME_FORMAT.format(Instant.ofEpochMilli(point.getTime())));
+        writer.write('\t');
+        writer.write(Double.toString(point.getLatitude() * 180d / Math.PI));
+        writer.write('\t');
+        writer.write(Double.toString(point.getLongitude() * 180d / Math.PI));
+        writer.write('\t');
+        writer.write(Integer.toString((int) (point.getBearing() * 180d / Math.PI)));
+        writer.write('\t');
+        writer.write(Double.toString(point.getVelocity() * Constants.NAUTICAL_MILE / 3600d));
+        writer.write("\t0\t0\n");
+      }
+    }
+  }
+
+  private static void writeViewRanger(Data data, File file) throws IOException
+  {
+    try (JsonGenerator generator = new JsonFactory().createGenerator(file, JsonEncoding.UTF8))
+    {
+      generator.writeStartObject();
+      generator.writeObjectFieldStart("header");
+      generator.writeNumberField("colour", 0);
+      generator.writeStringField("name", "benchmark");
+      generator.writeNumberField("lastModTime", data.getEndTime());
+      generator.writeNumberField("gridPositionCoordType", 0);
+      generator.writeEndObject();
+      generator.writeArrayFieldStart("points");
+      for (DataPoint point : data.getPointsWithLocation())
+      {
+        generator.writeStartObject();
+        generator.writeNumberField("lat", point.getLatitude() * 180d / Math.PI);
+        generator.writeNumberField("lon", point.getLongitude() * 180d / Math.PI);
+        generator.writeNumberField("alt", point.getAltitude());
+        generator.writeNumberField("time", point.getTime());
+        generator.writeBooleanField("from_gps", true);
+        generator.writeBooleanField("has_position", true);
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.github.thomasfox.sailplotter.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.data.time.TimeSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
+import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeEvent;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
+
+/**
+ * Measures extracting the zoomed part of a generated track.
+ * The zoom window covers the middle third of the track.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZoomedDataBenchmark
+{
+  @Param({"3600"})
+  public int durationSeconds;
+
+  /** The position relative to the zoom window, ALL for no restriction. */
+  @Param({"ALL", "BEFORE", "IN", "AFTER"})
+  public String position;
+
+  private ZoomedData zoomedData;
+
+  private TimeWindowPosition timeWindowPosition;
+
+  @Setup(Level.Trial)
+  public void generateData()
+  {
+    Data data = new SyntheticTrackGenerator().durationSeconds(durationSeconds).generate();
+    Analyzer.analyze(data, new LoadProgress(null));
+    zoomedData = createZoomedData(data);
+    timeWindowPosition = "ALL".equals(position) ? null : TimeWindowPosition.valueOf(position);
+  }
+
+  static ZoomedData createZoomedData(Data data)
+  {
+    ZoomedData zoomedData = new ZoomedData();
+    zoomedData.setData(data);
+    zoomedData.zoomChanged(createMiddleThirdZoom(data));
+    return zoomedData;
+  }
+
+  static ZoomChangeEvent createMiddleThirdZoom(Data data)
+  {
+    int locationPointCount = data.getPointsWithLocation().size();
+    return new ZoomChangeEvent(locationPointCount / 3, 2 * locationPointCount / 3, null);
+  }
+
+  @Benchmark
+  public List<DataPoint> getLocationSubset()
+  {
+    return zoomedData.getLocationSubset(timeWindowPosition);
+  }
+
+  @Benchmark
+  public TimeSeries getLocationTimeSeries()
+  {
+    return zoomedData.getVelocityTimeSeries(timeWindowPosition);
+  }
+
+  @Benchmark
+  public TimeSeries getTimeSeries()
+  {
+    return zoomedData.getTimeSeries(
+        "acceleration x",
+        Data::getPointsWithAcceleration,
+        point -> zoomedData.isInSelectedPosition(point, timeWindowPosition),
+        point -> point.getAcceleration().x);
+  }
+}
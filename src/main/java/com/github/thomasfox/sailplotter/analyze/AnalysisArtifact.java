@@ -0,0 +1,29 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+/**
+ * The results which are produced by the stages of the analysis.
+ * A stage may only run after all artifacts it needs have been produced.
+ */
+public enum AnalysisArtifact
+{
+  /** The point times are corrected to the GPS time. */
+  GPS_CORRECTED_TIME,
+
+  /** Points without a location have an interpolated location. */
+  INTERPOLATED_LOCATION,
+
+  /** The location points have velocity and bearing calculated from latitude and longitude. */
+  VELOCITY_AND_BEARING,
+
+  /** The location points have a wind direction. */
+  WIND_DIRECTION,
+
+  /** The tack list of the data is filled. */
+  TACK_LIST,
+
+  /** The tack series list of the data is filled. */
+  TACK_SERIES,
+
+  /** The compass bearings, heel and roll of the points are set. */
+  DEVICE_ORIENTATION
+}
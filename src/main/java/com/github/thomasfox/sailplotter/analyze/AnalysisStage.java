@@ -0,0 +1,82 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+
+/**
+ * A single step of the analysis, together with the artifacts it needs
+ * and the artifacts it produces.
+ */
+public class AnalysisStage
+{
+  /**
+   * The work done by a stage.
+   */
+  public interface Action
+  {
+    void run(Data data, LoadProgress loadProgress);
+  }
+
+  private final String name;
+
+  private final Set<AnalysisArtifact> inputs;
+
+  private final Set<AnalysisArtifact> outputs;
+
+  private final Action action;
+
+  /**
+   * Constructor.
+   *
+   * @param name the name of the stage, used to report timings, not null.
+   * @param inputs the artifacts which must be present before the stage can run, not null.
+   * @param outputs the artifacts the stage produces, not null, not empty.
+   * @param action the work to be done, not null.
+   */
+  public AnalysisStage(
+      String name,
+      Collection<AnalysisArtifact> inputs,
+      Collection<AnalysisArtifact> outputs,
+      Action action)
+  {
+    if (outputs.isEmpty())
+    {
+      throw new IllegalArgumentException("Stage " + name + " must produce at least one artifact");
+    }
+    this.name = name;
+    this.inputs = inputs.isEmpty() ? EnumSet.noneOf(AnalysisArtifact.class) : EnumSet.copyOf(inputs);
+    this.outputs = EnumSet.copyOf(outputs);
+    this.action = action;
+  }
+
+  public String getName()
+  {
+    return name;
+  }
+
+  public Set<AnalysisArtifact> getInputs()
+  {
+    return Collections.unmodifiableSet(inputs);
+  }
+
+  public Set<AnalysisArtifact> getOutputs()
+  {
+    return Collections.unmodifiableSet(outputs);
+  }
+
+  public void run(Data data, LoadProgress loadProgress)
+  {
+    action.run(data, loadProgress);
+  }
+
+  @Override
+  public String toString()
+  {
+    return name + ": " + inputs + " -> " + outputs;
+  }
+}
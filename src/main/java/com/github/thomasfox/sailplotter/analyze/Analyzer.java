@@ -1,25 +1,179 @@
 package com.github.thomasfox.sailplotter.analyze;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
 import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.TackList;
+import com.github.thomasfox.sailplotter.model.TackSeries;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
 
 public class Analyzer
 {
-  public static void analyze(Data data, LoadProgress loadProgress)
+  /**
+   * The version of the analysis results.
+   * Must be incremented whenever a change of the analysis changes its results,
+   * so that cached results of the previous version are not used any more.
+   */
+  public static final int VERSION = 1;
+
+  public static Map<String, Long> analyze(Data data, LoadProgress loadProgress)
+  {
+    return analyze(data, loadProgress, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Runs all analysis stages on the data.
+   * Stages which do not depend on each other are run concurrently on the executor.
+   *
+   * @param data the data to analyze, not null.
+   * @param loadProgress where to report progress to, not null.
+   * @param executor the executor to run the stages on, not null.
+   *
+   * @return the duration of each stage in milliseconds, keyed by the stage name.
+   *         The durations are also reported to the load progress.
+   */
+  public static Map<String, Long> analyze(Data data, LoadProgress loadProgress, Executor executor)
+  {
+    // the point caches are filled lazily and not synchronized,
+    // so fill them before the stages access them concurrently
+    data.getPointsWithLocation();
+    data.getPointsWithMagneticField();
+    data.getPointsWithAcceleration();
+    data.getColumns();
+    Map<String, Long> timings = createStageGraph().run(data, loadProgress, executor);
+    data.resetCache();
+    loadProgress.analyzingFinished(timings);
+    return timings;
+  }
+
+  /**
+   * Recalculates only the results which depend on the wind direction,
+   * i.e. the wind direction of the points and the tacks and tack series.
+   * Requires that the data has been analyzed completely before.
+   *
+   * @param data the analyzed data, not null. Is not changed.
+   * @param windBearing the new direction in arcs where the wind comes from.
+   *
+   * @return the recalculated results, to be set in the data by publishWindDirectionChange(), not null.
+   *
+   * @see #analyzeWindDirectionChange(Data, DataColumns, double)
+   */
+  public static TackAnalysis analyzeWindDirectionChange(Data data, double windBearing)
+  {
+    return analyzeWindDirectionChange(data, data.getColumns(), windBearing);
+  }
+
+  /**
+   * Recalculates only the results which depend on the wind direction,
+   * i.e. the wind direction of the points and the tacks and tack series.
+   * Neither the points nor the data are changed, so the calculation can run in the background
+   * while the data is shown; the results are set in the data in one step
+   * by publishWindDirectionChange().
+   * Requires that the data has been analyzed completely before.
+   *
+   * @param data the analyzed data, not null. Is not changed.
+   * @param columns the current columns of the data, not null.
+   * @param windBearing the new direction in arcs where the wind comes from.
+   *
+   * @return the recalculated wind directions in the columns, tacks and tack series, not null.
+   */
+  public static TackAnalysis analyzeWindDirectionChange(Data data, DataColumns columns, double windBearing)
+  {
+    DoubleColumn windDirection
+        = new WindDirectionAnalyzer().calculate(columns.getLocation().windDirection, windBearing);
+    DataColumns changedColumns = columns.withChangedWind(windDirection);
+    TackList tackList = new TackListByCorrelationAnalyzer().analyze(data, changedColumns);
+    List<TackSeries> tackSeriesList = new TackSeriesAnalyzer().analyze(tackList);
+    return new TackAnalysis(tackList, tackSeriesList, changedColumns);
+  }
+
+  /**
+   * Sets the results of analyzeWindDirectionChange() in the data:
+   * the wind direction of the points, the average wind bearing, the tacks, the tack series and the columns.
+   * Must be called on the thread which reads the data, e.g. the event dispatch thread.
+   *
+   * @param data the data which was analyzed, not null.
+   * @param windBearing the direction in arcs where the wind comes from which was analyzed.
+   * @param tackAnalysis the result of analyzeWindDirectionChange(), not null.
+   */
+  public static void publishWindDirectionChange(Data data, double windBearing, TackAnalysis tackAnalysis)
+  {
+    new WindDirectionAnalyzer().apply(data, tackAnalysis.columns.getLocation().windDirection);
+    data.setAverageWindBearing(windBearing);
+    data.setTacks(tackAnalysis.tackList, tackAnalysis.tackSeriesList);
+    data.setColumns(tackAnalysis.columns);
+  }
+
+  static StageGraph createStageGraph()
   {
-    loadProgress.startCorrectTimeUsingGpsTime();
-    new UseGpsTimeDataCorrector().correct(data);
-    loadProgress.startInterpolatingLocation();
-    new LocationInterpolator().interpolateLocation(data);
-    loadProgress.startCalculateLocationAndBearing();
-    new VelocityBearingAnalyzer().analyze(data);
-    loadProgress.startCalculateTackList();
-    data.getTackList().clear();
-    data.getTackList().addAll(new TackListByCorrelationAnalyzer().analyze(data));
-    loadProgress.startCalculateTackSeriesList();
-    data.getTackSeriesList().clear();
-    data.getTackSeriesList().addAll(new TackSeriesAnalyzer().analyze(data.getTackList()));
-    loadProgress.startAnalyzeOrientation();
-    new DeviceOrientationAnalyzer().analyze(data, loadProgress);
+    return new StageGraph()
+        .add(new AnalysisStage(
+            "correct time using GPS time",
+            Collections.emptyList(),
+            Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME),
+            (data, loadProgress) ->
+            {
+              loadProgress.startCorrectTimeUsingGpsTime();
+              new UseGpsTimeDataCorrector().correct(data);
+            }))
+        .add(new AnalysisStage(
+            "interpolate location",
+            Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME),
+            Arrays.asList(AnalysisArtifact.INTERPOLATED_LOCATION),
+            (data, loadProgress) ->
+            {
+              loadProgress.startInterpolatingLocation();
+              new LocationInterpolator().interpolateLocation(data);
+            }))
+        .add(new AnalysisStage(
+            "calculate velocity and bearing",
+            Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME, AnalysisArtifact.INTERPOLATED_LOCATION),
+            Arrays.asList(AnalysisArtifact.VELOCITY_AND_BEARING),
+            (data, loadProgress) ->
+            {
+              loadProgress.startCalculateLocationAndBearing();
+              new VelocityBearingAnalyzer().analyze(data);
+            }))
+        .add(new AnalysisStage(
+            "set wind direction",
+            Collections.emptyList(),
+            Arrays.asList(AnalysisArtifact.WIND_DIRECTION),
+            (data, loadProgress) -> new WindDirectionAnalyzer().analyze(data)))
+        .add(new AnalysisStage(
+            "calculate tack list",
+            Arrays.asList(AnalysisArtifact.VELOCITY_AND_BEARING, AnalysisArtifact.WIND_DIRECTION),
+            Arrays.asList(AnalysisArtifact.TACK_LIST),
+            (data, loadProgress) ->
+            {
+              loadProgress.startCalculateTackList();
+              data.getTackList().clear();
+              data.getTackList().addAll(new TackListByCorrelationAnalyzer().analyze(data));
+            }))
+        .add(new AnalysisStage(
+            "calculate tack series list",
+            Arrays.asList(AnalysisArtifact.TACK_LIST),
+            Arrays.asList(AnalysisArtifact.TACK_SERIES),
+            (data, loadProgress) ->
+            {
+              loadProgress.startCalculateTackSeriesList();
+              data.getTackSeriesList().clear();
+              data.getTackSeriesList().addAll(new TackSeriesAnalyzer().analyze(data.getTackList()));
+            }))
+        .add(new AnalysisStage(
+            "analyze orientation",
+            Arrays.asList(AnalysisArtifact.INTERPOLATED_LOCATION),
+            Arrays.asList(AnalysisArtifact.DEVICE_ORIENTATION),
+            (data, loadProgress) ->
+            {
+              loadProgress.startAnalyzeOrientation();
+              new DeviceOrientationAnalyzer().analyze(data, loadProgress);
+            }));
   }
 }
@@ -155,11 +155,11 @@ public class DeviceOrientationAnalyzer
         horizontalX = horizontalY.crossProduct(up).normalize();
         CoordinateSystem trulyHorizontalCoordinateSystem = new CoordinateSystem(horizontalX, horizontalY, up);
         TwoDimVector horizontalMagneticField = new TwoDimVector(
-            trulyHorizontalCoordinateSystem.x.scalarProduct(point.magneticField),
-            trulyHorizontalCoordinateSystem.y.scalarProduct(point.magneticField));
+            trulyHorizontalCoordinateSystem.x.scalarProduct(point.getMagneticField()),
+            trulyHorizontalCoordinateSystem.y.scalarProduct(point.getMagneticField()));
         // 2pi - fieldDir because we look at the fixed field from the turned device
         Double compassBearing = Double.valueOf(2 * Math.PI - horizontalMagneticField.getBearingToYInArcs());
-        point.magneticField.compassBearing = compassBearing;
+        point.setCompassBearing(compassBearing);
       }
     }
   }
@@ -173,9 +173,9 @@ public class DeviceOrientationAnalyzer
       DataPoint point = points.get(i);
       if (point.hasAcceleration())
       {
-        ThreeDimVector normalizedAcceleration = point.acceleration.normalize();
-        point.acceleration.heel = Math.atan(horizontalCoordinateSystem.getX(normalizedAcceleration));
-        point.acceleration.roll = Math.atan(horizontalCoordinateSystem.getY(normalizedAcceleration));
+        ThreeDimVector normalizedAcceleration = point.getAcceleration().normalize();
+        point.setHeel(Math.atan(horizontalCoordinateSystem.getX(normalizedAcceleration)));
+        point.setRoll(Math.atan(horizontalCoordinateSystem.getY(normalizedAcceleration)));
       }
     }
   }
@@ -187,7 +187,7 @@ public class DeviceOrientationAnalyzer
     for (int i = 1; i < points.size() - 1; ++i)
     {
       DataPoint point = points.get(i);
-      if (point.hasMagneticField() && point.location != null && point.location.bearing != null)
+      if (point.hasMagneticField() && point.isLocationSet() && point.getBearing() != null)
       {
         Double relativeNormalizedBearing = getNormalizedRelativeBearingOfCompassToGps(point);
         if (relativeNormalizedBearing != null)
@@ -229,13 +229,13 @@ public class DeviceOrientationAnalyzer
    */
   public Double getNormalizedRelativeBearingOfCompassToGps(DataPoint point)
   {
-    if (point.magneticField == null || point.magneticField.compassBearing == null
-        || point.location == null || point.location.bearing == null)
+    if (!point.hasMagneticField() || point.getCompassBearing() == null
+        || !point.isLocationSet() || point.getBearing() == null)
     {
       return null;
     }
-    double compassBearing = point.magneticField.compassBearing;
-    double normalizedRelativeBearing = (compassBearing - point.location.bearing) / 2 / Math.PI;
+    double compassBearing = point.getCompassBearing();
+    double normalizedRelativeBearing = (compassBearing - point.getBearing()) / 2 / Math.PI;
     if (normalizedRelativeBearing < 0)
     {
       normalizedRelativeBearing += 1;
@@ -257,7 +257,7 @@ public class DeviceOrientationAnalyzer
    */
   ThreeDimVector getAccelerationAt(int index, Data data)
   {
-    long time = data.get(index).time;
+    long time = data.get(index).getTime();
     ThreeDimVector nearestBelow = null;
     Long nearestBelowTime = null;
     for (int i = index; i >=0 ; i--)
@@ -267,22 +267,22 @@ public class DeviceOrientationAnalyzer
       {
         continue;
       }
-      if (dataPoint.time == time)
+      if (dataPoint.getTime() == time)
       {
-        return dataPoint.acceleration;
+        return dataPoint.getAcceleration();
       }
-      if (dataPoint.time > time)
+      if (dataPoint.getTime() > time)
       {
         throw new IllegalArgumentException("points are not ordered, point " + index + " has time " + time
-            + " while point " + i + " has time " + dataPoint.time);
+            + " while point " + i + " has time " + dataPoint.getTime());
       }
-      if (dataPoint.time < time - MAX_ACCELERATION_DISTANCE_MILLIS)
+      if (dataPoint.getTime() < time - MAX_ACCELERATION_DISTANCE_MILLIS)
       {
         // point is too far away
         break;
       }
-      nearestBelowTime = dataPoint.time;
-      nearestBelow = dataPoint.acceleration;
+      nearestBelowTime = dataPoint.getTime();
+      nearestBelow = dataPoint.getAcceleration();
       break;
     }
 
@@ -295,22 +295,22 @@ public class DeviceOrientationAnalyzer
       {
         continue;
       }
-      if (dataPoint.time == time)
+      if (dataPoint.getTime() == time)
       {
-        return dataPoint.acceleration;
+        return dataPoint.getAcceleration();
       }
-      if (dataPoint.time < time)
+      if (dataPoint.getTime() < time)
       {
         throw new IllegalArgumentException("points are not ordered, point " + index + " has time " + time
-            + " while point " + i + " has time " + dataPoint.time);
+            + " while point " + i + " has time " + dataPoint.getTime());
       }
-      if (dataPoint.time > time + MAX_ACCELERATION_DISTANCE_MILLIS)
+      if (dataPoint.getTime() > time + MAX_ACCELERATION_DISTANCE_MILLIS)
       {
         // point is too far away
         break;
       }
-      nearestAboveTime = dataPoint.time;
-      nearestAbove = dataPoint.acceleration;
+      nearestAboveTime = dataPoint.getTime();
+      nearestAbove = dataPoint.getAcceleration();
       break;
     }
 
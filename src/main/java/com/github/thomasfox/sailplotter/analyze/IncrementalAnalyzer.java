@@ -0,0 +1,239 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.TackList;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
+import com.github.thomasfox.sailplotter.model.columns.LocationColumns;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
+import com.github.thomasfox.sailplotter.model.columns.TrackSums;
+
+/**
+ * Analyzes data which is received live, one location point after the other.
+ *
+ * When a point is added, the velocity, bearing and wind direction of the point before it
+ * are calculated in the same way as by the batch analysis, and the point is passed to an online tack detector.
+ * So adding a point costs constant time, independent of the number of points received so far.
+ * The points are stored in a bounded data object, so the oldest points are dropped
+ * when the maximum number of points is reached. If the tacks which are not closed yet
+ * still need the dropped point, they are closed before the point is dropped.
+ * The columns and track sums of the points whose analysis is final are appended row by row
+ * in the same way, so they are never calculated again for all points.
+ *
+ * The analyzer is not thread safe. The views get snapshots of the analyzed points instead,
+ * which are views on the points, columns and track sums of the analyzer,
+ * but are not changed by the analyzer afterwards.
+ */
+public class IncrementalAnalyzer
+{
+  private final Data data;
+
+  /** Calculates the geometry of the points on the fly, as the points are not known in advance. */
+  private final LocationProjection projection = new LocationProjection(Collections.emptyList());
+
+  private final VelocityBearingAnalyzer velocityBearingAnalyzer = new VelocityBearingAnalyzer();
+
+  private final WindDirectionAnalyzer windDirectionAnalyzer = new WindDirectionAnalyzer();
+
+  private final OnlineTackDetector tackDetector;
+
+  /** The columns of the points whose analysis is final, which are still contained in the data. */
+  private final LocationColumns.Builder columns;
+
+  /** The closed tacks whose points are all still contained in the data, in the order of their index. */
+  private final ArrayDeque<Tack> closedTacks = new ArrayDeque<>();
+
+  /**
+   * The number of points added so far whose analysis is final.
+   * The velocity and bearing of the last added point is only known when the next point is added.
+   */
+  private int analyzedPointCount;
+
+  /**
+   * Constructor.
+   *
+   * @param data the data to add the points to, empty and typically bounded, not null.
+   *        The data must not be changed by others.
+   */
+  public IncrementalAnalyzer(Data data)
+  {
+    this.data = data;
+    tackDetector = new OnlineTackDetector(new AnalyzedPoints(), null, closedTacks::add);
+    columns = new LocationColumns.Builder(data.getCapacity());
+  }
+
+  /**
+   * Adds a point to the data and analyzes the point before it.
+   *
+   * @param point the point to add, not null. The values of the point are copied into the data.
+   *        Must have a location and must not be earlier than the last added point.
+   *        Its index should be the number of points added before.
+   *
+   * @throws IllegalArgumentException if the point has no location or is earlier than the last added point.
+   */
+  public void add(DataPoint point)
+  {
+    if (!point.hasLocation())
+    {
+      throw new IllegalArgumentException("Point has no location");
+    }
+    if (data.isFull())
+    {
+      pointWillBeDropped(data.getDroppedPointCount());
+    }
+    data.add(point);
+    int lastIndex = data.size() - 1;
+    if (lastIndex >= 2)
+    {
+      DataPoint analyzedPoint = data.get(lastIndex - 1);
+      velocityBearingAnalyzer.analyze(analyzedPoint, data.get(lastIndex - 2), data.get(lastIndex), projection);
+      windDirectionAnalyzer.analyze(analyzedPoint, data.getAverageWindBearing());
+    }
+    setAnalyzedPointCount(data.getDroppedPointCount() + lastIndex);
+    tackDetector.processPoints();
+  }
+
+  /**
+   * Closes all tacks after the last point was received.
+   * Like in the batch analysis, the last point is analyzed without velocity and bearing.
+   * Adding points afterwards starts new tacks.
+   */
+  public void finish()
+  {
+    setAnalyzedPointCount(data.getDroppedPointCount() + data.size());
+    tackDetector.finish();
+  }
+
+  /**
+   * Sets the number of points whose analysis is final and appends the columns of the newly final points.
+   *
+   * @param newAnalyzedPointCount the new number of points whose analysis is final, counted from the first point added.
+   */
+  private void setAnalyzedPointCount(int newAnalyzedPointCount)
+  {
+    int droppedPointCount = data.getDroppedPointCount();
+    for (int i = Math.max(analyzedPointCount, droppedPointCount); i < newAnalyzedPointCount; i++)
+    {
+      columns.add(data.get(i - droppedPointCount));
+    }
+    analyzedPointCount = newAnalyzedPointCount;
+  }
+
+  /**
+   * Sets the wind direction for the points which are analyzed from now on.
+   *
+   * @param windBearing the direction in arcs where the wind comes from.
+   */
+  public void setWindBearing(double windBearing)
+  {
+    data.setAverageWindBearing(windBearing);
+  }
+
+  public Data getData()
+  {
+    return data;
+  }
+
+  /**
+   * Returns the tacks which are closed and whose points are all still contained in the data.
+   *
+   * @return the closed tacks in the order of their index, indexed by the number of points added before, not null.
+   */
+  public List<Tack> getClosedTacks()
+  {
+    return Collections.unmodifiableList(new ArrayList<>(closedTacks));
+  }
+
+  /**
+   * Creates a data object which contains the analyzed points which are still contained in the data,
+   * together with their location columns, track sums and closed tacks.
+   * The points, columns and track sums are views on those of the analyzer,
+   * so creating a snapshot costs time in the order of the number of closed tacks, not of points.
+   * The analyzer does not change analyzed points any more,
+   * so the snapshot is not changed by later calls to this analyzer.
+   *
+   * @return the snapshot, not null.
+   */
+  public Data createSnapshot()
+  {
+    int droppedPointCount = data.getDroppedPointCount();
+    int pointCount = analyzedPointCount - droppedPointCount;
+    Data snapshot = data.createLocationView(pointCount);
+    TrackSums trackSums = columns.buildTrackSums(pointCount);
+    snapshot.setColumns(new DataColumns(snapshot, columns.build(pointCount), projection, trackSums));
+
+    List<DataPoint> points = snapshot.getPointsWithLocation();
+    TackList tackList = new TackList();
+    for (Tack closedTack : closedTacks)
+    {
+      Tack tack = copyTack(closedTack, droppedPointCount, points);
+      tack.trackSums = trackSums;
+      tackList.add(tack);
+    }
+    snapshot.setTacks(tackList, new TackSeriesAnalyzer().analyze(tackList));
+    return snapshot;
+  }
+
+  /**
+   * Makes sure that nothing refers to a point which is about to be dropped.
+   *
+   * @param droppedIndex the index of the point to be dropped, counted from the first point added.
+   */
+  private void pointWillBeDropped(int droppedIndex)
+  {
+    if (tackDetector.getFirstNeededPointIndex() <= droppedIndex)
+    {
+      // the tacks are too long to fit into the data, so end them early
+      tackDetector.finish();
+    }
+    while (!closedTacks.isEmpty() && closedTacks.peekFirst().startOfTackDataPointIndex <= droppedIndex)
+    {
+      closedTacks.removeFirst();
+    }
+  }
+
+  private static Tack copyTack(Tack toCopy, int indexOffset, List<DataPoint> points)
+  {
+    Tack result = new Tack();
+    result.index = toCopy.index;
+    result.pointOfSail = toCopy.pointOfSail;
+    result.start = toCopy.start;
+    result.startOfTackDataPointIndex = toCopy.startOfTackDataPointIndex - indexOffset;
+    result.end = toCopy.end;
+    result.endOfTackDataPointIndex = toCopy.endOfTackDataPointIndex - indexOffset;
+    result.pointsWithinTack = points.subList(result.startOfTackDataPointIndex, result.endOfTackDataPointIndex + 1);
+    result.windDirection = toCopy.windDirection;
+    result.maneuverTypeAtStart = toCopy.maneuverTypeAtStart;
+    result.maneuverTypeAtEnd = toCopy.maneuverTypeAtEnd;
+    result.tackStraightLineIntersectionStart = toCopy.tackStraightLineIntersectionStart;
+    result.tackStraightLineIntersectionEnd = toCopy.tackStraightLineIntersectionEnd;
+    return result;
+  }
+
+  /**
+   * The analyzed points, indexed by the number of points added before.
+   * Points which have been dropped from the data cannot be read any more.
+   * The list only grows, so sub lists taken from it stay valid.
+   */
+  private class AnalyzedPoints extends AbstractList<DataPoint>
+  {
+    @Override
+    public DataPoint get(int index)
+    {
+      return data.get(index - data.getDroppedPointCount());
+    }
+
+    @Override
+    public int size()
+    {
+      return analyzedPointCount;
+    }
+  }
+}
@@ -24,20 +24,20 @@ public class LocationInterpolator
       DataPoint point = data.get(i);
       if (point.hasLocation())
       {
-        lastLocation = point.location;
-        lastLocationTime = point.time;
+        lastLocation = point.getLocation();
+        lastLocationTime = point.getTime();
         DataPoint nextPointWithLocation = getNextPointWithLocation(allPoints, i);
         if (nextPointWithLocation == null)
         {
           break;
         }
-        nextLocation = nextPointWithLocation.location;
-        nextLocationTime = nextPointWithLocation.time;
+        nextLocation = nextPointWithLocation.getLocation();
+        nextLocationTime = nextPointWithLocation.getTime();
         continue;
       }
       if (lastLocation != null)
       {
-        point.location = Location.interpolate(lastLocation, nextLocationTime - point.time, nextLocation, point.time - lastLocationTime);
+        point.setLocation(Location.interpolate(lastLocation, nextLocationTime - point.getTime(), nextLocation, point.getTime() - lastLocationTime));
       }
     }
   }
@@ -0,0 +1,411 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.listener.TackListener;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Location;
+import com.github.thomasfox.sailplotter.model.ManeuverType;
+import com.github.thomasfox.sailplotter.model.PointOfSail;
+import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
+
+/**
+ * Detects tacks while the points of a track are processed one after the other.
+ *
+ * A tack is started at a point and extended by the following points until
+ * OFF_TACK_COUNTS_STARTS_NEW points in a row deviate from the bearing of the tack
+ * by more than OFF_TACK_BEARING_THRESHOLD; then a new tack is started.
+ * This tends to put the end of the tacks too late, so when a tack has ended,
+ * the boundary to the previous tack is moved to where the points within ADJUSTMENT_RADIUS
+ * of the boundary fit better to the one or the other tack.
+ * Once the next tack's boundary has been adjusted too, the maneuver
+ * and intersection point between two tacks are known, and the earlier tack is closed.
+ *
+ * The detector only keeps the open tack and the two tacks before it,
+ * so each point costs constant time on average, independent of the length of the track.
+ * The points are read from a list which may grow between calls of processPoints(),
+ * as long as the sub lists taken from it stay valid.
+ */
+public class OnlineTackDetector
+{
+  private static final double OFF_TACK_BEARING_THRESHOLD = Math.PI / 4; // 45 degrees
+
+  private static final int OFF_TACK_COUNTS_STARTS_NEW = 2;
+
+  private static final int ADJUSTMENT_RADIUS = 10;
+
+  private final List<DataPoint> points;
+
+  private final LocationProjection projection;
+
+  /** The wind directions of the points, or null to use the wind directions set in the points. */
+  private final DoubleColumn windDirection;
+
+  private final TackListener listener;
+
+  /** The index of the next point to process. */
+  private int nextPointIndex;
+
+  private int tackIndex;
+
+  private int offTackCounter;
+
+  /** The tack which is extended by new points, or null. */
+  private Tack openTack;
+
+  /** The tack which has ended but whose end may still be moved by the adjustment to the open tack, or null. */
+  private Tack endedTack;
+
+  /** The tack whose start and end are final but whose maneuver at the end is not known yet, or null. */
+  private Tack adjustedTack;
+
+  /**
+   * Constructor.
+   *
+   * @param points the points of the track, all with location, not null.
+   * @param projection the projected locations of the points, or null.
+   * @param listener receives the detected tacks, not null.
+   */
+  public OnlineTackDetector(List<DataPoint> points, LocationProjection projection, TackListener listener)
+  {
+    this(points, projection, null, listener);
+  }
+
+  /**
+   * Constructor for detecting the tacks with wind directions which are not set in the points.
+   *
+   * @param points the points of the track, all with location, not null.
+   * @param projection the projected locations of the points, or null.
+   * @param windDirection the wind directions of the points, with the same indices as the points,
+   *        or null to use the wind directions set in the points.
+   * @param listener receives the detected tacks, not null.
+   */
+  public OnlineTackDetector(
+      List<DataPoint> points,
+      LocationProjection projection,
+      DoubleColumn windDirection,
+      TackListener listener)
+  {
+    this.points = points;
+    this.projection = projection;
+    this.windDirection = windDirection;
+    this.listener = listener;
+  }
+
+  /**
+   * Processes all points of the list which have not been processed yet.
+   */
+  public void processPoints()
+  {
+    while (nextPointIndex < points.size())
+    {
+      processPoint(nextPointIndex);
+      nextPointIndex++;
+    }
+  }
+
+  /**
+   * Closes all remaining tacks after the last point of the track was processed.
+   * The open tack is only kept if it is long enough to adjust its start.
+   * Processing may continue afterwards; the next point with a bearing then starts a new tack.
+   */
+  public void finish()
+  {
+    processPoints();
+    offTackCounter = 0;
+    if (openTack != null
+        && openTack.end != null
+        && openTack.endOfTackDataPointIndex - openTack.startOfTackDataPointIndex >= 2 * ADJUSTMENT_RADIUS)
+    {
+      tackEnded(openTack);
+    }
+    openTack = null;
+    if (endedTack != null)
+    {
+      // adjusting the start has set the point of sail from the start point only
+      // and has not updated the points within the tack, ending the tack again updates both
+      endedTack.end(endedTack.end, endedTack.endOfTackDataPointIndex, points);
+      endedTackAdjusted();
+      listener.tackClosed(adjustedTack);
+      adjustedTack = null;
+    }
+  }
+
+  /**
+   * Returns the tack which is currently extended by new points.
+   *
+   * @return the open tack, or null if no tack has been started since the last tack ended.
+   */
+  public Tack getOpenTack()
+  {
+    return openTack;
+  }
+
+  /**
+   * Returns the index of the first point which is still needed to close the tacks which are not closed yet.
+   * Points before this index are not read any more.
+   *
+   * @return the index of the first needed point.
+   */
+  public int getFirstNeededPointIndex()
+  {
+    if (adjustedTack != null)
+    {
+      return adjustedTack.startOfTackDataPointIndex;
+    }
+    if (endedTack != null)
+    {
+      return endedTack.startOfTackDataPointIndex;
+    }
+    if (openTack != null)
+    {
+      return openTack.startOfTackDataPointIndex;
+    }
+    return nextPointIndex;
+  }
+
+  private void processPoint(int dataPointIndex)
+  {
+    DataPoint point = points.get(dataPointIndex);
+    if (!point.isLocationSet())
+    {
+      return;
+    }
+    if (point.getBearingFromLatLong() == null)
+    {
+      if (openTack == null)
+      {
+        return;
+      }
+      // bearing == null means that current velocity is zero. Does not end current tack.
+      // Does not increase offTackCounter but does not reset it either.
+      openTack.end(point, dataPointIndex, points);
+      listener.tackRevised(openTack);
+      return;
+    }
+    if (openTack == null)
+    {
+      openTack(point, dataPointIndex);
+      return;
+    }
+    openTack.end(point, dataPointIndex, points);
+    Double bearingDifference = point.getBearingDifference(openTack.getAbsoluteBearingInArcs());
+    if (bearingDifference == null)
+    {
+      // null may happen if points have the same coordinates. ignore.
+    }
+    else
+    {
+      if (Math.abs(bearingDifference) > OFF_TACK_BEARING_THRESHOLD)
+      {
+        offTackCounter++;
+      }
+      else
+      {
+        offTackCounter = 0;
+      }
+    }
+    if (offTackCounter >= OFF_TACK_COUNTS_STARTS_NEW)
+    {
+      tackEnded(openTack);
+      openTack(point, dataPointIndex);
+      offTackCounter = 0;
+    }
+    else
+    {
+      listener.tackRevised(openTack);
+    }
+  }
+
+  private void openTack(DataPoint point, int dataPointIndex)
+  {
+    openTack = new Tack();
+    openTack.index = tackIndex++;
+    openTack.projection = projection;
+    startTack(openTack, dataPointIndex);
+    listener.tackOpened(openTack);
+  }
+
+  private void startTack(Tack tack, int dataPointIndex)
+  {
+    if (windDirection == null)
+    {
+      tack.start(points.get(dataPointIndex), dataPointIndex);
+      return;
+    }
+    tack.start(points.get(dataPointIndex), dataPointIndex, windDirection.getOrNull(dataPointIndex));
+  }
+
+  /**
+   * Adjusts the boundary between the previously ended tack and the passed tack,
+   * which makes the start and end of the previously ended tack final.
+   */
+  private void tackEnded(Tack tack)
+  {
+    if (endedTack != null)
+    {
+      adjustTackStartAndEndPoint(endedTack, tack);
+      listener.tackRevised(endedTack);
+      listener.tackRevised(tack);
+      endedTackAdjusted();
+    }
+    endedTack = tack;
+  }
+
+  /**
+   * Connects the adjusted tack with the ended tack, whose start is final now,
+   * and closes the adjusted tack.
+   */
+  private void endedTackAdjusted()
+  {
+    if (adjustedTack != null)
+    {
+      connectTacks(adjustedTack, endedTack);
+      listener.tackClosed(adjustedTack);
+    }
+    adjustedTack = endedTack;
+    endedTack = null;
+  }
+
+  private void adjustTackStartAndEndPoint(Tack lastTack, Tack nextTack)
+  {
+    Double lastTackBearing = lastTack.getAbsoluteBearingInArcs();
+    Double nextTackBearing = nextTack.getAbsoluteBearingInArcs();
+    int startIndex = Math.max(lastTack.endOfTackDataPointIndex - ADJUSTMENT_RADIUS, lastTack.startOfTackDataPointIndex);
+    int endIndex = Math.min(lastTack.endOfTackDataPointIndex + ADJUSTMENT_RADIUS, nextTack.endOfTackDataPointIndex);
+    int countNearerToLast = 0;
+    int countNearerToNext = 0;
+    for (int pointIndex = startIndex; pointIndex <= endIndex; ++pointIndex)
+    {
+      Double bearingDifferenceToLastTack = points.get(pointIndex).getBearingDifference(lastTackBearing);
+      Double bearingDifferenceToNextTack = points.get(pointIndex).getBearingDifference(nextTackBearing);
+      if (bearingDifferenceToLastTack != null && bearingDifferenceToNextTack != null)
+      {
+        if (Math.abs(bearingDifferenceToLastTack) > Math.abs(bearingDifferenceToNextTack))
+        {
+          countNearerToNext++;
+        }
+        else if (Math.abs(bearingDifferenceToLastTack) < Math.abs(bearingDifferenceToNextTack))
+        {
+          countNearerToLast++;
+        }
+      }
+    }
+    int change = (countNearerToLast - countNearerToNext) / 2;
+    if (-change < lastTack.endOfTackDataPointIndex - lastTack.startOfTackDataPointIndex)
+    {
+      lastTack.end(points.get(lastTack.endOfTackDataPointIndex + change), lastTack.endOfTackDataPointIndex + change, points);
+    }
+    if (change < lastTack.endOfTackDataPointIndex - lastTack.startOfTackDataPointIndex)
+    {
+      int dataPointIndex = nextTack.startOfTackDataPointIndex + change;
+      if (dataPointIndex < 0)
+      {
+        dataPointIndex = 0;
+      }
+      startTack(nextTack, dataPointIndex);
+    }
+  }
+
+  private void connectTacks(Tack lastTack, Tack nextTack)
+  {
+    ManeuverType maneuverTypeBetweenTacks = determineManeuverTypeBetweenTacks(lastTack, nextTack);
+    lastTack.maneuverTypeAtEnd = maneuverTypeBetweenTacks;
+    nextTack.maneuverTypeAtStart = maneuverTypeBetweenTacks;
+
+    if (lastTack.hasMainPoints() && nextTack.hasMainPoints())
+    {
+      Location intersection = Location.intersection(
+          lastTack.getAfterStartManeuver().getLocation(),
+          lastTack.getBeforeEndManeuver().getLocation(),
+          nextTack.getAfterStartManeuver().getLocation(),
+          nextTack.getBeforeEndManeuver().getLocation());
+      lastTack.tackStraightLineIntersectionEnd = new DataPoint(-1);
+      lastTack.tackStraightLineIntersectionEnd.setLocation(intersection);
+      nextTack.tackStraightLineIntersectionStart = new DataPoint(-1);
+      nextTack.tackStraightLineIntersectionStart.setLocation(new Location(intersection));
+
+      calculateTackIntersectionTimes(lastTack, nextTack);
+    }
+  }
+
+  private static ManeuverType determineManeuverTypeBetweenTacks(Tack lastTack, Tack nextTack)
+  {
+    if (((lastTack.pointOfSail == PointOfSail.CLOSE_HAULED_PORT || lastTack.pointOfSail == PointOfSail.BEAM_REACH_PORT)
+          && (nextTack.pointOfSail == PointOfSail.CLOSE_HAULED_STARBOARD || nextTack.pointOfSail == PointOfSail.BEAM_REACH_STARBOARD))
+        || (lastTack.pointOfSail == PointOfSail.CLOSE_HAULED_STARBOARD || lastTack.pointOfSail == PointOfSail.BEAM_REACH_STARBOARD
+            && (nextTack.pointOfSail == PointOfSail.CLOSE_HAULED_PORT || nextTack.pointOfSail == PointOfSail.BEAM_REACH_PORT)))
+    {
+      return ManeuverType.TACK;
+    }
+    if ((lastTack.pointOfSail == PointOfSail.CLOSE_HAULED_PORT
+        && (nextTack.pointOfSail == PointOfSail.BEAM_REACH_PORT || nextTack.pointOfSail == PointOfSail.BROAD_REACH_PORT))
+      || (lastTack.pointOfSail == PointOfSail.BEAM_REACH_PORT
+        && nextTack.pointOfSail == PointOfSail.BROAD_REACH_PORT)
+      || (lastTack.pointOfSail == PointOfSail.CLOSE_HAULED_STARBOARD
+          && (nextTack.pointOfSail == PointOfSail.BEAM_REACH_STARBOARD || nextTack.pointOfSail == PointOfSail.BROAD_REACH_STARBOARD))
+      || (lastTack.pointOfSail == PointOfSail.BEAM_REACH_STARBOARD
+          && nextTack.pointOfSail == PointOfSail.BROAD_REACH_STARBOARD))
+    {
+      return ManeuverType.BEAR_AWAY;
+    }
+    if ((lastTack.pointOfSail == PointOfSail.BROAD_REACH_PORT
+        && nextTack.pointOfSail == PointOfSail.BEAM_REACH_PORT || nextTack.pointOfSail == PointOfSail.CLOSE_HAULED_PORT)
+      || (lastTack.pointOfSail == PointOfSail.BROAD_REACH_PORT
+        && nextTack.pointOfSail == PointOfSail.BEAM_REACH_PORT)
+      || (lastTack.pointOfSail == PointOfSail.BROAD_REACH_STARBOARD
+          && nextTack.pointOfSail == PointOfSail.BEAM_REACH_STARBOARD || nextTack.pointOfSail == PointOfSail.CLOSE_HAULED_STARBOARD)
+      || (lastTack.pointOfSail == PointOfSail.BROAD_REACH_STARBOARD
+          && nextTack.pointOfSail == PointOfSail.BEAM_REACH_STARBOARD))
+    {
+      return ManeuverType.HEAD_UP;
+    }
+    if ((lastTack.pointOfSail == PointOfSail.BROAD_REACH_PORT
+          && nextTack.pointOfSail == PointOfSail.BROAD_REACH_STARBOARD)
+        || (lastTack.pointOfSail == PointOfSail.BROAD_REACH_STARBOARD
+            && nextTack.pointOfSail == PointOfSail.BROAD_REACH_PORT))
+    {
+      return ManeuverType.JIBE;
+    }
+    return nextTack.maneuverTypeAtStart = ManeuverType.UNKNOWN;
+  }
+
+  static void calculateTackIntersectionTimes(Tack lastTack, Tack nextTack)
+  {
+    if (Math.abs(lastTack.getBeforeEndManeuver().getY() - lastTack.getAfterStartManeuver().getY()) > 1d)
+    {
+      lastTack.tackStraightLineIntersectionEnd.setTime(Double.valueOf(lastTack.getBeforeEndManeuver().getTime()
+          + (lastTack.getBeforeEndManeuver().getTime() - lastTack.getAfterStartManeuver().getTime())
+            * (lastTack.tackStraightLineIntersectionEnd.getY()- lastTack.getBeforeEndManeuver().getY())
+            / (lastTack.getBeforeEndManeuver().getY() - lastTack.getAfterStartManeuver().getY()))
+        .longValue());
+    }
+    else if (Math.abs(lastTack.getBeforeEndManeuver().getX() - lastTack.getAfterStartManeuver().getX()) > 1d)
+    {
+      lastTack.tackStraightLineIntersectionEnd.setTime(Double.valueOf(lastTack.getBeforeEndManeuver().getTime()
+            + (lastTack.getBeforeEndManeuver().getTime() - lastTack.getAfterStartManeuver().getTime())
+              * (lastTack.tackStraightLineIntersectionEnd.getX() - lastTack.getBeforeEndManeuver().getX())
+              / (lastTack.getBeforeEndManeuver().getX() - lastTack.getAfterStartManeuver().getX()))
+          .longValue());
+    }
+
+    if (Math.abs(nextTack.getBeforeEndManeuver().getY() - nextTack.getAfterStartManeuver().getY()) > 1d)
+    {
+      nextTack.tackStraightLineIntersectionStart.setTime(Double.valueOf(nextTack.getAfterStartManeuver().getTime()
+          + (nextTack.getBeforeEndManeuver().getTime() - nextTack.getAfterStartManeuver().getTime())
+            * (nextTack.tackStraightLineIntersectionStart.getY() - nextTack.getAfterStartManeuver().getY())
+            / (nextTack.getBeforeEndManeuver().getY() - nextTack.getAfterStartManeuver().getY()))
+        .longValue());
+    }
+    else if (Math.abs(nextTack.getBeforeEndManeuver().getX() - nextTack.getAfterStartManeuver().getX()) > 1d)
+    {
+      nextTack.tackStraightLineIntersectionStart.setTime(Double.valueOf(nextTack.getAfterStartManeuver().getTime()
+            + (nextTack.getBeforeEndManeuver().getTime() - nextTack.getAfterStartManeuver().getTime())
+              * (nextTack.tackStraightLineIntersectionStart.getX()- nextTack.getAfterStartManeuver().getX())
+              / (nextTack.getBeforeEndManeuver().getX() - nextTack.getAfterStartManeuver().getX()))
+          .longValue());
+    }
+  }
+}
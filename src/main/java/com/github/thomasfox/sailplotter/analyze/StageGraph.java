@@ -0,0 +1,154 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+
+/**
+ * A set of analysis stages which are connected by the artifacts they need and produce.
+ * Each stage is started as soon as all its inputs are produced,
+ * so stages which do not depend on each other run concurrently.
+ * Stages must be added after the stages producing their inputs,
+ * which guarantees that the graph contains no cycles.
+ */
+public class StageGraph
+{
+  private final List<AnalysisStage> stages = new ArrayList<>();
+
+  private final Map<AnalysisArtifact, AnalysisStage> producers = new EnumMap<>(AnalysisArtifact.class);
+
+  /**
+   * Adds a stage to the graph.
+   *
+   * @param stage the stage to add, not null.
+   *
+   * @return this graph, for chaining.
+   *
+   * @throws IllegalArgumentException if an input of the stage is not produced by a stage
+   *         which was added before, or if an output of the stage is already produced
+   *         by another stage.
+   */
+  public StageGraph add(AnalysisStage stage)
+  {
+    for (AnalysisArtifact input : stage.getInputs())
+    {
+      if (!producers.containsKey(input))
+      {
+        throw new IllegalArgumentException("Input " + input + " of stage " + stage.getName()
+            + " is not produced by any previous stage");
+      }
+    }
+    for (AnalysisArtifact output : stage.getOutputs())
+    {
+      if (producers.containsKey(output))
+      {
+        throw new IllegalArgumentException("Output " + output + " of stage " + stage.getName()
+            + " is already produced by stage " + producers.get(output).getName());
+      }
+    }
+    stages.add(stage);
+    for (AnalysisArtifact output : stage.getOutputs())
+    {
+      producers.put(output, stage);
+    }
+    return this;
+  }
+
+  public List<AnalysisStage> getStages()
+  {
+    return new ArrayList<>(stages);
+  }
+
+  /**
+   * Returns the artifacts which are guaranteed to be produced when a stage starts,
+   * i.e. the inputs of the stage and, recursively, the inputs of the stages producing them.
+   * A stage must not read any other artifact, because it may be produced concurrently.
+   *
+   * @param stage a stage of this graph, not null.
+   *
+   * @return the available artifacts, not null.
+   */
+  public Set<AnalysisArtifact> getAvailableArtifacts(AnalysisStage stage)
+  {
+    Set<AnalysisArtifact> result = EnumSet.noneOf(AnalysisArtifact.class);
+    for (AnalysisArtifact input : stage.getInputs())
+    {
+      result.add(input);
+      result.addAll(getAvailableArtifacts(producers.get(input)));
+    }
+    return result;
+  }
+
+  /**
+   * Runs all stages and waits until they are finished.
+   * If a stage fails, the stages depending on it are not run,
+   * the independent stages are run to completion and then the failure is rethrown.
+   *
+   * @param data the data to analyze, not null.
+   * @param loadProgress where to report progress to, not null.
+   * @param executor the executor to run the stages on, not null.
+   *
+   * @return the duration of each stage in milliseconds, keyed by the stage name,
+   *         in the order the stages were added.
+   */
+  public Map<String, Long> run(Data data, LoadProgress loadProgress, Executor executor)
+  {
+    Map<AnalysisArtifact, CompletableFuture<Void>> produced = new EnumMap<>(AnalysisArtifact.class);
+    Map<AnalysisStage, Long> durations = new ConcurrentHashMap<>();
+    List<CompletableFuture<Void>> allStages = new ArrayList<>();
+    for (AnalysisStage stage : stages)
+    {
+      CompletableFuture<?>[] inputs = stage.getInputs().stream()
+          .map(produced::get)
+          .toArray(CompletableFuture<?>[]::new);
+      CompletableFuture<Void> stageFuture = CompletableFuture.allOf(inputs).thenRunAsync(
+          () ->
+          {
+            long startNanos = System.nanoTime();
+            stage.run(data, loadProgress);
+            durations.put(stage, (System.nanoTime() - startNanos) / 1_000_000);
+          },
+          executor);
+      for (AnalysisArtifact output : stage.getOutputs())
+      {
+        produced.put(output, stageFuture);
+      }
+      allStages.add(stageFuture);
+    }
+
+    try
+    {
+      CompletableFuture.allOf(allStages.toArray(new CompletableFuture<?>[allStages.size()])).join();
+    }
+    catch (CompletionException e)
+    {
+      if (e.getCause() instanceof RuntimeException)
+      {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error)
+      {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+
+    Map<String, Long> result = new LinkedHashMap<>();
+    for (AnalysisStage stage : stages)
+    {
+      result.put(stage.getName(), durations.get(stage));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,27 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.model.TackList;
+import com.github.thomasfox.sailplotter.model.TackSeries;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
+
+/**
+ * A tack list together with the tack series derived from it
+ * and the columns whose wind directions and track sums the tacks use.
+ */
+public class TackAnalysis
+{
+  public final TackList tackList;
+
+  public final List<TackSeries> tackSeriesList;
+
+  public final DataColumns columns;
+
+  public TackAnalysis(TackList tackList, List<TackSeries> tackSeriesList, DataColumns columns)
+  {
+    this.tackList = tackList;
+    this.tackSeriesList = tackSeriesList;
+    this.columns = columns;
+  }
+}
@@ -19,9 +19,9 @@ public class UseGpsTimeDataCorrector
     List<DataPoint> pointsWithLocation = data.getPointsWithLocation();
     for (DataPoint point : pointsWithLocation)
     {
-      if (point.location.satelliteTime != null)
+      if (point.getSatelliteTime() != null)
       {
-        timeDistanceSum += point.location.satelliteTime - point.time;
+        timeDistanceSum += point.getSatelliteTime() - point.getTime();
         count++;
       }
     }
@@ -30,7 +30,7 @@ public class UseGpsTimeDataCorrector
       long timeDistance = timeDistanceSum / count;
       for (DataPoint point : data.getAllPoints())
       {
-        point.time = point.time + timeDistance;
+        point.setTime(point.getTime() + timeDistance);
       }
     }
   }
@@ -5,27 +5,33 @@ import java.util.List;
 import com.github.thomasfox.sailplotter.Constants;
 import com.github.thomasfox.sailplotter.model.Data;
 import com.github.thomasfox.sailplotter.model.DataPoint;
-import com.github.thomasfox.sailplotter.model.Wind;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
 
 public class VelocityBearingAnalyzer
 {
   public void analyze(Data data)
   {
     List<DataPoint> pointsWithLocation = data.getPointsWithLocation();
+    LocationProjection projection = data.getColumns().getLocationProjection();
     for (int i = 1; i < pointsWithLocation.size() - 1; ++i)
     {
-      DataPoint point = pointsWithLocation.get(i);
-      DataPoint pointBefore = pointsWithLocation.get(i - 1);
-      DataPoint pointAfter = pointsWithLocation.get(i + 1);
-      double distance = pointAfter.location.approximateDistance(pointBefore.location);
-      point.location.velocityFromLatLong = distance / pointAfter.timeDistanceMillis(pointBefore) * 1000 / Constants.NAUTICAL_MILE * 3600d;
-      point.location.bearingFromLatLong = pointBefore.getBearingTo(pointAfter);
-      point.location.velocityBearingAveragedOverDistance = distance;
-      if (point.wind == null)
-      {
-        point.wind = new Wind();
-      }
-      point.wind.direction = data.getAverageWindBearing();
+      analyze(pointsWithLocation.get(i), pointsWithLocation.get(i - 1), pointsWithLocation.get(i + 1), projection);
     }
   }
+
+  /**
+   * Calculates the velocity and bearing of a point from the locations of its neighbours.
+   *
+   * @param point the point to calculate the velocity and bearing for, not null.
+   * @param pointBefore the location point before the point, not null.
+   * @param pointAfter the location point after the point, not null.
+   * @param projection the projected locations of the points, not null.
+   */
+  public void analyze(DataPoint point, DataPoint pointBefore, DataPoint pointAfter, LocationProjection projection)
+  {
+    double distance = projection.getDistance(pointAfter, pointBefore);
+    point.setVelocityFromLatLong(distance / pointAfter.timeDistanceMillis(pointBefore) * 1000 / Constants.NAUTICAL_MILE * 3600d);
+    point.setBearingFromLatLong(projection.getBearing(pointBefore, pointAfter));
+    point.setVelocityBearingAveragedOverDistance(distance);
+  }
 }
@@ -0,0 +1,83 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
+
+/**
+ * Sets the wind direction of the location points to the average wind direction.
+ */
+public class WindDirectionAnalyzer
+{
+  public void analyze(Data data)
+  {
+    analyze(data, data.getAverageWindBearing());
+  }
+
+  /**
+   * Sets the wind direction of the location points.
+   * The first and the last location point are left unchanged.
+   *
+   * @param data the data to set the wind direction in, not null.
+   * @param windBearing the direction in arcs where the wind comes from.
+   */
+  public void analyze(Data data, double windBearing)
+  {
+    List<DataPoint> pointsWithLocation = data.getPointsWithLocation();
+    for (int i = 1; i < pointsWithLocation.size() - 1; ++i)
+    {
+      analyze(pointsWithLocation.get(i), windBearing);
+    }
+  }
+
+  /**
+   * Calculates the wind direction of the location points without setting it in the points.
+   * The wind direction of the first and the last location point are left unchanged.
+   *
+   * @param windDirection the current wind directions of the location points, not null. Is not changed.
+   * @param windBearing the direction in arcs where the wind comes from.
+   *
+   * @return the new wind directions of the location points, not null.
+   */
+  public DoubleColumn calculate(DoubleColumn windDirection, double windBearing)
+  {
+    DoubleColumn result = windDirection.copy();
+    for (int i = 1; i < result.size() - 1; ++i)
+    {
+      result.set(i, windBearing);
+    }
+    return result;
+  }
+
+  /**
+   * Sets calculated wind directions in the location points.
+   * Points without a wind direction in the column are left unchanged.
+   *
+   * @param data the data to set the wind direction in, not null.
+   * @param windDirection the wind directions of the location points, as returned by calculate(), not null.
+   */
+  public void apply(Data data, DoubleColumn windDirection)
+  {
+    List<DataPoint> pointsWithLocation = data.getPointsWithLocation();
+    for (int i = 0; i < pointsWithLocation.size(); ++i)
+    {
+      if (windDirection.isPresent(i))
+      {
+        analyze(pointsWithLocation.get(i), windDirection.get(i));
+      }
+    }
+  }
+
+  /**
+   * Sets the wind direction of a single point.
+   *
+   * @param point the point to set the wind direction in, not null.
+   * @param windBearing the direction in arcs where the wind comes from.
+   */
+  public void analyze(DataPoint point, double windBearing)
+  {
+    point.setWindDirection(windBearing);
+  }
+}
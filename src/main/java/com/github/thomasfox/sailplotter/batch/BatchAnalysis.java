@@ -0,0 +1,341 @@
+package com.github.thomasfox.sailplotter.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.exporter.SailplotFormat;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.importer.FormatAwareImporter;
+import com.github.thomasfox.sailplotter.model.Data;
+
+/**
+ * Reads and analyzes many recorded sessions without user interface
+ * and writes a summary of each session, its tacks and its tack series.
+ *
+ * The files are processed in parallel by a fixed number of worker threads.
+ * At most one file per worker is in process at any time, and only the summary
+ * of a session is kept after it has been analyzed, so the memory needed
+ * does not depend on the number of files.
+ * The summaries are written in the order in which the files are finished.
+ */
+public class BatchAnalysis
+{
+  /** The extensions of the files which are processed when a directory is passed. */
+  static final List<String> EXTENSIONS
+      = Arrays.asList(".saillog", ".gpx", ".vrtp", ".log", SailplotFormat.EXTENSION);
+
+  private final int threads;
+
+  private final SummaryWriter summaryWriter;
+
+  private int sessionCount;
+
+  private int failedCount;
+
+  private long pointCount;
+
+  private long tackCount;
+
+  private long byteCount;
+
+  private long readMillis;
+
+  private long analyzeMillis;
+
+  private long elapsedNanos;
+
+  /**
+   * Constructor.
+   *
+   * @param threads the number of files to process in parallel, at least 1.
+   * @param summaryWriter where to write the summaries to, not null.
+   */
+  public BatchAnalysis(int threads, SummaryWriter summaryWriter)
+  {
+    if (threads < 1)
+    {
+      throw new IllegalArgumentException("threads must be at least 1 but is " + threads);
+    }
+    this.threads = threads;
+    this.summaryWriter = summaryWriter;
+  }
+
+  /**
+   * Processes the passed files and writes their summaries.
+   * Files which cannot be read or analyzed are summarized with the error message.
+   *
+   * @param files the files to process, not null.
+   *
+   * @throws IOException if writing a summary fails.
+   */
+  public void run(List<File> files) throws IOException
+  {
+    long startNanos = System.nanoTime();
+    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable ->
+    {
+      Thread thread = new Thread(runnable, "batch analysis");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try
+    {
+      CompletionService<SessionSummary> completionService = new ExecutorCompletionService<>(executor);
+      int inProcess = 0;
+      for (File file : files)
+      {
+        if (inProcess == threads)
+        {
+          write(takeNext(completionService));
+          inProcess--;
+        }
+        completionService.submit(() -> analyze(file));
+        inProcess++;
+      }
+      while (inProcess > 0)
+      {
+        write(takeNext(completionService));
+        inProcess--;
+      }
+    }
+    finally
+    {
+      executor.shutdownNow();
+      elapsedNanos += System.nanoTime() - startNanos;
+    }
+  }
+
+  private SessionSummary takeNext(CompletionService<SessionSummary> completionService) throws IOException
+  {
+    try
+    {
+      return completionService.take().get();
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for analysis results", e);
+    }
+    catch (ExecutionException e)
+    {
+      // analyze() catches all exceptions, so only errors end up here
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Reads and analyzes a file.
+   * The analysis stages are run in the calling thread, the parallelism is across files.
+   *
+   * @param file the file to process, not null.
+   *
+   * @return the summary of the session in the file, not null.
+   */
+  static SessionSummary analyze(File file)
+  {
+    try
+    {
+      LoadProgress loadProgress = new LoadProgress(null);
+      FormatAwareImporter importer = new FormatAwareImporter(loadProgress);
+      long startMillis = System.currentTimeMillis();
+      Data data = importer.read(file);
+      long readFinishedMillis = System.currentTimeMillis();
+      if (importer.isAnalysisNeeded(file))
+      {
+        Analyzer.analyze(data, loadProgress, Runnable::run);
+      }
+      long analyzeFinishedMillis = System.currentTimeMillis();
+      return SessionSummary.of(
+          file,
+          data,
+          readFinishedMillis - startMillis,
+          analyzeFinishedMillis - readFinishedMillis);
+    }
+    catch (RuntimeException e)
+    {
+      return SessionSummary.failed(file, e);
+    }
+  }
+
+  private void write(SessionSummary summary) throws IOException
+  {
+    summaryWriter.write(summary);
+    sessionCount++;
+    byteCount += summary.fileSizeInBytes;
+    if (summary.isFailed())
+    {
+      failedCount++;
+      System.err.println("Could not process " + summary.file + ": " + summary.error);
+      return;
+    }
+    pointCount += summary.numberOfPoints;
+    tackCount += summary.numberOfTacks;
+    readMillis += summary.readMillis;
+    analyzeMillis += summary.analyzeMillis;
+  }
+
+  public int getSessionCount()
+  {
+    return sessionCount;
+  }
+
+  public int getFailedCount()
+  {
+    return failedCount;
+  }
+
+  /**
+   * Returns a human readable report of the processed amount of data and the throughput.
+   *
+   * @return the report, not null.
+   */
+  public String getThroughputReport()
+  {
+    double seconds = Math.max(elapsedNanos / 1e9d, 1e-9d);
+    return String.format(Locale.ROOT,
+        "Processed %d files (%d failed), %d points, %d tacks, %.1f MB in %.1f s with %d threads%n"
+            + "Throughput: %.1f files/s, %.0f points/s, %.2f MB/s%n"
+            + "Time spent in all threads: reading %.1f s, analyzing %.1f s%n",
+        sessionCount,
+        failedCount,
+        pointCount,
+        tackCount,
+        byteCount / 1e6d,
+        seconds,
+        threads,
+        sessionCount / seconds,
+        pointCount / seconds,
+        byteCount / 1e6d / seconds,
+        readMillis / 1000d,
+        analyzeMillis / 1000d);
+  }
+
+  /**
+   * Returns the files to process, i.e. the passed files
+   * and the files with a known extension in the passed directories and their subdirectories.
+   *
+   * @param filesOrDirectories the files and directories to process, not null.
+   *
+   * @return the files to process, directory contents in the order of their path, not null.
+   *
+   * @throws IOException if a directory cannot be read.
+   */
+  static List<File> collectFiles(List<File> filesOrDirectories) throws IOException
+  {
+    List<File> result = new ArrayList<>();
+    for (File fileOrDirectory : filesOrDirectories)
+    {
+      if (!fileOrDirectory.isDirectory())
+      {
+        result.add(fileOrDirectory);
+        continue;
+      }
+      try (Stream<Path> paths = Files.walk(fileOrDirectory.toPath()))
+      {
+        result.addAll(paths
+            .filter(Files::isRegularFile)
+            .filter(path -> hasKnownExtension(path.getFileName().toString()))
+            .sorted()
+            .map(Path::toFile)
+            .collect(Collectors.toList()));
+      }
+    }
+    return result;
+  }
+
+  private static boolean hasKnownExtension(String fileName)
+  {
+    for (String extension : EXTENSIONS)
+    {
+      if (fileName.endsWith(extension))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static void main(String[] args)
+  {
+    int threads = Runtime.getRuntime().availableProcessors();
+    String format = "csv";
+    File outputDirectory = new File(".");
+    List<File> filesOrDirectories = new ArrayList<>();
+    try
+    {
+      for (int i = 0; i < args.length; i++)
+      {
+        if ("-threads".equals(args[i]) && i + 1 < args.length)
+        {
+          threads = Integer.parseInt(args[++i]);
+        }
+        else if ("-format".equals(args[i]) && i + 1 < args.length)
+        {
+          format = args[++i];
+        }
+        else if ("-output".equals(args[i]) && i + 1 < args.length)
+        {
+          outputDirectory = new File(args[++i]);
+        }
+        else if (args[i].startsWith("-"))
+        {
+          printUsage();
+          System.exit(1);
+        }
+        else
+        {
+          filesOrDirectories.add(new File(args[i]));
+        }
+      }
+    }
+    catch (NumberFormatException e)
+    {
+      printUsage();
+      System.exit(1);
+    }
+    if (filesOrDirectories.isEmpty() || threads < 1 || !("csv".equals(format) || "json".equals(format)))
+    {
+      printUsage();
+      System.exit(1);
+    }
+    if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs())
+    {
+      System.out.println("Directory " + outputDirectory + " cannot be created");
+      System.exit(1);
+    }
+
+    try (SummaryWriter summaryWriter = "json".equals(format)
+        ? new JsonSummaryWriter(outputDirectory)
+        : new CsvSummaryWriter(outputDirectory))
+    {
+      BatchAnalysis batchAnalysis = new BatchAnalysis(threads, summaryWriter);
+      batchAnalysis.run(collectFiles(filesOrDirectories));
+      System.out.print(batchAnalysis.getThroughputReport());
+    }
+    catch (IOException e)
+    {
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static void printUsage()
+  {
+    System.out.println("Usage: ${startcommand} [-threads ${count}] [-format csv|json] [-output ${directory}] "
+        + "${file or directory}...");
+    System.out.println("Directories are searched recursively for files with the extensions " + EXTENSIONS);
+  }
+}
@@ -0,0 +1,185 @@
+package com.github.thomasfox.sailplotter.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the summaries to the CSV files sessions.csv, tacks.csv and tackseries.csv in a directory.
+ * Numbers are written in a locale independent format.
+ */
+public class CsvSummaryWriter implements SummaryWriter
+{
+  private final Writer sessions;
+
+  private final Writer tacks;
+
+  private final Writer tackSeries;
+
+  public CsvSummaryWriter(File directory) throws IOException
+  {
+    sessions = createWriter(new File(directory, "sessions.csv"));
+    tacks = createWriter(new File(directory, "tacks.csv"));
+    tackSeries = createWriter(new File(directory, "tackseries.csv"));
+    writeRow(sessions, Arrays.asList(
+        "file",
+        "error",
+        "fileSizeInBytes",
+        "numberOfPoints",
+        "numberOfLocationPoints",
+        "startTime",
+        "durationInSeconds",
+        "distanceInMetres",
+        "averageVelocityInKnots",
+        "maxVelocityInKnots",
+        "windDirectionInDegrees",
+        "numberOfTacks",
+        "numberOfTackSeries",
+        "readMillis",
+        "analyzeMillis"));
+    writeRow(tacks, Arrays.asList(
+        "file",
+        "index",
+        "pointOfSail",
+        "startTime",
+        "durationInSeconds",
+        "lengthInMetres",
+        "absoluteBearingInDegrees",
+        "relativeBearingInDegrees",
+        "velocityInKnots",
+        "vmgInKnots",
+        "maneuverAtStart",
+        "maneuverLossAtStartInSeconds",
+        "tackingAngleAtStartInDegrees",
+        "maneuverAtEnd",
+        "tackSeriesIndex"));
+    writeRow(tackSeries, Arrays.asList(
+        "file",
+        "index",
+        "type",
+        "startTackIndex",
+        "endTackIndex",
+        "numberOfTacks",
+        "windDirectionInDegrees",
+        "angleToWindInDegrees",
+        "mainPartVelocityStarboardInKnots",
+        "mainPartVelocityPortInKnots"));
+  }
+
+  private static Writer createWriter(File file) throws IOException
+  {
+    return Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void write(SessionSummary summary) throws IOException
+  {
+    writeRow(sessions, Arrays.asList(
+        summary.file,
+        summary.error,
+        summary.fileSizeInBytes,
+        summary.numberOfPoints,
+        summary.numberOfLocationPoints,
+        summary.startTime,
+        summary.durationInSeconds,
+        summary.distanceInMetres,
+        summary.averageVelocityInKnots,
+        summary.maxVelocityInKnots,
+        summary.windDirectionInDegrees,
+        summary.numberOfTacks,
+        summary.numberOfTackSeries,
+        summary.readMillis,
+        summary.analyzeMillis));
+    for (TackSummary tack : summary.tacks)
+    {
+      writeRow(tacks, Arrays.asList(
+          tack.file,
+          tack.index,
+          tack.pointOfSail,
+          tack.startTime,
+          tack.durationInSeconds,
+          tack.lengthInMetres,
+          tack.absoluteBearingInDegrees,
+          tack.relativeBearingInDegrees,
+          tack.velocityInKnots,
+          tack.vmgInKnots,
+          tack.maneuverAtStart,
+          tack.maneuverLossAtStartInSeconds,
+          tack.tackingAngleAtStartInDegrees,
+          tack.maneuverAtEnd,
+          tack.tackSeriesIndex));
+    }
+    for (TackSeriesSummary series : summary.tackSeries)
+    {
+      writeRow(tackSeries, Arrays.asList(
+          series.file,
+          series.index,
+          series.type,
+          series.startTackIndex,
+          series.endTackIndex,
+          series.numberOfTacks,
+          series.windDirectionInDegrees,
+          series.angleToWindInDegrees,
+          series.mainPartVelocityStarboardInKnots,
+          series.mainPartVelocityPortInKnots));
+    }
+  }
+
+  private static void writeRow(Writer writer, List<?> values) throws IOException
+  {
+    for (int i = 0; i < values.size(); i++)
+    {
+      if (i > 0)
+      {
+        writer.write(',');
+      }
+      writer.write(toCsvValue(values.get(i)));
+    }
+    writer.write('\n');
+  }
+
+  /**
+   * Converts a value to its CSV representation.
+   * Null is written as empty value, texts are quoted if necessary.
+   */
+  static String toCsvValue(Object value)
+  {
+    if (value == null)
+    {
+      return "";
+    }
+    String result = value.toString();
+    if (result.indexOf(',') != -1
+        || result.indexOf('"') != -1
+        || result.indexOf('\n') != -1
+        || result.indexOf('\r') != -1)
+    {
+      return '"' + result.replace("\"", "\"\"") + '"';
+    }
+    return result;
+  }
+
+  @Override
+  public void close() throws IOException
+  {
+    try
+    {
+      sessions.close();
+    }
+    finally
+    {
+      try
+      {
+        tacks.close();
+      }
+      finally
+      {
+        tackSeries.close();
+      }
+    }
+  }
+}
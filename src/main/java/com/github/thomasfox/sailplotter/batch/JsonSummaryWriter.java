@@ -0,0 +1,73 @@
+package com.github.thomasfox.sailplotter.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes the summaries to the files sessions.jsonl, tacks.jsonl and tackseries.jsonl in a directory.
+ * Each line of the files contains one summary as JSON object, so the files can be
+ * written and read as a stream.
+ */
+public class JsonSummaryWriter implements SummaryWriter
+{
+  private final ObjectWriter objectWriter = new ObjectMapper().writer();
+
+  private final Writer sessions;
+
+  private final Writer tacks;
+
+  private final Writer tackSeries;
+
+  public JsonSummaryWriter(File directory) throws IOException
+  {
+    sessions = Files.newBufferedWriter(new File(directory, "sessions.jsonl").toPath(), StandardCharsets.UTF_8);
+    tacks = Files.newBufferedWriter(new File(directory, "tacks.jsonl").toPath(), StandardCharsets.UTF_8);
+    tackSeries = Files.newBufferedWriter(new File(directory, "tackseries.jsonl").toPath(), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void write(SessionSummary summary) throws IOException
+  {
+    writeLine(sessions, summary);
+    for (TackSummary tack : summary.tacks)
+    {
+      writeLine(tacks, tack);
+    }
+    for (TackSeriesSummary series : summary.tackSeries)
+    {
+      writeLine(tackSeries, series);
+    }
+  }
+
+  private void writeLine(Writer writer, Object value) throws IOException
+  {
+    writer.write(objectWriter.writeValueAsString(value));
+    writer.write('\n');
+  }
+
+  @Override
+  public void close() throws IOException
+  {
+    try
+    {
+      sessions.close();
+    }
+    finally
+    {
+      try
+      {
+        tacks.close();
+      }
+      finally
+      {
+        tackSeries.close();
+      }
+    }
+  }
+}
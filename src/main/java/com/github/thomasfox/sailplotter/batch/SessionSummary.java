@@ -0,0 +1,161 @@
+package com.github.thomasfox.sailplotter.batch;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.thomasfox.sailplotter.Constants;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.TackList;
+import com.github.thomasfox.sailplotter.model.TackSeries;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
+import com.github.thomasfox.sailplotter.model.columns.TrackSums;
+
+/**
+ * The analysis results of one recorded session, as written by the batch analysis.
+ * Contains only summary values, so that the data of the session can be discarded.
+ */
+public class SessionSummary
+{
+  public String file;
+
+  /** The error message if the file could not be read or analyzed, or null. */
+  public String error;
+
+  public long fileSizeInBytes;
+
+  public int numberOfPoints;
+
+  public int numberOfLocationPoints;
+
+  /** Time of the first point with location in milliseconds since the epoch, or null. */
+  public Long startTime;
+
+  public Double durationInSeconds;
+
+  /** Distance sailed along the track. */
+  public Double distanceInMetres;
+
+  public Double averageVelocityInKnots;
+
+  public Double maxVelocityInKnots;
+
+  public Integer windDirectionInDegrees;
+
+  public int numberOfTacks;
+
+  public int numberOfTackSeries;
+
+  public long readMillis;
+
+  public long analyzeMillis;
+
+  @JsonIgnore
+  public final List<TackSummary> tacks = new ArrayList<>();
+
+  @JsonIgnore
+  public final List<TackSeriesSummary> tackSeries = new ArrayList<>();
+
+  private SessionSummary(File file)
+  {
+    this.file = file.getPath();
+    this.fileSizeInBytes = file.length();
+  }
+
+  /**
+   * Summarizes the analyzed data of a session.
+   *
+   * @param file the file the data was read from, not null.
+   * @param data the analyzed data, not null.
+   * @param readMillis the time in milliseconds needed to read the file.
+   * @param analyzeMillis the time in milliseconds needed to analyze the data.
+   *
+   * @return the summary, not null.
+   */
+  public static SessionSummary of(File file, Data data, long readMillis, long analyzeMillis)
+  {
+    SessionSummary result = new SessionSummary(file);
+    result.readMillis = readMillis;
+    result.analyzeMillis = analyzeMillis;
+    result.numberOfPoints = data.size();
+    result.numberOfLocationPoints = data.getPointsWithLocation().size();
+    result.windDirectionInDegrees = data.getAverageWindDirectionInDegrees();
+    if (result.numberOfLocationPoints > 0)
+    {
+      int last = result.numberOfLocationPoints - 1;
+      TrackSums trackSums = data.getColumns().getTrackSums();
+      result.startTime = data.getLocationStartTime();
+      result.durationInSeconds = trackSums.getDuration(0, last) / 1000d;
+      result.distanceInMetres = trackSums.getDistance(0, last);
+      Double averageVelocity = trackSums.getAverageVelocity(0, last);
+      result.averageVelocityInKnots = averageVelocity == null ? null : toKnots(averageVelocity);
+      result.maxVelocityInKnots = getMax(data.getColumns().getLocation().velocityFromLatLong);
+    }
+
+    TackList tackList = data.getTackList();
+    List<TackSeries> tackSeriesList = data.getTackSeriesList();
+    result.numberOfTacks = tackList.size();
+    result.numberOfTackSeries = tackSeriesList.size();
+    Integer[] tackSeriesIndexOfTack = new Integer[tackList.size()];
+    for (int i = 0; i < tackSeriesList.size(); i++)
+    {
+      TackSeries tackSeries = tackSeriesList.get(i);
+      result.tackSeries.add(new TackSeriesSummary(result.file, i, tackSeries));
+      for (int tackIndex = tackSeries.startTackIndex;
+          tackIndex <= tackSeries.endTackIndex && tackIndex < tackSeriesIndexOfTack.length;
+          tackIndex++)
+      {
+        tackSeriesIndexOfTack[tackIndex] = i;
+      }
+    }
+    Tack lastTack = null;
+    for (int i = 0; i < tackList.size(); i++)
+    {
+      Tack tack = tackList.get(i);
+      result.tacks.add(new TackSummary(result.file, tack, lastTack, tackSeriesIndexOfTack[i]));
+      lastTack = tack;
+    }
+    return result;
+  }
+
+  /**
+   * Creates the summary of a session which could not be read or analyzed.
+   *
+   * @param file the file of the session, not null.
+   * @param error the reason of the failure, not null.
+   *
+   * @return the summary, not null.
+   */
+  public static SessionSummary failed(File file, Throwable error)
+  {
+    SessionSummary result = new SessionSummary(file);
+    result.error = error.getClass().getName() + ": " + error.getMessage();
+    return result;
+  }
+
+  @JsonIgnore
+  public boolean isFailed()
+  {
+    return error != null;
+  }
+
+  private static Double getMax(DoubleColumn column)
+  {
+    Double result = null;
+    for (int i = 0; i < column.size(); i++)
+    {
+      if (column.isPresent(i) && (result == null || column.get(i) > result))
+      {
+        result = column.get(i);
+      }
+    }
+    return result;
+  }
+
+  private static double toKnots(double metresPerSecond)
+  {
+    return metresPerSecond / Constants.NAUTICAL_MILE * 3600d;
+  }
+}
@@ -0,0 +1,19 @@
+package com.github.thomasfox.sailplotter.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes the summaries of the analyzed sessions as soon as they are available.
+ */
+public interface SummaryWriter extends Closeable
+{
+  /**
+   * Writes the summary of a session including its tacks and tack series.
+   *
+   * @param summary the summary to write, not null.
+   *
+   * @throws IOException if writing fails.
+   */
+  void write(SessionSummary summary) throws IOException;
+}
@@ -0,0 +1,51 @@
+package com.github.thomasfox.sailplotter.batch;
+
+import com.github.thomasfox.sailplotter.model.TackSeries;
+import com.github.thomasfox.sailplotter.model.TackSeriesType;
+
+/**
+ * The analysis results of one tack series (leg) of a session, as written by the batch analysis.
+ */
+public class TackSeriesSummary
+{
+  public String file;
+
+  public int index;
+
+  public TackSeriesType type;
+
+  public int startTackIndex;
+
+  public int endTackIndex;
+
+  public int numberOfTacks;
+
+  public Integer windDirectionInDegrees;
+
+  public Integer angleToWindInDegrees;
+
+  public Double mainPartVelocityStarboardInKnots;
+
+  public Double mainPartVelocityPortInKnots;
+
+  /**
+   * Constructor.
+   *
+   * @param file the path of the file containing the tack series, not null.
+   * @param index the index of the tack series in the session.
+   * @param tackSeries the tack series, not null.
+   */
+  public TackSeriesSummary(String file, int index, TackSeries tackSeries)
+  {
+    this.file = file;
+    this.index = index;
+    this.type = tackSeries.type;
+    this.startTackIndex = tackSeries.startTackIndex;
+    this.endTackIndex = tackSeries.endTackIndex;
+    this.numberOfTacks = tackSeries.getNumberOfTacks();
+    this.windDirectionInDegrees = tackSeries.getAverageWindDirectionInDegrees();
+    this.angleToWindInDegrees = tackSeries.getAverageAngleToWindInDegrees();
+    this.mainPartVelocityStarboardInKnots = tackSeries.getAverageMainPartVelocityStarboard();
+    this.mainPartVelocityPortInKnots = tackSeries.getAverageMainPartVelocityPort();
+  }
+}
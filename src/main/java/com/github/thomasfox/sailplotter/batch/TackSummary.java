@@ -0,0 +1,73 @@
+package com.github.thomasfox.sailplotter.batch;
+
+import com.github.thomasfox.sailplotter.model.ManeuverType;
+import com.github.thomasfox.sailplotter.model.PointOfSail;
+import com.github.thomasfox.sailplotter.model.Tack;
+
+/**
+ * The analysis results of one tack of a session, as written by the batch analysis.
+ */
+public class TackSummary
+{
+  public String file;
+
+  public int index;
+
+  public PointOfSail pointOfSail;
+
+  /** Start time in milliseconds since the epoch. */
+  public Long startTime;
+
+  public double durationInSeconds;
+
+  public double lengthInMetres;
+
+  public Double absoluteBearingInDegrees;
+
+  public Double relativeBearingInDegrees;
+
+  public Double velocityInKnots;
+
+  public Double vmgInKnots;
+
+  public ManeuverType maneuverAtStart;
+
+  public Double maneuverLossAtStartInSeconds;
+
+  public Double tackingAngleAtStartInDegrees;
+
+  public ManeuverType maneuverAtEnd;
+
+  /** Index of the tack series containing the tack, or null. */
+  public Integer tackSeriesIndex;
+
+  /**
+   * Constructor.
+   *
+   * @param file the path of the file containing the tack, not null.
+   * @param tack the tack, not null.
+   * @param lastTack the tack before the tack, or null.
+   * @param tackSeriesIndex the index of the tack series containing the tack, or null.
+   */
+  public TackSummary(String file, Tack tack, Tack lastTack, Integer tackSeriesIndex)
+  {
+    this.file = file;
+    this.index = tack.index;
+    this.pointOfSail = tack.pointOfSail;
+    this.startTime = tack.start.getTime();
+    this.durationInSeconds = tack.getDuration() / 1000d;
+    this.lengthInMetres = tack.getLength();
+    this.absoluteBearingInDegrees = tack.getAbsoluteBearingInDegrees();
+    this.relativeBearingInDegrees = tack.getRelativeBearingInDegrees();
+    this.velocityInKnots = tack.getVelocityInKnots();
+    this.vmgInKnots = tack.getAverageVMGInKnots();
+    this.maneuverAtStart = tack.maneuverTypeAtStart;
+    this.maneuverLossAtStartInSeconds = tack.getIntersectionTimeDistance(lastTack);
+    Double intersectionAnglesInDegrees = tack.getIntersectionAnglesInDegrees(lastTack);
+    this.tackingAngleAtStartInDegrees = intersectionAnglesInDegrees == null
+        ? null
+        : Math.abs(intersectionAnglesInDegrees);
+    this.maneuverAtEnd = tack.maneuverTypeAtEnd;
+    this.tackSeriesIndex = tackSeriesIndex;
+  }
+}
@@ -0,0 +1,277 @@
+package com.github.thomasfox.sailplotter.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.exporter.Exporter;
+import com.github.thomasfox.sailplotter.exporter.SailplotFormat;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.importer.FormatAwareImporter;
+import com.github.thomasfox.sailplotter.importer.SailplotImporter;
+import com.github.thomasfox.sailplotter.model.Data;
+
+/**
+ * Stores analyzed sessions on disk, so that reopening an unchanged file
+ * needs neither parsing nor analysis.
+ *
+ * An entry is a file in the sailplot format whose name consists of the SHA-256 hash
+ * of the content and extension of the source file and of the analyzer version.
+ * So an entry is also found if the source file was renamed or moved,
+ * and entries written by an older analyzer are not used any more.
+ * The time of the last access of an entry is recorded as modification time of the entry file;
+ * if the entries exceed the size budget, the least recently used entries are deleted.
+ *
+ * The cache is a pure optimization: if it cannot be read or written,
+ * the error is logged and the file is read and analyzed as without cache.
+ */
+public class AnalysisCache
+{
+  /** System property for the cache directory, defaults to .sailplotter/cache in the user's home. */
+  public static final String DIRECTORY_PROPERTY = "sailplotter.cache.directory";
+
+  /** System property for the size budget of the cache in megabytes, 0 disables the cache. */
+  public static final String MAX_SIZE_PROPERTY = "sailplotter.cache.maxSizeMB";
+
+  static final long DEFAULT_MAX_SIZE_MB = 500L;
+
+  private final File directory;
+
+  private final long maxSizeInBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param directory the directory to store the entries in, is created if necessary, not null.
+   * @param maxSizeInBytes the maximum total size of the entries, 0 disables the cache.
+   */
+  public AnalysisCache(File directory, long maxSizeInBytes)
+  {
+    this.directory = directory;
+    this.maxSizeInBytes = maxSizeInBytes;
+  }
+
+  /**
+   * Creates a cache which is configured by the system properties
+   * DIRECTORY_PROPERTY and MAX_SIZE_PROPERTY.
+   *
+   * @return the cache, not null.
+   */
+  public static AnalysisCache fromSystemProperties()
+  {
+    String defaultDirectory = new File(new File(System.getProperty("user.home"), ".sailplotter"), "cache").getPath();
+    File directory = new File(System.getProperty(DIRECTORY_PROPERTY, defaultDirectory));
+    long maxSizeInMegabytes = Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE_MB);
+    return new AnalysisCache(directory, maxSizeInMegabytes * 1024L * 1024L);
+  }
+
+  /**
+   * Returns the analyzed data of a file.
+   * Sailplot files already contain the analysis results and are read directly.
+   * Other files are taken from the cache if possible; otherwise they are read and analyzed,
+   * and the result is stored in the cache.
+   *
+   * @param file the file to read, not null.
+   * @param loadProgress where to report progress to, not null.
+   * @param analyzeExecutor the executor to run the analysis stages on, not null.
+   *
+   * @return the analyzed data, not null.
+   */
+  public Data read(File file, LoadProgress loadProgress, Executor analyzeExecutor)
+  {
+    FormatAwareImporter importer = new FormatAwareImporter(loadProgress);
+    if (!importer.isAnalysisNeeded(file))
+    {
+      return importer.read(file);
+    }
+    String key = getKey(file);
+    Data data = get(key, file, loadProgress);
+    if (data != null)
+    {
+      return data;
+    }
+    data = importer.read(file);
+    loadProgress.analyzingStarted();
+    Analyzer.analyze(data, loadProgress, analyzeExecutor);
+    put(key, data);
+    return data;
+  }
+
+  /**
+   * Returns the key under which the analyzed data of a file is stored.
+   *
+   * @param file the source file, not null.
+   *
+   * @return the key, or null if the cache is disabled or the file cannot be read.
+   */
+  String getKey(File file)
+  {
+    if (maxSizeInBytes <= 0)
+    {
+      return null;
+    }
+    try
+    {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      String fileName = file.getName();
+      if (fileName.lastIndexOf('.') != -1)
+      {
+        digest.update(fileName.substring(fileName.lastIndexOf('.')).getBytes(StandardCharsets.UTF_8));
+      }
+      byte[] buffer = new byte[1 << 16];
+      try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file.toPath()), digest))
+      {
+        while (inputStream.read(buffer) != -1)
+        {
+          // the digest input stream updates the digest
+        }
+      }
+      StringBuilder result = new StringBuilder();
+      for (byte hashByte : digest.digest())
+      {
+        result.append(String.format("%02x", hashByte));
+      }
+      return result.append("-a").append(Analyzer.VERSION).toString();
+    }
+    catch (IOException | NoSuchAlgorithmException e)
+    {
+      System.err.println("Could not calculate cache key of " + file + ": " + e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns the cached analyzed data.
+   *
+   * @param key the key of the entry, or null.
+   * @param file the source file, which is set as file of the returned data, not null.
+   * @param loadProgress where to report progress to, not null.
+   *
+   * @return the cached data, or null if key is null or no entry exists for the key.
+   */
+  Data get(String key, File file, LoadProgress loadProgress)
+  {
+    if (key == null)
+    {
+      return null;
+    }
+    File entry = getEntryFile(key);
+    if (!entry.isFile())
+    {
+      return null;
+    }
+    try
+    {
+      Data data = new SailplotImporter(loadProgress).read(entry);
+      data.setFile(file);
+      if (!entry.setLastModified(System.currentTimeMillis()))
+      {
+        System.err.println("Could not record access to cache entry " + entry);
+      }
+      return data;
+    }
+    catch (RuntimeException e)
+    {
+      System.err.println("Could not read cache entry " + entry + ", deleting it: " + e);
+      deleteEntry(entry);
+      return null;
+    }
+  }
+
+  /**
+   * Stores analyzed data and deletes the least recently used entries
+   * if the size budget is exceeded.
+   *
+   * @param key the key of the entry, or null to store nothing.
+   * @param data the analyzed data, not null.
+   */
+  void put(String key, Data data)
+  {
+    if (key == null)
+    {
+      return;
+    }
+    File entry = getEntryFile(key);
+    File temporaryFile = null;
+    try
+    {
+      Files.createDirectories(directory.toPath());
+      // write to a temporary file first, so that concurrent readers never see partial entries
+      temporaryFile = File.createTempFile(key, ".tmp", directory);
+      new Exporter().save(temporaryFile, data);
+      Files.move(temporaryFile.toPath(), entry.toPath(),
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch (IOException | RuntimeException e)
+    {
+      System.err.println("Could not write cache entry " + entry + ": " + e);
+      if (temporaryFile != null)
+      {
+        deleteEntry(temporaryFile);
+      }
+      return;
+    }
+    evict();
+  }
+
+  /**
+   * Deletes the least recently used entries until the entries fit into the size budget.
+   */
+  synchronized void evict()
+  {
+    File[] entries = directory.listFiles((dir, name) -> name.endsWith(SailplotFormat.EXTENSION));
+    if (entries == null)
+    {
+      return;
+    }
+    // read the attributes once, they may be changed concurrently by get()
+    long[] lastModified = new long[entries.length];
+    long[] size = new long[entries.length];
+    Integer[] order = new Integer[entries.length];
+    long totalSize = 0;
+    for (int i = 0; i < entries.length; i++)
+    {
+      lastModified[i] = entries[i].lastModified();
+      size[i] = entries[i].length();
+      order[i] = i;
+      totalSize += size[i];
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> lastModified[i]));
+    for (int i = 0; i < order.length && totalSize > maxSizeInBytes; i++)
+    {
+      if (deleteEntry(entries[order[i]]))
+      {
+        totalSize -= size[order[i]];
+      }
+    }
+  }
+
+  private File getEntryFile(String key)
+  {
+    return new File(directory, key + SailplotFormat.EXTENSION);
+  }
+
+  private static boolean deleteEntry(File entry)
+  {
+    try
+    {
+      Files.deleteIfExists(entry.toPath());
+      return true;
+    }
+    catch (IOException e)
+    {
+      System.err.println("Could not delete cache entry " + entry + ": " + e);
+      return false;
+    }
+  }
+}
@@ -1,16 +1,32 @@
 package com.github.thomasfox.sailplotter.exporter;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.TackSeries;
+import com.github.thomasfox.sailplotter.model.vector.CoordinateSystem;
+import com.github.thomasfox.sailplotter.model.vector.ThreeDimVector;
 
+/**
+ * Saves data including the analysis results in the binary sailplot format.
+ *
+ * @see SailplotFormat
+ */
 public class Exporter
 {
-  private final String EXTENSION = ".sailplot";
-
   public File replaceExtension(File file)
   {
     if (file == null)
@@ -27,16 +43,22 @@ public class Exporter
     {
       result = path;
     }
-    result = result + EXTENSION;
+    result = result + SailplotFormat.EXTENSION;
     return new File(result);
   }
 
+  /**
+   * Saves the data to a file.
+   * The data is only read, so its cached point lists, columns and indices stay valid.
+   *
+   * @param file the file to write, not null.
+   * @param data the data to save, not null.
+   */
   public void save(File file, Data data)
   {
-    try
+    try (FileOutputStream fileOutputStream = new FileOutputStream(file))
     {
-      data.resetCache();
-      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, data);
+      new BlockWriter(fileOutputStream, data.getAllPoints()).write(data);
     }
     catch (IOException e)
     {
@@ -44,4 +66,281 @@ public class Exporter
     }
   }
 
+  private static final class BlockWriter
+  {
+    private final FileChannel channel;
+
+    private final DataOutputStream out;
+
+    private final List<DataPoint> points;
+
+    private long blockLengthPosition;
+
+    BlockWriter(FileOutputStream fileOutputStream, List<DataPoint> points)
+    {
+      this.channel = fileOutputStream.getChannel();
+      this.out = new DataOutputStream(new BufferedOutputStream(fileOutputStream, 1 << 16));
+      this.points = points;
+    }
+
+    void write(Data data) throws IOException
+    {
+      out.write(SailplotFormat.MAGIC);
+      out.writeInt(SailplotFormat.VERSION);
+      out.writeInt(points.size());
+
+      startBlock(SailplotFormat.BLOCK_METADATA);
+      writeMetadata(data);
+      endBlock();
+
+      startBlock(SailplotFormat.BLOCK_POINTS);
+      for (DataPoint point : points)
+      {
+        out.writeInt(point.getIndex());
+      }
+      writeLongColumn(i -> points.get(i).getTime());
+      writeEnumColumn(i -> points.get(i).getManoeuverState());
+      endBlock();
+
+      startBlock(SailplotFormat.BLOCK_LOCATION);
+      writeBitmap(i -> points.get(i).isLocationSet());
+      writeBitmap(i -> points.get(i).isLocationSet() && points.get(i).isInterpolated());
+      writeDoubleColumn(i -> points.get(i).getLatitude());
+      writeDoubleColumn(i -> points.get(i).getLongitude());
+      writeDoubleColumn(i -> points.get(i).getAltitude());
+      writeDoubleColumn(i -> points.get(i).getVelocity());
+      writeDoubleColumn(i -> points.get(i).getBearing());
+      writeDoubleColumn(i -> points.get(i).getVelocityFromLatLong());
+      writeDoubleColumn(i -> points.get(i).getBearingFromLatLong());
+      writeDoubleColumn(i -> points.get(i).getVelocityBearingAveragedOverDistance());
+      writeLongColumn(i -> points.get(i).getSatelliteTime());
+      endBlock();
+
+      startBlock(SailplotFormat.BLOCK_WIND);
+      writeBitmap(i -> points.get(i).hasWind());
+      writeDoubleColumn(i -> points.get(i).getWindDirection());
+      writeDoubleColumn(i -> points.get(i).getWindVelocity());
+      endBlock();
+
+      startBlock(SailplotFormat.BLOCK_MAGNETIC_FIELD);
+      writeBitmap(i -> points.get(i).hasMagneticField());
+      writeDoubleColumn(i -> !points.get(i).hasMagneticField() ? null : points.get(i).getMagneticField().x);
+      writeDoubleColumn(i -> !points.get(i).hasMagneticField() ? null : points.get(i).getMagneticField().y);
+      writeDoubleColumn(i -> !points.get(i).hasMagneticField() ? null : points.get(i).getMagneticField().z);
+      writeDoubleColumn(i -> points.get(i).getCompassBearing());
+      endBlock();
+
+      startBlock(SailplotFormat.BLOCK_ACCELERATION);
+      writeBitmap(i -> points.get(i).hasAcceleration());
+      writeDoubleColumn(i -> !points.get(i).hasAcceleration() ? null : points.get(i).getAcceleration().x);
+      writeDoubleColumn(i -> !points.get(i).hasAcceleration() ? null : points.get(i).getAcceleration().y);
+      writeDoubleColumn(i -> !points.get(i).hasAcceleration() ? null : points.get(i).getAcceleration().z);
+      writeDoubleColumn(i -> points.get(i).getHeel());
+      writeDoubleColumn(i -> points.get(i).getRoll());
+      endBlock();
+
+      startBlock(SailplotFormat.BLOCK_TACKS);
+      writeTacks(data);
+      endBlock();
+
+      startBlock(SailplotFormat.BLOCK_TACK_SERIES);
+      out.writeInt(data.getTackSeriesList().size());
+      for (TackSeries tackSeries : data.getTackSeriesList())
+      {
+        out.writeInt(tackSeries.startTackIndex);
+        out.writeInt(tackSeries.endTackIndex);
+        writeEnum(tackSeries.type);
+      }
+      endBlock();
+      out.flush();
+    }
+
+    private void writeMetadata(Data data) throws IOException
+    {
+      out.writeDouble(data.getAverageWindBearing());
+      out.writeBoolean(data.comment != null);
+      if (data.comment != null)
+      {
+        byte[] commentBytes = data.comment.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(commentBytes.length);
+        out.write(commentBytes);
+      }
+      writeCoordinateSystem(data.getBoatCoordinatesInDeviceCoordinates());
+      writeCoordinateSystem(data.deviceOrientation);
+      out.writeInt(data.getSegmentStartIndices().size());
+      for (int segmentStartIndex : data.getSegmentStartIndices())
+      {
+        out.writeInt(segmentStartIndex);
+      }
+    }
+
+    private void writeTacks(Data data) throws IOException
+    {
+      List<DataPoint> pointsWithLocation = data.getPointsWithLocation();
+      out.writeInt(data.getTackList().size());
+      for (Tack tack : data.getTackList())
+      {
+        out.writeInt(tack.index);
+        out.writeInt(tack.startOfTackDataPointIndex);
+        out.writeInt(tack.endOfTackDataPointIndex);
+        int pointsWithinTackStart = tack.startOfTackDataPointIndex;
+        int pointsWithinTackEnd = tack.endOfTackDataPointIndex + 1;
+        if (tack.pointsWithinTack != null && !tack.pointsWithinTack.isEmpty())
+        {
+          pointsWithinTackStart = indexOf(pointsWithLocation, tack.pointsWithinTack.get(0), pointsWithinTackStart);
+          pointsWithinTackEnd = pointsWithinTackStart + tack.pointsWithinTack.size();
+        }
+        out.writeInt(pointsWithinTackStart);
+        out.writeInt(pointsWithinTackEnd);
+        writeEnum(tack.pointOfSail);
+        writeNullableDouble(tack.windDirection);
+        writeEnum(tack.maneuverTypeAtStart);
+        writeEnum(tack.maneuverTypeAtEnd);
+        writeIntersectionPoint(tack.tackStraightLineIntersectionStart);
+        writeIntersectionPoint(tack.tackStraightLineIntersectionEnd);
+      }
+    }
+
+    /**
+     * Finds the index of a point in a list, searching around the expected index first.
+     */
+    private int indexOf(List<DataPoint> list, DataPoint point, int expectedIndex)
+    {
+      for (int distance = 0; distance < list.size(); distance++)
+      {
+        int before = expectedIndex - distance;
+        int after = expectedIndex + distance;
+        if (before >= 0 && before < list.size() && list.get(before).equals(point))
+        {
+          return before;
+        }
+        if (after >= 0 && after < list.size() && list.get(after).equals(point))
+        {
+          return after;
+        }
+        if (before < 0 && after >= list.size())
+        {
+          break;
+        }
+      }
+      return expectedIndex;
+    }
+
+    private void writeIntersectionPoint(DataPoint point) throws IOException
+    {
+      out.writeBoolean(point != null);
+      if (point == null)
+      {
+        return;
+      }
+      writeNullableLong(point.getTime());
+      writeNullableDouble(point.getLatitude());
+      writeNullableDouble(point.getLongitude());
+    }
+
+    private void writeCoordinateSystem(CoordinateSystem coordinateSystem) throws IOException
+    {
+      out.writeBoolean(coordinateSystem != null);
+      if (coordinateSystem == null)
+      {
+        return;
+      }
+      writeVector(coordinateSystem.x);
+      writeVector(coordinateSystem.y);
+      writeVector(coordinateSystem.z);
+    }
+
+    private void writeVector(ThreeDimVector vector) throws IOException
+    {
+      out.writeDouble(vector.x);
+      out.writeDouble(vector.y);
+      out.writeDouble(vector.z);
+    }
+
+    private void writeNullableDouble(Double value) throws IOException
+    {
+      out.writeBoolean(value != null);
+      if (value != null)
+      {
+        out.writeDouble(value);
+      }
+    }
+
+    private void writeNullableLong(Long value) throws IOException
+    {
+      out.writeBoolean(value != null);
+      if (value != null)
+      {
+        out.writeLong(value);
+      }
+    }
+
+    private void writeEnum(Enum<?> value) throws IOException
+    {
+      out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    private void writeEnumColumn(IntFunction<Enum<?>> valueProvider) throws IOException
+    {
+      for (int i = 0; i < points.size(); i++)
+      {
+        writeEnum(valueProvider.apply(i));
+      }
+    }
+
+    private void writeBitmap(IntPredicate isSet) throws IOException
+    {
+      BitSet bitmap = new BitSet(points.size());
+      for (int i = 0; i < points.size(); i++)
+      {
+        if (isSet.test(i))
+        {
+          bitmap.set(i);
+        }
+      }
+      long[] words = bitmap.toLongArray();
+      int wordCount = (points.size() + 63) / 64;
+      for (int i = 0; i < wordCount; i++)
+      {
+        out.writeLong(i < words.length ? words[i] : 0L);
+      }
+    }
+
+    private void writeDoubleColumn(IntFunction<Double> valueProvider) throws IOException
+    {
+      writeBitmap(i -> valueProvider.apply(i) != null);
+      for (int i = 0; i < points.size(); i++)
+      {
+        Double value = valueProvider.apply(i);
+        out.writeDouble(value == null ? Double.NaN : value);
+      }
+    }
+
+    private void writeLongColumn(IntFunction<Long> valueProvider) throws IOException
+    {
+      writeBitmap(i -> valueProvider.apply(i) != null);
+      for (int i = 0; i < points.size(); i++)
+      {
+        Long value = valueProvider.apply(i);
+        out.writeLong(value == null ? 0L : value);
+      }
+    }
+
+    private void startBlock(int blockType) throws IOException
+    {
+      out.writeInt(blockType);
+      out.flush();
+      blockLengthPosition = channel.position();
+      out.writeLong(0L);
+    }
+
+    private void endBlock() throws IOException
+    {
+      out.flush();
+      long blockEndPosition = channel.position();
+      ByteBuffer blockLength = ByteBuffer.allocate(8);
+      blockLength.putLong(0, blockEndPosition - blockLengthPosition - 8);
+      channel.write(blockLength, blockLengthPosition);
+    }
+  }
 }
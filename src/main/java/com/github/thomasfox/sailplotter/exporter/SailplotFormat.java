@@ -0,0 +1,73 @@
+package com.github.thomasfox.sailplotter.exporter;
+
+/**
+ * Constants describing the binary sailplot file format.
+ *
+ * A sailplot file starts with a header consisting of the magic bytes "SAILPLOT",
+ * the format version (int) and the number of data points n (int).
+ * The header is followed by blocks, each consisting of the block type (int),
+ * the length of the block content in bytes (long) and the block content.
+ * Readers skip blocks of unknown type.
+ * All numbers are stored big-endian.
+ *
+ * Within the blocks, values of data points are stored in columns of n entries.
+ * A nullable column consists of a bitmap of ceil(n/64) longs (bit i is set if the value
+ * of point i is present) followed by n values; absent values are stored as 0 or NaN.
+ * Enums are stored as byte containing the ordinal, or -1 for null.
+ */
+public final class SailplotFormat
+{
+  public static final String EXTENSION = ".sailplot";
+
+  public static final byte[] MAGIC = {'S', 'A', 'I', 'L', 'P', 'L', 'O', 'T'};
+
+  public static final int VERSION = 1;
+
+  /**
+   * averageWindBearing (double), comment (nullable string),
+   * boatCoordinatesInDeviceCoordinates and deviceOrientation (nullable coordinate systems),
+   * number of segment starts (int) and the segment start indices (int each).
+   * Strings are stored as presence flag (boolean) followed by length (int) and UTF-8 bytes,
+   * coordinate systems as presence flag followed by the x, y and z components
+   * of the x, y and z axes (double each).
+   */
+  public static final int BLOCK_METADATA = 1;
+
+  /** index (int column), time (nullable long column), manoeuverState (enum column). */
+  public static final int BLOCK_POINTS = 2;
+
+  /**
+   * location presence (bitmap), interpolated (bitmap), latitude, longitude, altitude, velocity,
+   * bearing, velocityFromLatLong, bearingFromLatLong, velocityBearingAveragedOverDistance
+   * (nullable double columns), satelliteTime (nullable long column).
+   */
+  public static final int BLOCK_LOCATION = 3;
+
+  /** wind presence (bitmap), direction and velocity (nullable double columns). */
+  public static final int BLOCK_WIND = 4;
+
+  /** magnetic field presence (bitmap), x, y, z (double columns), compassBearing (nullable double column). */
+  public static final int BLOCK_MAGNETIC_FIELD = 5;
+
+  /** acceleration presence (bitmap), x, y, z (double columns), heel and roll (nullable double columns). */
+  public static final int BLOCK_ACCELERATION = 6;
+
+  /**
+   * Number of tacks (int), then for each tack: index, startOfTackDataPointIndex,
+   * endOfTackDataPointIndex, first and last+1 index of pointsWithinTack (int each),
+   * pointOfSail (enum), windDirection (nullable double), maneuverTypeAtStart and maneuverTypeAtEnd (enum),
+   * tackStraightLineIntersectionStart and tackStraightLineIntersectionEnd (nullable intersection points).
+   * The indices refer to the points with location.
+   * Nullable values are stored as presence flag (boolean) followed by the value if present;
+   * intersection points as presence flag followed by time (nullable long),
+   * latitude and longitude (nullable double).
+   */
+  public static final int BLOCK_TACKS = 7;
+
+  /** Number of tack series (int), then for each series: startTackIndex, endTackIndex (int) and type (enum). */
+  public static final int BLOCK_TACK_SERIES = 8;
+
+  private SailplotFormat()
+  {
+  }
+}
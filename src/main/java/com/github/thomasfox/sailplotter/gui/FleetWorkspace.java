@@ -0,0 +1,92 @@
+package com.github.thomasfox.sailplotter.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.io.File;
+import java.util.List;
+
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+
+import com.github.thomasfox.sailplotter.cache.AnalysisCache;
+import com.github.thomasfox.sailplotter.gui.component.view.FleetView;
+import com.github.thomasfox.sailplotter.gui.component.worker.FleetLoader;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.Fleet;
+
+/**
+ * A window which compares several boats which sailed in the same session.
+ * The files of the boats are loaded in parallel, and each boat is shown as soon as it is loaded.
+ */
+public class FleetWorkspace
+{
+  private static final String FRAME_NAME = "SailPlotter Fleet";
+
+  private final JFrame frame;
+
+  private final FleetView fleetView;
+
+  private final FleetLoader fleetLoader;
+
+  private Fleet fleet = new Fleet();
+
+  private int numberOfFiles;
+
+  private int numberOfFailedFiles;
+
+  public FleetWorkspace(JFrame applicationFrame, AnalysisCache analysisCache)
+  {
+    fleetLoader = new FleetLoader(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), analysisCache);
+    frame = new JFrame(FRAME_NAME);
+    frame.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+    frame.setIconImages(applicationFrame.getIconImages());
+    fleetView = new FleetView();
+    fleetView.setPreferredSize(new Dimension(1400, 700));
+    frame.getContentPane().add(fleetView, BorderLayout.CENTER);
+    frame.pack();
+  }
+
+  /**
+   * Replaces the shown fleet by the boats in the passed files.
+   * Must be called on the event dispatch thread.
+   *
+   * @param files the files of the boats, not null.
+   */
+  public void loadFleet(List<File> files)
+  {
+    fleet = new Fleet();
+    numberOfFiles = files.size();
+    numberOfFailedFiles = 0;
+    fleetView.fleetChanged(fleet, getStatus());
+    frame.setVisible(true);
+    fleetLoader.load(files, this::boatLoaded, this::boatFailed);
+  }
+
+  private void boatLoaded(Data boat)
+  {
+    fleet = fleet.withBoat(boat);
+    fleetView.fleetChanged(fleet, getStatus());
+  }
+
+  private void boatFailed(File file, Throwable t)
+  {
+    numberOfFailedFiles++;
+    fleetView.setStatus(getStatus());
+    t.printStackTrace();
+    JOptionPane.showMessageDialog(
+        frame,
+        "Could not load File " + file.getName() + ": " + t.getClass().getName() + ":" + t.getMessage(),
+        "Error loading File",
+        JOptionPane.ERROR_MESSAGE);
+  }
+
+  private String getStatus()
+  {
+    String status = "Loaded " + fleet.size() + " of " + numberOfFiles + " boats";
+    if (numberOfFailedFiles > 0)
+    {
+      status += ", " + numberOfFailedFiles + " failed";
+    }
+    return status;
+  }
+}
@@ -4,12 +4,21 @@ import java.awt.CardLayout;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.analyze.TackAnalysis;
+import com.github.thomasfox.sailplotter.cache.AnalysisCache;
 import com.github.thomasfox.sailplotter.exporter.Exporter;
 import com.github.thomasfox.sailplotter.gui.component.Menubar;
 import com.github.thomasfox.sailplotter.gui.component.SailplotterFrame;
@@ -21,8 +30,16 @@ import com.github.thomasfox.sailplotter.gui.component.view.InfoView;
 import com.github.thomasfox.sailplotter.gui.component.view.MagneticFieldAccelerationView;
 import com.github.thomasfox.sailplotter.gui.component.view.Overview;
 import com.github.thomasfox.sailplotter.gui.component.view.RelativeToWindView;
+import com.github.thomasfox.sailplotter.gui.component.view.ViewCard;
 import com.github.thomasfox.sailplotter.gui.component.worker.LoadFileWorker;
+import com.github.thomasfox.sailplotter.gui.component.worker.WindDirectionChangeWorker;
+import com.github.thomasfox.sailplotter.gui.component.worker.ZoomChangeDispatcher;
+import com.github.thomasfox.sailplotter.live.LiveSession;
+import com.github.thomasfox.sailplotter.live.NmeaInput;
+import com.github.thomasfox.sailplotter.live.Replay;
+import com.github.thomasfox.sailplotter.live.ReplayStatistics;
 import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
 
 public class SwingGui
 {
@@ -40,15 +57,11 @@ public class SwingGui
 
   private final Menubar menubar;
 
-  private final Overview overview;
-
-  private final DirectionsView directionsView;
-
-  private final InfoView commentsView;
-
-  private final MagneticFieldAccelerationView magneticFieldAccelerationView;
-
-  private final RelativeToWindView relativeToWindView;
+  /**
+   * The views in the card layout. Only the shown view is updated on data and zoom changes,
+   * the other views are updated when they are shown.
+   */
+  private final List<ViewCard> viewCards;
 
   private final ProgressDialog progressDialog;
 
@@ -58,20 +71,47 @@ public class SwingGui
 
   public boolean inUpdate = false;
 
+  /**
+   * Runs the wind direction changes one after the other, in the order they were requested.
+   */
+  private final ExecutorService windDirectionExecutor = Executors.newSingleThreadExecutor(runnable ->
+  {
+    Thread thread = new Thread(runnable, "wind direction analysis");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final AtomicInteger windDirectionChangeGeneration = new AtomicInteger();
+
+  private final ZoomChangeDispatcher zoomChangeDispatcher;
+
+  private final AnalysisCache analysisCache = AnalysisCache.fromSystemProperties();
+
+  /** The window which compares several boats, created when a fleet is loaded for the first time. */
+  private FleetWorkspace fleetWorkspace;
+
+  /** The session which receives live data, or null if no live data is received. */
+  private LiveSession liveSession;
+
+  /** Counts the started and stopped live sessions, so that late results of stopped sessions are ignored. */
+  private int liveSessionGeneration;
+
   public SwingGui(String filePath)
   {
-    overview = new Overview(this);
-    directionsView = new DirectionsView(this);
-    commentsView = new InfoView(this);
-    magneticFieldAccelerationView = new MagneticFieldAccelerationView(this);
-    relativeToWindView = new RelativeToWindView(this);
+    viewCards = Arrays.asList(
+        new ViewCard(OVERVIEW_VIEW_NAME, new Overview(this)),
+        new ViewCard(ANGLES_VIEW_NAME, new DirectionsView(this)),
+        new ViewCard(INFO_VIEW_NAME, new InfoView(this)),
+        new ViewCard(RAW_DATA_VIEW_NAME, new MagneticFieldAccelerationView(this)),
+        new ViewCard(RELATIVE_TO_WIND_VIEW_NAME, new RelativeToWindView(this)));
+    zoomChangeDispatcher = new ZoomChangeDispatcher(viewCards.toArray(new ViewCard[viewCards.size()]));
 
     views = new JPanel(new CardLayout());
-    views.add(overview, OVERVIEW_VIEW_NAME);
-    views.add(directionsView, ANGLES_VIEW_NAME);
-    views.add(commentsView, INFO_VIEW_NAME);
-    views.add(magneticFieldAccelerationView, RAW_DATA_VIEW_NAME);
-    views.add(relativeToWindView, RELATIVE_TO_WIND_VIEW_NAME);
+    for (ViewCard viewCard : viewCards)
+    {
+      views.add(viewCard.getView(), viewCard.getName());
+    }
+    viewCards.get(0).setShown(true);
     views.setPreferredSize(new Dimension(1400, 700));
 
     frame = new SailplotterFrame();
@@ -79,6 +119,9 @@ public class SwingGui
     File currentFile = Optional.ofNullable(filePath).map(File::new).orElse(null);
     menubar = new Menubar(frame)
         .addLoadFileMenuItem(currentFile, this::loadFile)
+        .addLoadFleetMenuItem(this::loadFleet)
+        .addConnectLiveMenuItem(this::connectLive)
+        .addReplayFileMenuItem(this::replayFile)
         .addSaveFileMenuItem(new Exporter().replaceExtension(currentFile), this::saveFile)
         .addViews(this::changeView,
             OVERVIEW_VIEW_NAME,
@@ -150,11 +193,7 @@ public class SwingGui
 
   public void zoomChanged(ZoomChangeEvent e)
   {
-    overview.zoomChanged(e);
-    directionsView.zoomChanged(e);
-    commentsView.zoomChanged(e);
-    magneticFieldAccelerationView.zoomChanged(e);
-    relativeToWindView.zoomChanged(e);
+    zoomChangeDispatcher.zoomChanged(e);
   }
 
   public void windDirectionChanged(ActionEvent event)
@@ -163,9 +202,23 @@ public class SwingGui
     try
     {
       int newWindDirection = Integer.parseInt(inputValue);
-      data.setAverageWindBearing(newWindDirection * Math.PI / 180d);
-      Analyzer.analyze(data, new LoadProgress(null));
-      dataChanged();
+      double windBearing = newWindDirection * Math.PI / 180d;
+      if (liveSession != null)
+      {
+        // the snapshots are shared with the live analysis, so the new wind direction
+        // must only be applied by the analysis and shows in the following snapshots
+        liveSession.setWindBearing(windBearing);
+        return;
+      }
+      Data changedData = data;
+      DataColumns columns = changedData.getColumns();
+      int generation = windDirectionChangeGeneration.incrementAndGet();
+      windDirectionExecutor.execute(new WindDirectionChangeWorker(
+          changedData,
+          columns,
+          windBearing,
+          () -> generation == windDirectionChangeGeneration.get(),
+          tackAnalysis -> windDirectionAnalyzed(changedData, windBearing, tackAnalysis)));
     }
     catch (Exception e)
     {
@@ -174,15 +227,30 @@ public class SwingGui
     }
   }
 
+  /**
+   * Publishes the result of a wind direction change.
+   * Must be called on the event dispatch thread.
+   */
+  private void windDirectionAnalyzed(Data changedData, double windBearing, TackAnalysis tackAnalysis)
+  {
+    if (changedData != data)
+    {
+      return;
+    }
+    Analyzer.publishWindDirectionChange(data, windBearing, tackAnalysis);
+    dataChanged();
+  }
+
   public void loadFile(File file)
   {
+    disconnectLive();
     menubar.setLoadStartFile(file);
     menubar.setSaveStartFile(new Exporter().replaceExtension(file));
 
     LoadProgress loadProgress = new LoadProgress(progressDialog);
     try
     {
-      LoadFileWorker worker = new LoadFileWorker(loadProgress, file, this::setData, frame);
+      LoadFileWorker worker = new LoadFileWorker(loadProgress, file, this::setData, frame, analysisCache);
       worker.execute();
     }
     catch (Throwable t)
@@ -196,6 +264,155 @@ public class SwingGui
     }
   }
 
+  public void loadFleet(List<File> files)
+  {
+    if (fleetWorkspace == null)
+    {
+      fleetWorkspace = new FleetWorkspace(frame, analysisCache);
+    }
+    fleetWorkspace.loadFleet(files);
+  }
+
+  /**
+   * Starts to show the data received from a live NMEA source instead of the current data.
+   *
+   * @param address the address of the source, see NmeaInput.open(), not null.
+   */
+  public void connectLive(String address)
+  {
+    disconnectLive();
+    int generation = ++liveSessionGeneration;
+    try
+    {
+      liveSession = new LiveSession(
+          NmeaInput.open(address),
+          LiveSession.DEFAULT_CAPACITY,
+          LiveSession.DEFAULT_UPDATE_INTERVAL_MILLIS,
+          SwingUtilities::invokeLater,
+          snapshot -> liveDataReceived(generation, snapshot),
+          this::liveInputFailed);
+      if (data != null)
+      {
+        liveSession.setWindBearing(data.getAverageWindBearing());
+      }
+      liveSession.start();
+      frame.setTitle("live: " + address + " - " + SailplotterFrame.FRAME_NAME);
+    }
+    catch (IOException | RuntimeException e)
+    {
+      liveInputFailed(e);
+    }
+  }
+
+  /**
+   * Replays a recorded file as if it was received live, and shows the measured throughput and latency
+   * when the replay has ended. A snapshot is published as soon as the views have shown the previous one,
+   * so a fast replay also shows how fast the views can be updated.
+   *
+   * @param file the file to replay, not null.
+   * @param speed the replay speed, see Replay.parseSpeed(), not null.
+   */
+  public void replayFile(File file, String speed)
+  {
+    disconnectLive();
+    int generation = ++liveSessionGeneration;
+    Thread loadThread = new Thread(() ->
+    {
+      try
+      {
+        Replay replay = Replay.fromFile(file, Replay.parseSpeed(speed));
+        SwingUtilities.invokeLater(() -> startReplay(generation, file, replay));
+      }
+      catch (RuntimeException e)
+      {
+        SwingUtilities.invokeLater(() -> liveInputFailed(e));
+      }
+    }, "replay file loader");
+    loadThread.setDaemon(true);
+    loadThread.start();
+  }
+
+  private void startReplay(int generation, File file, Replay replay)
+  {
+    if (generation != liveSessionGeneration)
+    {
+      return;
+    }
+    ReplayStatistics statistics = new ReplayStatistics(replay)
+    {
+      @Override
+      public void sessionEnded()
+      {
+        replayEnded(generation, this);
+      }
+    };
+    liveSession = new LiveSession(
+        replay,
+        LiveSession.DEFAULT_CAPACITY,
+        0L,
+        SwingUtilities::invokeLater,
+        snapshot -> liveDataReceived(generation, snapshot),
+        this::liveInputFailed);
+    liveSession.setListener(statistics);
+    if (data != null)
+    {
+      liveSession.setWindBearing(data.getAverageWindBearing());
+    }
+    liveSession.start();
+    frame.setTitle("replay: " + file.getName() + " - " + SailplotterFrame.FRAME_NAME);
+  }
+
+  private void replayEnded(int generation, ReplayStatistics statistics)
+  {
+    if (generation != liveSessionGeneration)
+    {
+      return;
+    }
+    JOptionPane.showMessageDialog(
+        frame,
+        statistics.getReport(),
+        "Replay finished",
+        JOptionPane.INFORMATION_MESSAGE);
+  }
+
+  private void disconnectLive()
+  {
+    liveSessionGeneration++;
+    if (liveSession == null)
+    {
+      return;
+    }
+    try
+    {
+      liveSession.close();
+    }
+    catch (IOException e)
+    {
+      System.err.println("Could not close live input: " + e);
+    }
+    liveSession = null;
+  }
+
+  private void liveDataReceived(int generation, Data snapshot)
+  {
+    if (generation != liveSessionGeneration)
+    {
+      return;
+    }
+    data = snapshot;
+    dataChanged();
+  }
+
+  private void liveInputFailed(Throwable t)
+  {
+    t.printStackTrace();
+    JOptionPane.showMessageDialog(
+        frame,
+        "Could not read live data: " + t.getClass().getName() + ":" + t.getMessage(),
+        "Error reading live data",
+        JOptionPane.ERROR_MESSAGE);
+  }
+
   public void setData(Data data)
   {
     this.data = data;
@@ -205,14 +422,14 @@ public class SwingGui
 
   public void dataChanged()
   {
+    zoomChangeDispatcher.invalidate();
     try
     {
       inUpdate = true;
-      overview.dataChanged(data);
-      directionsView.dataChanged(data);
-      commentsView.dataChanged(data);
-      magneticFieldAccelerationView.dataChanged(data);
-      relativeToWindView.dataChanged(data);
+      for (ViewCard viewCard : viewCards)
+      {
+        viewCard.dataChanged(data);
+      }
     }
     finally
     {
@@ -254,6 +471,18 @@ public class SwingGui
 
   public void changeView(String viewName)
   {
+    try
+    {
+      inUpdate = true;
+      for (ViewCard viewCard : viewCards)
+      {
+        viewCard.setShown(viewCard.getName().equals(viewName));
+      }
+    }
+    finally
+    {
+      inUpdate = false;
+    }
     CardLayout cl = (CardLayout)(views.getLayout());
     cl.show(views, viewName);
   }
@@ -3,6 +3,9 @@ package com.github.thomasfox.sailplotter.gui.component;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import javax.swing.JFileChooser;
@@ -10,6 +13,7 @@ import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
 
 public class Menubar extends JMenuBar
@@ -29,6 +33,16 @@ public class Menubar extends JMenuBar
 
   private Consumer<File> saveFileConsumer;
 
+  private Consumer<List<File>> loadFleetConsumer;
+
+  private Consumer<String> connectLiveConsumer;
+
+  private String liveAddress = "tcp://localhost:10110";
+
+  private BiConsumer<File, String> replayFileConsumer;
+
+  private String replaySpeed = "10";
+
   private File loadStartFile;
 
   private File saveStartFile;
@@ -84,6 +98,117 @@ public class Menubar extends JMenuBar
     }
   }
 
+  /**
+   * Adds a menu item which loads several files of boats which sailed in the same session.
+   *
+   * @param loadFleetConsumer the function which is called whenever the user opens files.
+   */
+  public Menubar addLoadFleetMenuItem(Consumer<List<File>> loadFleetConsumer)
+  {
+    this.loadFleetConsumer = loadFleetConsumer;
+
+    JMenuItem loadFleet = new JMenuItem("load fleet", KeyEvent.VK_F);
+    loadFleet.addActionListener(this::loadFleet);
+    fileMenu.add(loadFleet);
+    return this;
+  }
+
+  public void loadFleet(ActionEvent e)
+  {
+    if (loadStartFile != null)
+    {
+      fileChooser.setCurrentDirectory(loadStartFile.getParentFile());
+    }
+    fileChooser.setMultiSelectionEnabled(true);
+    try
+    {
+      int returnVal = fileChooser.showOpenDialog(applicationFrame);
+      if (returnVal == JFileChooser.APPROVE_OPTION)
+      {
+        loadFleetConsumer.accept(Arrays.asList(fileChooser.getSelectedFiles()));
+      }
+    }
+    finally
+    {
+      fileChooser.setMultiSelectionEnabled(false);
+    }
+  }
+
+  /**
+   * Adds a menu item which connects to a source of live NMEA data.
+   *
+   * @param connectLiveConsumer the function which is called with the address
+   *        whenever the user connects to a live source.
+   */
+  public Menubar addConnectLiveMenuItem(Consumer<String> connectLiveConsumer)
+  {
+    this.connectLiveConsumer = connectLiveConsumer;
+
+    JMenuItem connectLive = new JMenuItem("connect live", KeyEvent.VK_C);
+    connectLive.addActionListener(this::connectLive);
+    fileMenu.add(connectLive);
+    return this;
+  }
+
+  public void connectLive(ActionEvent e)
+  {
+    Object address = JOptionPane.showInputDialog(
+        applicationFrame,
+        "NMEA 0183 source (tcp://host:port, udp://port or file)",
+        "Connect live",
+        JOptionPane.QUESTION_MESSAGE,
+        null,
+        null,
+        liveAddress);
+    if (address != null && !address.toString().trim().isEmpty())
+    {
+      liveAddress = address.toString().trim();
+      connectLiveConsumer.accept(liveAddress);
+    }
+  }
+
+  /**
+   * Adds a menu item which replays a file as if it was received live.
+   *
+   * @param replayFileConsumer the function which is called with the file and the replay speed
+   *        whenever the user starts a replay.
+   */
+  public Menubar addReplayFileMenuItem(BiConsumer<File, String> replayFileConsumer)
+  {
+    this.replayFileConsumer = replayFileConsumer;
+
+    JMenuItem replayFile = new JMenuItem("replay live", KeyEvent.VK_R);
+    replayFile.addActionListener(this::replayFile);
+    fileMenu.add(replayFile);
+    return this;
+  }
+
+  public void replayFile(ActionEvent e)
+  {
+    if (loadStartFile != null)
+    {
+      fileChooser.setSelectedFile(loadStartFile);
+    }
+    int returnVal = fileChooser.showOpenDialog(applicationFrame);
+    if (returnVal != JFileChooser.APPROVE_OPTION)
+    {
+      return;
+    }
+    Object speed = JOptionPane.showInputDialog(
+        applicationFrame,
+        "Replay speed (times real time)",
+        "Replay live",
+        JOptionPane.QUESTION_MESSAGE,
+        null,
+        new String[] {"1", "10", "100", "1000", "max"},
+        replaySpeed);
+    if (speed != null)
+    {
+      replaySpeed = speed.toString();
+      replayFileConsumer.accept(fileChooser.getSelectedFile(), replaySpeed);
+    }
+  }
+
   public void setLoadStartFile(File loadStartFile)
   {
     this.loadStartFile = loadStartFile;
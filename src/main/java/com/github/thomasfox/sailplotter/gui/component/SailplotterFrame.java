@@ -16,7 +16,7 @@ public class SailplotterFrame extends JFrame
 {
   private static final long serialVersionUID = 1L;
 
-  private static final String FRAME_NAME = "SailPlotter";
+  public static final String FRAME_NAME = "SailPlotter";
 
   public SailplotterFrame()
   {
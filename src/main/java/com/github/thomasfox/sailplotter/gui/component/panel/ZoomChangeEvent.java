@@ -8,7 +8,14 @@ public class ZoomChangeEvent
 
   private final ZoomPanel source;
 
-  ZoomChangeEvent(int startIndex, int endIndex, ZoomPanel source)
+  /**
+   * Constructor.
+   *
+   * @param startIndex the index of the first location point in the zoom window.
+   * @param endIndex the index of the last location point in the zoom window.
+   * @param source the zoom panel where the change was made, or null if it was not made in a zoom panel.
+   */
+  public ZoomChangeEvent(int startIndex, int endIndex, ZoomPanel source)
   {
     this.startIndex = startIndex;
     this.endIndex = endIndex;
@@ -32,6 +32,9 @@ public class ZoomPanel extends JPanel implements ChangeListener, DataChangeListe
 
   private int currentDataSize;
 
+  /** The data shown by the panel, set by dataChanged(). */
+  private Data currentData;
+
   public ZoomPanel()
   {
     this.setLayout(new GridBagLayout());
@@ -82,27 +85,87 @@ public class ZoomPanel extends JPanel implements ChangeListener, DataChangeListe
         .add(zoomSlider);
   }
 
+  /**
+   * Adjusts the sliders to new data.
+   * If the new data is a later snapshot of the same live data as the current data,
+   * the zoom window stays anchored: a window which ends at the newest point
+   * ends at the newest point of the new data, keeping its length or its start at the oldest point,
+   * and any other window keeps showing the same points as far as they have not been dropped.
+   * Otherwise, the zoom window is reset to all indices if the number of indices changes.
+   * The listeners are not notified.
+   *
+   * @param data the new data, not null.
+   */
   @Override
   public void dataChanged(Data data)
   {
     int dataSize = data.getPointsWithLocation().size();
-    if (dataSize != currentDataSize)
+    if (data.isViewOfSameData(currentData) && currentDataSize > 0 && dataSize > 0)
     {
-      try
+      int startIndex = startSlider.getValue();
+      int endIndex = endSlider.getValue();
+      if (endIndex == currentDataSize - 1)
       {
-        this.notifyOff = true;
-        startSlider.setMaximum(dataSize - 1);
-        startSlider.setValue(0);
-        zoomSlider.setMaximum(dataSize - 1);
-        zoomSlider.setValue(dataSize - 1);
-        endSlider.setMaximum(dataSize - 1);
-        endSlider.setValue(dataSize - 1);
-        currentDataSize = dataSize;
+        int newEndIndex = dataSize - 1;
+        startIndex = startIndex == 0 ? 0 : newEndIndex - (endIndex - startIndex);
+        endIndex = newEndIndex;
       }
-      finally
+      else
       {
-        this.notifyOff = false;
+        int droppedPointCount = data.getDroppedPointCount() - currentData.getDroppedPointCount();
+        startIndex -= droppedPointCount;
+        endIndex -= droppedPointCount;
       }
+      startIndex = Math.min(Math.max(startIndex, 0), dataSize - 1);
+      endIndex = Math.min(Math.max(endIndex, startIndex), dataSize - 1);
+      setNumberOfIndices(dataSize, startIndex, endIndex);
+    }
+    else
+    {
+      setNumberOfIndices(dataSize);
+    }
+    currentData = data;
+  }
+
+  /**
+   * Sets the number of indices the sliders can select from.
+   * If the number changes, the zoom window is reset to all indices.
+   * The listeners are not notified.
+   *
+   * @param dataSize the number of indices, e.g. of location points.
+   */
+  public void setNumberOfIndices(int dataSize)
+  {
+    if (dataSize != currentDataSize)
+    {
+      setNumberOfIndices(dataSize, 0, dataSize - 1);
+    }
+  }
+
+  /**
+   * Sets the number of indices the sliders can select from, and the selected indices.
+   * The listeners are not notified.
+   *
+   * @param dataSize the number of indices, e.g. of location points.
+   * @param startIndex the first selected index, between 0 and dataSize - 1.
+   * @param endIndex the last selected index, between startIndex and dataSize - 1.
+   */
+  public void setNumberOfIndices(int dataSize, int startIndex, int endIndex)
+  {
+    try
+    {
+      this.notifyOff = true;
+      startSlider.setMaximum(dataSize - 1);
+      zoomSlider.setMaximum(dataSize - 1);
+      endSlider.setMaximum(dataSize - 1);
+      startSlider.setValue(startIndex);
+      endSlider.setValue(endIndex);
+      zoomSlider.setValue(endIndex - startIndex);
+      currentDataSize = dataSize;
+    }
+    finally
+    {
+      this.notifyOff = false;
     }
   }
 
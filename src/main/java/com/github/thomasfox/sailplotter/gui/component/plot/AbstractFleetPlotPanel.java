@@ -0,0 +1,115 @@
+package com.github.thomasfox.sailplotter.gui.component.plot;
+
+import java.awt.Dimension;
+import java.awt.GridLayout;
+import java.awt.Paint;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JPanel;
+
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.DefaultDrawingSupplier;
+import org.jfree.chart.plot.XYPlot;
+
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.Fleet;
+
+/**
+ * A plot which shows one series per boat of a fleet in a common time window.
+ * Boats which are added to the fleet get an additional series,
+ * the series of the boats which are already shown are kept.
+ * Each boat has the same color in all fleet plots.
+ */
+public abstract class AbstractFleetPlotPanel extends JPanel
+{
+  private static final long serialVersionUID = 1L;
+
+  private static final Paint[] BOAT_PAINTS = DefaultDrawingSupplier.DEFAULT_PAINT_SEQUENCE;
+
+  protected final TimeWindowXYDataset dataset = new TimeWindowXYDataset();
+
+  protected ChartPanel chartPanel;
+
+  protected XYPlot plot;
+
+  private final List<Data> shownBoats = new ArrayList<>();
+
+  protected void setChart(JFreeChart chart)
+  {
+    plot = (XYPlot) chart.getPlot();
+    chartPanel = new ChartPanel(chart);
+    setLayout(new GridLayout(1, 1));
+    add(chartPanel);
+  }
+
+  /**
+   * Shows the boats of a fleet. If the fleet contains the shown boats as its first boats,
+   * only the series of the new boats are added.
+   * Must be called on the event dispatch thread.
+   *
+   * @param fleet the fleet to show, not null.
+   */
+  public void fleetChanged(Fleet fleet)
+  {
+    List<Data> boats = fleet.getBoats();
+    if (boats.size() < shownBoats.size() || !boats.subList(0, shownBoats.size()).equals(shownBoats))
+    {
+      dataset.removeAllSeries();
+      shownBoats.clear();
+    }
+    for (int i = shownBoats.size(); i < boats.size(); i++)
+    {
+      Data boat = boats.get(i);
+      plot.getRenderer().setSeriesPaint(i, BOAT_PAINTS[i % BOAT_PAINTS.length]);
+      addSeries(fleet, getBoatName(boat, i), boat);
+      shownBoats.add(boat);
+    }
+  }
+
+  /**
+   * Adds the series of a boat to the dataset.
+   *
+   * @param fleet the fleet which contains the boat, not null.
+   * @param name the name of the boat, to be used as series key, not null.
+   * @param boat the data of the boat, not null.
+   */
+  protected abstract void addSeries(Fleet fleet, String name, Data boat);
+
+  /**
+   * Restricts all series to the points with a time strictly between startTime and endTime.
+   * The work does not depend on the number of points of the boats.
+   * Must be called on the event dispatch thread.
+   *
+   * @param startTime the start of the window in milliseconds since the epoch, exclusive.
+   * @param endTime the end of the window in milliseconds since the epoch, exclusive.
+   */
+  public void timeWindowChanged(long startTime, long endTime)
+  {
+    dataset.setTimeWindow(startTime, endTime);
+    onTimeWindowChanged();
+  }
+
+  /**
+   * Called after the time window of the dataset has changed.
+   */
+  protected void onTimeWindowChanged()
+  {
+  }
+
+  private static String getBoatName(Data boat, int index)
+  {
+    if (boat.getFile() != null)
+    {
+      return boat.getFile().getName();
+    }
+    return "Boat " + (index + 1);
+  }
+
+  @Override
+  public Dimension getPreferredSize()
+  {
+    return new Dimension();
+  }
+}
@@ -0,0 +1,259 @@
+package com.github.thomasfox.sailplotter.gui.component.plot;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.XYPlot;
+
+import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
+import com.github.thomasfox.sailplotter.model.columns.LocationKdTree;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
+import com.github.thomasfox.sailplotter.model.vector.TwoDimVector;
+
+/**
+ * Base class for the panels which show the track on a map.
+ * The points under the mouse are looked up in the KD-tree over the projected locations
+ * instead of in chart entities, which are not created for maps:
+ * Hovering shows the tooltip of the nearest point, clicking centers the zoom window on the nearest point,
+ * and selecting an area with the mouse zooms to the points in the area.
+ */
+public abstract class AbstractMapPlotPanel extends AbstractPlotPanel
+{
+  private static final long serialVersionUID = 1L;
+
+  /** Maximum distance in Java2D units between the mouse and a point to pick the point. */
+  private static final double PICK_DISTANCE = 5;
+
+  protected XYPlot plot;
+
+  private MapFrame mapFrame;
+
+  @Override
+  protected void setChart(JFreeChart chart)
+  {
+    super.setChart(chart);
+    chartPanel.getChartRenderingInfo().setEntityCollection(null);
+  }
+
+  /**
+   * Sets how the shown chart coordinates relate to the locations of the points.
+   * Must be called on the event dispatch thread when new series are shown.
+   *
+   * @param mapFrame the new map frame, or null if no points are shown.
+   */
+  protected void setMapFrame(MapFrame mapFrame)
+  {
+    this.mapFrame = mapFrame;
+  }
+
+  @Override
+  protected String getChartToolTipText(Point2D java2DPoint)
+  {
+    int locationIndex = pick(java2DPoint);
+    if (locationIndex == -1)
+    {
+      return null;
+    }
+    return mapFrame.pointsWithLocation.get(locationIndex).getXYLabel();
+  }
+
+  @Override
+  protected void chartClicked(Point2D java2DPoint)
+  {
+    int locationIndex = pick(java2DPoint);
+    if (locationIndex == -1)
+    {
+      return;
+    }
+    int width = zoomedData.getLocationDataEndIndex() - zoomedData.getLocationDataStartIndex();
+    int lastIndex = mapFrame.pointsWithLocation.size() - 1;
+    int startIndex = Math.max(Math.min(locationIndex - width / 2, lastIndex - width), 0);
+    requestZoom(startIndex, Math.min(startIndex + width, lastIndex));
+  }
+
+  @Override
+  protected boolean chartAreaSelected(Rectangle2D java2DArea)
+  {
+    Rectangle2D dataArea = getDataArea();
+    if (mapFrame == null || dataArea == null)
+    {
+      return true;
+    }
+    TwoDimVector corner = toChart(java2DArea.getMinX(), java2DArea.getMinY(), dataArea);
+    TwoDimVector oppositeCorner = toChart(java2DArea.getMaxX(), java2DArea.getMaxY(), dataArea);
+    Rectangle2D chartArea = new Rectangle2D.Double();
+    chartArea.setFrameFromDiagonal(corner.x, corner.y, oppositeCorner.x, oppositeCorner.y);
+    int[] selected = mapFrame.getInChartArea(chartArea);
+    if (selected.length > 0)
+    {
+      requestZoom(selected[0], selected[selected.length - 1]);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the point nearest to a point in the chart.
+   *
+   * @param java2DPoint the point in the chart, in Java2D coordinates, not null.
+   *
+   * @return the index of the nearest point in the points with location,
+   *         or -1 if no point is shown near the passed point.
+   */
+  private int pick(Point2D java2DPoint)
+  {
+    Rectangle2D dataArea = getDataArea();
+    if (mapFrame == null || dataArea == null)
+    {
+      return -1;
+    }
+    TwoDimVector chartPosition = toChart(java2DPoint.getX(), java2DPoint.getY(), dataArea);
+    int locationIndex = mapFrame.getNearest(chartPosition);
+    if (locationIndex == -1)
+    {
+      return -1;
+    }
+    TwoDimVector nearestPosition = mapFrame.toChart(locationIndex);
+    double distance = java2DPoint.distance(
+        plot.getDomainAxis().valueToJava2D(nearestPosition.x, dataArea, plot.getDomainAxisEdge()),
+        plot.getRangeAxis().valueToJava2D(nearestPosition.y, dataArea, plot.getRangeAxisEdge()));
+    if (distance > PICK_DISTANCE)
+    {
+      return -1;
+    }
+    return locationIndex;
+  }
+
+  private TwoDimVector toChart(double java2DX, double java2DY, Rectangle2D dataArea)
+  {
+    return new TwoDimVector(
+        plot.getDomainAxis().java2DToValue(java2DX, dataArea, plot.getDomainAxisEdge()),
+        plot.getRangeAxis().java2DToValue(java2DY, dataArea, plot.getRangeAxisEdge()));
+  }
+
+  private Rectangle2D getDataArea()
+  {
+    ChartRenderingInfo renderingInfo = chartPanel.getChartRenderingInfo();
+    if (renderingInfo == null)
+    {
+      return null;
+    }
+    Rectangle2D dataArea = renderingInfo.getPlotInfo().getDataArea();
+    if (dataArea.isEmpty())
+    {
+      return null;
+    }
+    return dataArea;
+  }
+
+  /**
+   * Relation between the chart coordinates of a map and the projected locations of its points.
+   * The chart coordinates are the projected coordinates relative to an origin point,
+   * rotated by an angle.
+   * Immutable, can be created in a background thread.
+   */
+  protected static final class MapFrame
+  {
+    private final List<DataPoint> pointsWithLocation;
+
+    private final LocationProjection projection;
+
+    private final LocationKdTree kdTree;
+
+    private final double originX;
+
+    private final double originY;
+
+    private final double rotation;
+
+    private final int fromIndex;
+
+    private final int toIndex;
+
+    /**
+     * Constructor.
+     *
+     * @param zoomed the zoomed data, not null.
+     * @param origin the point which has the chart coordinates (0, 0), not null.
+     * @param rotation the angle in arcs by which the projected coordinates are rotated
+     *        in the chart, as in TwoDimVector.rotate().
+     * @param position the points which are shown, or null if all points are shown.
+     */
+    public MapFrame(ZoomedData zoomed, DataPoint origin, double rotation, TimeWindowPosition position)
+    {
+      this.pointsWithLocation = zoomed.getPointsWithLocation();
+      this.kdTree = zoomed.getColumns().getLocationKdTree();
+      this.projection = zoomed.getColumns().getLocationProjection();
+      this.originX = projection.getX(origin);
+      this.originY = projection.getY(origin);
+      this.rotation = rotation;
+      this.fromIndex = zoomed.getLocationIndexFrom(position);
+      this.toIndex = zoomed.getLocationIndexTo(position);
+    }
+
+    private int getNearest(TwoDimVector chartPosition)
+    {
+      TwoDimVector projected = toProjected(chartPosition.x, chartPosition.y);
+      return kdTree.getNearest(projected.x, projected.y, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the points in an area of the chart.
+     * The bounding box of the area in projected coordinates is looked up in the KD-tree,
+     * which is exact if the chart is not rotated.
+     */
+    private int[] getInChartArea(Rectangle2D chartArea)
+    {
+      double minX = Double.POSITIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      double maxX = Double.NEGATIVE_INFINITY;
+      double maxY = Double.NEGATIVE_INFINITY;
+      for (TwoDimVector corner : Arrays.asList(
+          toProjected(chartArea.getMinX(), chartArea.getMinY()),
+          toProjected(chartArea.getMinX(), chartArea.getMaxY()),
+          toProjected(chartArea.getMaxX(), chartArea.getMinY()),
+          toProjected(chartArea.getMaxX(), chartArea.getMaxY())))
+      {
+        minX = Math.min(minX, corner.x);
+        minY = Math.min(minY, corner.y);
+        maxX = Math.max(maxX, corner.x);
+        maxY = Math.max(maxY, corner.y);
+      }
+      int[] candidates = kdTree.getInRectangle(minX, minY, maxX, maxY, fromIndex, toIndex);
+      if (rotation == 0d)
+      {
+        return candidates;
+      }
+      int[] result = new int[candidates.length];
+      int count = 0;
+      for (int candidate : candidates)
+      {
+        TwoDimVector chartPosition = toChart(candidate);
+        if (chartPosition.x >= chartArea.getMinX() && chartPosition.x <= chartArea.getMaxX()
+            && chartPosition.y >= chartArea.getMinY() && chartPosition.y <= chartArea.getMaxY())
+        {
+          result[count++] = candidate;
+        }
+      }
+      return Arrays.copyOf(result, count);
+    }
+
+    private TwoDimVector toChart(int locationIndex)
+    {
+      DataPoint point = pointsWithLocation.get(locationIndex);
+      return new TwoDimVector(projection.getX(point) - originX, projection.getY(point) - originY)
+          .rotate(rotation);
+    }
+
+    private TwoDimVector toProjected(double chartX, double chartY)
+    {
+      TwoDimVector relative = new TwoDimVector(chartX, chartY).rotate(-rotation);
+      return new TwoDimVector(relative.x + originX, relative.y + originY);
+    }
+  }
+}
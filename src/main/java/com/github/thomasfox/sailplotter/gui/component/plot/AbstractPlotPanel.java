@@ -3,8 +3,14 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridLayout;
+import java.awt.Point;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.swing.JPanel;
 
@@ -14,7 +20,9 @@ import org.jfree.chart.plot.XYPlot;
 import org.jfree.data.Range;
 import org.jfree.data.time.Millisecond;
 import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
 import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 
 import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeEvent;
@@ -34,6 +42,8 @@ public abstract class AbstractPlotPanel extends JPanel implements ZoomChangeList
 
   protected ChartPanel chartPanel;
 
+  private final List<ZoomChangeListener> zoomRequestListeners = new ArrayList<>();
+
   protected AbstractPlotPanel()
   {
     zoomedData = new ZoomedData();
@@ -41,7 +51,43 @@ public abstract class AbstractPlotPanel extends JPanel implements ZoomChangeList
 
   protected void setChart(JFreeChart chart)
   {
-    chartPanel = new ChartPanel(chart);
+    chartPanel = new ChartPanel(chart)
+    {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public String getToolTipText(MouseEvent e)
+      {
+        String toolTipText = getChartToolTipText(translateScreenToJava2D(e.getPoint()));
+        if (toolTipText != null)
+        {
+          return toolTipText;
+        }
+        return super.getToolTipText(e);
+      }
+
+      @Override
+      public void mouseClicked(MouseEvent e)
+      {
+        chartClicked(translateScreenToJava2D(e.getPoint()));
+        super.mouseClicked(e);
+      }
+
+      @Override
+      public void zoom(Rectangle2D selection)
+      {
+        Point2D selectionStart = translateScreenToJava2D(
+            new Point((int) Math.ceil(selection.getX()), (int) Math.ceil(selection.getY())));
+        Point2D selectionEnd = translateScreenToJava2D(
+            new Point((int) Math.floor(selection.getMaxX()), (int) Math.floor(selection.getMaxY())));
+        Rectangle2D java2DSelection = new Rectangle2D.Double();
+        java2DSelection.setFrameFromDiagonal(selectionStart, selectionEnd);
+        if (!chartAreaSelected(java2DSelection))
+        {
+          super.zoom(selection);
+        }
+      }
+    };
     setLayout(new GridLayout(1, 1));
     GridBagConstraints gridBagConstraints = new GridBagConstraints();
     gridBagConstraints.fill = GridBagConstraints.BOTH;
@@ -50,6 +96,68 @@ public abstract class AbstractPlotPanel extends JPanel implements ZoomChangeList
     add(chartPanel, gridBagConstraints);
   }
 
+  /**
+   * Returns a tooltip for a point in the chart which is not covered by a chart entity.
+   * Panels whose renderers do not create entities for their items can override this method.
+   *
+   * @param java2DPoint the point in Java2D coordinates, not null.
+   *
+   * @return the tooltip, or null to show the tooltip of the chart entity at the point.
+   */
+  protected String getChartToolTipText(Point2D java2DPoint)
+  {
+    return null;
+  }
+
+  /**
+   * Called when the chart is clicked with the mouse.
+   *
+   * @param java2DPoint the clicked point in Java2D coordinates, not null.
+   */
+  protected void chartClicked(Point2D java2DPoint)
+  {
+  }
+
+  /**
+   * Called when an area of the chart is selected by dragging the mouse.
+   * By default, the chart zooms into the selected area.
+   *
+   * @param java2DArea the selected area in Java2D coordinates, not null.
+   *
+   * @return true if the selection was handled by the panel,
+   *         false if the chart should zoom into the selected area.
+   */
+  protected boolean chartAreaSelected(Rectangle2D java2DArea)
+  {
+    return false;
+  }
+
+  /**
+   * Adds a listener which is notified if the user requests a new zoom window in this panel,
+   * e.g. by selecting points in a map.
+   *
+   * @param listener the listener to add, not null.
+   */
+  public void addZoomRequestListener(ZoomChangeListener listener)
+  {
+    zoomRequestListeners.add(listener);
+  }
+
+  /**
+   * Notifies the zoom request listeners of a new zoom window.
+   *
+   * @param startIndex the index of the first location point in the new zoom window.
+   * @param endIndex the index of the last location point in the new zoom window.
+   */
+  protected void requestZoom(int startIndex, int endIndex)
+  {
+    ZoomChangeEvent zoomChangeEvent = new ZoomChangeEvent(startIndex, endIndex, null);
+    for (ZoomChangeListener listener : zoomRequestListeners)
+    {
+      listener.zoomChanged(zoomChangeEvent);
+    }
+  }
+
   public void dataAndZoomChanged(Data data, ZoomChangeEvent zoomChangeEvent)
   {
     this.zoomedData.setData(data);
@@ -68,6 +176,119 @@ public abstract class AbstractPlotPanel extends JPanel implements ZoomChangeList
 
   protected abstract void onZoomChanged();
 
+  /**
+   * Prepares the zoom change in a background thread by calling the calculation
+   * of prepareZoomedSeries() with a copy of the zoomed data, which is captured here.
+   * If the panel does not calculate its series in the background,
+   * the returned action simply calls zoomChanged().
+   * If the data of the panel is changed before the returned action is run,
+   * the action does nothing, because the data change has already updated the panel.
+   */
+  @Override
+  public Supplier<Runnable> prepareZoomChange(ZoomChangeEvent zoomChangeEvent)
+  {
+    Data data = zoomedData.getData();
+    Supplier<Runnable> calculateZoomedSeries = prepareZoomedSeries(zoomedData.withZoom(zoomChangeEvent));
+    return () ->
+    {
+      Runnable showZoomedSeries = calculateZoomedSeries.get();
+      if (showZoomedSeries == null)
+      {
+        return () -> zoomChanged(zoomChangeEvent);
+      }
+      return () ->
+      {
+        if (zoomedData.getData() != data)
+        {
+          return;
+        }
+        zoomedData.zoomChanged(zoomChangeEvent);
+        showZoomedSeries.run();
+      };
+    };
+  }
+
+  /**
+   * Captures the state of the panel which the calculation of the series for a zoom window needs.
+   * Called on the event dispatch thread; the returned calculation may run in a background thread.
+   * Panels whose calculation depends on the state of the chart or the panel,
+   * e.g. its size, should override this method and read that state here.
+   *
+   * @param zoomed the data and zoom window to calculate the series for, not null.
+   *
+   * @return the calculation which returns the result of calculateZoomedSeries(), not null.
+   */
+  protected Supplier<Runnable> prepareZoomedSeries(ZoomedData zoomed)
+  {
+    return () -> calculateZoomedSeries(zoomed);
+  }
+
+  /**
+   * Calculates the series to display for a zoom window.
+   * Panels whose zoom change is expensive should override this method
+   * and update their chart in onZoomChanged() by running the returned action.
+   * The calculation may run in a background thread, so it must only read the passed zoomed data
+   * and must not access the chart or the panel.
+   *
+   * @param zoomed the data and zoom window to calculate the series for, not null.
+   *
+   * @return the action which shows the calculated series on the event dispatch thread,
+   *         or null if the panel does all zoom change work in onZoomChanged().
+   */
+  protected Runnable calculateZoomedSeries(ZoomedData zoomed)
+  {
+    return null;
+  }
+
+  /**
+   * Replaces all series of a dataset.
+   *
+   * @param dataset the dataset to change, not null.
+   * @param seriesList the new series, not null.
+   */
+  protected static void replaceSeries(XYSeriesCollection dataset, List<XYSeries> seriesList)
+  {
+    dataset.removeAllSeries();
+    for (XYSeries series : seriesList)
+    {
+      dataset.addSeries(series);
+    }
+  }
+
+  /**
+   * Replaces all series of a dataset.
+   *
+   * @param dataset the dataset to change, not null.
+   * @param seriesList the new series, not null.
+   */
+  protected static void replaceSeries(TimeSeriesCollection dataset, List<TimeSeries> seriesList)
+  {
+    dataset.removeAllSeries();
+    for (TimeSeries series : seriesList)
+    {
+      dataset.addSeries(series);
+    }
+  }
+
+  /**
+   * Restricts the passed datasets to the points inside the zoom window.
+   *
+   * @param datasets the datasets to restrict, not null.
+   */
+  protected void setZoomTimeWindow(TimeWindowXYDataset... datasets)
+  {
+    if (zoomedData.getData() == null || zoomedData.getPointsWithLocation().isEmpty())
+    {
+      return;
+    }
+    long startTime = zoomedData.getLocationDataStartMillis();
+    long endTime = zoomedData.getLocationDataEndMillis();
+    for (TimeWindowXYDataset dataset : datasets)
+    {
+      dataset.setTimeWindow(startTime, endTime);
+    }
+  }
+
   public TimeSeries getZoomDisplaySeries(List<DataPoint> data)
   {
     TimeSeries series = new TimeSeries("velocity");
@@ -85,52 +306,62 @@ public abstract class AbstractPlotPanel extends JPanel implements ZoomChangeList
   public XYSeries getXySeries(
       TimeWindowPosition position,
       Function<DataPoint, TwoDimVector> xyProvider)
+  {
+    return getXySeries(zoomedData, position, xyProvider);
+  }
+
+  public static XYSeries getXySeries(
+      ZoomedData zoomed,
+      TimeWindowPosition position,
+      Function<DataPoint, TwoDimVector> xyProvider)
   {
     XYSeries series = new XYSeries("XY" + position, false, true);
-    if (zoomedData.getData() == null)
+    if (zoomed.getData() == null)
     {
       return series;
     }
-    TackList tackList = zoomedData.getData().getTackList();
+    TackList tackList = zoomed.getTackList();
     if (tackList == null || tackList.size() == 0)
     {
       return series;
     }
     int tackIndex = 0;
     Tack containingTack = tackList.get(tackIndex);
-    for (DataPoint point : zoomedData.getLocationSubset(position))
+    // the tack indices are indices in the location points, which need not be the indices of the points
+    int locationIndex = zoomed.getLocationIndexFrom(position);
+    for (DataPoint point : zoomed.getLocationSubset(position))
     {
-      while (containingTack.endOfTackDataPointIndex < point.index
-          && tackIndex < zoomedData.getData().getTackList().size() - 1)
+      while (containingTack.endOfTackDataPointIndex < locationIndex
+          && tackIndex < tackList.size() - 1)
       {
         ++tackIndex;
-        containingTack = zoomedData.getData().getTackList().get(tackIndex);
+        containingTack = tackList.get(tackIndex);
       }
       TwoDimVector xy = xyProvider.apply(point);
       XYSailDataItem item = new XYSailDataItem(xy.x, xy.y, point.getXYLabel());
-      if (containingTack.startOfTackDataPointIndex == point.index)
+      if (containingTack.startOfTackDataPointIndex == locationIndex)
       {
         item.setStartOfTack(tackIndex);
       }
-      else if (containingTack.endOfTackDataPointIndex == point.index)
+      else if (containingTack.endOfTackDataPointIndex == locationIndex)
       {
         item.setEndOfTack(tackIndex);
       }
       DataPoint afterStartManeuver = containingTack.getAfterStartManeuver();
       DataPoint bevoreEndManeuver = containingTack.getBeforeEndManeuver();
 
-      if ((afterStartManeuver != null && afterStartManeuver.index == point.index)
-          || (bevoreEndManeuver != null && bevoreEndManeuver.index == point.index))
+      if (point.equals(afterStartManeuver) || point.equals(bevoreEndManeuver))
       {
         item.setTackMainPartLimit(true);
       }
 
       series.add(item);
+      locationIndex++;
     }
     return series;
   }
 
-  public void expandRangesToAspectRatio(XYPlot plot, double aspectRatio)
+  public static void expandRangesToAspectRatio(XYPlot plot, double aspectRatio)
   {
     Range xRange = plot.getDomainAxis().getRange();
     Range yRange = plot.getRangeAxis().getRange();
@@ -0,0 +1,77 @@
+package com.github.thomasfox.sailplotter.gui.component.plot;
+
+import java.awt.geom.Rectangle2D;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+
+import com.github.thomasfox.sailplotter.Constants;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.Fleet;
+import com.github.thomasfox.sailplotter.model.Location;
+
+/**
+ * Shows the tracks of all boats of a fleet in the time window on a common map.
+ * The coordinates of all boats are relative to the reference location of the fleet.
+ */
+public class FleetMapPlotPanel extends AbstractFleetPlotPanel
+{
+  private static final long serialVersionUID = 1L;
+
+  public FleetMapPlotPanel()
+  {
+    JFreeChart chart = ChartFactory.createXYLineChart(
+        "Map",
+        "north [m]",
+        "east [m]",
+        dataset,
+        PlotOrientation.VERTICAL,
+        true,
+        false,
+        false);
+    setChart(chart);
+  }
+
+  @Override
+  protected void addSeries(Fleet fleet, String name, Data boat)
+  {
+    // the reference location is only missing if the boat has no location points
+    Location reference = fleet.getReferenceLocation();
+    double referenceX = (reference == null) ? 0d : reference.getX();
+    double referenceY = (reference == null) ? 0d : reference.getY();
+    dataset.addSeries(
+        name,
+        boat.getPointsWithLocation(),
+        point -> point.getX() - referenceX,
+        point -> point.getY() - referenceY);
+    updateMapZoomRange();
+  }
+
+  @Override
+  protected void onTimeWindowChanged()
+  {
+    updateMapZoomRange();
+  }
+
+  private void updateMapZoomRange()
+  {
+    if (dataset.getDomainBounds(false) == null)
+    {
+      return;
+    }
+    plot.getDomainAxis().setAutoRange(true);
+    plot.getRangeAxis().setAutoRange(true);
+    ChartRenderingInfo renderingInfo = chartPanel.getChartRenderingInfo();
+    if (renderingInfo != null && renderingInfo.getPlotInfo().getDataArea().getHeight() > 0)
+    {
+      Rectangle2D dataArea = renderingInfo.getPlotInfo().getDataArea();
+      AbstractPlotPanel.expandRangesToAspectRatio(plot, dataArea.getWidth() / dataArea.getHeight());
+    }
+    else
+    {
+      AbstractPlotPanel.expandRangesToAspectRatio(plot, Constants.MAP_ASPECT_RATIO);
+    }
+  }
+}
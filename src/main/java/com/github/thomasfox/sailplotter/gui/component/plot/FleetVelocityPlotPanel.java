@@ -0,0 +1,34 @@
+package com.github.thomasfox.sailplotter.gui.component.plot;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.Fleet;
+
+public class FleetVelocityPlotPanel extends AbstractFleetPlotPanel
+{
+  private static final long serialVersionUID = 1L;
+
+  public FleetVelocityPlotPanel()
+  {
+    JFreeChart chart = ChartFactory.createTimeSeriesChart(
+        "Velocity",
+        "Time",
+        "Velocity [kts]",
+        dataset,
+        true,
+        false,
+        false);
+    setChart(chart);
+  }
+
+  @Override
+  protected void addSeries(Fleet fleet, String name, Data boat)
+  {
+    dataset.addSeries(
+        name,
+        boat.getPointsWithLocation(),
+        point -> point.getVelocityFromLatLong());
+  }
+}
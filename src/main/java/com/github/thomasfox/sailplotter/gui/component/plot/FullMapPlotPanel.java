@@ -2,6 +2,7 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import java.awt.Color;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jfree.chart.ChartFactory;
@@ -9,21 +10,22 @@ import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 import com.github.thomasfox.sailplotter.Constants;
 import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 import com.github.thomasfox.sailplotter.model.DataPoint;
 import com.github.thomasfox.sailplotter.model.MapArea;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
 
-public class FullMapPlotPanel extends AbstractPlotPanel
+public class FullMapPlotPanel extends AbstractMapPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
   private final XYSeriesCollection dataset = new XYSeriesCollection();
 
-  private final XYPlot plot;
-
   public FullMapPlotPanel()
   {
     JFreeChart chart = ChartFactory.createXYLineChart("Map", "north [m]", "east [m]", dataset, PlotOrientation.VERTICAL, false, false, false);
@@ -41,23 +43,32 @@ public class FullMapPlotPanel extends AbstractPlotPanel
 
   private void resetDataSeries()
   {
-    dataset.removeAllSeries();
-    if (zoomedData.getData() == null)
+    calculateZoomedSeries(zoomedData).run();
+  }
+
+  @Override
+  protected Runnable calculateZoomedSeries(ZoomedData zoomed)
+  {
+    List<XYSeries> seriesList = new ArrayList<>();
+    MapFrame mapFrame = null;
+    if (zoomed.getData() != null && zoomed.getPointsWithLocation().size() != 0)
     {
-      return;
+      DataPoint startPoint = zoomed.getPointsWithLocation().get(0);
+      LocationProjection projection = zoomed.getColumns().getLocationProjection();
+      seriesList.add(getXySeries(zoomed, TimeWindowPosition.BEFORE,
+          p -> projection.getXYRelativeTo(p, startPoint)));
+      seriesList.add(getXySeries(zoomed, TimeWindowPosition.IN,
+          p -> projection.getXYRelativeTo(p, startPoint)));
+      seriesList.add(getXySeries(zoomed, TimeWindowPosition.AFTER,
+          p -> projection.getXYRelativeTo(p, startPoint)));
+      mapFrame = new MapFrame(zoomed, startPoint, 0d, null);
     }
-    List<DataPoint> pointsWithLocation = zoomedData.getPointsWithLocation();
-    if (pointsWithLocation.size() == 0)
+    MapFrame shownMapFrame = mapFrame;
+    return () ->
     {
-      return;
-    }
-    DataPoint startPoint = pointsWithLocation.get(0);
-    dataset.addSeries(getXySeries(TimeWindowPosition.BEFORE,
-        p -> (p.location.xyRelativeTo(startPoint.location))));
-    dataset.addSeries(getXySeries(TimeWindowPosition.IN,
-        p -> (p.location.xyRelativeTo(startPoint.location))));
-    dataset.addSeries(getXySeries(TimeWindowPosition.AFTER,
-        p -> (p.location.xyRelativeTo(startPoint.location))));
+      replaceSeries(dataset, seriesList);
+      setMapFrame(shownMapFrame);
+    };
   }
 
   @Override
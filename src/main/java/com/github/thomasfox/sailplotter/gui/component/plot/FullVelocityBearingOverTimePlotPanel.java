@@ -1,7 +1,11 @@
 package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import java.awt.Color;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
@@ -12,22 +16,29 @@ import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.Range;
 import org.jfree.data.time.DateRange;
+import org.jfree.data.time.TimeSeries;
 import org.jfree.data.time.TimeSeriesCollection;
 
-import com.github.thomasfox.sailplotter.analyze.MinMax;
 import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
 
 public class FullVelocityBearingOverTimePlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
+  /** Number of buckets used for downsampling as long as the panel has not been laid out. */
+  private static final int DEFAULT_BUCKET_BUDGET = 2000;
+
   private final TimeSeriesCollection velocityDataset = new TimeSeriesCollection();
 
   private final TimeSeriesCollection bearingDataset = new TimeSeriesCollection();
 
   private final XYPlot plot;
 
+  private int bucketBudget;
+
   public FullVelocityBearingOverTimePlotPanel()
   {
     plot = new XYPlot();
@@ -60,6 +71,17 @@ public class FullVelocityBearingOverTimePlotPanel extends AbstractPlotPanel
 
     resetDataSeries();
     setChart(chart);
+    addComponentListener(new ComponentAdapter()
+    {
+      @Override
+      public void componentResized(ComponentEvent e)
+      {
+        if (getBucketBudget() != bucketBudget)
+        {
+          resetDataSeries();
+        }
+      }
+    });
   }
 
   @Override
@@ -68,16 +90,52 @@ public class FullVelocityBearingOverTimePlotPanel extends AbstractPlotPanel
     resetDataSeries();
   }
 
+  /**
+   * Resets the series from the downsampled location data,
+   * so that the number of drawn points depends on the width of the panel
+   * and not on the number of points in the track.
+   */
   private void resetDataSeries()
   {
-    velocityDataset.removeAllSeries();
-    bearingDataset.removeAllSeries();
-    velocityDataset.addSeries(zoomedData.getVelocityTimeSeries(TimeWindowPosition.BEFORE));
-    velocityDataset.addSeries(zoomedData.getVelocityTimeSeries(TimeWindowPosition.IN));
-    velocityDataset.addSeries(zoomedData.getVelocityTimeSeries(TimeWindowPosition.AFTER));
-    bearingDataset.addSeries(zoomedData.getBearingInDegreesFromLatLongTimeSeries(TimeWindowPosition.BEFORE));
-    bearingDataset.addSeries(zoomedData.getBearingInDegreesFromLatLongTimeSeries(TimeWindowPosition.IN));
-    bearingDataset.addSeries(zoomedData.getBearingInDegreesFromLatLongTimeSeries(TimeWindowPosition.AFTER));
+    prepareZoomedSeries(zoomedData).get().run();
+  }
+
+  /**
+   * Reads the width of the panel, which determines the downsampling of the series,
+   * on the event dispatch thread.
+   */
+  @Override
+  protected Supplier<Runnable> prepareZoomedSeries(ZoomedData zoomed)
+  {
+    int seriesBucketBudget = getBucketBudget();
+    return () -> calculateZoomedSeries(zoomed, seriesBucketBudget);
+  }
+
+  private Runnable calculateZoomedSeries(ZoomedData zoomed, int seriesBucketBudget)
+  {
+    List<TimeSeries> velocitySeries = new ArrayList<>();
+    List<TimeSeries> bearingSeries = new ArrayList<>();
+    for (TimeWindowPosition position : new TimeWindowPosition[] {
+        TimeWindowPosition.BEFORE, TimeWindowPosition.IN, TimeWindowPosition.AFTER})
+    {
+      velocitySeries.add(zoomed.getDownsampledVelocityTimeSeries(position, seriesBucketBudget));
+      bearingSeries.add(zoomed.getDownsampledBearingInDegreesFromLatLongTimeSeries(position, seriesBucketBudget));
+    }
+    return () ->
+    {
+      bucketBudget = seriesBucketBudget;
+      replaceSeries(velocityDataset, velocitySeries);
+      replaceSeries(bearingDataset, bearingSeries);
+    };
+  }
+
+  private int getBucketBudget()
+  {
+    if (getWidth() <= 0)
+    {
+      return DEFAULT_BUCKET_BUDGET;
+    }
+    return getWidth();
   }
 
   @Override
@@ -89,12 +147,14 @@ public class FullVelocityBearingOverTimePlotPanel extends AbstractPlotPanel
       return;
     }
     Range dataRange = new DateRange(
-        pointsWithLocation.get(0).time,
-        pointsWithLocation.get(pointsWithLocation.size() -1).time);
+        pointsWithLocation.get(0).getTime(),
+        pointsWithLocation.get(pointsWithLocation.size() -1).getTime());
     plot.getDomainAxis().setRange(dataRange);
+    DataColumns columns = zoomedData.getData().getColumns();
     Range valueRange = new DateRange(
         0,
-        MinMax.getMaximum(pointsWithLocation, d->d.location.velocityFromLatLong));
+        columns.getRangeIndex(columns.getLocation().velocityFromLatLong)
+            .getStatistics(0, pointsWithLocation.size()).maximum);
     plot.getRangeAxis().setRange(valueRange);
     plot.getRenderer().setSeriesPaint(0, new Color(0x00, 0x00, 0x00));
     plot.getRenderer().setSeriesPaint(1, new Color(0xFF, 0x00, 0x00));
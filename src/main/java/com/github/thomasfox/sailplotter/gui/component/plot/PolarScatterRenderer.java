@@ -3,21 +3,52 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.RenderingHints;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
-import org.jfree.chart.entity.EntityCollection;
-import org.jfree.chart.entity.XYItemEntity;
 import org.jfree.chart.labels.XYToolTipGenerator;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.PolarPlot;
 import org.jfree.chart.renderer.DefaultPolarItemRenderer;
 import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeriesCollection;
 
+/**
+ * Draws the items of a polar plot as dots.
+ * The dots of a series are stamped into an image layer, which is then drawn at once,
+ * so drawing a series with many items is much faster than drawing a shape per item.
+ * The layer has the resolution of the Java2D coordinates of the chart.
+ * No chart entities are created for the items; tooltips are answered
+ * by getToolTipText() from a grid over the item positions of the last drawing.
+ */
 public class PolarScatterRenderer extends DefaultPolarItemRenderer
 {
   private static final long serialVersionUID = 1L;
 
+  private static final Color DOT_COLOR = Color.RED;
+
+  private static final double DOT_SIZE = 5;
+
+  /** Width and height of the image of a dot, including its outline. */
+  private static final int DOT_IMAGE_SIZE = (int) DOT_SIZE + 2;
+
+  /** Maximum distance in Java2D units between the mouse and the center of a dot to show its tooltip. */
+  private static final double TOOLTIP_DISTANCE = 5;
+
+  private transient List<DrawnSeries> drawnSeries = new ArrayList<>();
+
+  /** The alpha values of the dot image, row by row. */
+  private transient int[] dotAlpha;
+
+  private transient BufferedImage layer;
+
   @Override
   public void drawSeries(
       Graphics2D graphics,
@@ -27,36 +58,197 @@ public class PolarScatterRenderer extends DefaultPolarItemRenderer
       XYDataset dataset,
       int seriesIndex)
   {
-      int numPoints = dataset.getItemCount(seriesIndex);
-      EntityCollection entities = null;
-      if (info != null) 
-      {
-        entities = info.getOwner().getEntityCollection();
-      }
-
-      for (int i = 0; i < numPoints; i++)
-      {
-          double theta = dataset.getXValue(seriesIndex, i);
-          double radius = dataset.getYValue(seriesIndex, i);
-          Point p = plot.translateValueThetaRadiusToJava2D(
-              theta, radius, dataArea);
-          Ellipse2D el = new Ellipse2D.Double(p.x, p.y, 5, 5);
-          graphics.setColor(Color.RED);
-          graphics.fill(el);
-          graphics.draw(el);
-          if (entities != null)
-          {
-            String tip = null;
-            XYToolTipGenerator generator = getToolTipGenerator(seriesIndex, i);
-            if (generator != null)
-            {
-              tip = generator.generateToolTip(dataset, seriesIndex, i);
-            }
-            String url = null;
-            XYItemEntity entity = new XYItemEntity(el, dataset, seriesIndex, i, tip, url);
-            entities.add(entity);
-          }
+    if (seriesIndex == 0 || drawnSeries == null)
+    {
+      drawnSeries = new ArrayList<>();
+    }
+    int numPoints = dataset.getItemCount(seriesIndex);
+    // dots at the border of the data area may extend beyond it
+    int layerX = (int) Math.floor(dataArea.getX()) - DOT_IMAGE_SIZE;
+    int layerY = (int) Math.floor(dataArea.getY()) - DOT_IMAGE_SIZE;
+    int layerWidth = (int) Math.ceil(dataArea.getWidth()) + 2 * DOT_IMAGE_SIZE + 1;
+    int layerHeight = (int) Math.ceil(dataArea.getHeight()) + 2 * DOT_IMAGE_SIZE + 1;
+    int[] layerPixels = getClearedLayerPixels(layerWidth, layerHeight);
+    int[] alpha = getDotAlpha(graphics);
+    double[] centerX = new double[numPoints];
+    double[] centerY = new double[numPoints];
+
+    for (int i = 0; i < numPoints; i++)
+    {
+      double theta = dataset.getXValue(seriesIndex, i);
+      double radius = dataset.getYValue(seriesIndex, i);
+      Point p = plot.translateValueThetaRadiusToJava2D(
+          theta, radius, dataArea);
+      centerX[i] = p.x + DOT_SIZE / 2;
+      centerY[i] = p.y + DOT_SIZE / 2;
+      // the dot image has a margin of one pixel for the outline
+      stampDot(layerPixels, layerWidth, layerHeight, p.x - 1 - layerX, p.y - 1 - layerY, alpha);
+    }
+    int rgb = DOT_COLOR.getRGB() & 0xFFFFFF;
+    for (int pixel = 0; pixel < layerPixels.length; pixel++)
+    {
+      if (layerPixels[pixel] != 0)
+      {
+        layerPixels[pixel] = (layerPixels[pixel] << 24) | rgb;
+      }
+    }
+    graphics.drawImage(layer, layerX, layerY, null);
+
+    drawnSeries.add(new DrawnSeries(
+        dataset,
+        seriesIndex,
+        numPoints,
+        new ScreenPointGrid(centerX, centerY, dataArea, 4 * TOOLTIP_DISTANCE)));
+  }
+
+  private int[] getClearedLayerPixels(int width, int height)
+  {
+    if (layer == null || layer.getWidth() != width || layer.getHeight() != height)
+    {
+      layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+    int[] pixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+    Arrays.fill(pixels, 0);
+    return pixels;
+  }
+
+  /**
+   * Renders a dot once to get the alpha values to stamp for each item.
+   * The dot is filled and outlined, as DefaultPolarItemRenderer would draw a shape.
+   */
+  private int[] getDotAlpha(Graphics2D graphics)
+  {
+    if (dotAlpha == null)
+    {
+      BufferedImage dotImage = new BufferedImage(DOT_IMAGE_SIZE, DOT_IMAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D dotGraphics = dotImage.createGraphics();
+      dotGraphics.setRenderingHint(
+          RenderingHints.KEY_ANTIALIASING,
+          graphics.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+      dotGraphics.setColor(DOT_COLOR);
+      Ellipse2D dot = new Ellipse2D.Double(1, 1, DOT_SIZE, DOT_SIZE);
+      dotGraphics.fill(dot);
+      dotGraphics.draw(dot);
+      dotGraphics.dispose();
+      int[] alpha = dotImage.getRGB(0, 0, DOT_IMAGE_SIZE, DOT_IMAGE_SIZE, null, 0, DOT_IMAGE_SIZE);
+      for (int i = 0; i < alpha.length; i++)
+      {
+        alpha[i] = alpha[i] >>> 24;
+      }
+      dotAlpha = alpha;
+    }
+    return dotAlpha;
+  }
+
+  /**
+   * Stamps the alpha values of a dot into the layer, keeping the larger alpha value where dots overlap.
+   */
+  private static void stampDot(int[] layerPixels, int layerWidth, int layerHeight, int x, int y, int[] alpha)
+  {
+    for (int row = Math.max(0, -y); row < DOT_IMAGE_SIZE && y + row < layerHeight; row++)
+    {
+      int layerOffset = (y + row) * layerWidth + x;
+      int dotOffset = row * DOT_IMAGE_SIZE;
+      for (int column = Math.max(0, -x); column < DOT_IMAGE_SIZE && x + column < layerWidth; column++)
+      {
+        if (alpha[dotOffset + column] > layerPixels[layerOffset + column])
+        {
+          layerPixels[layerOffset + column] = alpha[dotOffset + column];
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the tooltip of the item which was drawn nearest to a point.
+   *
+   * @param java2DPoint the point in Java2D coordinates, not null.
+   *
+   * @return the tooltip, or null if no item was drawn near the point
+   *         or the item has no tooltip.
+   */
+  public String getToolTipText(Point2D java2DPoint)
+  {
+    PolarPlot plot = getPlot();
+    if (drawnSeries == null || plot == null)
+    {
+      return null;
+    }
+    for (int i = drawnSeries.size() - 1; i >= 0; i--)
+    {
+      DrawnSeries series = drawnSeries.get(i);
+      int item = series.grid.getNearest(java2DPoint.getX(), java2DPoint.getY(), TOOLTIP_DISTANCE);
+      if (item == -1 || !series.isUnchanged(plot))
+      {
+        continue;
+      }
+      XYToolTipGenerator generator = getToolTipGenerator(series.seriesIndex, item);
+      if (generator == null)
+      {
+        return null;
       }
+      return generator.generateToolTip(series.dataset, series.seriesIndex, item);
+    }
+    return null;
   }
 
-}
\ No newline at end of file
+  private static final class DrawnSeries
+  {
+    private final XYDataset dataset;
+
+    private final int seriesIndex;
+
+    private final Comparable<?> seriesKey;
+
+    /** The drawn series object if the dataset is a XYSeriesCollection, otherwise null. */
+    private final Object series;
+
+    private final int itemCount;
+
+    private final ScreenPointGrid grid;
+
+    private DrawnSeries(XYDataset dataset, int seriesIndex, int itemCount, ScreenPointGrid grid)
+    {
+      this.dataset = dataset;
+      this.seriesIndex = seriesIndex;
+      this.seriesKey = dataset.getSeriesKey(seriesIndex);
+      this.series = getSeries(dataset, seriesIndex);
+      this.itemCount = itemCount;
+      this.grid = grid;
+    }
+
+    private static Object getSeries(XYDataset dataset, int seriesIndex)
+    {
+      if (dataset instanceof XYSeriesCollection)
+      {
+        return ((XYSeriesCollection) dataset).getSeries(seriesIndex);
+      }
+      return null;
+    }
+
+    /**
+     * Checks whether the series may still contain the drawn items,
+     * i.e. whether the grid can be used to look up items.
+     * This is the case if the dataset is still shown by the plot
+     * and the series at the drawn index is the drawn series with the drawn number of items.
+     */
+    private boolean isUnchanged(PolarPlot plot)
+    {
+      if (seriesIndex >= dataset.getSeriesCount()
+          || dataset.getItemCount(seriesIndex) != itemCount
+          || !seriesKey.equals(dataset.getSeriesKey(seriesIndex))
+          || getSeries(dataset, seriesIndex) != series)
+      {
+        return false;
+      }
+      for (int i = 0; i < plot.getDatasetCount(); i++)
+      {
+        if (plot.getDataset(i) == dataset)
+        {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
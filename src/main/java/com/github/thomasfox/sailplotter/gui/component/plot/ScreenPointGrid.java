@@ -0,0 +1,121 @@
+package com.github.thomasfox.sailplotter.gui.component.plot;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Uniform grid over points in screen coordinates, used to find the point under the mouse
+ * without creating a chart entity for each point.
+ * The grid covers an area, points outside the area are put into the nearest border cell.
+ * The points keep the indices they have in the arrays passed to the constructor.
+ */
+public class ScreenPointGrid
+{
+  private final double[] x;
+
+  private final double[] y;
+
+  private final double areaX;
+
+  private final double areaY;
+
+  private final double cellSize;
+
+  private final int columns;
+
+  private final int rows;
+
+  /** The points of cell c are pointIndices[cellStart[c]] to pointIndices[cellStart[c + 1] - 1]. */
+  private final int[] cellStart;
+
+  private final int[] pointIndices;
+
+  /**
+   * Constructor.
+   *
+   * @param x the x coordinates of the points, not null.
+   * @param y the y coordinates of the points, same length as x, not null.
+   * @param area the area to divide into cells, not null.
+   * @param cellSize the width and height of a cell, must be positive.
+   */
+  public ScreenPointGrid(double[] x, double[] y, Rectangle2D area, double cellSize)
+  {
+    this.x = x;
+    this.y = y;
+    this.areaX = area.getX();
+    this.areaY = area.getY();
+    this.cellSize = cellSize;
+    this.columns = Math.max((int) Math.ceil(area.getWidth() / cellSize), 1);
+    this.rows = Math.max((int) Math.ceil(area.getHeight() / cellSize), 1);
+    cellStart = new int[columns * rows + 1];
+    int[] pointCell = new int[x.length];
+    for (int i = 0; i < x.length; i++)
+    {
+      pointCell[i] = getRow(y[i]) * columns + getColumn(x[i]);
+      cellStart[pointCell[i] + 1]++;
+    }
+    for (int cell = 0; cell < columns * rows; cell++)
+    {
+      cellStart[cell + 1] += cellStart[cell];
+    }
+    pointIndices = new int[x.length];
+    int[] nextInCell = new int[columns * rows];
+    for (int i = 0; i < x.length; i++)
+    {
+      int cell = pointCell[i];
+      pointIndices[cellStart[cell] + nextInCell[cell]++] = i;
+    }
+  }
+
+  /**
+   * Returns the point which is nearest to a position.
+   * If several points have the same distance, the one with the highest index is returned,
+   * which is the one drawn last.
+   *
+   * @param positionX the x coordinate of the position.
+   * @param positionY the y coordinate of the position.
+   * @param maxDistance the maximum distance of the point from the position.
+   *
+   * @return the index of the nearest point, or -1 if no point is within maxDistance.
+   */
+  public int getNearest(double positionX, double positionY, double maxDistance)
+  {
+    int result = -1;
+    double resultDistanceSquared = maxDistance * maxDistance;
+    for (int row = getRow(positionY - maxDistance); row <= getRow(positionY + maxDistance); row++)
+    {
+      for (int column = getColumn(positionX - maxDistance); column <= getColumn(positionX + maxDistance); column++)
+      {
+        int cell = row * columns + column;
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++)
+        {
+          int pointIndex = pointIndices[i];
+          double dx = x[pointIndex] - positionX;
+          double dy = y[pointIndex] - positionY;
+          double distanceSquared = dx * dx + dy * dy;
+          if (distanceSquared < resultDistanceSquared
+              || (distanceSquared == resultDistanceSquared && pointIndex > result))
+          {
+            result = pointIndex;
+            resultDistanceSquared = distanceSquared;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private int getColumn(double xValue)
+  {
+    return clamp((int) Math.floor((xValue - areaX) / cellSize), columns);
+  }
+
+  private int getRow(double yValue)
+  {
+    return clamp((int) Math.floor((yValue - areaY) / cellSize), rows);
+  }
+
+  private static int clamp(int cell, int cellCount)
+  {
+    return Math.min(Math.max(cell, 0), cellCount - 1);
+  }
+}
@@ -1,5 +1,8 @@
 package com.github.thomasfox.sailplotter.gui.component.plot;
 
+import java.awt.geom.Point2D;
+import java.util.Collections;
+
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PolarPlot;
@@ -7,6 +10,7 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
 
 public class TackVelocityBearingPolarPlotPanel extends AbstractPlotPanel
 {
@@ -14,11 +18,12 @@ public class TackVelocityBearingPolarPlotPanel extends AbstractPlotPanel
 
   private final XYSeriesCollection dataset = new XYSeriesCollection();
 
+  private final PolarScatterRenderer renderer = new PolarScatterRenderer();
+
   public TackVelocityBearingPolarPlotPanel()
   {
     JFreeChart chart = ChartFactory.createPolarChart("Tack Velocity over rel. Bearing", dataset, false, true, false);
     PolarPlot plot = (PolarPlot) chart.getPlot();
-    PolarScatterRenderer renderer = new PolarScatterRenderer();
     renderer.setBaseToolTipGenerator(new XYTooltipFromLabelGenerator());
     plot.setRenderer(renderer);
 
@@ -26,6 +31,12 @@ public class TackVelocityBearingPolarPlotPanel extends AbstractPlotPanel
     setChart(chart);
   }
 
+  @Override
+  protected String getChartToolTipText(Point2D java2DPoint)
+  {
+    return renderer.getToolTipText(java2DPoint);
+  }
+
   @Override
   protected void onZoomChanged()
   {
@@ -34,16 +45,21 @@ public class TackVelocityBearingPolarPlotPanel extends AbstractPlotPanel
 
   private void resetDataSeries()
   {
-    dataset.removeAllSeries();
-    if (zoomedData.getData() == null)
+    calculateZoomedSeries(zoomedData).run();
+  }
+
+  @Override
+  protected Runnable calculateZoomedSeries(ZoomedData zoomed)
+  {
+    if (zoomed.getData() == null)
     {
-      return;
+      return () -> dataset.removeAllSeries();
     }
     XYSeries tackVelocity = new XYSeries("tackVelocity", false, true);
-    for (Tack tack : zoomedData.getData().getTackList())
+    for (Tack tack : zoomed.getTackList())
     {
-      if (tack.end.getLocalDateTime().isAfter(zoomedData.getLocationDataStartTime())
-          && tack.start.getLocalDateTime().isBefore(zoomedData.getLocationDataEndTime())
+      if (tack.end.getLocalDateTime().isAfter(zoomed.getLocationDataStartTime())
+          && tack.start.getLocalDateTime().isBefore(zoomed.getLocationDataEndTime())
           && tack.hasMainPoints())
       {
         if (tack.getRelativeBearingInDegrees() != null && tack.getVelocityInKnots() != null)
@@ -55,7 +71,7 @@ public class TackVelocityBearingPolarPlotPanel extends AbstractPlotPanel
         }
       }
     }
-    dataset.addSeries(tackVelocity);
+    return () -> replaceSeries(dataset, Collections.singletonList(tackVelocity));
   }
 
   @Override
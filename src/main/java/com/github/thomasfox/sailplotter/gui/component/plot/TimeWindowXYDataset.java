@@ -0,0 +1,290 @@
+package com.github.thomasfox.sailplotter.gui.component.plot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jfree.data.DomainInfo;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.xy.AbstractXYDataset;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
+import com.github.thomasfox.sailplotter.model.columns.LongColumn;
+import com.github.thomasfox.sailplotter.model.columns.RangeIndex;
+
+/**
+ * A dataset of time series which shows the items in a time window.
+ * The series are built once when the data changes; changing the time window
+ * only moves the window bounds of each series and fires a single change event,
+ * so the work for a zoom change does not depend on the number of points.
+ * The x values are the same as for a TimeSeriesCollection of the data points' milliseconds,
+ * unless the series is added with an own mapper for the x values, e.g. for tracks on a map.
+ */
+public class TimeWindowXYDataset extends AbstractXYDataset implements DomainInfo, RangeInfo
+{
+  private static final long serialVersionUID = 1L;
+
+  private final List<Series> seriesList = new ArrayList<>();
+
+  private long windowStartTime = Long.MIN_VALUE;
+
+  private long windowEndTime = Long.MAX_VALUE;
+
+  /**
+   * Adds a series. The series shows the points which have a non-null mapped value
+   * and are inside the current time window.
+   *
+   * @param key the key of the series, not null.
+   * @param points the points of the series, ordered by time, not null.
+   * @param mapper calculates the y value from a point, may return null.
+   */
+  public void addSeries(Comparable<?> key, List<DataPoint> points, Function<DataPoint, Double> mapper)
+  {
+    addSeries(new Series(key, points, null, mapper));
+  }
+
+  /**
+   * Adds a series whose x values are not the time of the points.
+   * The series shows the points which have non-null mapped values
+   * and are inside the current time window.
+   *
+   * @param key the key of the series, not null.
+   * @param points the points of the series, ordered by time, not null.
+   * @param xMapper calculates the x value from a point, may return null.
+   * @param yMapper calculates the y value from a point, may return null.
+   */
+  public void addSeries(
+      Comparable<?> key,
+      List<DataPoint> points,
+      Function<DataPoint, Double> xMapper,
+      Function<DataPoint, Double> yMapper)
+  {
+    addSeries(new Series(key, points, xMapper, yMapper));
+  }
+
+  private void addSeries(Series series)
+  {
+    series.setTimeWindow(windowStartTime, windowEndTime);
+    seriesList.add(series);
+    fireDatasetChanged();
+  }
+
+  public void removeAllSeries()
+  {
+    seriesList.clear();
+    fireDatasetChanged();
+  }
+
+  /**
+   * Restricts all series to the items with a time strictly between startTime and endTime.
+   *
+   * @param startTime the start of the window in milliseconds since the epoch, exclusive.
+   * @param endTime the end of the window in milliseconds since the epoch, exclusive.
+   */
+  public void setTimeWindow(long startTime, long endTime)
+  {
+    windowStartTime = startTime;
+    windowEndTime = endTime;
+    for (Series series : seriesList)
+    {
+      series.setTimeWindow(startTime, endTime);
+    }
+    fireDatasetChanged();
+  }
+
+  @Override
+  public int getSeriesCount()
+  {
+    return seriesList.size();
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public Comparable getSeriesKey(int series)
+  {
+    return seriesList.get(series).key;
+  }
+
+  @Override
+  public int getItemCount(int series)
+  {
+    Series s = seriesList.get(series);
+    return s.windowEnd - s.windowStart;
+  }
+
+  @Override
+  public Number getX(int series, int item)
+  {
+    return getXValue(series, item);
+  }
+
+  @Override
+  public double getXValue(int series, int item)
+  {
+    Series s = seriesList.get(series);
+    return s.x[s.windowStart + item];
+  }
+
+  @Override
+  public Number getY(int series, int item)
+  {
+    return getYValue(series, item);
+  }
+
+  @Override
+  public double getYValue(int series, int item)
+  {
+    Series s = seriesList.get(series);
+    return s.y.get(s.windowStart + item);
+  }
+
+  @Override
+  public double getDomainLowerBound(boolean includeInterval)
+  {
+    Range bounds = getDomainBounds(includeInterval);
+    return bounds == null ? Double.NaN : bounds.getLowerBound();
+  }
+
+  @Override
+  public double getDomainUpperBound(boolean includeInterval)
+  {
+    Range bounds = getDomainBounds(includeInterval);
+    return bounds == null ? Double.NaN : bounds.getUpperBound();
+  }
+
+  @Override
+  public Range getDomainBounds(boolean includeInterval)
+  {
+    double minimum = Double.POSITIVE_INFINITY;
+    double maximum = Double.NEGATIVE_INFINITY;
+    for (Series series : seriesList)
+    {
+      if (series.xRangeIndex != null)
+      {
+        RangeIndex.Statistics statistics = series.xRangeIndex.getStatistics(series.windowStart, series.windowEnd);
+        minimum = Math.min(minimum, statistics.minimum);
+        maximum = Math.max(maximum, statistics.maximum);
+      }
+      else if (series.windowEnd > series.windowStart)
+      {
+        minimum = Math.min(minimum, series.x[series.windowStart]);
+        maximum = Math.max(maximum, series.x[series.windowEnd - 1]);
+      }
+    }
+    if (minimum > maximum)
+    {
+      return null;
+    }
+    return new Range(minimum, maximum);
+  }
+
+  @Override
+  public double getRangeLowerBound(boolean includeInterval)
+  {
+    Range bounds = getRangeBounds(includeInterval);
+    return bounds == null ? Double.NaN : bounds.getLowerBound();
+  }
+
+  @Override
+  public double getRangeUpperBound(boolean includeInterval)
+  {
+    Range bounds = getRangeBounds(includeInterval);
+    return bounds == null ? Double.NaN : bounds.getUpperBound();
+  }
+
+  @Override
+  public Range getRangeBounds(boolean includeInterval)
+  {
+    double minimum = Double.POSITIVE_INFINITY;
+    double maximum = Double.NEGATIVE_INFINITY;
+    for (Series series : seriesList)
+    {
+      RangeIndex.Statistics statistics = series.rangeIndex.getStatistics(series.windowStart, series.windowEnd);
+      minimum = Math.min(minimum, statistics.minimum);
+      maximum = Math.max(maximum, statistics.maximum);
+    }
+    if (minimum > maximum)
+    {
+      return null;
+    }
+    return new Range(minimum, maximum);
+  }
+
+  private static final class Series
+  {
+    private final Comparable<?> key;
+
+    /** Time of the items in milliseconds since the epoch. */
+    private final LongColumn time;
+
+    /** The x values of the items, as used by TimeSeriesCollection if no x mapper is given. */
+    private final double[] x;
+
+    /** Index over the x values if they are mapped and thus not ordered, otherwise null. */
+    private final RangeIndex xRangeIndex;
+
+    private final DoubleColumn y;
+
+    private final RangeIndex rangeIndex;
+
+    private int windowStart;
+
+    private int windowEnd;
+
+    private Series(
+        Comparable<?> key,
+        List<DataPoint> points,
+        Function<DataPoint, Double> xMapper,
+        Function<DataPoint, Double> yMapper)
+    {
+      this.key = key;
+      long[] pointTime = new long[points.size()];
+      double[] pointX = new double[points.size()];
+      double[] pointY = new double[points.size()];
+      int count = 0;
+      for (DataPoint point : points)
+      {
+        Double value = yMapper.apply(point);
+        if (value == null)
+        {
+          continue;
+        }
+        Double xValue;
+        if (xMapper == null)
+        {
+          xValue = (double) point.getMillisecond().getFirstMillisecond();
+        }
+        else
+        {
+          xValue = xMapper.apply(point);
+          if (xValue == null)
+          {
+            continue;
+          }
+        }
+        pointTime[count] = point.getTime();
+        pointX[count] = xValue;
+        pointY[count] = value;
+        count++;
+      }
+      BitSet present = new BitSet(count);
+      present.set(0, count);
+      time = new LongColumn(Arrays.copyOf(pointTime, count), present);
+      x = Arrays.copyOf(pointX, count);
+      xRangeIndex = (xMapper == null) ? null : new RangeIndex(new DoubleColumn(x, present));
+      y = new DoubleColumn(Arrays.copyOf(pointY, count), present);
+      rangeIndex = new RangeIndex(y);
+      windowEnd = count;
+    }
+
+    private void setTimeWindow(long startTime, long endTime)
+    {
+      windowStart = time.upperBound(startTime);
+      windowEnd = Math.max(windowStart, time.lowerBound(endTime));
+    }
+  }
+}
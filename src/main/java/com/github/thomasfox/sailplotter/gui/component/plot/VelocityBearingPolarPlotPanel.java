@@ -1,8 +1,6 @@
 package com.github.thomasfox.sailplotter.gui.component.plot;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
@@ -10,7 +8,9 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 import com.github.thomasfox.sailplotter.Constants;
-import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
+import com.github.thomasfox.sailplotter.model.columns.BinnedIndex;
 
 public class VelocityBearingPolarPlotPanel extends AbstractPlotPanel
 {
@@ -34,42 +34,32 @@ public class VelocityBearingPolarPlotPanel extends AbstractPlotPanel
 
   private void resetDataSeries()
   {
-    dataset.removeAllSeries();
-    if (zoomedData.getData() == null)
-    {
-      return;
-    }
-    List<List<Double>> velocityBuckets = new ArrayList<>(Constants.NUMBER_OF_BEARING_BINS);
-    for (int i = 0; i < Constants.NUMBER_OF_BEARING_BINS; ++i)
+    calculateZoomedSeries(zoomedData).run();
+  }
+
+  @Override
+  protected Runnable calculateZoomedSeries(ZoomedData zoomed)
+  {
+    if (zoomed.getData() == null)
     {
-      velocityBuckets.add(new ArrayList<Double>());
+      return () -> dataset.removeAllSeries();
     }
-    for (DataPoint point : zoomedData.getPointsWithLocation())
+    BinnedIndex velocityBins = zoomed.getColumns().getVelocityByRelativeBearingBins();
+    int from = 0;
+    int to = 0;
+    if (!zoomed.getPointsWithLocation().isEmpty())
     {
-      if (point.getLocalDateTime().isAfter(zoomedData.getLocationDataStartTime())
-          && point.getLocalDateTime().isBefore(zoomedData.getLocationDataEndTime()))
-      {
-        if (point.location.bearingFromLatLong != null && point.location.velocityFromLatLong != null)
-        {
-          int bucket = Double.valueOf(
-              point.getRelativeBearingInArcs() * Constants.NUMBER_OF_BEARING_BINS / 2 / Math.PI).intValue();
-          velocityBuckets.get(bucket).add(point.location.velocityFromLatLong);
-        }
-      }
+      from = zoomed.getLocationIndexFrom(TimeWindowPosition.IN);
+      to = zoomed.getLocationIndexTo(TimeWindowPosition.IN);
     }
+    int[] counts = new int[Constants.NUMBER_OF_BEARING_BINS];
     int max = 0;
-    for (List<Double> bucket : velocityBuckets)
-    {
-      if (bucket.size() > max)
-      {
-        max = bucket.size();
-      }
-    }
-    for (List<Double> bucket : velocityBuckets)
+    for (int i = 0; i < Constants.NUMBER_OF_BEARING_BINS; ++i)
     {
-      if (bucket.size() < max / Constants.HISTOGRAM_IGNORE_THRESHOLD_FRACTION)
+      counts[i] = velocityBins.getCount(i, from, to);
+      if (counts[i] > max)
       {
-        bucket.clear();
+        max = counts[i];
       }
     }
 
@@ -77,27 +67,18 @@ public class VelocityBearingPolarPlotPanel extends AbstractPlotPanel
     XYSeries medianVelocity = new XYSeries("medianVelocity");
     for (int i = 0; i < Constants.NUMBER_OF_BEARING_BINS; ++i)
     {
-      List<Double> velocityDistribution = velocityBuckets.get(i);
-      Collections.sort(velocityDistribution);
-      if (!velocityDistribution.isEmpty())
+      if (counts[i] > 0 && counts[i] >= max / Constants.HISTOGRAM_IGNORE_THRESHOLD_FRACTION)
       {
-        maxVelocity.add(i * 360d / Constants.NUMBER_OF_BEARING_BINS, velocityDistribution.get(velocityDistribution.size() - 1));
+        maxVelocity.add(i * 360d / Constants.NUMBER_OF_BEARING_BINS, velocityBins.getKthSmallest(i, from, to, counts[i] - 1));
+        medianVelocity.add(i * 360d / Constants.NUMBER_OF_BEARING_BINS, velocityBins.getKthSmallest(i, from, to, counts[i] / 2));
       }
       else
       {
         maxVelocity.add(i * 360d / Constants.NUMBER_OF_BEARING_BINS, 0);
-      }
-      if (velocityDistribution.size() >= 1)
-      {
-        medianVelocity.add(i * 360d / Constants.NUMBER_OF_BEARING_BINS, velocityDistribution.get(velocityDistribution.size() / 2));
-      }
-      else
-      {
         medianVelocity.add(i * 360d / Constants.NUMBER_OF_BEARING_BINS, 0);
       }
     }
-    dataset.addSeries(maxVelocity);
-    dataset.addSeries(medianVelocity);
+    return () -> replaceSeries(dataset, Arrays.asList(maxVelocity, medianVelocity));
   }
 
   @Override
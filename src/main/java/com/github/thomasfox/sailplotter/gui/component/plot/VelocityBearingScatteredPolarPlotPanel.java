@@ -1,5 +1,8 @@
 package com.github.thomasfox.sailplotter.gui.component.plot;
 
+import java.awt.geom.Point2D;
+import java.util.Collections;
+
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PolarPlot;
@@ -8,6 +11,7 @@ import org.jfree.data.xy.XYSeriesCollection;
 
 import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
 
 public class VelocityBearingScatteredPolarPlotPanel extends AbstractPlotPanel
 {
@@ -15,18 +19,25 @@ public class VelocityBearingScatteredPolarPlotPanel extends AbstractPlotPanel
 
   private final XYSeriesCollection dataset = new XYSeriesCollection();
 
+  private final PolarScatterRenderer renderer = new PolarScatterRenderer();
+
   public VelocityBearingScatteredPolarPlotPanel()
   {
     JFreeChart chart = ChartFactory.createPolarChart("Velocity over rel. Bearing", dataset, false, false, false);
 
     PolarPlot plot = (PolarPlot) chart.getPlot();
-    PolarScatterRenderer renderer = new PolarScatterRenderer();
     plot.setRenderer(renderer);
 
     onDataChanged();
     setChart(chart);
   }
 
+  @Override
+  protected String getChartToolTipText(Point2D java2DPoint)
+  {
+    return renderer.getToolTipText(java2DPoint);
+  }
+
   @Override
   protected void onZoomChanged()
   {
@@ -35,21 +46,26 @@ public class VelocityBearingScatteredPolarPlotPanel extends AbstractPlotPanel
 
   private void resetDataSeries()
   {
-    dataset.removeAllSeries();
-    if (zoomedData.getData() == null)
+    calculateZoomedSeries(zoomedData).run();
+  }
+
+  @Override
+  protected Runnable calculateZoomedSeries(ZoomedData zoomed)
+  {
+    if (zoomed.getData() == null)
     {
-      return;
+      return () -> dataset.removeAllSeries();
     }
     XYSeries velocity = new XYSeries("velocity");
-    for (DataPoint point : zoomedData.getLocationSubset(TimeWindowPosition.IN))
+    for (DataPoint point : zoomed.getLocationSubset(TimeWindowPosition.IN))
     {
       Double bearing = point.getRelativeBearingAs360Degrees();
-      if (bearing != null && point.location.velocityFromLatLong != null)
+      if (bearing != null && point.getVelocityFromLatLong() != null)
       {
-        velocity.add(bearing, point.location.velocityFromLatLong);
+        velocity.add(bearing, point.getVelocityFromLatLong());
       }
     }
-    dataset.addSeries(velocity);
+    return () -> replaceSeries(dataset, Collections.singletonList(velocity));
   }
 
   @Override
@@ -2,18 +2,14 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
-import org.jfree.data.time.TimeSeries;
-import org.jfree.data.time.TimeSeriesCollection;
 
-import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
-import com.github.thomasfox.sailplotter.model.Data;
 import com.github.thomasfox.sailplotter.model.vector.ThreeDimVector;
 
 public class ZoomedAccelerationPlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
-  private final TimeSeriesCollection dataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset dataset = new TimeWindowXYDataset();
 
   private final int coordinateIndex ;
 
@@ -36,22 +32,21 @@ public class ZoomedAccelerationPlotPanel extends AbstractPlotPanel
   @Override
   protected void onZoomChanged()
   {
-    resetDataSeries();
+    setZoomTimeWindow(dataset);
   }
 
   private void resetDataSeries()
   {
     dataset.removeAllSeries();
-    dataset.addSeries(getAccelerationTimeSeries());
-  }
-
-  private TimeSeries getAccelerationTimeSeries()
-  {
-    return zoomedData.getTimeSeries(
+    if (zoomedData.getData() == null)
+    {
+      return;
+    }
+    dataset.addSeries(
         "acceleration",
-        Data::getPointsWithAcceleration,
-        point -> zoomedData.isInSelectedPosition(point, TimeWindowPosition.IN),
-        point -> point.acceleration.getByIndex(coordinateIndex));
+        zoomedData.getData().getPointsWithAcceleration(),
+        point -> point.getAcceleration().getByIndex(coordinateIndex));
+    setZoomTimeWindow(dataset);
   }
 
   @Override
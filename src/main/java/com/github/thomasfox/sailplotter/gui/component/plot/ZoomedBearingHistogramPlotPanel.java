@@ -11,7 +11,8 @@ import org.jfree.data.statistics.SimpleHistogramDataset;
 
 import com.github.thomasfox.sailplotter.Constants;
 import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
-import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
+import com.github.thomasfox.sailplotter.model.columns.BinnedIndex;
 
 public class ZoomedBearingHistogramPlotPanel extends AbstractPlotPanel
 {
@@ -58,18 +59,32 @@ public class ZoomedBearingHistogramPlotPanel extends AbstractPlotPanel
 
   private void resetHistogram()
   {
-    for (SimpleHistogramBin bin : bearingHistogramBins)
+    calculateZoomedSeries(zoomedData).run();
+  }
+
+  @Override
+  protected Runnable calculateZoomedSeries(ZoomedData zoomed)
+  {
+    int[] counts = new int[Constants.NUMBER_OF_BEARING_BINS];
+    if (zoomed.getData() != null && !zoomed.getPointsWithLocation().isEmpty())
     {
-      bin.setItemCount(0);
+      BinnedIndex bearingBins = zoomed.getColumns().getRelativeBearingBins();
+      int from = zoomed.getLocationIndexFrom(TimeWindowPosition.IN);
+      int to = zoomed.getLocationIndexTo(TimeWindowPosition.IN);
+      for (int i = 0; i < Constants.NUMBER_OF_BEARING_BINS; ++i)
+      {
+        counts[i] = bearingBins.getCount(i, from, to);
+      }
     }
-    for (DataPoint point : zoomedData.getLocationSubset(TimeWindowPosition.IN))
+    return () ->
     {
-      if (point.location.bearingFromLatLong != null)
+      for (int i = 0; i < Constants.NUMBER_OF_BEARING_BINS; ++i)
       {
-        double relativeBearing = point.getRelativeBearingAs360Degrees();
-        dataset.addObservation(relativeBearing);
+        bearingHistogramBins.get(i).setItemCount(counts[i]);
       }
-    }
+      // adding no observations notifies the chart of the changed bins
+      dataset.addObservations(new double[0]);
+    };
   }
 
   @Override
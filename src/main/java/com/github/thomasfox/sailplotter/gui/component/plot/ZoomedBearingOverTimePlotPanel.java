@@ -1,22 +1,21 @@
 package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import java.awt.Color;
+import java.util.List;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
-import org.jfree.data.time.TimeSeries;
-import org.jfree.data.time.TimeSeriesCollection;
 
-import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
 
 public class ZoomedBearingOverTimePlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
-  private final TimeSeriesCollection dataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset dataset = new TimeWindowXYDataset();
 
   private final XYPlot plot;
 
@@ -46,36 +45,33 @@ public class ZoomedBearingOverTimePlotPanel extends AbstractPlotPanel
   @Override
   protected void onZoomChanged()
   {
-    resetDataSeries();
+    setZoomTimeWindow(dataset);
   }
 
   private void resetDataSeries()
   {
     dataset.removeAllSeries();
-    dataset.addSeries(zoomedData.getBearingInDegreesFromLatLongTimeSeries(TimeWindowPosition.IN));
-    dataset.addSeries(getGpsBearingInDegreesTimeSeries());
-    dataset.addSeries(getCompassBearingInDegreesTimeSeries());
-  }
-
-  private TimeSeries getCompassBearingInDegreesTimeSeries()
-  {
-    return zoomedData.getTimeSeries(
-        "compass bearing",
-        Data::getPointsWithMagneticField,
-        point -> zoomedData.isInSelectedPosition(point, TimeWindowPosition.IN) && point.hasCompassBearing(),
-        point -> point.magneticField.getCompassBearingAs360Degrees());
-  }
-
-  public TimeSeries getGpsBearingInDegreesTimeSeries()
-  {
-    return zoomedData.getLocationTimeSeries(
+    Data data = zoomedData.getData();
+    if (data == null)
+    {
+      return;
+    }
+    List<DataPoint> pointsWithLocation = data.getPointsWithLocation();
+    dataset.addSeries(
+        "bearing from pos",
+        pointsWithLocation,
+        DataPoint::getBearingFromLatLongAs360Degrees);
+    dataset.addSeries(
         "gps bearing",
-        TimeWindowPosition.IN,
-        point -> point.location.getGpsBearingAs360Degrees());
+        pointsWithLocation,
+        DataPoint::getGpsBearingAs360Degrees);
+    dataset.addSeries(
+        "compass bearing",
+        data.getPointsWithMagneticField(),
+        point -> point.hasCompassBearing() ? point.getCompassBearingAs360Degrees() : null);
+    setZoomTimeWindow(dataset);
   }
 
-
-
   @Override
   protected void onDataChanged()
   {
@@ -2,17 +2,12 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
-import org.jfree.data.time.TimeSeries;
-import org.jfree.data.time.TimeSeriesCollection;
-
-import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
-import com.github.thomasfox.sailplotter.model.Data;
 
 public class ZoomedHeelOverTimePlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
-  private final TimeSeriesCollection dataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset dataset = new TimeWindowXYDataset();
 
   public ZoomedHeelOverTimePlotPanel()
   {
@@ -32,22 +27,21 @@ public class ZoomedHeelOverTimePlotPanel extends AbstractPlotPanel
   @Override
   protected void onZoomChanged()
   {
-    resetDataSeries();
+    setZoomTimeWindow(dataset);
   }
 
   private void resetDataSeries()
   {
     dataset.removeAllSeries();
-    dataset.addSeries(getAccelerationHeelTimeSeries());
-  }
-
-  private TimeSeries getAccelerationHeelTimeSeries()
-  {
-    return zoomedData.getTimeSeries(
+    if (zoomedData.getData() == null)
+    {
+      return;
+    }
+    dataset.addSeries(
         "heel",
-        Data::getPointsWithAcceleration,
-        point -> zoomedData.isInSelectedPosition(point, TimeWindowPosition.IN) && point.hasHeel(),
-        point -> point.acceleration.heel * 180d / Math.PI);
+        zoomedData.getData().getPointsWithAcceleration(),
+        point -> point.hasHeel() ? point.getHeel() * 180d / Math.PI : null);
+    setZoomTimeWindow(dataset);
   }
 
   @Override
@@ -2,18 +2,14 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
-import org.jfree.data.time.TimeSeries;
-import org.jfree.data.time.TimeSeriesCollection;
 
-import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
-import com.github.thomasfox.sailplotter.model.Data;
 import com.github.thomasfox.sailplotter.model.vector.ThreeDimVector;
 
 public class ZoomedMagneticFieldPlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
-  private final TimeSeriesCollection dataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset dataset = new TimeWindowXYDataset();
 
   private final int coordinateIndex ;
 
@@ -36,22 +32,21 @@ public class ZoomedMagneticFieldPlotPanel extends AbstractPlotPanel
   @Override
   protected void onZoomChanged()
   {
-    resetDataSeries();
+    setZoomTimeWindow(dataset);
   }
 
   private void resetDataSeries()
   {
     dataset.removeAllSeries();
-    dataset.addSeries(getMagneticFieldTimeSeries());
-  }
-
-  private TimeSeries getMagneticFieldTimeSeries()
-  {
-    return zoomedData.getTimeSeries(
+    if (zoomedData.getData() == null)
+    {
+      return;
+    }
+    dataset.addSeries(
         "magnetic Field",
-        Data::getPointsWithMagneticField,
-        point -> zoomedData.isInSelectedPosition(point, TimeWindowPosition.IN),
-        point -> point.magneticField.getByIndex(coordinateIndex));
+        zoomedData.getData().getPointsWithMagneticField(),
+        point -> point.getMagneticField().getByIndex(coordinateIndex));
+    setZoomTimeWindow(dataset);
   }
 
 
@@ -2,15 +2,12 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
-import org.jfree.data.time.TimeSeriesCollection;
-
-import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 
 public class ZoomedRelativeBearingPlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
-  private final TimeSeriesCollection velocityDataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset velocityDataset = new TimeWindowXYDataset();
 
   public ZoomedRelativeBearingPlotPanel()
   {
@@ -30,13 +27,21 @@ public class ZoomedRelativeBearingPlotPanel extends AbstractPlotPanel
   @Override
   protected void onZoomChanged()
   {
-    resetDataSeries();
+    setZoomTimeWindow(velocityDataset);
   }
 
   private void resetDataSeries()
   {
     velocityDataset.removeAllSeries();
-    velocityDataset.addSeries(zoomedData.getRelativeBearingInDegreesTimeSeries(TimeWindowPosition.IN));
+    if (zoomedData.getData() == null)
+    {
+      return;
+    }
+    velocityDataset.addSeries(
+        "bearing from pos",
+        zoomedData.getPointsWithLocation(),
+        point -> point.getRelativeBearingAs360Degrees());
+    setZoomTimeWindow(velocityDataset);
   }
 
 
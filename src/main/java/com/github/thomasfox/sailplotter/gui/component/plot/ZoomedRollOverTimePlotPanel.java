@@ -2,17 +2,12 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
-import org.jfree.data.time.TimeSeries;
-import org.jfree.data.time.TimeSeriesCollection;
-
-import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
-import com.github.thomasfox.sailplotter.model.Data;
 
 public class ZoomedRollOverTimePlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
-  private final TimeSeriesCollection dataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset dataset = new TimeWindowXYDataset();
 
   public ZoomedRollOverTimePlotPanel()
   {
@@ -32,22 +27,21 @@ public class ZoomedRollOverTimePlotPanel extends AbstractPlotPanel
   @Override
   protected void onZoomChanged()
   {
-    resetDataSeries();
+    setZoomTimeWindow(dataset);
   }
 
   private void resetDataSeries()
   {
     dataset.removeAllSeries();
-    dataset.addSeries(getAccelerationRollTimeSeries());
-  }
-
-  private TimeSeries getAccelerationRollTimeSeries()
-  {
-    return zoomedData.getTimeSeries(
+    if (zoomedData.getData() == null)
+    {
+      return;
+    }
+    dataset.addSeries(
         "roll",
-        Data::getPointsWithAcceleration,
-        point -> zoomedData.isInSelectedPosition(point, TimeWindowPosition.IN) && point.hasRoll(),
-        point -> point.acceleration.roll * 180d / Math.PI);
+        zoomedData.getData().getPointsWithAcceleration(),
+        point -> point.hasRoll() ? point.getRoll() * 180d / Math.PI : null);
+    setZoomTimeWindow(dataset);
   }
 
   @Override
@@ -1,6 +1,7 @@
 package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import java.awt.Color;
+import java.util.List;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
@@ -9,17 +10,16 @@ import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
-import org.jfree.data.time.TimeSeriesCollection;
 
-import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
+import com.github.thomasfox.sailplotter.model.DataPoint;
 
 public class ZoomedVelocityBearingOverTimePlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
-  private final TimeSeriesCollection velocityDataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset velocityDataset = new TimeWindowXYDataset();
 
-  private final TimeSeriesCollection bearingDataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset bearingDataset = new TimeWindowXYDataset();
 
   private final XYPlot plot;
 
@@ -74,15 +74,24 @@ public class ZoomedVelocityBearingOverTimePlotPanel extends AbstractPlotPanel
   @Override
   protected void onZoomChanged()
   {
-    resetDataSeries();
+    setZoomTimeWindow(velocityDataset, bearingDataset);
   }
 
   private void resetDataSeries()
   {
     velocityDataset.removeAllSeries();
     bearingDataset.removeAllSeries();
-    velocityDataset.addSeries(zoomedData.getVelocityTimeSeries(TimeWindowPosition.IN));
-    bearingDataset.addSeries(zoomedData.getBearingInDegreesFromLatLongTimeSeries(TimeWindowPosition.IN));
+    if (zoomedData.getData() == null)
+    {
+      return;
+    }
+    List<DataPoint> pointsWithLocation = zoomedData.getPointsWithLocation();
+    velocityDataset.addSeries("velocity", pointsWithLocation, DataPoint::getVelocityFromLatLong);
+    bearingDataset.addSeries(
+        "bearing from pos",
+        pointsWithLocation,
+        DataPoint::getBearingFromLatLongAs360Degrees);
+    setZoomTimeWindow(velocityDataset, bearingDataset);
   }
 
   @Override
@@ -2,17 +2,14 @@ package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
-import org.jfree.data.time.TimeSeries;
-import org.jfree.data.time.TimeSeriesCollection;
 
-import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 import com.github.thomasfox.sailplotter.model.DataPoint;
 
 public class ZoomedVelocityMadeGoodPlotPanel extends AbstractPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
-  private final TimeSeriesCollection velocityDataset = new TimeSeriesCollection();
+  private final TimeWindowXYDataset velocityDataset = new TimeWindowXYDataset();
 
   public ZoomedVelocityMadeGoodPlotPanel()
   {
@@ -32,31 +29,31 @@ public class ZoomedVelocityMadeGoodPlotPanel extends AbstractPlotPanel
   @Override
   protected void onZoomChanged()
   {
-    resetDataSeries();
+    setZoomTimeWindow(velocityDataset);
   }
 
   private void resetDataSeries()
   {
     velocityDataset.removeAllSeries();
-    velocityDataset.addSeries(getVelocityMadeGoodTimeSeries());
-  }
-
-  private TimeSeries getVelocityMadeGoodTimeSeries()
-  {
-    return zoomedData.getLocationTimeSeries(
+    if (zoomedData.getData() == null)
+    {
+      return;
+    }
+    velocityDataset.addSeries(
         "velocity made good",
-        TimeWindowPosition.IN,
+        zoomedData.getPointsWithLocation(),
         this::getVelocityMadeGood);
+    setZoomTimeWindow(velocityDataset);
   }
 
   private Double getVelocityMadeGood(DataPoint point)
   {
-    if (point.location.bearingFromLatLong == null)
+    if (point.getBearingFromLatLong() == null)
     {
       return null;
     }
-    return point.location.velocityFromLatLong
-        * Math.cos(point.location.bearingFromLatLong - zoomedData.getData().getAverageWindBearing());
+    return point.getVelocityFromLatLong()
+        * Math.cos(point.getBearingFromLatLong() - zoomedData.getData().getAverageWindBearing());
   }
 
   @Override
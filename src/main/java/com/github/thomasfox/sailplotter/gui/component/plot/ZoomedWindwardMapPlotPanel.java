@@ -1,6 +1,7 @@
 package com.github.thomasfox.sailplotter.gui.component.plot;
 
 import java.awt.Color;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jfree.chart.ChartFactory;
@@ -8,22 +9,22 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 import com.github.thomasfox.sailplotter.Constants;
 import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 import com.github.thomasfox.sailplotter.model.DataPoint;
 import com.github.thomasfox.sailplotter.model.MapArea;
-import com.github.thomasfox.sailplotter.model.vector.TwoDimVector;
+import com.github.thomasfox.sailplotter.model.ZoomedData;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
 
-public class ZoomedWindwardMapPlotPanel extends AbstractPlotPanel
+public class ZoomedWindwardMapPlotPanel extends AbstractMapPlotPanel
 {
   private static final long serialVersionUID = 1L;
 
   private final XYSeriesCollection dataset = new XYSeriesCollection();
 
-  private final XYPlot plot;
-
   public ZoomedWindwardMapPlotPanel()
   {
     JFreeChart chart = ChartFactory.createXYLineChart("Relative Map Zoom", "windward [m]", "sideward [m]", dataset, PlotOrientation.VERTICAL, false, true, false);
@@ -31,7 +32,6 @@ public class ZoomedWindwardMapPlotPanel extends AbstractPlotPanel
     plot.setRenderer(new XYZoomRenderer());
     plot.getRenderer().setSeriesPaint(0, new Color(0xFF, 0x00, 0x00));
     ((XYLineAndShapeRenderer) plot.getRenderer()).setSeriesShapesVisible(0, true);
-    ((XYLineAndShapeRenderer) plot.getRenderer()).setBaseToolTipGenerator(new XYTooltipFromLabelGenerator());
 
     onZoomChanged();
     setChart(chart);
@@ -45,36 +45,46 @@ public class ZoomedWindwardMapPlotPanel extends AbstractPlotPanel
 
   private void resetDataSeries()
   {
-    dataset.removeAllSeries();
-    if (zoomedData.getData() == null)
-    {
-      return;
-    }
-    List<DataPoint> pointsWithLocation = zoomedData.getPointsWithLocation();
-    if (pointsWithLocation.size() == 0)
+    calculateZoomedSeries(zoomedData).run();
+  }
+
+  @Override
+  protected Runnable calculateZoomedSeries(ZoomedData zoomed)
+  {
+    if (zoomed.getData() == null || zoomed.getPointsWithLocation().size() == 0)
     {
-      return;
+      return () ->
+      {
+        dataset.removeAllSeries();
+        setMapFrame(null);
+      };
     }
-    DataPoint startPoint = pointsWithLocation.get(0);
-    dataset.addSeries(getXySeries(
+    DataPoint startPoint = zoomed.getPointsWithLocation().get(0);
+    LocationProjection projection = zoomed.getColumns().getLocationProjection();
+    double averageWindBearing = zoomed.getAverageWindBearing();
+    List<XYSeries> seriesList = new ArrayList<>();
+    seriesList.add(getXySeries(
+        zoomed,
         TimeWindowPosition.IN,
-        p -> p.location.xyRelativeTo(startPoint.location)
-              .rotate(-zoomedData.getData().getAverageWindBearing())));
-    dataset.addSeries(zoomedData.getTackIntersectionSeries(
+        p -> projection.getXYRelativeTo(p, startPoint).rotate(-averageWindBearing)));
+    seriesList.add(zoomed.getTackIntersectionSeries(
         TimeWindowPosition.IN,
-        l -> l.xyRelativeTo(startPoint.location)
-              .rotate(-zoomedData.getData().getAverageWindBearing())));
-
-    updateMapZoomRange();
+        l -> l.xyRelativeTo(startPoint.getLocation()).rotate(-averageWindBearing)));
+    MapArea mapArea = MapArea.calculateFrom(
+        zoomed,
+        TimeWindowPosition.IN,
+        p -> projection.getXYRelativeTo(p, startPoint).rotate(-averageWindBearing));
+    MapFrame mapFrame = new MapFrame(zoomed, startPoint, -averageWindBearing, TimeWindowPosition.IN);
+    return () ->
+    {
+      replaceSeries(dataset, seriesList);
+      setMapFrame(mapFrame);
+      updateMapZoomRange(mapArea);
+    };
   }
 
-  private void updateMapZoomRange()
+  private void updateMapZoomRange(MapArea mapArea)
   {
-    TwoDimVector offset = zoomedData.getPointsWithLocation().get(0).location.getXY();
-    MapArea mapArea = MapArea.calculateFrom(
-        zoomedData,
-        TimeWindowPosition.IN,
-        MapArea.transformLocation(p -> p.subtract(offset).rotate(-zoomedData.getData().getAverageWindBearing())));
     plot.getDomainAxis().setRange(mapArea.getXRangeWithMargin(0.05));
     plot.getRangeAxis().setRange(mapArea.getYRangeWithMargin(0.05));
     expandRangesToAspectRatio(plot, Constants.MAP_ASPECT_RATIO);
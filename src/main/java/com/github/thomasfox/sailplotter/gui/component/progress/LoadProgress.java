@@ -1,5 +1,7 @@
 package com.github.thomasfox.sailplotter.gui.component.progress;
 
+import java.util.Map;
+
 /**
  * Advertises the progress of loading a file through a ProgressChanged instance.
  */
@@ -7,6 +9,8 @@ public class LoadProgress
 {
   private final ProgressChanged progressChanged;
 
+  private int lastPercentDone = -1;
+
   /**
    * Constructor.
    *
@@ -41,8 +45,33 @@ public class LoadProgress
     progressChanged.setToDisplay("loading file...");
   }
 
+  /**
+   * Advertises how much of the file has been read.
+   * Only changes of the percentage read are passed on, so this method can be called often.
+   *
+   * @param bytesRead the number of bytes read so far.
+   * @param totalBytes the size of the file in bytes.
+   */
+  public void fileReadingProgress(long bytesRead, long totalBytes)
+  {
+    if (totalBytes <= 0)
+    {
+      return;
+    }
+    int percentDone = (int) Math.min(100, bytesRead * 100 / totalBytes);
+    if (percentDone == lastPercentDone)
+    {
+      return;
+    }
+    lastPercentDone = percentDone;
+    progressChanged.setPercentDone(percentDone);
+    progressChanged.setToDisplay("loading file... " + percentDone + "%");
+  }
+
   public void fileReadingFinished()
   {
+    lastPercentDone = -1;
+    progressChanged.setPercentDone(null);
     progressChanged.setToDisplay("file loaded.");
   }
 
@@ -51,6 +80,23 @@ public class LoadProgress
     progressChanged.setToDisplay("analyzing data...");
   }
 
+  /**
+   * Advertises how long the analysis stages took.
+   *
+   * @param stageDurations the duration of each stage in milliseconds, keyed by the stage name, not null.
+   */
+  public void analyzingFinished(Map<String, Long> stageDurations)
+  {
+    StringBuilder toDisplay = new StringBuilder("data analyzed");
+    String separator = ": ";
+    for (Map.Entry<String, Long> stageDuration : stageDurations.entrySet())
+    {
+      toDisplay.append(separator).append(stageDuration.getKey()).append(' ').append(stageDuration.getValue()).append(" ms");
+      separator = ", ";
+    }
+    progressChanged.setToDisplay(toDisplay.toString());
+  }
+
   public void startCorrectTimeUsingGpsTime()
   {
     progressChanged.setToDisplay("correcting time to GPS time...");
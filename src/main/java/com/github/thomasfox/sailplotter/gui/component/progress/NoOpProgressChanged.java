@@ -12,6 +12,11 @@ public class NoOpProgressChanged implements ProgressChanged
   {
   }
 
+  @Override
+  public void setPercentDone(Integer percentDone)
+  {
+  }
+
   @Override
   public void finished()
   {
@@ -9,5 +9,13 @@ public interface ProgressChanged
 
   void setToDisplay(String toDisplay);
 
+  /**
+   * Sets the fraction of the work which is done.
+   *
+   * @param percentDone the percentage of work done,
+   *        or null if the progress of the current work item is unknown.
+   */
+  void setPercentDone(Integer percentDone);
+
   void finished();
 }
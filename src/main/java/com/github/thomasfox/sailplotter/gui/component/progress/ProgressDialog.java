@@ -46,6 +46,18 @@ public class ProgressDialog extends JDialog implements ProgressChanged
     label.setText(toDisplay);
   }
 
+  @Override
+  public void setPercentDone(Integer percentDone)
+  {
+    if (percentDone == null)
+    {
+      progressBar.setIndeterminate(true);
+      return;
+    }
+    progressBar.setIndeterminate(false);
+    progressBar.setValue(percentDone);
+  }
+
   @Override
   public void finished()
   {
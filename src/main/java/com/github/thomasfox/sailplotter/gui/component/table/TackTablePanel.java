@@ -62,28 +62,36 @@ public class TackTablePanel extends JScrollPane
     int i = 0;
     for (Tack tack : tackList)
     {
+      Double absoluteBearingInDegrees = tack.getAbsoluteBearingInDegrees();
+      Double relativeBearingInDegrees = tack.getRelativeBearingInDegrees();
+      Double velocityInKnots = tack.getVelocityInKnots();
+      Double averageVMGInKnots = tack.getAverageVMGInKnots();
+      Double intersectionTimeDistance = tack.getIntersectionTimeDistance(lastTack);
+      Double intersectionAnglesInDegrees = tack.getIntersectionAnglesInDegrees(lastTack);
       tackTableModel.addRow(new Object[] {
           i,
           tack.pointOfSail,
           new DecimalFormat("0").format(tack.getLength()),
           new DecimalFormat("0.0").format(tack.getDuration() / 1000d),
-          tack.getAbsoluteBearingInDegrees() == null
+          absoluteBearingInDegrees == null
           ? ""
-          : new DecimalFormat("0").format(tack.getAbsoluteBearingInDegrees()),
-          tack.getRelativeBearingInDegrees() == null
+          : new DecimalFormat("0").format(absoluteBearingInDegrees),
+          relativeBearingInDegrees == null
             ? ""
-            : new DecimalFormat("0").format(tack.getRelativeBearingInDegrees()),
-          new DecimalFormat("0.0").format(tack.getVelocityInKnots()),
-          tack.getAverageVMGInKnots() == null
+            : new DecimalFormat("0").format(relativeBearingInDegrees),
+          velocityInKnots == null
             ? ""
-            : new DecimalFormat("0.0").format(tack.getAverageVMGInKnots()),
+            : new DecimalFormat("0.0").format(velocityInKnots),
+          averageVMGInKnots == null
+            ? ""
+            : new DecimalFormat("0.0").format(averageVMGInKnots),
           tack.maneuverTypeAtStart == null ? "" : tack.maneuverTypeAtStart.toString(),
-          tack.getIntersectionTimeDistance(lastTack) == null
+          intersectionTimeDistance == null
             ? ""
-            : new DecimalFormat("0.0").format(tack.getIntersectionTimeDistance(lastTack)),
-          tack.getIntersectionAnglesInDegrees(lastTack) == null
+            : new DecimalFormat("0.0").format(intersectionTimeDistance),
+          intersectionAnglesInDegrees == null
             ? ""
-            : new DecimalFormat("0").format(Math.abs(tack.getIntersectionAnglesInDegrees(lastTack))),
+            : new DecimalFormat("0").format(Math.abs(intersectionAnglesInDegrees)),
           tack.maneuverTypeAtEnd == null ? "" : tack.maneuverTypeAtEnd.toString()});
       lastTack = tack;
       ++i;
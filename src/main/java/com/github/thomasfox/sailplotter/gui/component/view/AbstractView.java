@@ -1,10 +1,14 @@
 package com.github.thomasfox.sailplotter.gui.component.view;
 
 import java.awt.GridBagLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
 import javax.swing.JPanel;
 
 import com.github.thomasfox.sailplotter.gui.component.Layout;
+import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeEvent;
 import com.github.thomasfox.sailplotter.listener.DataChangeListener;
 import com.github.thomasfox.sailplotter.listener.ZoomChangeListener;
 
@@ -21,4 +25,35 @@ public abstract class AbstractView extends JPanel implements DataChangeListener,
   {
     return new Layout(this);
   }
+
+  /**
+   * Prepares a zoom change for several listeners.
+   *
+   * @param zoomChangeEvent the zoom change to prepare, not null.
+   * @param listeners the listeners to prepare the zoom change for, not null.
+   *
+   * @return the calculation which returns the action which applies the prepared zoom change
+   *         to all listeners in the passed order, not null.
+   *
+   * @see ZoomChangeListener#prepareZoomChange(ZoomChangeEvent)
+   */
+  protected static Supplier<Runnable> prepareZoomChangeOf(
+      ZoomChangeEvent zoomChangeEvent,
+      ZoomChangeListener... listeners)
+  {
+    List<Supplier<Runnable>> calculations = new ArrayList<>();
+    for (ZoomChangeListener listener : listeners)
+    {
+      calculations.add(listener.prepareZoomChange(zoomChangeEvent));
+    }
+    return () ->
+    {
+      List<Runnable> actions = new ArrayList<>();
+      for (Supplier<Runnable> calculation : calculations)
+      {
+        actions.add(calculation.get());
+      }
+      return () -> actions.forEach(Runnable::run);
+    };
+  }
 }
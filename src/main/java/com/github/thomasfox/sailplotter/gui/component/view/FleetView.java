@@ -0,0 +1,149 @@
+package com.github.thomasfox.sailplotter.gui.component.view;
+
+import java.awt.GridBagLayout;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import com.github.thomasfox.sailplotter.gui.component.Layout;
+import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeEvent;
+import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeListener;
+import com.github.thomasfox.sailplotter.gui.component.panel.ZoomPanel;
+import com.github.thomasfox.sailplotter.gui.component.plot.AbstractFleetPlotPanel;
+import com.github.thomasfox.sailplotter.gui.component.plot.FleetMapPlotPanel;
+import com.github.thomasfox.sailplotter.gui.component.plot.FleetVelocityPlotPanel;
+import com.github.thomasfox.sailplotter.model.Fleet;
+
+/**
+ * Shows the boats of a fleet on a common timeline.
+ * The zoom panel selects ticks of the fleet's timeline, and the selected time window
+ * is shown for all boats in all plots.
+ * The selected time window is kept in absolute time, so it stays the same
+ * when boats are added to the fleet and the timeline grows.
+ */
+public class FleetView extends JPanel implements ZoomChangeListener
+{
+  private static final long serialVersionUID = 1L;
+
+  private final AbstractFleetPlotPanel velocityPlotPanel;
+
+  private final AbstractFleetPlotPanel mapPlotPanel;
+
+  private final ZoomPanel zoomPanel;
+
+  private final JLabel statusLabel = new JLabel();
+
+  private Fleet fleet = new Fleet();
+
+  /** The time of the first selected tick, or null if the whole timeline is selected. */
+  private Long selectedStartTime;
+
+  /** The time of the last selected tick, or null if the whole timeline is selected. */
+  private Long selectedEndTime;
+
+  public FleetView()
+  {
+    setLayout(new GridBagLayout());
+
+    JPanel plotPanel = new JPanel();
+    plotPanel.setLayout(new GridBagLayout());
+    velocityPlotPanel = new FleetVelocityPlotPanel();
+    new Layout(plotPanel)
+        .withGridy(0)
+        .withWeighty(0.4)
+        .add(velocityPlotPanel);
+    mapPlotPanel = new FleetMapPlotPanel();
+    new Layout(plotPanel)
+        .withGridy(1)
+        .withWeighty(0.6)
+        .add(mapPlotPanel);
+    new Layout(this)
+        .withGridxy(0, 0)
+        .withWeightx(0.75)
+        .add(plotPanel);
+
+    JPanel controlPanel = new JPanel();
+    controlPanel.setLayout(new GridBagLayout());
+    new Layout(controlPanel)
+        .withGridy(0)
+        .withWeighty(0.1)
+        .add(statusLabel);
+    zoomPanel = new ZoomPanel();
+    zoomPanel.addListener(this);
+    new Layout(controlPanel)
+        .withGridy(1)
+        .withWeighty(0.9)
+        .add(zoomPanel);
+    new Layout(this)
+        .withGridxy(1, 0)
+        .withWeightx(0.25)
+        .add(controlPanel);
+  }
+
+  /**
+   * Shows the boats of a fleet.
+   * If a time window is selected, the same time window is selected on the timeline of the fleet,
+   * otherwise the whole timeline is selected.
+   * A fleet without location points, e.g. a new fleet before its first boat is loaded,
+   * resets the selection to the whole timeline.
+   * Must be called on the event dispatch thread.
+   *
+   * @param fleet the fleet to show, not null.
+   * @param status a text describing the loading state, not null.
+   */
+  public void fleetChanged(Fleet fleet, String status)
+  {
+    this.fleet = fleet;
+    statusLabel.setText(status);
+    velocityPlotPanel.fleetChanged(fleet);
+    mapPlotPanel.fleetChanged(fleet);
+    int timelineSize = fleet.getTimelineSize();
+    if (timelineSize == 0)
+    {
+      selectedStartTime = null;
+      selectedEndTime = null;
+      return;
+    }
+    if (selectedStartTime == null)
+    {
+      zoomPanel.setNumberOfIndices(timelineSize, 0, timelineSize - 1);
+    }
+    else
+    {
+      zoomPanel.setNumberOfIndices(
+          timelineSize,
+          fleet.getTimelineIndex(selectedStartTime),
+          fleet.getTimelineIndex(selectedEndTime));
+    }
+    zoomChanged(zoomPanel.getChangeEventFromCurrentData());
+  }
+
+  public void setStatus(String status)
+  {
+    statusLabel.setText(status);
+  }
+
+  @Override
+  public void zoomChanged(ZoomChangeEvent event)
+  {
+    if (fleet.getTimelineSize() == 0)
+    {
+      return;
+    }
+    if (event.getStartIndex() == 0 && event.getEndIndex() == fleet.getTimelineSize() - 1)
+    {
+      selectedStartTime = null;
+      selectedEndTime = null;
+    }
+    else
+    {
+      selectedStartTime = fleet.getTimelineTime(event.getStartIndex());
+      selectedEndTime = fleet.getTimelineTime(event.getEndIndex());
+    }
+    // the time window of the datasets is exclusive, the selected ticks are inclusive
+    long startTime = fleet.getTimelineTime(event.getStartIndex()) - 1;
+    long endTime = fleet.getTimelineTime(event.getEndIndex()) + 1;
+    velocityPlotPanel.timeWindowChanged(startTime, endTime);
+    mapPlotPanel.timeWindowChanged(startTime, endTime);
+  }
+}
@@ -143,7 +143,7 @@ public class InfoView extends AbstractView
         startTime += ", ";
       }
       startTime += "acceleration data start: "
-          + dateTimeFormat.format(data.getPointsWithAcceleration().get(0).time);
+          + dateTimeFormat.format(data.getPointsWithAcceleration().get(0).getTime());
     }
     startTime += ")";
     startTimeLabel.setText(startTime);
@@ -174,7 +174,7 @@ public class InfoView extends AbstractView
         endTime += ", ";
       }
       endTime += "acceleration data end: "
-          + dateTimeFormat.format(data.getPointsWithAcceleration().get(data.getPointsWithAcceleration().size() - 1).time);
+          + dateTimeFormat.format(data.getPointsWithAcceleration().get(data.getPointsWithAcceleration().size() - 1).getTime());
     }
     endTime += ")";
     endTimeLabel.setText(endTime);
@@ -1,6 +1,7 @@
 package com.github.thomasfox.sailplotter.gui.component.view;
 
 import java.awt.GridBagLayout;
+import java.util.function.Supplier;
 
 import javax.swing.JPanel;
 import javax.swing.event.ListSelectionEvent;
@@ -88,12 +89,14 @@ public class Overview extends AbstractView
         .add(topRightPanel);
 
     fullMapPlotPanel = new FullMapPlotPanel();
+    fullMapPlotPanel.addZoomRequestListener(gui::zoomChanged);
     createLayout()
         .withGridxy(0, 1)
         .withWeightx(0.333).withWeighty(0.45)
         .add(fullMapPlotPanel);
 
     zoomedMapPlotPanel = new ZoomedMapPlotPanel();
+    zoomedMapPlotPanel.addZoomRequestListener(gui::zoomChanged);
     createLayout()
         .withGridxy(1, 1)
         .withWeightx(0.333).withWeighty(0.45)
@@ -185,14 +188,30 @@ public class Overview extends AbstractView
   @Override
   public void zoomChanged(ZoomChangeEvent zoomChangeEvent)
   {
-    controlPanel.zoomChanged(zoomChangeEvent);
-    fullVelocityBearingOverTimePlotPanel.zoomChanged(zoomChangeEvent);
-    zoomedVelocityBearingOverTimePlotPanel.zoomChanged(zoomChangeEvent);
-    zoomedBearingHistogramPlotPanel.zoomChanged(zoomChangeEvent);
-    fullMapPlotPanel.zoomChanged(zoomChangeEvent);
-    zoomedMapPlotPanel.zoomChanged(zoomChangeEvent);
-    tackVelocityBearingPolarPlotPanel.zoomChanged(zoomChangeEvent);
-    velocityBearingPolarPlotPanel.zoomChanged(zoomChangeEvent);
-    tackTablePanel.zoomChanged(zoomChangeEvent);
+    prepareZoomChange(zoomChangeEvent).get().run();
+  }
+
+  @Override
+  public Supplier<Runnable> prepareZoomChange(ZoomChangeEvent zoomChangeEvent)
+  {
+    Supplier<Runnable> calculatePlots = prepareZoomChangeOf(
+        zoomChangeEvent,
+        fullVelocityBearingOverTimePlotPanel,
+        zoomedVelocityBearingOverTimePlotPanel,
+        zoomedBearingHistogramPlotPanel,
+        fullMapPlotPanel,
+        zoomedMapPlotPanel,
+        tackVelocityBearingPolarPlotPanel,
+        velocityBearingPolarPlotPanel);
+    return () ->
+    {
+      Runnable showPlots = calculatePlots.get();
+      return () ->
+      {
+        controlPanel.zoomChanged(zoomChangeEvent);
+        showPlots.run();
+        tackTablePanel.zoomChanged(zoomChangeEvent);
+      };
+    };
   }
 }
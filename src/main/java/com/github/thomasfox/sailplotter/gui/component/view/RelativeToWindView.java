@@ -1,5 +1,7 @@
 package com.github.thomasfox.sailplotter.gui.component.view;
 
+import java.util.function.Supplier;
+
 import javax.swing.event.ListSelectionEvent;
 
 import com.github.thomasfox.sailplotter.Constants;
@@ -64,6 +66,7 @@ public class RelativeToWindView extends AbstractView
         .add(zoomedBearingPlotPanel);
 
     zoomedWindwardMapPlotPanel = new ZoomedWindwardMapPlotPanel();
+    zoomedWindwardMapPlotPanel.addZoomRequestListener(gui::zoomChanged);
     createLayout()
         .withGridxy(1, 0)
         .withWeightx(0.25).withWeighty(0.4)
@@ -144,13 +147,29 @@ public class RelativeToWindView extends AbstractView
   @Override
   public void zoomChanged(ZoomChangeEvent zoomChangeEvent)
   {
-    controlPanel.zoomChanged(zoomChangeEvent);
-    zoomedVelocityMadeGoodPlotPanel.zoomChanged(zoomChangeEvent);
-    zoomedVelocityPlotPanel.zoomChanged(zoomChangeEvent);
-    zoomedBearingPlotPanel.zoomChanged(zoomChangeEvent);
-    zoomedWindwardMapPlotPanel.zoomChanged(zoomChangeEvent);
-    velocityBearingScatteredPolarPlotPanel.zoomChanged(zoomChangeEvent);
-    velocityBearingPolarPlotPanel.zoomChanged(zoomChangeEvent);
-    tackTablePanel.zoomChanged(zoomChangeEvent);
+    prepareZoomChange(zoomChangeEvent).get().run();
+  }
+
+  @Override
+  public Supplier<Runnable> prepareZoomChange(ZoomChangeEvent zoomChangeEvent)
+  {
+    Supplier<Runnable> calculatePlots = prepareZoomChangeOf(
+        zoomChangeEvent,
+        zoomedVelocityMadeGoodPlotPanel,
+        zoomedVelocityPlotPanel,
+        zoomedBearingPlotPanel,
+        zoomedWindwardMapPlotPanel,
+        velocityBearingScatteredPolarPlotPanel,
+        velocityBearingPolarPlotPanel);
+    return () ->
+    {
+      Runnable showPlots = calculatePlots.get();
+      return () ->
+      {
+        controlPanel.zoomChanged(zoomChangeEvent);
+        showPlots.run();
+        tackTablePanel.zoomChanged(zoomChangeEvent);
+      };
+    };
   }
 }
@@ -0,0 +1,140 @@
+package com.github.thomasfox.sailplotter.gui.component.view;
+
+import java.util.function.Supplier;
+
+import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeEvent;
+import com.github.thomasfox.sailplotter.listener.DataChangeListener;
+import com.github.thomasfox.sailplotter.listener.ZoomChangeListener;
+import com.github.thomasfox.sailplotter.model.Data;
+
+/**
+ * A view in the card layout of the GUI, of which only one is shown at a time.
+ * While the view is hidden, data and zoom changes are only recorded,
+ * and the view is brought up to date with the latest recorded changes when it is shown.
+ * All methods must be called on the event dispatch thread,
+ * except the calculation returned by prepareZoomChange().
+ */
+public class ViewCard implements DataChangeListener, ZoomChangeListener
+{
+  private final String name;
+
+  private final AbstractView view;
+
+  private boolean shown;
+
+  private Data data;
+
+  private boolean dataChangePending;
+
+  private ZoomChangeEvent pendingZoomChangeEvent;
+
+  public ViewCard(String name, AbstractView view)
+  {
+    this.name = name;
+    this.view = view;
+  }
+
+  public String getName()
+  {
+    return name;
+  }
+
+  public AbstractView getView()
+  {
+    return view;
+  }
+
+  public boolean isShown()
+  {
+    return shown;
+  }
+
+  /**
+   * Shows or hides the view. If the view is shown,
+   * the data and zoom changes recorded while it was hidden are applied.
+   *
+   * @param shown whether the view is shown.
+   */
+  public void setShown(boolean shown)
+  {
+    this.shown = shown;
+    if (!shown)
+    {
+      return;
+    }
+    if (dataChangePending)
+    {
+      dataChangePending = false;
+      view.dataChanged(data);
+    }
+    if (pendingZoomChangeEvent != null)
+    {
+      ZoomChangeEvent zoomChangeEvent = pendingZoomChangeEvent;
+      pendingZoomChangeEvent = null;
+      view.zoomChanged(zoomChangeEvent);
+    }
+  }
+
+  @Override
+  public void dataChanged(Data newData)
+  {
+    if (shown)
+    {
+      data = newData;
+      view.dataChanged(newData);
+      return;
+    }
+    // the zoom panels of the view keep their position only if the number of points stays the same
+    if (pendingZoomChangeEvent != null && getLocationPointCount(data) != getLocationPointCount(newData))
+    {
+      pendingZoomChangeEvent = null;
+    }
+    data = newData;
+    dataChangePending = true;
+  }
+
+  @Override
+  public void zoomChanged(ZoomChangeEvent zoomChangeEvent)
+  {
+    if (shown)
+    {
+      view.zoomChanged(zoomChangeEvent);
+      return;
+    }
+    pendingZoomChangeEvent = zoomChangeEvent;
+  }
+
+  @Override
+  public Supplier<Runnable> prepareZoomChange(ZoomChangeEvent zoomChangeEvent)
+  {
+    if (!shown)
+    {
+      return ZoomChangeListener.super.prepareZoomChange(zoomChangeEvent);
+    }
+    Supplier<Runnable> calculateZoomChange = view.prepareZoomChange(zoomChangeEvent);
+    return () ->
+    {
+      Runnable showZoomChange = calculateZoomChange.get();
+      return () ->
+      {
+        if (shown)
+        {
+          showZoomChange.run();
+        }
+        else
+        {
+          pendingZoomChangeEvent = zoomChangeEvent;
+        }
+      };
+    };
+  }
+
+  private static int getLocationPointCount(Data data)
+  {
+    if (data == null)
+    {
+      return -1;
+    }
+    return data.getPointsWithLocation().size();
+  }
+}
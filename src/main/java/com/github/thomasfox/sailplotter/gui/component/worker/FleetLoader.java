@@ -0,0 +1,95 @@
+package com.github.thomasfox.sailplotter.gui.component.worker;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import com.github.thomasfox.sailplotter.cache.AnalysisCache;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+
+/**
+ * Reads and analyzes the files of a fleet in parallel.
+ * Each file is one task on a shared executor, and each boat is handed
+ * to the user interface on the event dispatch thread as soon as it is analyzed,
+ * so the user can work with the boats which are already loaded.
+ * Files which were analyzed before are taken from the analysis cache.
+ * If a new fleet is loaded, the results of the files of the previous fleet are discarded.
+ */
+public class FleetLoader
+{
+  private final ExecutorService executor;
+
+  private final AtomicInteger generation = new AtomicInteger();
+
+  private final AnalysisCache analysisCache;
+
+  /**
+   * Constructor.
+   *
+   * @param threads the number of files which are read and analyzed in parallel, at least 1.
+   * @param analysisCache the cache for the analyzed files, not null.
+   */
+  public FleetLoader(int threads, AnalysisCache analysisCache)
+  {
+    this.analysisCache = analysisCache;
+    executor = Executors.newFixedThreadPool(threads, runnable ->
+    {
+      Thread thread = new Thread(runnable, "fleet loader");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts to read and analyze the files of a fleet.
+   * Must be called on the event dispatch thread.
+   *
+   * @param files the files to load, not null.
+   * @param boatConsumer receives each loaded boat on the event dispatch thread, not null.
+   * @param errorConsumer receives each file which could not be loaded
+   *        and the cause on the event dispatch thread, not null.
+   */
+  public void load(List<File> files, Consumer<Data> boatConsumer, BiConsumer<File, Throwable> errorConsumer)
+  {
+    int loadGeneration = generation.incrementAndGet();
+    for (File file : files)
+    {
+      executor.execute(() ->
+      {
+        if (loadGeneration != generation.get())
+        {
+          return;
+        }
+        try
+        {
+          // the analysis stages are run in this thread, the parallelism is across files
+          Data data = analysisCache.read(file, new LoadProgress(null), Runnable::run);
+          SwingUtilities.invokeLater(() ->
+          {
+            if (loadGeneration == generation.get())
+            {
+              boatConsumer.accept(data);
+            }
+          });
+        }
+        catch (Exception e)
+        {
+          SwingUtilities.invokeLater(() ->
+          {
+            if (loadGeneration == generation.get())
+            {
+              errorConsumer.accept(file, e);
+            }
+          });
+        }
+      });
+    }
+  }
+}
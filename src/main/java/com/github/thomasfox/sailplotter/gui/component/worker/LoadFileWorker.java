@@ -2,15 +2,15 @@ package com.github.thomasfox.sailplotter.gui.component.worker;
 
 import java.io.File;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 
-import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.cache.AnalysisCache;
 import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
-import com.github.thomasfox.sailplotter.importer.FormatAwareImporter;
 import com.github.thomasfox.sailplotter.model.Data;
 
 public class LoadFileWorker extends SwingWorker<Data, Void>
@@ -23,22 +23,27 @@ public class LoadFileWorker extends SwingWorker<Data, Void>
 
   private final JFrame frame;
 
-  public LoadFileWorker(LoadProgress loadProgress, File file, Consumer<Data> dataConsumer, JFrame frame)
+  private final AnalysisCache analysisCache;
+
+  public LoadFileWorker(
+      LoadProgress loadProgress,
+      File file,
+      Consumer<Data> dataConsumer,
+      JFrame frame,
+      AnalysisCache analysisCache)
   {
     this.loadProgress = loadProgress;
     this.file = file;
     this.dataConsumer = dataConsumer;
     this.frame = frame;
+    this.analysisCache = analysisCache;
   }
 
   @Override
   protected Data doInBackground() throws Exception
   {
     loadProgress.start();
-    Data data = new FormatAwareImporter(loadProgress).read(file);
-    loadProgress.analyzingStarted();
-    Analyzer.analyze(data, loadProgress);
-    return data;
+    return analysisCache.read(file, loadProgress, ForkJoinPool.commonPool());
   }
 
   @Override
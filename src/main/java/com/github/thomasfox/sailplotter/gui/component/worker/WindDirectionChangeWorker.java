@@ -0,0 +1,93 @@
+package com.github.thomasfox.sailplotter.gui.component.worker;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import javax.swing.SwingWorker;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.analyze.TackAnalysis;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
+
+/**
+ * Recalculates the wind dependent results of the data in the background
+ * and hands them to a consumer on the event dispatch thread.
+ * If the worker is superseded by a newer wind direction change before it has finished,
+ * its result is discarded.
+ * The worker does not change the data; the consumer sets the result in the data,
+ * see Analyzer.publishWindDirectionChange().
+ */
+public class WindDirectionChangeWorker extends SwingWorker<TackAnalysis, Void>
+{
+  private final Data data;
+
+  private final DataColumns columns;
+
+  private final double windBearing;
+
+  private final BooleanSupplier isCurrent;
+
+  private final Consumer<TackAnalysis> resultConsumer;
+
+  /**
+   * Constructor.
+   *
+   * @param data the analyzed data to recalculate, not null.
+   * @param columns the columns of the data, fetched on the event dispatch thread, not null.
+   * @param windBearing the new direction in arcs where the wind comes from.
+   * @param isCurrent returns false if a newer wind direction change has been requested, not null.
+   * @param resultConsumer receives the result on the event dispatch thread, not null.
+   */
+  public WindDirectionChangeWorker(
+      Data data,
+      DataColumns columns,
+      double windBearing,
+      BooleanSupplier isCurrent,
+      Consumer<TackAnalysis> resultConsumer)
+  {
+    this.data = data;
+    this.columns = columns;
+    this.windBearing = windBearing;
+    this.isCurrent = isCurrent;
+    this.resultConsumer = resultConsumer;
+  }
+
+  @Override
+  protected TackAnalysis doInBackground() throws Exception
+  {
+    if (!isCurrent.getAsBoolean())
+    {
+      return null;
+    }
+    return Analyzer.analyzeWindDirectionChange(data, columns, windBearing);
+  }
+
+  @Override
+  public void done()
+  {
+    try
+    {
+      TackAnalysis result = get();
+      if (result != null && isCurrent.getAsBoolean())
+      {
+        resultConsumer.accept(result);
+      }
+    }
+    catch (InterruptedException e)
+    {
+      handleException(e);
+    }
+    catch (ExecutionException e)
+    {
+      handleException(e.getCause());
+    }
+  }
+
+  private void handleException(Throwable t)
+  {
+    System.err.println("Could not update wind direction");
+    t.printStackTrace(System.err);
+  }
+}
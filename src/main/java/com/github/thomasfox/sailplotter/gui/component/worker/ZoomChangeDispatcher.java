@@ -0,0 +1,134 @@
+package com.github.thomasfox.sailplotter.gui.component.worker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeEvent;
+import com.github.thomasfox.sailplotter.listener.ZoomChangeListener;
+
+/**
+ * Distributes zoom changes to listeners, preparing them in the background.
+ * The listeners capture the state they need on the event dispatch thread,
+ * calculate the zoom change on a single background thread,
+ * and the calculated changes are applied on the event dispatch thread.
+ * If a newer zoom change arrives while an older one is still prepared or waits to be applied,
+ * the older one is dropped, so a fast sequence of zoom changes only shows the latest one.
+ */
+public class ZoomChangeDispatcher
+{
+  private final ZoomChangeListener[] listeners;
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable ->
+  {
+    Thread thread = new Thread(runnable, "zoom change");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final AtomicInteger generation = new AtomicInteger();
+
+  private Future<?> lastPreparation;
+
+  public ZoomChangeDispatcher(ZoomChangeListener... listeners)
+  {
+    this.listeners = listeners;
+  }
+
+  /**
+   * Starts preparing a zoom change and drops all older zoom changes which have not been applied yet.
+   * Must be called on the event dispatch thread.
+   *
+   * @param zoomChangeEvent the zoom change, not null.
+   */
+  public void zoomChanged(ZoomChangeEvent zoomChangeEvent)
+  {
+    int zoomGeneration = generation.incrementAndGet();
+    if (lastPreparation != null)
+    {
+      lastPreparation.cancel(false);
+    }
+    List<Supplier<Runnable>> calculations = new ArrayList<>();
+    try
+    {
+      for (ZoomChangeListener listener : listeners)
+      {
+        calculations.add(listener.prepareZoomChange(zoomChangeEvent));
+      }
+    }
+    catch (RuntimeException e)
+    {
+      System.err.println("Could not prepare zoom change, applying it directly");
+      e.printStackTrace(System.err);
+      applyDirectly(zoomChangeEvent, zoomGeneration);
+      return;
+    }
+    lastPreparation = executor.submit(() -> calculate(zoomChangeEvent, calculations, zoomGeneration));
+  }
+
+  /**
+   * Drops all zoom changes which have not been applied yet,
+   * e.g. because the data they were prepared for has changed.
+   * Must be called on the event dispatch thread.
+   */
+  public void invalidate()
+  {
+    generation.incrementAndGet();
+  }
+
+  private void calculate(
+      ZoomChangeEvent zoomChangeEvent,
+      List<Supplier<Runnable>> calculations,
+      int zoomGeneration)
+  {
+    List<Runnable> actions = new ArrayList<>();
+    try
+    {
+      for (Supplier<Runnable> calculation : calculations)
+      {
+        if (!isCurrent(zoomGeneration))
+        {
+          return;
+        }
+        actions.add(calculation.get());
+      }
+    }
+    catch (RuntimeException e)
+    {
+      System.err.println("Could not prepare zoom change, applying it directly");
+      e.printStackTrace(System.err);
+      SwingUtilities.invokeLater(() -> applyDirectly(zoomChangeEvent, zoomGeneration));
+      return;
+    }
+    SwingUtilities.invokeLater(() ->
+    {
+      if (isCurrent(zoomGeneration))
+      {
+        actions.forEach(Runnable::run);
+      }
+    });
+  }
+
+  private void applyDirectly(ZoomChangeEvent zoomChangeEvent, int zoomGeneration)
+  {
+    if (!isCurrent(zoomGeneration))
+    {
+      return;
+    }
+    for (ZoomChangeListener listener : listeners)
+    {
+      listener.zoomChanged(zoomChangeEvent);
+    }
+  }
+
+  private boolean isCurrent(int zoomGeneration)
+  {
+    return zoomGeneration == generation.get();
+  }
+}
@@ -2,6 +2,7 @@ package com.github.thomasfox.sailplotter.importer;
 
 import java.io.File;
 
+import com.github.thomasfox.sailplotter.exporter.SailplotFormat;
 import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
 import com.github.thomasfox.sailplotter.importer.saillogger.SailLoggerImporter;
 import com.github.thomasfox.sailplotter.model.Data;
@@ -23,7 +24,7 @@ public class FormatAwareImporter implements Importer
     {
       data = new SailRacerImporter(loadProgress).read(file);
     }
-    if (file.getPath().endsWith(".saillog"))
+    else if (file.getPath().endsWith(".saillog"))
     {
       data = new SailLoggerImporter(loadProgress).read(file);
     }
@@ -35,10 +36,14 @@ public class FormatAwareImporter implements Importer
     {
       data = new GpxImporter(loadProgress).read(file);
     }
+    else if (file.getPath().endsWith(SailplotFormat.EXTENSION))
+    {
+      data = new SailplotImporter(loadProgress).read(file);
+    }
     else
     {
       throw new RuntimeException("unknown extenson of file " + file.getName()
-          + ", known extensions are .gpx, .log, .saillog and .vrtp");
+          + ", known extensions are .gpx, .log, .saillog, .sailplot and .vrtp");
     }
     if (data.getPointsWithLocation().size() < 2) {
       throw new RuntimeException("Track contains lesss than 2 locations");
@@ -46,4 +51,17 @@ public class FormatAwareImporter implements Importer
     data.setFile(file);
     return data;
   }
+
+  /**
+   * Returns whether the data read from a file needs to be analyzed.
+   * This is not the case for sailplot files, which already contain the analysis results.
+   *
+   * @param file the file to check.
+   *
+   * @return true if the data read from the file needs to be analyzed, false otherwise.
+   */
+  public boolean isAnalysisNeeded(File file)
+  {
+    return !file.getPath().endsWith(SailplotFormat.EXTENSION);
+  }
 }
@@ -1,25 +1,35 @@
 package com.github.thomasfox.sailplotter.importer;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
-import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
-import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.io.input.CountingInputStream;
+
 import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
 import com.github.thomasfox.sailplotter.model.Data;
 import com.github.thomasfox.sailplotter.model.DataPoint;
-import com.github.thomasfox.sailplotter.model.Location;
 
+/**
+ * Reads the track points of gpx files.
+ * The file is streamed, and each track point is added to the data while reading.
+ * All tracks and track segments in the file are read;
+ * the start of each track segment is recorded in the data.
+ */
 public class GpxImporter implements Importer
 {
+  /** Number of track points after which the read progress is reported. */
+  private static final int PROGRESS_REPORT_INTERVAL = 4096;
+
+  /** Typical size of a track point in a gpx file, used to estimate the number of points. */
+  private static final int ESTIMATED_BYTES_PER_POINT = 100;
+
   private final LoadProgress loadProgress;
 
   public GpxImporter(LoadProgress loadProgress)
@@ -27,72 +37,91 @@ public class GpxImporter implements Importer
     this.loadProgress = loadProgress;
   }
 
-
   @Override
   public Data read(File file)
   {
-    Data result = new Data();
-    List<GpxPoint> rawData = readFileInternal(file);
-    int index = 0;
-    for (GpxPoint rawPoint : rawData)
-    {
-      DataPoint dataPoint = new DataPoint(index);
-      dataPoint.location = new Location();
-      dataPoint.location.latitude = rawPoint.lat / 180d * Math.PI;
-      dataPoint.location.longitude = rawPoint.lon / 180d * Math.PI;
-      dataPoint.time = rawPoint.time.getTime();
-      result.add(dataPoint);
-      index++;
-    }
-    return result;
-  }
-
-  public List<GpxPoint> readFileInternal(File file)
-  {
-    List<GpxPoint> result = new ArrayList<>();
     loadProgress.fileReadingStarted();
-    try (InputStream is = new FileInputStream(file))
+    try (CountingInputStream is = new CountingInputStream(new BufferedInputStream(new FileInputStream(file))))
     {
-      ObjectMapper xmlMapper = new XmlMapper()
-          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-      Gpx value = xmlMapper.readValue(is, Gpx.class);
-      result = value.trk.trkseg.trkpt;
+      Data result = read(is, file.length());
+      loadProgress.fileReadingFinished();
+      return result;
     }
-    catch (IOException e)
+    catch (IOException | XMLStreamException | IllegalArgumentException e)
     {
       loadProgress.finished();
-      throw new RuntimeException(e);
+      throw new RuntimeException("Could not read file " + file.getName(), e);
     }
-    loadProgress.fileReadingFinished();
-    return result;
   }
 
-  public static class Gpx
+  private Data read(CountingInputStream is, long fileSize) throws XMLStreamException
   {
-    public GpxTrack trk;
-  }
-
-
-  public static class GpxTrack
-  {
-    public GpxTrackSegment trkseg;
+    Data.Builder result = new Data.Builder((int) Math.min(fileSize / ESTIMATED_BYTES_PER_POINT, Integer.MAX_VALUE));
+    XMLStreamReader reader = createXmlInputFactory().createXMLStreamReader(is);
+    try
+    {
+      DataPoint currentPoint = null;
+      int index = 0;
+      while (reader.hasNext())
+      {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT)
+        {
+          String elementName = reader.getLocalName();
+          if ("trkseg".equals(elementName))
+          {
+            result.startNewSegment();
+          }
+          else if ("trkpt".equals(elementName))
+          {
+            currentPoint = result.addPoint(index);
+            currentPoint.setLatitude(parseDouble(reader.getAttributeValue(null, "lat"), "lat") / 180d * Math.PI);
+            currentPoint.setLongitude(parseDouble(reader.getAttributeValue(null, "lon"), "lon") / 180d * Math.PI);
+          }
+          else if (currentPoint != null && "time".equals(elementName))
+          {
+            currentPoint.setTime(TimestampParser.parseIsoDateTime(reader.getElementText().trim()));
+          }
+          else if (currentPoint != null && "ele".equals(elementName))
+          {
+            currentPoint.setAltitude(parseDouble(reader.getElementText().trim(), "ele"));
+          }
+        }
+        else if (event == XMLStreamConstants.END_ELEMENT
+            && currentPoint != null
+            && "trkpt".equals(reader.getLocalName()))
+        {
+          currentPoint = null;
+          index++;
+          if (index % PROGRESS_REPORT_INTERVAL == 0)
+          {
+            loadProgress.fileReadingProgress(is.getByteCount(), fileSize);
+          }
+        }
+      }
+    }
+    finally
+    {
+      reader.close();
+    }
+    return result.build();
   }
 
-  public static class GpxTrackSegment
+  private XMLInputFactory createXmlInputFactory()
   {
-    @JacksonXmlElementWrapper(useWrapping = false)
-    public List<GpxPoint> trkpt;
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
   }
 
-  public static final class GpxPoint
+  private double parseDouble(String value, String name)
   {
-    public Date time;
-
-    @JacksonXmlProperty(isAttribute = true)
-    public double lat;
-
-    @JacksonXmlProperty(isAttribute = true)
-    public double lon;
-
+    if (value == null)
+    {
+      throw new IllegalArgumentException("Missing value for " + name);
+    }
+    return Double.parseDouble(value);
   }
 }
@@ -17,4 +17,4 @@ public interface Importer
    * @return the data points contained in the file.
    */
   Data read(File file);
-}
\ No newline at end of file
+}
\ No newline at end of file
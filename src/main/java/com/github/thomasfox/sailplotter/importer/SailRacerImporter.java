@@ -1,131 +1,433 @@
 package com.github.thomasfox.sailplotter.importer;
 
-import static java.time.temporal.ChronoField.DAY_OF_MONTH;
-import static java.time.temporal.ChronoField.HOUR_OF_DAY;
-import static java.time.temporal.ChronoField.MINUTE_OF_HOUR;
-import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
-import static java.time.temporal.ChronoField.NANO_OF_SECOND;
-import static java.time.temporal.ChronoField.SECOND_OF_MINUTE;
-import static java.time.temporal.ChronoField.YEAR;
-
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.SignStyle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
 import com.github.thomasfox.sailplotter.model.Data;
 import com.github.thomasfox.sailplotter.model.DataPoint;
-import com.github.thomasfox.sailplotter.model.Location;
 
+/**
+ * Reads SailRacer log files.
+ *
+ * Each line of such a file contains the tab-separated fields
+ * datetime (e.g. 2016.09.21 14:02:16:000, in GMT), latitude, longitude,
+ * bearing1 (absolute? relative?), velocity (unit? perhaps m/s?),
+ * bearing2 (absolute? relative?) and race (not sure what this is).
+ * Only datetime, latitude and longitude are used.
+ *
+ * The file is memory-mapped and split into chunks at line boundaries;
+ * the chunks are parsed in parallel and then added to the data in file order.
+ */
 public class SailRacerImporter implements Importer
 {
+  private static final int MINIMUM_CHUNK_SIZE = 1 << 20;
+
+  private static final int MAXIMUM_CHUNK_SIZE = 1 << 26;
+
   private final LoadProgress loadProgress;
 
+  private final ForkJoinPool pool;
+
   public SailRacerImporter(LoadProgress loadProgress)
   {
-    this.loadProgress = loadProgress;
+    this(loadProgress, ForkJoinPool.commonPool());
   }
 
-  private static final DateTimeFormatter dateTimeFormatter = new DateTimeFormatterBuilder()
-      .appendValue(YEAR, 4, 10, SignStyle.EXCEEDS_PAD)
-      .appendLiteral('.')
-      .appendValue(MONTH_OF_YEAR, 2)
-      .appendLiteral('.')
-      .appendValue(DAY_OF_MONTH, 2)
-      .appendLiteral(' ')
-      .appendValue(HOUR_OF_DAY, 2)
-      .appendLiteral(':')
-      .appendValue(MINUTE_OF_HOUR, 2)
-      .optionalStart()
-      .appendLiteral(':')
-      .appendValue(SECOND_OF_MINUTE, 2)
-      .appendLiteral(':')
-      .appendFraction(NANO_OF_SECOND, 0, 9, false)
-      .toFormatter();
-
+  public SailRacerImporter(LoadProgress loadProgress, ForkJoinPool pool)
+  {
+    this.loadProgress = loadProgress;
+    this.pool = pool;
+  }
 
   @Override
   public Data read(File file)
   {
-    Data result = new Data();
-    List<SailRacerPoint> rawData = readFileInternal(file);
-    int index = 0;
-    for (SailRacerPoint rawPoint : rawData)
-    {
-      DataPoint dataPoint = new DataPoint(index);
-      dataPoint.location = new Location();
-      dataPoint.location.latitude = rawPoint.lat / 180d * Math.PI;
-      dataPoint.location.longitude = rawPoint.lon / 180d * Math.PI;
-      dataPoint.time = rawPoint.datetime.toInstant(ZoneOffset.UTC).toEpochMilli();
-      result.add(dataPoint);
-      index++;
+    loadProgress.fileReadingStarted();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+    {
+      long fileSize = channel.size();
+      List<ChunkParser> chunkParsers = new ArrayList<>();
+      for (long[] chunk : getChunks(channel, fileSize))
+      {
+        chunkParsers.add(new ChunkParser(channel, chunk[0], chunk[1]));
+      }
+      for (ChunkParser chunkParser : chunkParsers)
+      {
+        pool.execute(chunkParser);
+      }
+      List<ParsedChunk> parsedChunks = new ArrayList<>();
+      int pointCount = 0;
+      for (ChunkParser chunkParser : chunkParsers)
+      {
+        ParsedChunk parsedChunk = chunkParser.join();
+        parsedChunks.add(parsedChunk);
+        pointCount += parsedChunk.size;
+        loadProgress.fileReadingProgress(chunkParser.end, fileSize);
+      }
+      Data.Builder result = new Data.Builder(pointCount);
+      int index = 0;
+      for (ParsedChunk parsedChunk : parsedChunks)
+      {
+        for (int i = 0; i < parsedChunk.size; i++)
+        {
+          DataPoint dataPoint = result.addPoint(index);
+          dataPoint.setLatitude(parsedChunk.latitude[i] / 180d * Math.PI);
+          dataPoint.setLongitude(parsedChunk.longitude[i] / 180d * Math.PI);
+          dataPoint.setTime(parsedChunk.time[i]);
+          index++;
+        }
+      }
+      loadProgress.fileReadingFinished();
+      return result.build();
+    }
+    catch (IOException | RuntimeException e)
+    {
+      loadProgress.finished();
+      throw new RuntimeException("Could not read file " + file.getName(), e);
+    }
+  }
+
+  /**
+   * Splits the file into chunks which start at the beginning of a line.
+   *
+   * @return the chunks as array of start (inclusive) and end (exclusive) positions.
+   */
+  private List<long[]> getChunks(FileChannel channel, long fileSize) throws IOException
+  {
+    long chunkSize = fileSize / (4L * pool.getParallelism());
+    chunkSize = Math.max(MINIMUM_CHUNK_SIZE, Math.min(MAXIMUM_CHUNK_SIZE, chunkSize));
+    List<long[]> result = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.allocate(256);
+    long start = 0;
+    while (start < fileSize)
+    {
+      long end = Math.min(fileSize, start + chunkSize);
+      end = getPositionAfterNextNewline(channel, end, fileSize, buffer);
+      result.add(new long[] {start, end});
+      start = end;
     }
     return result;
   }
 
-  public List<SailRacerPoint> readFileInternal(File file)
+  private long getPositionAfterNextNewline(FileChannel channel, long position, long fileSize, ByteBuffer buffer)
+      throws IOException
   {
-    List<SailRacerPoint> result = new ArrayList<>();
-    loadProgress.fileReadingStarted();
-    try (InputStream is = new FileInputStream(file))
+    while (position < fileSize)
     {
-      BufferedReader reader = new BufferedReader(new InputStreamReader(is, "ISO-8859-1"));
-      String line;
-      while ((line = reader.readLine()) != null)
+      buffer.clear();
+      int read = channel.read(buffer, position);
+      if (read <= 0)
+      {
+        return fileSize;
+      }
+      for (int i = 0; i < read; i++)
       {
-        result.add(new SailRacerPoint(line));
+        if (buffer.get(i) == '\n')
+        {
+          return position + i + 1;
+        }
       }
+      position += read;
     }
-    catch (IOException e)
+    return fileSize;
+  }
+
+  /**
+   * The values parsed from one chunk of the file.
+   */
+  static final class ParsedChunk
+  {
+    long[] time = new long[1024];
+
+    double[] latitude = new double[1024];
+
+    double[] longitude = new double[1024];
+
+    int size;
+
+    void add(long pointTime, double pointLatitude, double pointLongitude)
     {
-      loadProgress.finished();
-      throw new RuntimeException(e);
+      if (size == time.length)
+      {
+        int newCapacity = size * 2;
+        time = Arrays.copyOf(time, newCapacity);
+        latitude = Arrays.copyOf(latitude, newCapacity);
+        longitude = Arrays.copyOf(longitude, newCapacity);
+      }
+      time[size] = pointTime;
+      latitude[size] = pointLatitude;
+      longitude[size] = pointLongitude;
+      size++;
     }
-    loadProgress.fileReadingFinished();
-    return result;
   }
 
-  public static final class SailRacerPoint
+  /**
+   * Parses the lines in one chunk of the file.
+   * The decoding works directly on the mapped bytes without creating Strings.
+   */
+  static final class ChunkParser extends RecursiveTask<ParsedChunk>
   {
-    /** 2016.09.21 14:02:16:000. The Datetime is in GMT*/
-    public LocalDateTime datetime;
+    private static final long serialVersionUID = 1L;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18 };
 
-    public double lat;
+    private static final long MAXIMUM_EXACT_MANTISSA = 1L << 53;
 
-    public double lon;
+    private final transient FileChannel channel;
 
-    /** absolute? relative ? */
-    public int bearing1;
+    private final long start;
 
-    /** unit? perhaps m/s? */
-    public double velocity;
+    private final long end;
 
-    /** absolute? relative ? */
-    public int bearing2;
+    private transient ByteBuffer buffer;
 
-    /** not sure what this is. */
-    public double race;
+    private int position;
+
+    ChunkParser(FileChannel channel, long start, long end)
+    {
+      this.channel = channel;
+      this.start = start;
+      this.end = end;
+    }
 
-    public SailRacerPoint(String line)
+    @Override
+    protected ParsedChunk compute()
     {
-      String[] token = line.split("\t");
-      datetime = LocalDateTime.parse(token[0], dateTimeFormatter);
-      lat = Double.parseDouble(token[1]);
-      lon = Double.parseDouble(token[2]);
-      bearing1 = Integer.parseInt(token[3]);
-      velocity = Double.parseDouble(token[4]);
-      bearing2 = Integer.parseInt(token[5]);
-      race = Double.parseDouble(token[6]);
+      try
+      {
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        return parse();
+      }
+      catch (IOException e)
+      {
+        throw new RuntimeException(e);
+      }
+    }
+
+    private ParsedChunk parse()
+    {
+      ParsedChunk result = new ParsedChunk();
+      int limit = buffer.limit();
+      position = 0;
+      while (position < limit)
+      {
+        int lineStart = position;
+        int lineEnd = lineStart;
+        while (lineEnd < limit && buffer.get(lineEnd) != '\n')
+        {
+          lineEnd++;
+        }
+        int contentEnd = lineEnd;
+        if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r')
+        {
+          contentEnd--;
+        }
+        if (contentEnd > lineStart)
+        {
+          parseLine(lineStart, contentEnd, result);
+        }
+        position = lineEnd + 1;
+      }
+      return result;
+    }
+
+    private void parseLine(int lineStart, int lineEnd, ParsedChunk result)
+    {
+      position = lineStart;
+      long time = parseDateTime(lineEnd);
+      expectTab(lineStart, lineEnd);
+      double latitude = parseDouble(lineEnd);
+      expectTab(lineStart, lineEnd);
+      double longitude = parseDouble(lineEnd);
+      if (position < lineEnd && buffer.get(position) != '\t')
+      {
+        throw malformedLine(lineStart, lineEnd);
+      }
+      result.add(time, latitude, longitude);
+    }
+
+    /**
+     * Parses a timestamp in the format yyyy.MM.dd HH:mm[:ss:fraction] as UTC.
+     */
+    private long parseDateTime(int lineEnd)
+    {
+      int lineStart = position;
+      int year = parseDigits(4, lineStart, lineEnd);
+      expect('.', lineStart, lineEnd);
+      int month = parseDigits(2, lineStart, lineEnd);
+      expect('.', lineStart, lineEnd);
+      int day = parseDigits(2, lineStart, lineEnd);
+      expect(' ', lineStart, lineEnd);
+      int hour = parseDigits(2, lineStart, lineEnd);
+      expect(':', lineStart, lineEnd);
+      int minute = parseDigits(2, lineStart, lineEnd);
+      int second = 0;
+      int millisecond = 0;
+      if (position < lineEnd && buffer.get(position) == ':')
+      {
+        position++;
+        second = parseDigits(2, lineStart, lineEnd);
+        expect(':', lineStart, lineEnd);
+        int scale = 100;
+        while (position < lineEnd && isDigit(buffer.get(position)))
+        {
+          millisecond += (buffer.get(position) - '0') * scale;
+          scale /= 10;
+          position++;
+        }
+      }
+      try
+      {
+        return TimestampParser.toEpochMillis(year, month, day, hour, minute, second, millisecond);
+      }
+      catch (IllegalArgumentException e)
+      {
+        throw malformedLine(lineStart, lineEnd);
+      }
+    }
+
+    /**
+     * Parses a decimal number with optional sign, fraction and exponent.
+     * Numbers which can be represented exactly by an integer mantissa
+     * and a power of ten are calculated directly, all others are delegated
+     * to Double.parseDouble().
+     */
+    private double parseDouble(int lineEnd)
+    {
+      int numberStart = position;
+      boolean negative = false;
+      if (position < lineEnd && (buffer.get(position) == '-' || buffer.get(position) == '+'))
+      {
+        negative = (buffer.get(position) == '-');
+        position++;
+      }
+      long mantissa = 0;
+      int significantDigits = 0;
+      int fractionDigits = 0;
+      boolean digitsFound = false;
+      boolean inFraction = false;
+      boolean exact = true;
+      while (position < lineEnd)
+      {
+        byte current = buffer.get(position);
+        if (isDigit(current))
+        {
+          digitsFound = true;
+          if (significantDigits < 18)
+          {
+            mantissa = mantissa * 10 + (current - '0');
+            if (mantissa != 0)
+            {
+              significantDigits++;
+            }
+            if (inFraction)
+            {
+              fractionDigits++;
+            }
+          }
+          else
+          {
+            exact = false;
+          }
+        }
+        else if (current == '.' && !inFraction)
+        {
+          inFraction = true;
+        }
+        else if (current == 'e' || current == 'E')
+        {
+          exact = false;
+          position++;
+          if (position < lineEnd && (buffer.get(position) == '-' || buffer.get(position) == '+'))
+          {
+            position++;
+          }
+        }
+        else
+        {
+          break;
+        }
+        position++;
+      }
+      if (!digitsFound)
+      {
+        throw malformedLine(numberStart, lineEnd);
+      }
+      if (!exact || mantissa >= MAXIMUM_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length)
+      {
+        byte[] numberBytes = new byte[position - numberStart];
+        for (int i = 0; i < numberBytes.length; i++)
+        {
+          numberBytes[i] = buffer.get(numberStart + i);
+        }
+        try
+        {
+          return Double.parseDouble(new String(numberBytes, StandardCharsets.ISO_8859_1));
+        }
+        catch (NumberFormatException e)
+        {
+          throw malformedLine(numberStart, lineEnd);
+        }
+      }
+      double result = mantissa / POWERS_OF_TEN[fractionDigits];
+      return negative ? -result : result;
+    }
+
+    private int parseDigits(int count, int lineStart, int lineEnd)
+    {
+      int result = 0;
+      for (int i = 0; i < count; i++)
+      {
+        if (position >= lineEnd || !isDigit(buffer.get(position)))
+        {
+          throw malformedLine(lineStart, lineEnd);
+        }
+        result = result * 10 + (buffer.get(position) - '0');
+        position++;
+      }
+      return result;
+    }
+
+    private void expectTab(int lineStart, int lineEnd)
+    {
+      expect('\t', lineStart, lineEnd);
+    }
+
+    private void expect(char expected, int lineStart, int lineEnd)
+    {
+      if (position >= lineEnd || buffer.get(position) != expected)
+      {
+        throw malformedLine(lineStart, lineEnd);
+      }
+      position++;
+    }
+
+    private static boolean isDigit(byte b)
+    {
+      return b >= '0' && b <= '9';
+    }
+
+    private IllegalArgumentException malformedLine(int lineStart, int lineEnd)
+    {
+      byte[] lineBytes = new byte[lineEnd - lineStart];
+      for (int i = 0; i < lineBytes.length; i++)
+      {
+        lineBytes[i] = buffer.get(lineStart + i);
+      }
+      return new IllegalArgumentException("Malformed line at byte " + (start + lineStart) + ": "
+          + new String(lineBytes, StandardCharsets.ISO_8859_1));
     }
   }
 }
@@ -0,0 +1,431 @@
+package com.github.thomasfox.sailplotter.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.exporter.SailplotFormat;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Acceleration;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Location;
+import com.github.thomasfox.sailplotter.model.MagneticField;
+import com.github.thomasfox.sailplotter.model.ManeuverType;
+import com.github.thomasfox.sailplotter.model.ManoeuverState;
+import com.github.thomasfox.sailplotter.model.PointOfSail;
+import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.TackList;
+import com.github.thomasfox.sailplotter.model.TackSeries;
+import com.github.thomasfox.sailplotter.model.TackSeriesType;
+import com.github.thomasfox.sailplotter.model.Wind;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
+import com.github.thomasfox.sailplotter.model.columns.LongColumn;
+import com.github.thomasfox.sailplotter.model.columns.TrackSums;
+import com.github.thomasfox.sailplotter.model.vector.CoordinateSystem;
+import com.github.thomasfox.sailplotter.model.vector.ThreeDimVector;
+
+/**
+ * Reads files in the binary sailplot format by memory-mapping them.
+ * The files contain the analysis results (tacks and tack series),
+ * so the data read by this importer does not need to be analyzed again.
+ *
+ * @see SailplotFormat
+ */
+public class SailplotImporter implements Importer
+{
+  private final LoadProgress loadProgress;
+
+  public SailplotImporter(LoadProgress loadProgress)
+  {
+    this.loadProgress = loadProgress;
+  }
+
+  @Override
+  public Data read(File file)
+  {
+    loadProgress.fileReadingStarted();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+    {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      Data result = read(buffer);
+      loadProgress.fileReadingFinished();
+      return result;
+    }
+    catch (IOException | RuntimeException e)
+    {
+      loadProgress.finished();
+      throw new RuntimeException("Could not read file " + file.getName(), e);
+    }
+  }
+
+  private Data read(ByteBuffer buffer) throws IOException
+  {
+    byte[] magic = new byte[SailplotFormat.MAGIC.length];
+    buffer.get(magic);
+    if (!Arrays.equals(magic, SailplotFormat.MAGIC))
+    {
+      throw new IOException("Not a binary sailplot file");
+    }
+    int version = buffer.getInt();
+    if (version > SailplotFormat.VERSION)
+    {
+      throw new IOException("Unsupported sailplot format version " + version
+          + ", the highest supported version is " + SailplotFormat.VERSION);
+    }
+    int pointCount = buffer.getInt();
+    ByteBuffer[] blocks = new ByteBuffer[SailplotFormat.BLOCK_TACK_SERIES + 1];
+    while (buffer.hasRemaining())
+    {
+      int blockType = buffer.getInt();
+      long blockLength = buffer.getLong();
+      if (blockLength < 0 || blockLength > buffer.remaining())
+      {
+        throw new IOException("Invalid length " + blockLength + " of block " + blockType);
+      }
+      ByteBuffer block = buffer.slice();
+      block.limit((int) blockLength);
+      buffer.position(buffer.position() + (int) blockLength);
+      if (blockType < 0 || blockType >= blocks.length)
+      {
+        // block written by a newer version, ignore
+        continue;
+      }
+      blocks[blockType] = block;
+    }
+
+    Metadata metadata = new Metadata();
+    if (blocks[SailplotFormat.BLOCK_METADATA] != null)
+    {
+      readMetadata(blocks[SailplotFormat.BLOCK_METADATA], metadata);
+    }
+    // the points are added first, so the values of the blocks are read directly into the columns of the data
+    Data.Builder builder = new Data.Builder(pointCount);
+    DataPoint[] points = new DataPoint[pointCount];
+    int segmentIndex = 0;
+    for (int i = 0; i < pointCount; i++)
+    {
+      if (segmentIndex < metadata.segmentStartIndices.size() && metadata.segmentStartIndices.get(segmentIndex) == i)
+      {
+        builder.startNewSegment();
+        segmentIndex++;
+      }
+      points[i] = builder.addPoint(i);
+    }
+    if (blocks[SailplotFormat.BLOCK_POINTS] != null)
+    {
+      readPoints(blocks[SailplotFormat.BLOCK_POINTS], points);
+    }
+    if (blocks[SailplotFormat.BLOCK_LOCATION] != null)
+    {
+      readLocations(blocks[SailplotFormat.BLOCK_LOCATION], points);
+    }
+    if (blocks[SailplotFormat.BLOCK_WIND] != null)
+    {
+      readWind(blocks[SailplotFormat.BLOCK_WIND], points);
+    }
+    if (blocks[SailplotFormat.BLOCK_MAGNETIC_FIELD] != null)
+    {
+      readMagneticField(blocks[SailplotFormat.BLOCK_MAGNETIC_FIELD], points);
+    }
+    if (blocks[SailplotFormat.BLOCK_ACCELERATION] != null)
+    {
+      readAcceleration(blocks[SailplotFormat.BLOCK_ACCELERATION], points);
+    }
+    Data result = builder.build();
+    result.setAverageWindBearing(metadata.averageWindBearing);
+    result.setComment(metadata.comment);
+    result.setBoatCoordinatesInDeviceCoordinates(metadata.boatCoordinatesInDeviceCoordinates);
+    result.deviceOrientation = metadata.deviceOrientation;
+    if (blocks[SailplotFormat.BLOCK_TACKS] != null)
+    {
+      result.getTackList().addAll(readTacks(
+          blocks[SailplotFormat.BLOCK_TACKS],
+          result.getPointsWithLocation(),
+          result.getColumns().getLocationProjection(),
+          result.getColumns().getTrackSums()));
+    }
+    if (blocks[SailplotFormat.BLOCK_TACK_SERIES] != null)
+    {
+      result.getTackSeriesList().addAll(readTackSeries(blocks[SailplotFormat.BLOCK_TACK_SERIES], result.getTackList()));
+    }
+    return result;
+  }
+
+  private void readMetadata(ByteBuffer block, Metadata metadata)
+  {
+    metadata.averageWindBearing = block.getDouble();
+    if (readBoolean(block))
+    {
+      byte[] commentBytes = new byte[block.getInt()];
+      block.get(commentBytes);
+      metadata.comment = new String(commentBytes, StandardCharsets.UTF_8);
+    }
+    metadata.boatCoordinatesInDeviceCoordinates = readCoordinateSystem(block);
+    metadata.deviceOrientation = readCoordinateSystem(block);
+    int segmentCount = block.getInt();
+    for (int i = 0; i < segmentCount; i++)
+    {
+      metadata.segmentStartIndices.add(block.getInt());
+    }
+  }
+
+  private void readPoints(ByteBuffer block, DataPoint[] points)
+  {
+    int[] index = new int[points.length];
+    block.asIntBuffer().get(index);
+    block.position(block.position() + 4 * points.length);
+    LongColumn time = readLongColumn(block, points.length);
+    ManoeuverState[] manoeuverStates = ManoeuverState.values();
+    for (int i = 0; i < points.length; i++)
+    {
+      points[i].setIndex(index[i]);
+      points[i].setTime(time.getOrNull(i));
+      byte manoeuverState = block.get();
+      points[i].setManoeuverState((manoeuverState == -1) ? null : manoeuverStates[manoeuverState]);
+    }
+  }
+
+  private void readLocations(ByteBuffer block, DataPoint[] points)
+  {
+    int n = points.length;
+    BitSet present = readBitmap(block, n);
+    BitSet interpolated = readBitmap(block, n);
+    DoubleColumn latitude = readDoubleColumn(block, n);
+    DoubleColumn longitude = readDoubleColumn(block, n);
+    DoubleColumn altitude = readDoubleColumn(block, n);
+    DoubleColumn velocity = readDoubleColumn(block, n);
+    DoubleColumn bearing = readDoubleColumn(block, n);
+    DoubleColumn velocityFromLatLong = readDoubleColumn(block, n);
+    DoubleColumn bearingFromLatLong = readDoubleColumn(block, n);
+    DoubleColumn velocityBearingAveragedOverDistance = readDoubleColumn(block, n);
+    LongColumn satelliteTime = readLongColumn(block, n);
+    for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1))
+    {
+      DataPoint point = points[i];
+      point.setInterpolated(interpolated.get(i));
+      point.setLatitude(latitude.getOrNull(i));
+      point.setLongitude(longitude.getOrNull(i));
+      point.setAltitude(altitude.getOrNull(i));
+      point.setVelocity(velocity.getOrNull(i));
+      point.setBearing(bearing.getOrNull(i));
+      point.setVelocityFromLatLong(velocityFromLatLong.getOrNull(i));
+      point.setBearingFromLatLong(bearingFromLatLong.getOrNull(i));
+      point.setVelocityBearingAveragedOverDistance(velocityBearingAveragedOverDistance.getOrNull(i));
+      point.setSatelliteTime(satelliteTime.getOrNull(i));
+    }
+  }
+
+  private void readWind(ByteBuffer block, DataPoint[] points)
+  {
+    int n = points.length;
+    BitSet present = readBitmap(block, n);
+    DoubleColumn direction = readDoubleColumn(block, n);
+    DoubleColumn velocity = readDoubleColumn(block, n);
+    for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1))
+    {
+      Wind wind = new Wind();
+      wind.direction = direction.getOrNull(i);
+      wind.velocity = velocity.getOrNull(i);
+      points[i].setWind(wind);
+    }
+  }
+
+  private void readMagneticField(ByteBuffer block, DataPoint[] points)
+  {
+    int n = points.length;
+    BitSet present = readBitmap(block, n);
+    DoubleColumn x = readDoubleColumn(block, n);
+    DoubleColumn y = readDoubleColumn(block, n);
+    DoubleColumn z = readDoubleColumn(block, n);
+    DoubleColumn compassBearing = readDoubleColumn(block, n);
+    for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1))
+    {
+      MagneticField magneticField = new MagneticField(x.getOrNull(i), y.getOrNull(i), z.getOrNull(i));
+      magneticField.compassBearing = compassBearing.getOrNull(i);
+      points[i].setMagneticField(magneticField);
+    }
+  }
+
+  private void readAcceleration(ByteBuffer block, DataPoint[] points)
+  {
+    int n = points.length;
+    BitSet present = readBitmap(block, n);
+    DoubleColumn x = readDoubleColumn(block, n);
+    DoubleColumn y = readDoubleColumn(block, n);
+    DoubleColumn z = readDoubleColumn(block, n);
+    DoubleColumn heel = readDoubleColumn(block, n);
+    DoubleColumn roll = readDoubleColumn(block, n);
+    for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1))
+    {
+      Acceleration acceleration = new Acceleration(x.getOrNull(i), y.getOrNull(i), z.getOrNull(i));
+      acceleration.heel = heel.getOrNull(i);
+      acceleration.roll = roll.getOrNull(i);
+      points[i].setAcceleration(acceleration);
+    }
+  }
+
+  private TackList readTacks(
+      ByteBuffer block,
+      List<DataPoint> pointsWithLocation,
+      LocationProjection projection,
+      TrackSums trackSums)
+  {
+    TackList result = new TackList();
+    PointOfSail[] pointsOfSail = PointOfSail.values();
+    ManeuverType[] maneuverTypes = ManeuverType.values();
+    int tackCount = block.getInt();
+    for (int i = 0; i < tackCount; i++)
+    {
+      Tack tack = new Tack();
+      tack.index = block.getInt();
+      tack.projection = projection;
+      tack.trackSums = trackSums;
+      int start = block.getInt();
+      int end = block.getInt();
+      int pointsWithinTackStart = block.getInt();
+      int pointsWithinTackEnd = block.getInt();
+      tack.start(pointsWithLocation.get(start), start);
+      tack.end(pointsWithLocation.get(end), end, pointsWithLocation);
+      tack.pointsWithinTack = pointsWithLocation.subList(pointsWithinTackStart, pointsWithinTackEnd);
+      tack.pointOfSail = readEnum(block, pointsOfSail);
+      tack.windDirection = readNullableDouble(block);
+      tack.maneuverTypeAtStart = readEnum(block, maneuverTypes);
+      tack.maneuverTypeAtEnd = readEnum(block, maneuverTypes);
+      tack.tackStraightLineIntersectionStart = readIntersectionPoint(block);
+      tack.tackStraightLineIntersectionEnd = readIntersectionPoint(block);
+      result.add(tack);
+    }
+    return result;
+  }
+
+  private List<TackSeries> readTackSeries(ByteBuffer block, TackList tacks)
+  {
+    List<TackSeries> result = new ArrayList<>();
+    TackSeriesType[] tackSeriesTypes = TackSeriesType.values();
+    int tackSeriesCount = block.getInt();
+    for (int i = 0; i < tackSeriesCount; i++)
+    {
+      int startTackIndex = block.getInt();
+      int endTackIndex = block.getInt();
+      TackSeries tackSeries = new TackSeries(startTackIndex, readEnum(block, tackSeriesTypes));
+      for (int tackIndex = startTackIndex; tackIndex <= endTackIndex; tackIndex++)
+      {
+        tackSeries.addTack(tacks.get(tackIndex), tackIndex);
+      }
+      result.add(tackSeries);
+    }
+    return result;
+  }
+
+  private DataPoint readIntersectionPoint(ByteBuffer block)
+  {
+    if (!readBoolean(block))
+    {
+      return null;
+    }
+    DataPoint result = new DataPoint(-1);
+    result.setTime(readNullableLong(block));
+    result.setLocation(new Location());
+    result.setLatitude(readNullableDouble(block));
+    result.setLongitude(readNullableDouble(block));
+    return result;
+  }
+
+  private CoordinateSystem readCoordinateSystem(ByteBuffer block)
+  {
+    if (!readBoolean(block))
+    {
+      return null;
+    }
+    return new CoordinateSystem(readVector(block), readVector(block), readVector(block));
+  }
+
+  private ThreeDimVector readVector(ByteBuffer block)
+  {
+    return new ThreeDimVector(block.getDouble(), block.getDouble(), block.getDouble());
+  }
+
+  private boolean readBoolean(ByteBuffer block)
+  {
+    return block.get() != 0;
+  }
+
+  private Double readNullableDouble(ByteBuffer block)
+  {
+    if (!readBoolean(block))
+    {
+      return null;
+    }
+    return block.getDouble();
+  }
+
+  private Long readNullableLong(ByteBuffer block)
+  {
+    if (!readBoolean(block))
+    {
+      return null;
+    }
+    return block.getLong();
+  }
+
+  private <T extends Enum<T>> T readEnum(ByteBuffer block, T[] values)
+  {
+    byte ordinal = block.get();
+    if (ordinal == -1)
+    {
+      return null;
+    }
+    return values[ordinal];
+  }
+
+  private BitSet readBitmap(ByteBuffer block, int n)
+  {
+    long[] words = new long[(n + 63) / 64];
+    block.asLongBuffer().get(words);
+    block.position(block.position() + 8 * words.length);
+    return BitSet.valueOf(words);
+  }
+
+  private DoubleColumn readDoubleColumn(ByteBuffer block, int n)
+  {
+    BitSet present = readBitmap(block, n);
+    double[] values = new double[n];
+    block.asDoubleBuffer().get(values);
+    block.position(block.position() + 8 * n);
+    return new DoubleColumn(values, present);
+  }
+
+  private LongColumn readLongColumn(ByteBuffer block, int n)
+  {
+    BitSet present = readBitmap(block, n);
+    long[] values = new long[n];
+    block.asLongBuffer().get(values);
+    block.position(block.position() + 8 * n);
+    return new LongColumn(values, present);
+  }
+
+  /**
+   * The contents of the metadata block, which is applied after the points are read.
+   */
+  private static final class Metadata
+  {
+    double averageWindBearing;
+
+    String comment;
+
+    CoordinateSystem boatCoordinatesInDeviceCoordinates;
+
+    CoordinateSystem deviceOrientation;
+
+    final List<Integer> segmentStartIndices = new ArrayList<>();
+  }
+}
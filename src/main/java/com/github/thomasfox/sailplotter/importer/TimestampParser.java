@@ -0,0 +1,168 @@
+package com.github.thomasfox.sailplotter.importer;
+
+/**
+ * Converts textual timestamps into milliseconds since the epoch
+ * without creating intermediate date objects.
+ */
+public final class TimestampParser
+{
+  private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+  private TimestampParser()
+  {
+  }
+
+  /**
+   * Parses an ISO 8601 timestamp, e.g. 2016-09-21T14:02:16.123Z or 2016-09-21T16:02:16+02:00.
+   * The fraction of seconds and the zone offset are optional;
+   * timestamps without offset are interpreted as UTC.
+   *
+   * @param text the timestamp to parse, not null.
+   *
+   * @return the milliseconds since the epoch.
+   *
+   * @throws IllegalArgumentException if the text is not a valid ISO 8601 timestamp.
+   */
+  public static long parseIsoDateTime(CharSequence text)
+  {
+    int length = text.length();
+    if (length < 19
+        || text.charAt(4) != '-'
+        || text.charAt(7) != '-'
+        || (text.charAt(10) != 'T' && text.charAt(10) != ' ')
+        || text.charAt(13) != ':'
+        || text.charAt(16) != ':')
+    {
+      throw new IllegalArgumentException("Cannot parse timestamp " + text);
+    }
+    int year = parseDigits(text, 0, 4);
+    int month = parseDigits(text, 5, 7);
+    int day = parseDigits(text, 8, 10);
+    int hour = parseDigits(text, 11, 13);
+    int minute = parseDigits(text, 14, 16);
+    int second = parseDigits(text, 17, 19);
+    int position = 19;
+    int millisecond = 0;
+    if (position < length && text.charAt(position) == '.')
+    {
+      position++;
+      int fractionStart = position;
+      int scale = 100;
+      while (position < length && isDigit(text.charAt(position)))
+      {
+        millisecond += (text.charAt(position) - '0') * scale;
+        scale /= 10;
+        position++;
+      }
+      if (position == fractionStart)
+      {
+        throw new IllegalArgumentException("Cannot parse timestamp " + text);
+      }
+    }
+    long offsetMillis = 0;
+    if (position < length)
+    {
+      char zoneStart = text.charAt(position);
+      if (zoneStart == 'Z' && position == length - 1)
+      {
+        offsetMillis = 0;
+      }
+      else if ((zoneStart == '+' || zoneStart == '-') && position + 3 <= length)
+      {
+        int offsetHours = parseDigits(text, position + 1, position + 3);
+        int offsetMinutes = 0;
+        int minutesStart = position + 3;
+        if (minutesStart < length && text.charAt(minutesStart) == ':')
+        {
+          minutesStart++;
+        }
+        if (minutesStart + 2 == length)
+        {
+          offsetMinutes = parseDigits(text, minutesStart, minutesStart + 2);
+        }
+        else if (minutesStart != length)
+        {
+          throw new IllegalArgumentException("Cannot parse timestamp " + text);
+        }
+        offsetMillis = (offsetHours * 60L + offsetMinutes) * 60_000L;
+        if (zoneStart == '-')
+        {
+          offsetMillis = -offsetMillis;
+        }
+      }
+      else
+      {
+        throw new IllegalArgumentException("Cannot parse timestamp " + text);
+      }
+    }
+    return toEpochMillis(year, month, day, hour, minute, second, millisecond) - offsetMillis;
+  }
+
+  /**
+   * Calculates the milliseconds since the epoch for a date and time in UTC.
+   *
+   * @param year the year.
+   * @param month the month, 1 to 12.
+   * @param day the day of month, 1 to 31.
+   * @param hour the hour of day, 0 to 23.
+   * @param minute the minute of hour, 0 to 59.
+   * @param second the second of minute, 0 to 59.
+   * @param millisecond the millisecond of second, 0 to 999.
+   *
+   * @return the milliseconds since the epoch.
+   *
+   * @throws IllegalArgumentException if one of the fields is out of range.
+   */
+  public static long toEpochMillis(
+      int year,
+      int month,
+      int day,
+      int hour,
+      int minute,
+      int second,
+      int millisecond)
+  {
+    if (month < 1 || month > 12 || day < 1 || day > 31 || hour > 23 || minute > 59 || second > 60
+        || millisecond > 999)
+    {
+      throw new IllegalArgumentException("Invalid date " + year + "-" + month + "-" + day
+          + " " + hour + ":" + minute + ":" + second + "." + millisecond);
+    }
+    return daysSinceEpoch(year, month, day) * MILLIS_PER_DAY
+        + ((hour * 60L + minute) * 60L + second) * 1000L
+        + millisecond;
+  }
+
+  /**
+   * Calculates the days since 1970-01-01 in the proleptic gregorian calendar.
+   */
+  private static long daysSinceEpoch(int year, int month, int day)
+  {
+    long y = (month <= 2) ? year - 1 : year;
+    long era = Math.floorDiv(y, 400);
+    long yearOfEra = y - era * 400;
+    long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+
+  private static int parseDigits(CharSequence text, int start, int end)
+  {
+    int result = 0;
+    for (int i = start; i < end; i++)
+    {
+      char c = text.charAt(i);
+      if (!isDigit(c))
+      {
+        throw new IllegalArgumentException("Cannot parse timestamp " + text);
+      }
+      result = result * 10 + (c - '0');
+    }
+    return result;
+  }
+
+  private static boolean isDigit(char c)
+  {
+    return c >= '0' && c <= '9';
+  }
+}
@@ -12,7 +12,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
 import com.github.thomasfox.sailplotter.model.Data;
 import com.github.thomasfox.sailplotter.model.DataPoint;
-import com.github.thomasfox.sailplotter.model.Location;
 
 public class ViewRangerImporter implements Importer
 {
@@ -28,20 +27,18 @@ public class ViewRangerImporter implements Importer
   @Override
   public Data read(File file)
   {
-    Data result = new Data();
     ViewRangerData rawData = readFileInternal(file);
+    Data.Builder result = new Data.Builder(rawData.points.size());
     int index = 0;
     for (ViewRangerPoint rawPoint : rawData.points)
     {
-      DataPoint dataPoint = new DataPoint(index);
-      dataPoint.location = new Location();
-      dataPoint.location.latitude = rawPoint.lat / 180d * Math.PI;
-      dataPoint.location.longitude = rawPoint.lon / 180d * Math.PI;
-      dataPoint.time = rawPoint.time;
-      result.add(dataPoint);
+      DataPoint dataPoint = result.addPoint(index);
+      dataPoint.setLatitude(rawPoint.lat / 180d * Math.PI);
+      dataPoint.setLongitude(rawPoint.lon / 180d * Math.PI);
+      dataPoint.setTime(rawPoint.time);
       index++;
     }
-    return result;
+    return result.build();
   }
 
   public ViewRangerData readFileInternal(File file)
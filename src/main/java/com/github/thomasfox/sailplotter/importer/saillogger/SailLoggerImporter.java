@@ -3,19 +3,31 @@ package com.github.thomasfox.sailplotter.importer.saillogger;
 import java.io.File;
 import java.io.IOException;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.github.thomasfox.sailplotter.Constants;
 import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
 import com.github.thomasfox.sailplotter.importer.Importer;
 import com.github.thomasfox.sailplotter.model.Acceleration;
 import com.github.thomasfox.sailplotter.model.Data;
 import com.github.thomasfox.sailplotter.model.DataPoint;
-import com.github.thomasfox.sailplotter.model.Location;
 import com.github.thomasfox.sailplotter.model.MagneticField;
 
+/**
+ * Reads saillog files.
+ * The file is streamed and each track point is converted into a DataPoint while reading,
+ * so the raw track is never held in memory completely.
+ */
 public class SailLoggerImporter implements Importer
 {
-  private final ObjectMapper mapper = new ObjectMapper();
+  /** Number of track points after which the read progress is reported. */
+  private static final int PROGRESS_REPORT_INTERVAL = 4096;
+
+  /** Typical size of a track point in a saillog file, used to estimate the number of points. */
+  private static final int ESTIMATED_BYTES_PER_POINT = 80;
+
+  private final JsonFactory jsonFactory = new JsonFactory();
 
   private final LoadProgress loadProgress;
 
@@ -27,55 +39,162 @@ public class SailLoggerImporter implements Importer
   @Override
   public Data read(File file)
   {
-    Data result = new Data();
-    SailLoggerData rawData = readFileInternal(file);
-    int index = 0;
-    for (SailLoggerTrackPoint rawPoint : rawData.track)
+    long fileSize = file.length();
+    Data.Builder result = new Data.Builder((int) Math.min(fileSize / ESTIMATED_BYTES_PER_POINT, Integer.MAX_VALUE));
+    try (JsonParser parser = jsonFactory.createParser(file))
     {
-      if (!rawPoint.hasGpsData() && !rawPoint.hasCompassData() && !rawPoint.hasAccelerationData())
+      loadProgress.fileReadingStarted();
+      expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+      while (parser.nextToken() == JsonToken.FIELD_NAME)
       {
-        continue;
+        String fieldName = parser.getCurrentName();
+        JsonToken valueToken = parser.nextToken();
+        if ("track".equals(fieldName) && valueToken == JsonToken.START_ARRAY)
+        {
+          readTrack(parser, result, fileSize);
+        }
+        else
+        {
+          parser.skipChildren();
+        }
       }
-      DataPoint dataPoint = new DataPoint(index);
-      if (rawPoint.hasGpsData())
+      loadProgress.fileReadingFinished();
+      return result.build();
+    }
+    catch (IOException e)
+    {
+      loadProgress.finished();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void readTrack(JsonParser parser, Data.Builder result, long fileSize) throws IOException
+  {
+    SailLoggerTrackPoint rawPoint = new SailLoggerTrackPoint();
+    int index = 0;
+    int pointsRead = 0;
+    while (parser.nextToken() == JsonToken.START_OBJECT)
+    {
+      readTrackPoint(parser, rawPoint);
+      pointsRead++;
+      if (pointsRead % PROGRESS_REPORT_INTERVAL == 0)
       {
-        dataPoint.location = new Location();
-        dataPoint.location.latitude = rawPoint.locLat / 180d * Math.PI;
-        dataPoint.location.longitude = rawPoint.locLong / 180d * Math.PI;
-        dataPoint.location.velocity = rawPoint.locVel / Constants.NAUTICAL_MILE * 3600d;
-        dataPoint.location.bearing = rawPoint.locBear / 180d * Math.PI;
-        dataPoint.location.satelliteTime = rawPoint.locT;
-        dataPoint.time = rawPoint.locDevT;
+        loadProgress.fileReadingProgress(parser.getCurrentLocation().getByteOffset(), fileSize);
       }
-      if (rawPoint.hasCompassData())
+      if (!rawPoint.hasGpsData() && !rawPoint.hasCompassData() && !rawPoint.hasAccelerationData())
       {
-        dataPoint.magneticField = new MagneticField(rawPoint.magX, rawPoint.magY, rawPoint.magZ);
-        dataPoint.time = rawPoint.magT;
+        continue;
       }
-      if (rawPoint.hasAccelerationData())
+      setValues(result.addPoint(index), rawPoint);
+      index++;
+    }
+    expect(parser.getCurrentToken(), JsonToken.END_ARRAY, parser);
+  }
+
+  /**
+   * Reads the fields of a track point object into a reusable track point.
+   * The parser must be positioned at the start of the object;
+   * afterwards, it is positioned at the end of the object.
+   *
+   * @param parser the parser to read from.
+   * @param rawPoint the track point to fill, fields not contained in the object are reset.
+   *
+   * @throws IOException if reading fails.
+   */
+  private void readTrackPoint(JsonParser parser, SailLoggerTrackPoint rawPoint) throws IOException
+  {
+    rawPoint.clear();
+    while (parser.nextToken() == JsonToken.FIELD_NAME)
+    {
+      String fieldName = parser.getCurrentName();
+      JsonToken valueToken = parser.nextToken();
+      boolean isNull = (valueToken == JsonToken.VALUE_NULL);
+      switch (fieldName)
       {
-        dataPoint.acceleration = new Acceleration(rawPoint.accX, rawPoint.accY, rawPoint.accZ);
-        dataPoint.time = rawPoint.accT;
+        case "locT":
+          rawPoint.locT = isNull ? null : parser.getLongValue();
+          break;
+        case "locAcc":
+          rawPoint.locAcc = isNull ? null : parser.getFloatValue();
+          break;
+        case "locLat":
+          rawPoint.locLat = isNull ? null : parser.getDoubleValue();
+          break;
+        case "locLong":
+          rawPoint.locLong = isNull ? null : parser.getDoubleValue();
+          break;
+        case "locBear":
+          rawPoint.locBear = isNull ? null : parser.getFloatValue();
+          break;
+        case "locVel":
+          rawPoint.locVel = isNull ? null : parser.getFloatValue();
+          break;
+        case "locAlt":
+          rawPoint.locAlt = isNull ? 0f : parser.getFloatValue();
+          break;
+        case "locDevT":
+          rawPoint.locDevT = isNull ? null : parser.getLongValue();
+          break;
+        case "magT":
+          rawPoint.magT = isNull ? null : parser.getLongValue();
+          break;
+        case "magX":
+          rawPoint.magX = isNull ? null : parser.getDoubleValue();
+          break;
+        case "magY":
+          rawPoint.magY = isNull ? null : parser.getDoubleValue();
+          break;
+        case "magZ":
+          rawPoint.magZ = isNull ? null : parser.getDoubleValue();
+          break;
+        case "accT":
+          rawPoint.accT = isNull ? null : parser.getLongValue();
+          break;
+        case "accX":
+          rawPoint.accX = isNull ? null : parser.getDoubleValue();
+          break;
+        case "accY":
+          rawPoint.accY = isNull ? null : parser.getDoubleValue();
+          break;
+        case "accZ":
+          rawPoint.accZ = isNull ? null : parser.getDoubleValue();
+          break;
+        default:
+          parser.skipChildren();
       }
-      result.add(dataPoint);
-      index++;
     }
-    return result;
+    expect(parser.getCurrentToken(), JsonToken.END_OBJECT, parser);
   }
 
-  public SailLoggerData readFileInternal(File file)
+  private void setValues(DataPoint dataPoint, SailLoggerTrackPoint rawPoint)
   {
-    try
+    if (rawPoint.hasGpsData())
     {
-      loadProgress.fileReadingStarted();
-      SailLoggerData readValue = mapper.readValue(file, SailLoggerData.class);
-      loadProgress.fileReadingFinished();
-      return readValue;
+      dataPoint.setLatitude(rawPoint.locLat / 180d * Math.PI);
+      dataPoint.setLongitude(rawPoint.locLong / 180d * Math.PI);
+      dataPoint.setVelocity(rawPoint.locVel / Constants.NAUTICAL_MILE * 3600d);
+      dataPoint.setBearing(rawPoint.locBear / 180d * Math.PI);
+      dataPoint.setSatelliteTime(rawPoint.locT);
+      dataPoint.setTime(rawPoint.locDevT);
     }
-    catch (IOException e)
+    if (rawPoint.hasCompassData())
     {
-      loadProgress.finished();
-      throw new RuntimeException(e);
+      dataPoint.setMagneticField(new MagneticField(rawPoint.magX, rawPoint.magY, rawPoint.magZ));
+      dataPoint.setTime(rawPoint.magT);
+    }
+    if (rawPoint.hasAccelerationData())
+    {
+      dataPoint.setAcceleration(new Acceleration(rawPoint.accX, rawPoint.accY, rawPoint.accZ));
+      dataPoint.setTime(rawPoint.accT);
+    }
+  }
+
+  private void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException
+  {
+    if (actual != expected)
+    {
+      throw new IOException("Malformed saillog file: expected " + expected + " but got " + actual
+          + " at " + parser.getCurrentLocation());
     }
   }
 }
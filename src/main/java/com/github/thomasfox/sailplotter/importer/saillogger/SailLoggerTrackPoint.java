@@ -19,6 +19,29 @@ public final class SailLoggerTrackPoint
   public Double accY;
   public Double accZ;
 
+  /**
+   * Resets all fields to their initial values, so that the object can be reused.
+   */
+  public void clear()
+  {
+    locT = null;
+    locAcc = null;
+    locLat = null;
+    locLong = null;
+    locBear = null;
+    locVel = null;
+    locAlt = 0f;
+    locDevT = null;
+    magT = null;
+    magX = null;
+    magY = null;
+    magZ = null;
+    accT = null;
+    accX = null;
+    accY = null;
+    accZ = null;
+  }
+
   public boolean hasGpsData()
   {
     return (locT != null);
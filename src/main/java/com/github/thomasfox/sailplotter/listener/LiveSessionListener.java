@@ -0,0 +1,36 @@
+package com.github.thomasfox.sailplotter.listener;
+
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * Is notified about the progress of a live session, e.g. to measure its latency.
+ * The methods should return quickly because they are called in the processing path.
+ */
+public interface LiveSessionListener
+{
+  /**
+   * Called in the input thread after a received point has been added to the analysis.
+   *
+   * @param point the added point, not null.
+   */
+  public default void pointAnalyzed(DataPoint point)
+  {
+  }
+
+  /**
+   * Called on the publish executor after a snapshot has been passed to the snapshot consumer.
+   *
+   * @param snapshot the consumed snapshot, not null.
+   */
+  public default void snapshotConsumed(Data snapshot)
+  {
+  }
+
+  /**
+   * Called on the publish executor after the last snapshot of the session has been consumed.
+   */
+  public default void sessionEnded()
+  {
+  }
+}
@@ -0,0 +1,37 @@
+package com.github.thomasfox.sailplotter.listener;
+
+import com.github.thomasfox.sailplotter.model.Tack;
+
+/**
+ * Receives the tacks found by a tack detector while the points of a track are processed.
+ * A tack is opened, may then be revised any number of times and is finally closed;
+ * after it is closed, it does not change any more.
+ * Tacks are closed in the order of their index.
+ */
+public interface TackListener
+{
+  /**
+   * Called when a new tack has been started. Its end is not known yet.
+   *
+   * @param tack the new tack, not null.
+   */
+  default void tackOpened(Tack tack)
+  {
+  }
+
+  /**
+   * Called when the start or end of a tack which is not closed yet has changed.
+   *
+   * @param tack the changed tack, not null.
+   */
+  default void tackRevised(Tack tack)
+  {
+  }
+
+  /**
+   * Called when a tack is final, including the maneuvers and intersection points at its start and end.
+   *
+   * @param tack the final tack, not null.
+   */
+  void tackClosed(Tack tack);
+}
@@ -1,8 +1,32 @@
 package com.github.thomasfox.sailplotter.listener;
 
+import java.util.function.Supplier;
+
 import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeEvent;
 
 public interface ZoomChangeListener
 {
   void zoomChanged(ZoomChangeEvent e);
+
+  /**
+   * Prepares a zoom change in a background thread.
+   * This method is called on the event dispatch thread and captures the state
+   * which the preparation needs, e.g. the data and the size of the panel.
+   * The returned calculation is run in a background thread.
+   * It should do the expensive calculations for the new zoom window
+   * using only the captured state, without changing any state
+   * which is visible to the event dispatch thread,
+   * and return an action which shows the calculated results.
+   * The default implementation does all work in the returned action.
+   *
+   * @param e the zoom change to prepare, not null.
+   *
+   * @return the calculation which returns the action which applies the zoom change
+   *         on the event dispatch thread, not null.
+   */
+  default Supplier<Runnable> prepareZoomChange(ZoomChangeEvent e)
+  {
+    Runnable applyZoomChange = () -> zoomChanged(e);
+    return () -> applyZoomChange;
+  }
 }
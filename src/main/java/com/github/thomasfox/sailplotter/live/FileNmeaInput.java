@@ -0,0 +1,62 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Reads NMEA sentences from a file which is still being written, e.g. a log of a NMEA logger.
+ * The file is read from the start; at its end, the input waits for more data to be appended.
+ * If the file becomes shorter than what was already read, it is read again from the start.
+ * The input does not end until it is closed.
+ */
+public class FileNmeaInput extends NmeaInput
+{
+  /** How long to wait for more data at the end of the file. */
+  static final long POLL_INTERVAL_MILLIS = 50;
+
+  private final RandomAccessFile file;
+
+  /**
+   * Opens the file.
+   *
+   * @param file the file to read, not null.
+   *
+   * @throws IOException if the file cannot be opened.
+   */
+  public FileNmeaInput(File file) throws IOException
+  {
+    this.file = new RandomAccessFile(file, "r");
+  }
+
+  @Override
+  protected int read(byte[] buffer) throws IOException
+  {
+    int byteCount = file.read(buffer);
+    if (byteCount > 0)
+    {
+      return byteCount;
+    }
+    if (file.length() < file.getFilePointer())
+    {
+      file.seek(0);
+      return 0;
+    }
+    try
+    {
+      Thread.sleep(POLL_INTERVAL_MILLIS);
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      return -1;
+    }
+    return 0;
+  }
+
+  @Override
+  protected void release() throws IOException
+  {
+    file.close();
+  }
+}
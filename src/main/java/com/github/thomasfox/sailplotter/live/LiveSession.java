@@ -0,0 +1,187 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.github.thomasfox.sailplotter.analyze.IncrementalAnalyzer;
+import com.github.thomasfox.sailplotter.listener.LiveSessionListener;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * Receives data points live, e.g. from a NMEA input, analyzes each point when it is received
+ * and publishes snapshots of the analyzed data to the views.
+ *
+ * The input is read, parsed and analyzed on a separate thread.
+ * Snapshots are published at most once per update interval, and only if the previous snapshot
+ * has been consumed, so a slow user interface does not slow down or block the analysis.
+ * The received points are kept in a bounded data object, so the memory used
+ * stays constant however long the session runs.
+ */
+public class LiveSession implements Closeable
+{
+  /** The default maximum number of points, 3 hours at 10 points per second. */
+  public static final int DEFAULT_CAPACITY = 3 * 60 * 60 * 10;
+
+  public static final long DEFAULT_UPDATE_INTERVAL_MILLIS = 1000L;
+
+  private final PointSource input;
+
+  private final IncrementalAnalyzer analyzer;
+
+  private final long updateIntervalNanos;
+
+  private final Executor publishExecutor;
+
+  private final Consumer<Data> snapshotConsumer;
+
+  private final Consumer<Throwable> errorConsumer;
+
+  private final AtomicBoolean publicationPending = new AtomicBoolean();
+
+  private long lastPublicationNanos;
+
+  /** The wind direction which was set last, or NaN. */
+  private volatile double windBearing = Double.NaN;
+
+  /** The wind direction which was passed to the analyzer last, or NaN. */
+  private double analyzedWindBearing = Double.NaN;
+
+  private volatile LiveSessionListener listener = new LiveSessionListener()
+  {
+  };
+
+  private Thread thread;
+
+  /**
+   * Constructor.
+   *
+   * @param input the source to read the points from, not null.
+   * @param capacity the maximum number of points to keep.
+   * @param updateIntervalMillis the minimum time between two published snapshots.
+   * @param publishExecutor the executor to publish the snapshots and errors on,
+   *        e.g. SwingUtilities::invokeLater, not null.
+   * @param snapshotConsumer receives the snapshots, not null.
+   * @param errorConsumer receives the error if reading the input fails, not null.
+   */
+  public LiveSession(
+      PointSource input,
+      int capacity,
+      long updateIntervalMillis,
+      Executor publishExecutor,
+      Consumer<Data> snapshotConsumer,
+      Consumer<Throwable> errorConsumer)
+  {
+    this.input = input;
+    this.analyzer = new IncrementalAnalyzer(Data.bounded(capacity));
+    this.updateIntervalNanos = updateIntervalMillis * 1_000_000L;
+    this.publishExecutor = publishExecutor;
+    this.snapshotConsumer = snapshotConsumer;
+    this.errorConsumer = errorConsumer;
+  }
+
+  /**
+   * Sets the listener which is notified about the progress of the session.
+   * Must be called before the session is started.
+   *
+   * @param listener the listener, not null.
+   */
+  public void setListener(LiveSessionListener listener)
+  {
+    this.listener = listener;
+  }
+
+  /**
+   * Starts reading the input in a new thread.
+   */
+  public void start()
+  {
+    thread = new Thread(this::run, "live input");
+    thread.setDaemon(true);
+    lastPublicationNanos = System.nanoTime();
+    thread.start();
+  }
+
+  /**
+   * Waits until the input has ended or has been closed and the last snapshot has been published.
+   *
+   * @throws InterruptedException if the current thread was interrupted while waiting.
+   */
+  public void join() throws InterruptedException
+  {
+    thread.join();
+  }
+
+  /**
+   * Sets the wind direction for the points received from now on.
+   * Can be called from any thread.
+   *
+   * @param windBearing the direction in arcs where the wind comes from.
+   */
+  public void setWindBearing(double windBearing)
+  {
+    this.windBearing = windBearing;
+  }
+
+  /**
+   * Stops reading the input. The last snapshot is still published.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    input.close();
+  }
+
+  private void run()
+  {
+    try
+    {
+      input.readPoints(this::pointReceived);
+    }
+    catch (IOException | RuntimeException e)
+    {
+      publishExecutor.execute(() -> errorConsumer.accept(e));
+    }
+    analyzer.finish();
+    Data snapshot = analyzer.createSnapshot();
+    publishExecutor.execute(() ->
+    {
+      snapshotConsumer.accept(snapshot);
+      listener.snapshotConsumed(snapshot);
+      listener.sessionEnded();
+    });
+  }
+
+  private void pointReceived(DataPoint point)
+  {
+    double currentWindBearing = windBearing;
+    if (!Double.isNaN(currentWindBearing) && currentWindBearing != analyzedWindBearing)
+    {
+      analyzer.setWindBearing(currentWindBearing);
+      analyzedWindBearing = currentWindBearing;
+    }
+    analyzer.add(point);
+    listener.pointAnalyzed(point);
+    long now = System.nanoTime();
+    if (now - lastPublicationNanos >= updateIntervalNanos && publicationPending.compareAndSet(false, true))
+    {
+      lastPublicationNanos = now;
+      Data snapshot = analyzer.createSnapshot();
+      publishExecutor.execute(() ->
+      {
+        try
+        {
+          snapshotConsumer.accept(snapshot);
+          listener.snapshotConsumed(snapshot);
+        }
+        finally
+        {
+          publicationPending.set(false);
+        }
+      });
+    }
+  }
+}
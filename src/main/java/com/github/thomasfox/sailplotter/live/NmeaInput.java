@@ -0,0 +1,186 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * A source of NMEA 0183 sentences which are received live.
+ * The bytes are read into a buffer which is allocated once and split into lines there,
+ * so reading creates no garbage.
+ */
+public abstract class NmeaInput implements PointSource
+{
+  /** The default TCP and UDP port for NMEA 0183 data. */
+  public static final int DEFAULT_PORT = 10110;
+
+  protected static final int BUFFER_SIZE = 8192;
+
+  /** NMEA sentences have at most 82 characters, longer lines are not NMEA sentences and are skipped. */
+  private static final int MAX_LINE_LENGTH = 256;
+
+  private final byte[] readBuffer = new byte[BUFFER_SIZE];
+
+  private final byte[] lineBuffer = new byte[MAX_LINE_LENGTH];
+
+  private int lineLength;
+
+  private boolean lineTooLong;
+
+  private volatile boolean closed;
+
+  /**
+   * Opens an input from an address.
+   *
+   * @param address tcp://host:port to connect to a TCP server,
+   *        udp://port to receive UDP datagrams on a local port,
+   *        or the path of a file which is read while it grows, not null.
+   *        The port can be omitted, then DEFAULT_PORT is used.
+   *
+   * @return the opened input, not null.
+   *
+   * @throws IOException if the input cannot be opened.
+   * @throws IllegalArgumentException if the address is malformed.
+   */
+  public static NmeaInput open(String address) throws IOException
+  {
+    if (address.startsWith("tcp://"))
+    {
+      String hostAndPort = address.substring("tcp://".length());
+      int colonIndex = hostAndPort.lastIndexOf(':');
+      if (colonIndex == -1)
+      {
+        return new TcpNmeaInput(hostAndPort, DEFAULT_PORT);
+      }
+      return new TcpNmeaInput(hostAndPort.substring(0, colonIndex), parsePort(hostAndPort.substring(colonIndex + 1)));
+    }
+    if (address.startsWith("udp://"))
+    {
+      String port = address.substring("udp://".length());
+      if (port.startsWith(":"))
+      {
+        port = port.substring(1);
+      }
+      return new UdpNmeaInput(port.isEmpty() ? DEFAULT_PORT : parsePort(port));
+    }
+    return new FileNmeaInput(new File(address));
+  }
+
+  private static int parsePort(String port)
+  {
+    try
+    {
+      return Integer.parseInt(port);
+    }
+    catch (NumberFormatException e)
+    {
+      throw new IllegalArgumentException("Invalid port " + port, e);
+    }
+  }
+
+  /**
+   * Reads the next bytes of the input, blocking until bytes are available.
+   *
+   * @param buffer the buffer to read to, not null.
+   *
+   * @return the number of bytes read, 0 if no bytes were available for some time, or -1 at the end of the input.
+   *
+   * @throws IOException if reading fails.
+   */
+  protected abstract int read(byte[] buffer) throws IOException;
+
+  /**
+   * Releases the resources of the input, which makes blocked reads return.
+   *
+   * @throws IOException if releasing fails.
+   */
+  protected abstract void release() throws IOException;
+
+  /**
+   * Parses the sentences of the input and passes the fixes to the consumer.
+   *
+   * @param pointConsumer receives a data point for each fix, not null.
+   *
+   * @throws IOException if reading fails before the input is closed.
+   */
+  @Override
+  public void readPoints(Consumer<DataPoint> pointConsumer) throws IOException
+  {
+    readSentences(new NmeaParser(pointConsumer));
+  }
+
+  /**
+   * Reads sentences and passes them to the parser until the end of the input is reached
+   * or the input is closed. At the end, the current fix of the parser is flushed.
+   *
+   * @param parser the parser to pass the sentences to, not null.
+   *
+   * @throws IOException if reading fails before the input is closed.
+   */
+  public void readSentences(NmeaParser parser) throws IOException
+  {
+    try
+    {
+      while (!closed)
+      {
+        int byteCount = read(readBuffer);
+        if (byteCount < 0)
+        {
+          break;
+        }
+        for (int i = 0; i < byteCount; i++)
+        {
+          byte character = readBuffer[i];
+          if (character == '\n' || character == '\r')
+          {
+            endLine(parser);
+          }
+          else if (lineLength < MAX_LINE_LENGTH)
+          {
+            lineBuffer[lineLength++] = character;
+          }
+          else
+          {
+            lineTooLong = true;
+          }
+        }
+      }
+    }
+    catch (IOException e)
+    {
+      if (!closed)
+      {
+        throw e;
+      }
+    }
+    endLine(parser);
+    parser.flush();
+  }
+
+  private void endLine(NmeaParser parser)
+  {
+    if (lineLength > 0 && !lineTooLong)
+    {
+      parser.parse(lineBuffer, 0, lineLength);
+    }
+    lineLength = 0;
+    lineTooLong = false;
+  }
+
+  public boolean isClosed()
+  {
+    return closed;
+  }
+
+  /**
+   * Closes the input. A running readSentences() call returns soon afterwards.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    closed = true;
+    release();
+  }
+}
@@ -0,0 +1,498 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Location;
+import com.github.thomasfox.sailplotter.model.MagneticField;
+
+/**
+ * Parses NMEA 0183 sentences and combines the sentences of each GPS fix into a data point.
+ *
+ * The position and time are read from RMC and GGA sentences, the date from RMC sentences,
+ * the speed and course over ground from RMC and VTG sentences, and the heading from HDG sentences.
+ * All sentences with the same time, and the VTG and HDG sentences following them, belong to one fix.
+ * A fix is passed on as data point when a sentence with another time is received,
+ * or when flush() is called. Fixes without valid position, and fixes which are not later
+ * than the previous fix, are discarded.
+ * Sentences with a wrong checksum are discarded; sentences without checksum are accepted.
+ *
+ * The sentences are parsed from byte arrays, and the state is kept in primitive fields,
+ * so parsing creates no garbage except for the data points themselves.
+ * The parser is not thread safe.
+ */
+public class NmeaParser
+{
+  private static final int MAX_FIELDS = 32;
+
+  private static final long MILLIS_PER_DAY = 24L * 60L * 60L * 1000L;
+
+  private final Consumer<DataPoint> pointConsumer;
+
+  private final int[] fieldStart = new int[MAX_FIELDS];
+
+  private final int[] fieldEnd = new int[MAX_FIELDS];
+
+  private int fieldCount;
+
+  /** The time of day of the fix which is currently collected, in milliseconds, or -1 if no fix is collected. */
+  private long fixTimeOfDay = -1;
+
+  private boolean fixHasPosition;
+
+  private double fixLatitude;
+
+  private double fixLongitude;
+
+  private double fixAltitude = Double.NaN;
+
+  private double fixVelocity = Double.NaN;
+
+  private double fixBearing = Double.NaN;
+
+  private double fixHeading = Double.NaN;
+
+  /** The date of the last RMC sentence as ddmmyy, or -1 if no date was received yet. */
+  private int date = -1;
+
+  /** The start of the day of the last received date in milliseconds since 1970, or -1. */
+  private long startOfDay = -1;
+
+  private long lastPointTime = Long.MIN_VALUE;
+
+  private int pointCount;
+
+  private int discardedSentenceCount;
+
+  /**
+   * Constructor.
+   *
+   * @param pointConsumer receives the data points of the parsed fixes, not null.
+   */
+  public NmeaParser(Consumer<DataPoint> pointConsumer)
+  {
+    this.pointConsumer = pointConsumer;
+  }
+
+  /**
+   * Parses one sentence.
+   *
+   * @param buffer the buffer containing the sentence, not null.
+   * @param offset the position of the leading $ of the sentence in the buffer.
+   * @param length the length of the sentence without line terminator.
+   *
+   * @return true if the sentence was used, false if it was discarded or is of an unknown type.
+   */
+  public boolean parse(byte[] buffer, int offset, int length)
+  {
+    if (!split(buffer, offset, length))
+    {
+      discardedSentenceCount++;
+      return false;
+    }
+    // the first field is the talker id followed by the sentence type, e.g. GPRMC
+    if (fieldEnd[0] - fieldStart[0] != 5)
+    {
+      return false;
+    }
+    int type = fieldStart[0] + 2;
+    boolean used;
+    if (buffer[type] == 'R' && buffer[type + 1] == 'M' && buffer[type + 2] == 'C')
+    {
+      used = parseRmc(buffer);
+    }
+    else if (buffer[type] == 'G' && buffer[type + 1] == 'G' && buffer[type + 2] == 'A')
+    {
+      used = parseGga(buffer);
+    }
+    else if (buffer[type] == 'V' && buffer[type + 1] == 'T' && buffer[type + 2] == 'G')
+    {
+      used = parseVtg(buffer);
+    }
+    else if (buffer[type] == 'H' && buffer[type + 1] == 'D' && buffer[type + 2] == 'G')
+    {
+      used = parseHdg(buffer);
+    }
+    else
+    {
+      return false;
+    }
+    if (!used)
+    {
+      discardedSentenceCount++;
+    }
+    return used;
+  }
+
+  /**
+   * Passes on the fix which is currently collected, if any.
+   * Should be called when no more sentences of the current fix are expected,
+   * e.g. at the end of the input.
+   */
+  public void flush()
+  {
+    if (fixTimeOfDay < 0)
+    {
+      return;
+    }
+    long time = getTime(fixTimeOfDay);
+    if (fixHasPosition && time > lastPointTime)
+    {
+      DataPoint point = new DataPoint(pointCount++);
+      point.setTime(time);
+      point.setLocation(new Location());
+      point.setLatitude(fixLatitude / 180d * Math.PI);
+      point.setLongitude(fixLongitude / 180d * Math.PI);
+      point.setSatelliteTime(time);
+      if (!Double.isNaN(fixAltitude))
+      {
+        point.setAltitude(fixAltitude);
+      }
+      if (!Double.isNaN(fixVelocity))
+      {
+        point.setVelocity(fixVelocity);
+      }
+      if (!Double.isNaN(fixBearing))
+      {
+        point.setBearing(fixBearing / 180d * Math.PI);
+      }
+      if (!Double.isNaN(fixHeading))
+      {
+        // only the heading is known, not the field itself
+        point.setMagneticField(new MagneticField(Double.NaN, Double.NaN, Double.NaN));
+        point.setCompassBearing(fixHeading / 180d * Math.PI);
+      }
+      lastPointTime = time;
+      pointConsumer.accept(point);
+    }
+    fixTimeOfDay = -1;
+    fixHasPosition = false;
+    fixAltitude = Double.NaN;
+    fixVelocity = Double.NaN;
+    fixBearing = Double.NaN;
+    fixHeading = Double.NaN;
+  }
+
+  /**
+   * Returns the number of data points passed on so far.
+   *
+   * @return the number of data points.
+   */
+  public int getPointCount()
+  {
+    return pointCount;
+  }
+
+  /**
+   * Returns the number of sentences of a known type which were discarded
+   * because they were malformed, had a wrong checksum or contained no valid fix.
+   *
+   * @return the number of discarded sentences.
+   */
+  public int getDiscardedSentenceCount()
+  {
+    return discardedSentenceCount;
+  }
+
+  private boolean parseRmc(byte[] buffer)
+  {
+    if (fieldCount < 10 || !isChar(buffer, 2, 'A'))
+    {
+      return false;
+    }
+    long timeOfDay = parseTimeOfDay(buffer, 1);
+    int rmcDate = (int) parseUnsigned(buffer, 9);
+    if (timeOfDay < 0 || rmcDate < 0)
+    {
+      return false;
+    }
+    startFix(timeOfDay);
+    if (rmcDate != date)
+    {
+      try
+      {
+        int twoDigitYear = rmcDate % 100;
+        int year = twoDigitYear < 80 ? 2000 + twoDigitYear : 1900 + twoDigitYear;
+        startOfDay = LocalDate.of(year, rmcDate / 100 % 100, rmcDate / 10000)
+            .atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        date = rmcDate;
+      }
+      catch (DateTimeException e)
+      {
+        return false;
+      }
+    }
+    if (!parsePosition(buffer, 3))
+    {
+      return false;
+    }
+    fixVelocity = parseDecimal(buffer, 7, fixVelocity);
+    fixBearing = parseDecimal(buffer, 8, fixBearing);
+    return true;
+  }
+
+  private boolean parseGga(byte[] buffer)
+  {
+    if (fieldCount < 10 || isChar(buffer, 6, '0') || fieldStart[6] == fieldEnd[6])
+    {
+      return false;
+    }
+    long timeOfDay = parseTimeOfDay(buffer, 1);
+    if (timeOfDay < 0)
+    {
+      return false;
+    }
+    startFix(timeOfDay);
+    if (!parsePosition(buffer, 2))
+    {
+      return false;
+    }
+    fixAltitude = parseDecimal(buffer, 9, fixAltitude);
+    return true;
+  }
+
+  private boolean parseVtg(byte[] buffer)
+  {
+    if (fixTimeOfDay < 0 || fieldCount < 5)
+    {
+      return false;
+    }
+    if (isChar(buffer, 2, 'T'))
+    {
+      fixBearing = parseDecimal(buffer, 1, fixBearing);
+      fixVelocity = parseDecimal(buffer, 5, fixVelocity);
+    }
+    else
+    {
+      // old format without unit fields
+      fixBearing = parseDecimal(buffer, 1, fixBearing);
+      fixVelocity = parseDecimal(buffer, 3, fixVelocity);
+    }
+    return true;
+  }
+
+  private boolean parseHdg(byte[] buffer)
+  {
+    if (fixTimeOfDay < 0 || fieldCount < 6)
+    {
+      return false;
+    }
+    double heading = parseDecimal(buffer, 1, Double.NaN);
+    if (Double.isNaN(heading))
+    {
+      return false;
+    }
+    heading += parseDecimal(buffer, 2, 0d) * (isChar(buffer, 3, 'W') ? -1 : 1);
+    heading += parseDecimal(buffer, 4, 0d) * (isChar(buffer, 5, 'W') ? -1 : 1);
+    fixHeading = ((heading % 360d) + 360d) % 360d;
+    return true;
+  }
+
+  /**
+   * Starts collecting a new fix if the time differs from the time of the current fix.
+   */
+  private void startFix(long timeOfDay)
+  {
+    if (timeOfDay != fixTimeOfDay)
+    {
+      flush();
+      fixTimeOfDay = timeOfDay;
+    }
+  }
+
+  /**
+   * Calculates the time of a fix from its time of day.
+   * Before the first date is received, the current date is used.
+   * If the time of day jumps back by more than half a day, the next day is assumed.
+   */
+  private long getTime(long timeOfDay)
+  {
+    if (startOfDay < 0)
+    {
+      long now = System.currentTimeMillis();
+      startOfDay = now - now % MILLIS_PER_DAY;
+    }
+    long time = startOfDay + timeOfDay;
+    if (lastPointTime != Long.MIN_VALUE && time < lastPointTime - MILLIS_PER_DAY / 2)
+    {
+      startOfDay += MILLIS_PER_DAY;
+      time += MILLIS_PER_DAY;
+      date = -1;
+    }
+    return time;
+  }
+
+  private boolean parsePosition(byte[] buffer, int latitudeField)
+  {
+    double latitude = parseDecimal(buffer, latitudeField, Double.NaN);
+    double longitude = parseDecimal(buffer, latitudeField + 2, Double.NaN);
+    if (Double.isNaN(latitude) || Double.isNaN(longitude))
+    {
+      return false;
+    }
+    // the format is degrees * 100 + minutes
+    double latitudeDegrees = Math.floor(latitude / 100d);
+    double longitudeDegrees = Math.floor(longitude / 100d);
+    fixLatitude = (latitudeDegrees + (latitude - latitudeDegrees * 100d) / 60d)
+        * (isChar(buffer, latitudeField + 1, 'S') ? -1 : 1);
+    fixLongitude = (longitudeDegrees + (longitude - longitudeDegrees * 100d) / 60d)
+        * (isChar(buffer, latitudeField + 3, 'W') ? -1 : 1);
+    fixHasPosition = true;
+    return true;
+  }
+
+  /**
+   * Parses a time of day in the format hhmmss.sss.
+   *
+   * @return the time of day in milliseconds, or -1 if the field is malformed.
+   */
+  private long parseTimeOfDay(byte[] buffer, int field)
+  {
+    int start = fieldStart[field];
+    if (fieldEnd[field] - start < 6)
+    {
+      return -1;
+    }
+    for (int i = start; i < start + 6; i++)
+    {
+      if (buffer[i] < '0' || buffer[i] > '9')
+      {
+        return -1;
+      }
+    }
+    long hours = (buffer[start] - '0') * 10 + (buffer[start + 1] - '0');
+    long minutes = (buffer[start + 2] - '0') * 10 + (buffer[start + 3] - '0');
+    double seconds = parseDecimal(buffer, start + 4, fieldEnd[field], Double.NaN);
+    if (Double.isNaN(seconds))
+    {
+      return -1;
+    }
+    return (hours * 60L + minutes) * 60000L + Math.round(seconds * 1000d);
+  }
+
+  /**
+   * Parses an unsigned integer field.
+   *
+   * @return the value, or -1 if the field is empty or malformed.
+   */
+  private long parseUnsigned(byte[] buffer, int field)
+  {
+    if (fieldStart[field] == fieldEnd[field])
+    {
+      return -1;
+    }
+    long result = 0;
+    for (int i = fieldStart[field]; i < fieldEnd[field]; i++)
+    {
+      if (buffer[i] < '0' || buffer[i] > '9')
+      {
+        return -1;
+      }
+      result = result * 10 + (buffer[i] - '0');
+    }
+    return result;
+  }
+
+  /**
+   * Parses a decimal number field, e.g. -123.456.
+   *
+   * @return the value, or defaultValue if the field is empty or malformed.
+   */
+  private double parseDecimal(byte[] buffer, int field, double defaultValue)
+  {
+    return parseDecimal(buffer, fieldStart[field], fieldEnd[field], defaultValue);
+  }
+
+  private double parseDecimal(byte[] buffer, int start, int end, double defaultValue)
+  {
+    boolean negative = false;
+    if (start < end && buffer[start] == '-')
+    {
+      negative = true;
+      start++;
+    }
+    if (start == end)
+    {
+      return defaultValue;
+    }
+    long mantissa = 0;
+    int fractionDigits = -1;
+    for (int i = start; i < end; i++)
+    {
+      byte character = buffer[i];
+      if (character == '.' && fractionDigits < 0)
+      {
+        fractionDigits = 0;
+      }
+      else if (character >= '0' && character <= '9' && mantissa < Long.MAX_VALUE / 10)
+      {
+        mantissa = mantissa * 10 + (character - '0');
+        if (fractionDigits >= 0)
+        {
+          fractionDigits++;
+        }
+      }
+      else
+      {
+        return defaultValue;
+      }
+    }
+    double result = mantissa;
+    for (int i = 0; i < fractionDigits; i++)
+    {
+      result /= 10d;
+    }
+    return negative ? -result : result;
+  }
+
+  private boolean isChar(byte[] buffer, int field, char expected)
+  {
+    return fieldEnd[field] - fieldStart[field] == 1 && buffer[fieldStart[field]] == expected;
+  }
+
+  /**
+   * Checks the sentence and records the start and end of its comma separated fields.
+   * The first field is the address field after the leading $.
+   *
+   * @return true if the sentence is well formed and the checksum, if present, is correct.
+   */
+  private boolean split(byte[] buffer, int offset, int length)
+  {
+    if (length < 7 || buffer[offset] != '$')
+    {
+      return false;
+    }
+    int end = offset + length;
+    int checksum = 0;
+    fieldCount = 0;
+    fieldStart[0] = offset + 1;
+    int i = offset + 1;
+    for (; i < end && buffer[i] != '*'; i++)
+    {
+      checksum ^= buffer[i];
+      if (buffer[i] == ',')
+      {
+        if (fieldCount == MAX_FIELDS - 1)
+        {
+          return false;
+        }
+        fieldEnd[fieldCount++] = i;
+        fieldStart[fieldCount] = i + 1;
+      }
+    }
+    fieldEnd[fieldCount++] = i;
+    if (i == end)
+    {
+      return true;
+    }
+    if (end - i < 3)
+    {
+      return false;
+    }
+    int expectedChecksum = Character.digit(buffer[i + 1], 16) * 16 + Character.digit(buffer[i + 2], 16);
+    return checksum == expectedChecksum;
+  }
+}
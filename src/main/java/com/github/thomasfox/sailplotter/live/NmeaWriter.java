@@ -0,0 +1,163 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * Formats data points as NMEA 0183 sentences which can be read by the NmeaParser.
+ *
+ * Each point is written as RMC sentence with the time, position, speed and course over ground,
+ * followed by a HDG sentence if the point has a compass bearing.
+ * The characters are collected in buffers which are reused for each point.
+ * The writer is not thread safe.
+ */
+public class NmeaWriter
+{
+  private static final long MILLIS_PER_DAY = 24L * 60L * 60L * 1000L;
+
+  private static final long MICRO_MINUTES_PER_DEGREE = 60L * 1_000_000L;
+
+  private final StringBuilder sentences = new StringBuilder();
+
+  private byte[] bytes = new byte[256];
+
+  /**
+   * Writes the sentences for a point.
+   *
+   * @param point the point to write, must have a location and a time.
+   * @param outputStream the stream to write to, not null.
+   *
+   * @throws IOException if writing fails.
+   */
+  public void write(DataPoint point, OutputStream outputStream) throws IOException
+  {
+    format(point);
+    if (bytes.length < sentences.length())
+    {
+      bytes = new byte[sentences.length()];
+    }
+    for (int i = 0; i < sentences.length(); i++)
+    {
+      bytes[i] = (byte) sentences.charAt(i);
+    }
+    outputStream.write(bytes, 0, sentences.length());
+  }
+
+  /**
+   * Returns the sentences for a point.
+   *
+   * @param point the point to format, must have a location and a time.
+   *
+   * @return the sentences, each terminated by a carriage return and a line feed, not null.
+   */
+  public String toSentences(DataPoint point)
+  {
+    format(point);
+    return sentences.toString();
+  }
+
+  private void format(DataPoint point)
+  {
+    sentences.setLength(0);
+    int start = sentences.length();
+    sentences.append("$GPRMC,");
+    long millisOfDay = Math.floorMod(point.getTime(), MILLIS_PER_DAY);
+    appendInteger(millisOfDay / 3_600_000L, 2);
+    appendInteger(millisOfDay / 60_000L % 60L, 2);
+    appendInteger(millisOfDay / 1000L % 60L, 2);
+    sentences.append('.');
+    appendInteger(millisOfDay % 1000L, 3);
+    sentences.append(",A,");
+    appendAngle(point.getLatitude(), 2);
+    sentences.append(point.getLatitude() < 0 ? ",S," : ",N,");
+    appendAngle(point.getLongitude(), 3);
+    sentences.append(point.getLongitude() < 0 ? ",W," : ",E,");
+    if (point.getVelocity() != null)
+    {
+      appendDecimal(Math.abs(point.getVelocity()), 2);
+    }
+    sentences.append(',');
+    if (point.getBearing() != null)
+    {
+      appendDecimal(toDegreesFrom0To360(point.getBearing()), 2);
+    }
+    sentences.append(',');
+    LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(point.getTime(), MILLIS_PER_DAY));
+    appendInteger(date.getDayOfMonth(), 2);
+    appendInteger(date.getMonthValue(), 2);
+    appendInteger(date.getYear() % 100, 2);
+    sentences.append(",,");
+    endSentence(start);
+
+    if (point.hasCompassBearing())
+    {
+      start = sentences.length();
+      sentences.append("$HCHDG,");
+      appendDecimal(toDegreesFrom0To360(point.getCompassBearing()), 1);
+      sentences.append(",,,,");
+      endSentence(start);
+    }
+  }
+
+  private double toDegreesFrom0To360(double arcs)
+  {
+    double degrees = arcs * 180d / Math.PI;
+    return ((degrees % 360d) + 360d) % 360d;
+  }
+
+  /**
+   * Appends an angle in the NMEA format for positions, i.e. degrees followed by decimal minutes,
+   * without sign.
+   */
+  private void appendAngle(double arcs, int degreeDigits)
+  {
+    long microMinutes = Math.round(Math.abs(arcs) * 180d / Math.PI * MICRO_MINUTES_PER_DEGREE);
+    appendInteger(microMinutes / MICRO_MINUTES_PER_DEGREE, degreeDigits);
+    long minuteFraction = microMinutes % MICRO_MINUTES_PER_DEGREE;
+    appendInteger(minuteFraction / 1_000_000L, 2);
+    sentences.append('.');
+    appendInteger(minuteFraction % 1_000_000L, 6);
+  }
+
+  private void appendDecimal(double value, int fractionDigits)
+  {
+    long factor = 1L;
+    for (int i = 0; i < fractionDigits; i++)
+    {
+      factor *= 10L;
+    }
+    long scaled = Math.round(value * factor);
+    sentences.append(scaled / factor).append('.');
+    appendInteger(scaled % factor, fractionDigits);
+  }
+
+  private void appendInteger(long value, int digits)
+  {
+    long limit = 10L;
+    for (int i = 1; i < digits; i++)
+    {
+      if (value < limit)
+      {
+        sentences.append('0');
+      }
+      limit *= 10L;
+    }
+    sentences.append(value);
+  }
+
+  private void endSentence(int start)
+  {
+    int checksum = 0;
+    for (int i = start + 1; i < sentences.length(); i++)
+    {
+      checksum ^= sentences.charAt(i);
+    }
+    sentences.append('*')
+        .append(Character.toUpperCase(Character.forDigit(checksum >> 4, 16)))
+        .append(Character.toUpperCase(Character.forDigit(checksum & 0xF, 16)))
+        .append("\r\n");
+  }
+}
@@ -0,0 +1,24 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * A source of data points which arrive one after the other, e.g. from a live NMEA input
+ * or from the replay of a recorded session.
+ */
+public interface PointSource extends Closeable
+{
+  /**
+   * Passes the points of the source to a consumer, in the calling thread,
+   * until the end of the source is reached or the source is closed.
+   *
+   * @param pointConsumer receives the points in the order of their time, not null.
+   *
+   * @throws IOException if reading fails before the source is closed.
+   */
+  void readPoints(Consumer<DataPoint> pointConsumer) throws IOException;
+}
@@ -0,0 +1,351 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.importer.FormatAwareImporter;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * Replays the points of a recorded session as if they were received live,
+ * e.g. to demonstrate or stress-test the live analysis without being on the water.
+ *
+ * The points with location and time are emitted in the order of their time,
+ * with the time between two points divided by the replay speed.
+ * Points with the same time as the point before are skipped,
+ * and gaps in the recording longer than MAX_GAP_MILLIS are shortened to MAX_GAP_MILLIS.
+ * The emitted points are copies of the recorded points with the index set to the number of the point
+ * in the replay, so the recorded data is not changed and the emission time of each point can be looked up
+ * by its index.
+ *
+ * The main method replays a file into the live analysis, directly or through a local TCP socket,
+ * and reports the measured throughput and latency; or it serves the replay to other programs.
+ */
+public class Replay implements PointSource
+{
+  /** Replay speed to emit the points without waiting between them. */
+  public static final double AS_FAST_AS_POSSIBLE = Double.POSITIVE_INFINITY;
+
+  /** The maximum time between two emitted points in the recorded time. */
+  public static final long MAX_GAP_MILLIS = 10_000L;
+
+  private final List<DataPoint> points = new ArrayList<>();
+
+  private final double speed;
+
+  /** The emission times of the points, in nanoseconds after startNanos. */
+  private final long[] emissionNanos;
+
+  /** The number of emitted points. Written after the emission time of the point. */
+  private volatile int emittedCount;
+
+  private volatile long startNanos;
+
+  private volatile long endNanos;
+
+  private volatile boolean started;
+
+  private volatile boolean ended;
+
+  private volatile boolean closed;
+
+  private volatile Thread thread;
+
+  /**
+   * Constructor.
+   *
+   * @param data the recorded data, not null.
+   * @param speed how many times faster than real time the points are emitted,
+   *        or AS_FAST_AS_POSSIBLE.
+   *
+   * @throws IllegalArgumentException if speed is not positive.
+   */
+  public Replay(Data data, double speed)
+  {
+    if (!(speed > 0d))
+    {
+      throw new IllegalArgumentException("speed must be positive but is " + speed);
+    }
+    this.speed = speed;
+    List<DataPoint> sortedPoints = new ArrayList<>();
+    for (DataPoint point : data.getAllPoints())
+    {
+      if (point.hasLocation() && point.getTime() != null)
+      {
+        sortedPoints.add(point);
+      }
+    }
+    sortedPoints.sort(Comparator.comparingLong(DataPoint::getTime));
+    for (DataPoint point : sortedPoints)
+    {
+      if (points.isEmpty() || point.getTime() > points.get(points.size() - 1).getTime())
+      {
+        points.add(point);
+      }
+    }
+    emissionNanos = new long[points.size()];
+  }
+
+  /**
+   * Emits the points, waiting between the points according to the replay speed.
+   * Can be called only once.
+   *
+   * @param pointConsumer receives the copies of the points, not null.
+   */
+  @Override
+  public void readPoints(Consumer<DataPoint> pointConsumer)
+  {
+    if (started)
+    {
+      throw new IllegalStateException("The replay has already been started");
+    }
+    thread = Thread.currentThread();
+    startNanos = System.nanoTime();
+    started = true;
+    long replayedMillis = 0L;
+    for (int i = 0; i < points.size() && !closed; i++)
+    {
+      DataPoint point = new DataPoint(points.get(i));
+      point.setIndex(i);
+      if (i > 0)
+      {
+        replayedMillis += Math.min(point.getTime() - points.get(i - 1).getTime(), MAX_GAP_MILLIS);
+      }
+      if (speed != AS_FAST_AS_POSSIBLE)
+      {
+        waitUntil(startNanos + (long) (replayedMillis * 1_000_000d / speed));
+      }
+      emissionNanos[i] = System.nanoTime() - startNanos;
+      emittedCount = i + 1;
+      pointConsumer.accept(point);
+    }
+    endNanos = System.nanoTime();
+    ended = true;
+    thread = null;
+  }
+
+  private void waitUntil(long nanos)
+  {
+    long remainingNanos = nanos - System.nanoTime();
+    while (remainingNanos > 0 && !closed)
+    {
+      LockSupport.parkNanos(remainingNanos);
+      remainingNanos = nanos - System.nanoTime();
+    }
+  }
+
+  /**
+   * Returns the number of points which are emitted if the replay is not closed.
+   *
+   * @return the number of points.
+   */
+  public int getPointCount()
+  {
+    return points.size();
+  }
+
+  public int getEmittedCount()
+  {
+    return emittedCount;
+  }
+
+  public double getSpeed()
+  {
+    return speed;
+  }
+
+  /**
+   * Returns the System.nanoTime() value at which a point was emitted.
+   *
+   * @param index the index of the emitted point.
+   *
+   * @return the emission time, or Long.MIN_VALUE if the point has not been emitted.
+   */
+  public long getEmissionNanos(int index)
+  {
+    if (index < 0 || index >= emittedCount)
+    {
+      return Long.MIN_VALUE;
+    }
+    return startNanos + emissionNanos[index];
+  }
+
+  /**
+   * Returns the System.nanoTime() value at which the replay started.
+   *
+   * @return the start time, not defined if the replay has not started.
+   */
+  public long getStartNanos()
+  {
+    return startNanos;
+  }
+
+  public boolean isEnded()
+  {
+    return ended;
+  }
+
+  /**
+   * Returns how long the replay took.
+   *
+   * @return the duration in nanoseconds, up to now if the replay is still running, 0 if it has not started.
+   */
+  public long getElapsedNanos()
+  {
+    if (!started)
+    {
+      return 0L;
+    }
+    return (ended ? endNanos : System.nanoTime()) - startNanos;
+  }
+
+  /**
+   * Stops the replay. A running readPoints() call returns soon afterwards.
+   */
+  @Override
+  public void close()
+  {
+    closed = true;
+    Thread replayThread = thread;
+    if (replayThread != null)
+    {
+      LockSupport.unpark(replayThread);
+    }
+  }
+
+  /**
+   * Reads a recorded session.
+   *
+   * @param file the file to read, in any format which FormatAwareImporter can read, not null.
+   * @param speed the replay speed, see constructor.
+   *
+   * @return the replay of the session in the file, not null.
+   */
+  public static Replay fromFile(File file, double speed)
+  {
+    return new Replay(new FormatAwareImporter(new LoadProgress(null)).read(file), speed);
+  }
+
+  /**
+   * Parses a replay speed.
+   *
+   * @param speed the speed factor, or "max" for AS_FAST_AS_POSSIBLE, not null.
+   *
+   * @return the speed.
+   *
+   * @throws NumberFormatException if the speed cannot be parsed.
+   */
+  public static double parseSpeed(String speed)
+  {
+    if ("max".equals(speed))
+    {
+      return AS_FAST_AS_POSSIBLE;
+    }
+    return Double.parseDouble(speed);
+  }
+
+  public static void main(String[] args)
+  {
+    double speed = AS_FAST_AS_POSSIBLE;
+    boolean viaSocket = false;
+    Integer servePort = null;
+    File file = null;
+    try
+    {
+      for (int i = 0; i < args.length; i++)
+      {
+        if ("-speed".equals(args[i]) && i + 1 < args.length)
+        {
+          speed = parseSpeed(args[++i]);
+        }
+        else if ("-socket".equals(args[i]))
+        {
+          viaSocket = true;
+        }
+        else if ("-serve".equals(args[i]) && i + 1 < args.length)
+        {
+          servePort = Integer.parseInt(args[++i]);
+        }
+        else if (args[i].startsWith("-") || file != null)
+        {
+          printUsage();
+          System.exit(1);
+        }
+        else
+        {
+          file = new File(args[i]);
+        }
+      }
+    }
+    catch (NumberFormatException e)
+    {
+      printUsage();
+      System.exit(1);
+    }
+    if (file == null || !(speed > 0d))
+    {
+      printUsage();
+      System.exit(1);
+    }
+
+    try
+    {
+      Replay replay = fromFile(file, speed);
+      if (servePort != null)
+      {
+        try (ReplayServer server = new ReplayServer(replay, servePort))
+        {
+          System.out.println("Serving " + replay.getPointCount() + " points on tcp://localhost:" + server.getPort());
+          server.serve();
+        }
+        System.out.printf(Locale.ROOT, "Sent %d points in %.2f s%n", replay.getEmittedCount(), replay.getElapsedNanos() / 1e9d);
+        return;
+      }
+      ReplayStatistics statistics = new ReplayStatistics(replay);
+      PointSource input = replay;
+      ReplayServer server = null;
+      if (viaSocket)
+      {
+        server = new ReplayServer(replay, 0);
+        server.start();
+        input = new TcpNmeaInput("localhost", server.getPort());
+      }
+      LiveSession session = new LiveSession(
+          input,
+          LiveSession.DEFAULT_CAPACITY,
+          LiveSession.DEFAULT_UPDATE_INTERVAL_MILLIS,
+          Runnable::run,
+          snapshot -> {},
+          Throwable::printStackTrace);
+      session.setListener(statistics);
+      session.start();
+      session.join();
+      if (server != null)
+      {
+        server.close();
+      }
+      System.out.print(statistics.getReport());
+    }
+    catch (IOException | RuntimeException | InterruptedException e)
+    {
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static void printUsage()
+  {
+    System.out.println("Usage: ${startcommand} [-speed ${factor}|max] [-socket | -serve ${port}] ${file}");
+    System.out.println("Replays the file into the live analysis and reports throughput and latency.");
+    System.out.println("-socket sends the replay as NMEA sentences through a local TCP socket to the analysis,");
+    System.out.println("-serve waits for a client on the port, e.g. SailPlotter connected live to tcp://localhost:${port}");
+  }
+}
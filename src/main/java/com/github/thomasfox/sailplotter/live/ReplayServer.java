@@ -0,0 +1,131 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Serves a replay as NMEA 0183 sentences over TCP, like a NMEA multiplexer on a boat.
+ * The replay starts when the first client connects, and the connection is closed at the end of the replay.
+ * So the replay can be received by any program which reads NMEA data over TCP,
+ * e.g. by connecting the live view of SailPlotter to tcp://localhost:port.
+ */
+public class ReplayServer implements Closeable
+{
+  private final Replay replay;
+
+  private final ServerSocket serverSocket;
+
+  private final NmeaWriter writer = new NmeaWriter();
+
+  private volatile Socket socket;
+
+  /**
+   * Starts listening on a port of the loopback interface.
+   *
+   * @param replay the replay to serve, not null.
+   * @param port the port to listen on, or 0 to use a free port.
+   *
+   * @throws IOException if the port cannot be opened.
+   */
+  public ReplayServer(Replay replay, int port) throws IOException
+  {
+    this.replay = replay;
+    this.serverSocket = new ServerSocket(port, 1, InetAddress.getLoopbackAddress());
+  }
+
+  public int getPort()
+  {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Waits for a client and sends the replay to it, in the calling thread.
+   * Returns when the replay has ended or the server was closed.
+   *
+   * @throws IOException if waiting for the client or sending fails before the server is closed.
+   */
+  public void serve() throws IOException
+  {
+    try (Socket clientSocket = serverSocket.accept())
+    {
+      socket = clientSocket;
+      clientSocket.setTcpNoDelay(true);
+      OutputStream outputStream = new BufferedOutputStream(clientSocket.getOutputStream(), NmeaInput.BUFFER_SIZE);
+      replay.readPoints(point ->
+      {
+        try
+        {
+          writer.write(point, outputStream);
+          // sentences are sent when they are due, not when the buffer is full
+          if (replay.getSpeed() != Replay.AS_FAST_AS_POSSIBLE)
+          {
+            outputStream.flush();
+          }
+        }
+        catch (IOException e)
+        {
+          throw new UncheckedIOException(e);
+        }
+      });
+      outputStream.flush();
+    }
+    catch (IOException e)
+    {
+      if (!serverSocket.isClosed())
+      {
+        throw e;
+      }
+    }
+    catch (UncheckedIOException e)
+    {
+      if (!serverSocket.isClosed())
+      {
+        throw e.getCause();
+      }
+    }
+  }
+
+  /**
+   * Starts serving the replay in a new thread.
+   *
+   * @return the started thread, not null.
+   */
+  public Thread start()
+  {
+    Thread thread = new Thread(() ->
+    {
+      try
+      {
+        serve();
+      }
+      catch (IOException e)
+      {
+        System.err.println("Could not serve replay: " + e);
+      }
+    }, "replay server");
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Stops the replay and closes the server and the connection to the client.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    replay.close();
+    serverSocket.close();
+    Socket clientSocket = socket;
+    if (clientSocket != null)
+    {
+      clientSocket.close();
+    }
+  }
+}
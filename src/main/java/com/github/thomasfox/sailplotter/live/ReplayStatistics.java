@@ -0,0 +1,159 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.github.thomasfox.sailplotter.listener.LiveSessionListener;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * Measures the throughput and the latency of a live session which receives the points of a replay.
+ *
+ * The analysis latency of a point is the time from its emission by the replay
+ * until it has been added to the analysis. The display latency of a snapshot is the time
+ * from the emission of its last point until the snapshot has been consumed, e.g. shown by the views.
+ * If the points are sent as NMEA sentences, the parser passes a fix on when the next fix starts,
+ * so the latencies include the time until the next point is emitted.
+ */
+public class ReplayStatistics implements LiveSessionListener
+{
+  private final Replay replay;
+
+  /** The analysis latencies in nanoseconds, in the order the points were analyzed. */
+  private final long[] analysisLatencies;
+
+  private int analyzedCount;
+
+  private long lastAnalyzedNanos;
+
+  /** The display latencies in nanoseconds, in the order the snapshots were consumed. */
+  private long[] displayLatencies = new long[64];
+
+  private int snapshotCount;
+
+  /**
+   * Constructor.
+   *
+   * @param replay the replay which emits the points, not null.
+   */
+  public ReplayStatistics(Replay replay)
+  {
+    this.replay = replay;
+    this.analysisLatencies = new long[replay.getPointCount()];
+  }
+
+  @Override
+  public synchronized void pointAnalyzed(DataPoint point)
+  {
+    long now = System.nanoTime();
+    long emissionNanos = replay.getEmissionNanos(point.getIndex());
+    if (emissionNanos == Long.MIN_VALUE || analyzedCount == analysisLatencies.length)
+    {
+      return;
+    }
+    analysisLatencies[analyzedCount++] = now - emissionNanos;
+    lastAnalyzedNanos = now;
+  }
+
+  @Override
+  public synchronized void snapshotConsumed(Data snapshot)
+  {
+    long now = System.nanoTime();
+    if (snapshot.size() == 0)
+    {
+      return;
+    }
+    long emissionNanos = replay.getEmissionNanos(snapshot.get(snapshot.size() - 1).getIndex());
+    if (emissionNanos == Long.MIN_VALUE)
+    {
+      return;
+    }
+    if (snapshotCount == displayLatencies.length)
+    {
+      displayLatencies = Arrays.copyOf(displayLatencies, 2 * snapshotCount);
+    }
+    displayLatencies[snapshotCount++] = now - emissionNanos;
+  }
+
+  public synchronized int getAnalyzedCount()
+  {
+    return analyzedCount;
+  }
+
+  public synchronized int getSnapshotCount()
+  {
+    return snapshotCount;
+  }
+
+  /**
+   * Returns the number of analyzed points per second, from the start of the replay
+   * until the last point was analyzed.
+   *
+   * @return the throughput, 0 if no point has been analyzed.
+   */
+  public synchronized double getPointsPerSecond()
+  {
+    if (analyzedCount == 0)
+    {
+      return 0d;
+    }
+    return analyzedCount / Math.max((lastAnalyzedNanos - replay.getStartNanos()) / 1e9d, 1e-9d);
+  }
+
+  /**
+   * Returns a human readable report of the throughput and the latencies.
+   *
+   * @return the report, not null.
+   */
+  public synchronized String getReport()
+  {
+    double seconds = analyzedCount == 0 ? 0d : (lastAnalyzedNanos - replay.getStartNanos()) / 1e9d;
+    return String.format(Locale.ROOT,
+        "Replayed %d of %d points at %s speed, analyzed %d points in %.2f s%n"
+            + "Throughput: %.0f points/s%n"
+            + "Latency from emission to analysis: %s%n"
+            + "Latency from emission to display of %d snapshots: %s%n",
+        replay.getEmittedCount(),
+        replay.getPointCount(),
+        replay.getSpeed() == Replay.AS_FAST_AS_POSSIBLE
+            ? "maximum"
+            : String.format(Locale.ROOT, "%.0fx", replay.getSpeed()),
+        analyzedCount,
+        seconds,
+        getPointsPerSecond(),
+        describe(analysisLatencies, analyzedCount),
+        snapshotCount,
+        describe(displayLatencies, snapshotCount));
+  }
+
+  private static String describe(long[] latencies, int count)
+  {
+    if (count == 0)
+    {
+      return "-";
+    }
+    long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    double sum = 0d;
+    for (long latency : sorted)
+    {
+      sum += latency;
+    }
+    return String.format(Locale.ROOT,
+        "mean %.3f ms, median %.3f ms, 99%% %.3f ms, max %.3f ms",
+        sum / count / 1e6d,
+        percentile(sorted, 0.5d) / 1e6d,
+        percentile(sorted, 0.99d) / 1e6d,
+        sorted[count - 1] / 1e6d);
+  }
+
+  /**
+   * Returns the percentile of sorted values by the nearest rank method.
+   */
+  private static long percentile(long[] sorted, double fraction)
+  {
+    int rank = (int) Math.ceil(fraction * sorted.length);
+    return sorted[Math.max(rank - 1, 0)];
+  }
+}
@@ -0,0 +1,55 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Reads NMEA sentences from a TCP server, e.g. a NMEA multiplexer on the boat.
+ * The input ends when the server closes the connection.
+ */
+public class TcpNmeaInput extends NmeaInput
+{
+  private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+  private final Socket socket;
+
+  private final InputStream inputStream;
+
+  /**
+   * Connects to the server.
+   *
+   * @param host the host name or address of the server, not null.
+   * @param port the port of the server.
+   *
+   * @throws IOException if the connection cannot be established.
+   */
+  public TcpNmeaInput(String host, int port) throws IOException
+  {
+    socket = new Socket();
+    try
+    {
+      socket.setTcpNoDelay(true);
+      socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+      inputStream = socket.getInputStream();
+    }
+    catch (IOException e)
+    {
+      socket.close();
+      throw e;
+    }
+  }
+
+  @Override
+  protected int read(byte[] buffer) throws IOException
+  {
+    return inputStream.read(buffer);
+  }
+
+  @Override
+  protected void release() throws IOException
+  {
+    socket.close();
+  }
+}
@@ -0,0 +1,52 @@
+package com.github.thomasfox.sailplotter.live;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+
+/**
+ * Receives NMEA sentences as UDP datagrams on a local port, e.g. broadcast by a NMEA multiplexer.
+ * Each datagram contains one or more complete sentences.
+ * The input does not end until it is closed.
+ */
+public class UdpNmeaInput extends NmeaInput
+{
+  private final DatagramSocket socket;
+
+  /** Leaves room to terminate the last sentence of a datagram. */
+  private final DatagramPacket packet = new DatagramPacket(new byte[BUFFER_SIZE - 1], BUFFER_SIZE - 1);
+
+  /**
+   * Starts listening on a local port.
+   *
+   * @param port the port to listen on, or 0 for any free port.
+   *
+   * @throws IOException if the port cannot be bound.
+   */
+  public UdpNmeaInput(int port) throws IOException
+  {
+    socket = new DatagramSocket(port);
+  }
+
+  public int getLocalPort()
+  {
+    return socket.getLocalPort();
+  }
+
+  @Override
+  protected int read(byte[] buffer) throws IOException
+  {
+    packet.setData(buffer, 0, buffer.length - 1);
+    socket.receive(packet);
+    int length = packet.getLength();
+    // a sentence must not continue in the next datagram
+    buffer[length] = '\n';
+    return length + 1;
+  }
+
+  @Override
+  protected void release()
+  {
+    socket.close();
+  }
+}
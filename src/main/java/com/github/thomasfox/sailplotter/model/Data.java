@@ -1,18 +1,53 @@
 package com.github.thomasfox.sailplotter.model;
 
 import java.io.File;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.github.thomasfox.sailplotter.model.columns.AccelerationColumns;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
 import com.github.thomasfox.sailplotter.model.vector.CoordinateSystem;
 import com.github.thomasfox.sailplotter.model.vector.ThreeDimVector;
 
+/**
+ * The recorded data, i.e. a list of data points ordered in time, together with the results of its analysis.
+ * The values of the points are stored in primitive columns, see DataPoint, in chunks of a fixed number of points.
+ * Chunks are never moved or resized, so points obtained from this object stay valid
+ * while points are added or dropped, and views created by createLocationView() share the chunks with this object.
+ */
 public class Data
 {
-  private final List<DataPoint> points = new ArrayList<>();
+  /** The number of points per chunk, as power of 2, for data whose number of points is not bounded. */
+  private static final int DEFAULT_CHUNK_SHIFT = 10;
+
+  /** The storage of the points; the first point is in row firstRow of the first chunk. */
+  private final ArrayList<PointChunk> chunks = new ArrayList<>();
+
+  /** The number of points per chunk, as power of 2. */
+  private final int chunkShift;
+
+  private int firstRow;
+
+  private int size;
+
+  /** The maximum number of points, Integer.MAX_VALUE if the number of points is not bounded. */
+  private final int capacity;
+
+  private int droppedPointCount;
+
+  /**
+   * The indices of the first data point of each track segment except the first one.
+   * Recording was interrupted between two track segments.
+   */
+  private final List<Integer> segmentStartIndices = new ArrayList<>();
 
   /** The file where the data was loaded from.
    */
@@ -29,16 +64,27 @@ public class Data
    */
   private CoordinateSystem boatCoordinatesInDeviceCoordinates;
 
-  private transient List<DataPoint> locationPoints;
+  /**
+   * Cache of the points with location, filled on first access.
+   * This and the following caches are volatile because they are also read in background threads,
+   * e.g. when a zoom change is prepared; filling a cache concurrently is harmless
+   * as long as the points are not changed.
+   */
+  private transient volatile List<DataPoint> locationPoints;
+
+  private transient volatile List<DataPoint> magneticFieldPoints;
 
-  private transient List<DataPoint> magneticFieldPoints;
+  private transient volatile List<DataPoint> accelerationPoints;
 
-  private transient List<DataPoint> accelerationPoints;
+  private transient volatile DataColumns columns;
 
   private transient TackList tackList = new TackList();
 
   private transient List<TackSeries> tackSeriesList = new ArrayList<TackSeries>();
 
+  /** The data this data is a view on, see createLocationView(), or null if this data is no view. */
+  private transient Data viewedData;
+
   /**
    * Coordinate System of the boat main axes (front, right, down)
    * in the coordinate system of the measuring device.
@@ -51,26 +97,300 @@ public class Data
    */
   public String comment;
 
+  public Data()
+  {
+    this(Integer.MAX_VALUE, DEFAULT_CHUNK_SHIFT);
+  }
+
+  private Data(int capacity, int chunkShift)
+  {
+    this.capacity = capacity;
+    this.chunkShift = chunkShift;
+  }
+
+  /**
+   * Creates a data object which keeps only the most recently added points.
+   * Adding a point to a full data object drops the oldest point,
+   * so the memory used by the points stays bounded while data is received live.
+   * Points can only be appended to the end.
+   *
+   * @param capacity the maximum number of points, must be positive.
+   *
+   * @return the new data object, not null.
+   */
+  public static Data bounded(int capacity)
+  {
+    if (capacity <= 0)
+    {
+      throw new IllegalArgumentException("capacity must be positive but is " + capacity);
+    }
+    int chunkShift = Math.min(DEFAULT_CHUNK_SHIFT, 32 - Integer.numberOfLeadingZeros(capacity - 1));
+    return new Data(capacity, chunkShift);
+  }
+
+  /**
+   * Returns the number of points which were dropped because the maximum number of points was reached.
+   * The point at index i was the (i + getDroppedPointCount())th point added.
+   *
+   * For a view created by createLocationView(), this is the number of points
+   * dropped from the viewed data when the view was created.
+   *
+   * @return the number of dropped points, 0 if the number of points is not bounded.
+   */
+  public int getDroppedPointCount()
+  {
+    return droppedPointCount;
+  }
+
+  /**
+   * Returns the maximum number of points.
+   *
+   * @return the maximum number of points, Integer.MAX_VALUE if the number of points is not bounded.
+   */
+  public int getCapacity()
+  {
+    return capacity;
+  }
+
+  /**
+   * Checks whether adding a point drops the oldest point.
+   *
+   * @return true if the number of points is bounded and the maximum number of points is reached.
+   */
+  public boolean isFull()
+  {
+    return size == capacity;
+  }
+
+  /**
+   * Adds a point to the end of the data.
+   * The values of the point are copied into the columns of this data,
+   * so changing the passed point afterwards does not change the data.
+   * Adding a point costs constant time, also if the oldest point is dropped.
+   *
+   * @param point the point to add, not null.
+   *
+   * @throws IllegalArgumentException if the point is earlier than the last point.
+   * @throws UnsupportedOperationException if this data is a view created by createLocationView().
+   */
   public void add(DataPoint point)
   {
-    if (size() > 0 && point.time != null && getLast().time != null && getLast().time > point.time)
+    Long time = point.getTime();
+    if (size > 0 && time != null)
     {
-      throw new IllegalArgumentException(" points must be ordered in time. "
-          + "Newly added point has time " + point.time
-          + " while last point in list has time " + getLast().time);
+      Long lastTime = getLast().getTime();
+      if (lastTime != null && lastTime > time)
+      {
+        throw new IllegalArgumentException(" points must be ordered in time. "
+            + "Newly added point has time " + time
+            + " while last point in list has time " + lastTime);
+      }
     }
-    points.add(new DataPoint(point));
+    DataPoint added = addRow();
+    PointChunk.copy(point.chunk, point.row, added.chunk, added.row);
     resetCache();
   }
 
+  /**
+   * Adds a row for a new point at the end of the storage, dropping the oldest point if this data is full.
+   *
+   * @return the new point without values, not null.
+   */
+  private DataPoint addRow()
+  {
+    if (viewedData != null)
+    {
+      throw new UnsupportedOperationException("Points cannot be added to a view");
+    }
+    if (isFull())
+    {
+      dropFirstPoint();
+    }
+    int position = firstRow + size;
+    if ((position >> chunkShift) == chunks.size())
+    {
+      chunks.add(new PointChunk(1 << chunkShift));
+    }
+    size++;
+    return new DataPoint(chunks.get(position >> chunkShift), position & ((1 << chunkShift) - 1));
+  }
+
+  private void dropFirstPoint()
+  {
+    firstRow++;
+    size--;
+    droppedPointCount++;
+    if (firstRow == 1 << chunkShift)
+    {
+      chunks.remove(0);
+      firstRow = 0;
+    }
+    shiftSegmentStartIndices();
+  }
+
+  /**
+   * Creates a data object containing the first points of this data, all of which must have a location,
+   * as is the case for data received live.
+   * The result is a view which shares the storage with this data, so creating it does not copy the points,
+   * and changing a point of the view changes the point of this data.
+   * The result is not changed by adding points to this data later, and points cannot be added to it.
+   * The result does not contain tacks, and its columns are built on first access unless set.
+   *
+   * @param pointCount the number of points to include, not larger than size().
+   *
+   * @return the new data object, not null.
+   */
+  public Data createLocationView(int pointCount)
+  {
+    Data result = new Data(Integer.MAX_VALUE, chunkShift);
+    if (pointCount > 0)
+    {
+      result.chunks.addAll(chunks.subList(0, ((firstRow + pointCount - 1) >> chunkShift) + 1));
+    }
+    result.firstRow = firstRow;
+    result.size = pointCount;
+    for (Integer segmentStartIndex : segmentStartIndices)
+    {
+      if (segmentStartIndex < pointCount)
+      {
+        result.segmentStartIndices.add(segmentStartIndex);
+      }
+    }
+    result.locationPoints = result.createPointList(null, pointCount);
+    result.file = file;
+    result.comment = comment;
+    result.averageWindBearing = averageWindBearing;
+    result.boatCoordinatesInDeviceCoordinates = boatCoordinatesInDeviceCoordinates;
+    result.deviceOrientation = deviceOrientation;
+    result.viewedData = viewedData == null ? this : viewedData;
+    result.droppedPointCount = droppedPointCount;
+    return result;
+  }
+
+  /**
+   * Checks whether this data and another data object are views created by createLocationView()
+   * on the same data, i.e. whether they are snapshots of the same data received live.
+   * The view created later contains the points of the earlier view which were not dropped in the meantime.
+   *
+   * @param other the other data, or null.
+   *
+   * @return true if both are views on the same data, false otherwise.
+   */
+  public boolean isViewOfSameData(Data other)
+  {
+    return other != null && viewedData != null && viewedData == other.viewedData;
+  }
+
+  /**
+   * Moves the segment start indices by one point to the front after the first point was dropped.
+   */
+  private void shiftSegmentStartIndices()
+  {
+    for (int i = segmentStartIndices.size() - 1; i >= 0; i--)
+    {
+      int shifted = segmentStartIndices.get(i) - 1;
+      if (shifted <= 0)
+      {
+        segmentStartIndices.remove(i);
+      }
+      else
+      {
+        segmentStartIndices.set(i, shifted);
+      }
+    }
+  }
+
+  /**
+   * Checks that the points are ordered in time.
+   * Points without time are not checked.
+   *
+   * @throws IllegalArgumentException if a point has a time before the time
+   *         of the last point with a time before it.
+   */
+  private void checkOrderedInTime()
+  {
+    Long lastTime = null;
+    for (int i = 0; i < size; i++)
+    {
+      Long time = get(i).getTime();
+      if (time == null)
+      {
+        continue;
+      }
+      if (lastTime != null && lastTime > time)
+      {
+        throw new IllegalArgumentException(" points must be ordered in time. "
+            + "Point at index " + i + " has time " + time
+            + " while the point before it has time " + lastTime);
+      }
+      lastTime = time;
+    }
+  }
+
+  /**
+   * Inserts a point at a position.
+   * The values of the point are copied, and the values of the following points are moved back by one row,
+   * so points obtained before at or after the position then refer to the point which was moved into their place.
+   *
+   * @param position the index of the inserted point.
+   * @param point the point to insert, not null.
+   *
+   * @throws UnsupportedOperationException if the number of points is bounded or this data is a view.
+   */
   public void add(int position, DataPoint point)
   {
-    points.add(position, new DataPoint(point));
+    if (position < 0 || position > size)
+    {
+      throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+    }
+    if (capacity != Integer.MAX_VALUE)
+    {
+      throw new UnsupportedOperationException("Points can only be appended to data with bounded size");
+    }
+    DataPoint to = addRow();
+    for (int i = size - 2; i >= position; i--)
+    {
+      DataPoint from = get(i);
+      PointChunk.copy(from.chunk, from.row, to.chunk, to.row);
+      to = from;
+    }
+    PointChunk.copy(point.chunk, point.row, to.chunk, to.row);
     resetCache();
   }
 
+  /**
+   * Marks that the next data point added starts a new track segment,
+   * i.e. that recording was interrupted before the next data point.
+   * Does nothing if no data points have been added yet
+   * or if a new segment has already been started at the current position.
+   */
+  public void startNewSegment()
+  {
+    if (size == 0)
+    {
+      return;
+    }
+    if (!segmentStartIndices.isEmpty()
+        && segmentStartIndices.get(segmentStartIndices.size() - 1) == size)
+    {
+      return;
+    }
+    segmentStartIndices.add(size);
+  }
+
+  /**
+   * Returns the indices of the first data point of each track segment except the first one.
+   *
+   * @return the segment start indices in ascending order, not null, may be empty.
+   */
+  public List<Integer> getSegmentStartIndices()
+  {
+    return Collections.unmodifiableList(segmentStartIndices);
+  }
+
   /**
    * Returns the data point at a certain index.
+   * The returned object is a view on the columns of this data, see DataPoint.
    * If the data point is modified, resetCache() should be called on this object.
    *
    * @param index the data point index
@@ -80,7 +400,12 @@ public class Data
    */
   public DataPoint get(int index)
   {
-    return points.get(index);
+    if (index < 0 || index >= size)
+    {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    int position = firstRow + index;
+    return new DataPoint(chunks.get(position >> chunkShift), position & ((1 << chunkShift) - 1));
   }
 
   /**
@@ -91,93 +416,104 @@ public class Data
    */
   public DataPoint getLast()
   {
-    return points.get(points.size() - 1);
+    return get(size - 1);
   }
 
   public int size()
   {
-    return points.size();
+    return size;
   }
 
   /**
    * Returns all data points.
    * The points are expected to be ordered in time, though this is not fully enforced.
+   * The result is an unmodifiable list of the points at the time of the call,
+   * which creates the DataPoint views on the columns of this data on access.
    * If a data point is modified, resetCache() should be called on this object.
    *
    * @return all data points, never null, may be empty.
    */
   public List<DataPoint> getAllPoints()
   {
-    return new ArrayList<>(points);
+    return createPointList(null, size);
   }
 
   @JsonIgnore
   public List<DataPoint> getPointsWithLocation()
   {
-    if (locationPoints == null)
+    List<DataPoint> result = locationPoints;
+    if (result == null)
     {
-      fillLocationPoints();
+      result = createPointList(DataPoint::hasLocation);
+      locationPoints = result;
     }
-    return locationPoints;
+    return result;
   }
 
-  private void fillLocationPoints()
+  @JsonIgnore
+  public List<DataPoint> getPointsWithMagneticField()
   {
-    List<DataPoint> locationPoints = new ArrayList<>();
-    for (DataPoint point : points)
+    List<DataPoint> result = magneticFieldPoints;
+    if (result == null)
     {
-      if (point.hasLocation())
-      {
-        locationPoints.add(point);
-      }
+      result = createPointList(DataPoint::hasMagneticField);
+      magneticFieldPoints = result;
     }
-    this.locationPoints = locationPoints;
+    return result;
   }
 
   @JsonIgnore
-  public List<DataPoint> getPointsWithMagneticField()
+  public List<DataPoint> getPointsWithAcceleration()
   {
-    if (magneticFieldPoints == null)
+    List<DataPoint> result = accelerationPoints;
+    if (result == null)
     {
-      fillMagneticFieldPoints();
+      result = createPointList(DataPoint::hasAcceleration);
+      accelerationPoints = result;
     }
-    return magneticFieldPoints;
+    return result;
   }
 
-  private void fillMagneticFieldPoints()
+  private List<DataPoint> createPointList(Predicate<DataPoint> filter)
   {
-    List<DataPoint> magneticFieldPoints = new ArrayList<>();
-    for (DataPoint point : points)
-    {
-      if (point.hasMagneticField())
-      {
-        magneticFieldPoints.add(point);
-      }
-    }
-    this.magneticFieldPoints = magneticFieldPoints;
+    int[] indices = IntStream.range(0, size).filter(i -> filter.test(get(i))).toArray();
+    return createPointList(indices, indices.length);
+  }
+
+  private List<DataPoint> createPointList(int[] indices, int pointCount)
+  {
+    return new PointList(chunks.toArray(new PointChunk[chunks.size()]), firstRow, chunkShift, indices, pointCount);
   }
 
+  /**
+   * Returns the columnar index over the data.
+   * The columns are derived from the columns of the points, restricted to the points of a channel,
+   * on first access and discarded when resetCache() is called.
+   *
+   * @return the columnar data, not null.
+   */
   @JsonIgnore
-  public List<DataPoint> getPointsWithAcceleration()
+  public DataColumns getColumns()
   {
-    if (accelerationPoints == null)
+    DataColumns result = columns;
+    if (result == null)
     {
-      fillAccelerationPoints();
+      result = new DataColumns(this);
+      columns = result;
     }
-    return accelerationPoints;
+    return result;
   }
 
-  public void fillAccelerationPoints()
+  /**
+   * Replaces the columns of the data, e.g. by columns for changed wind directions
+   * which share the unchanged columns with the current ones.
+   * The cached point lists are kept, so the points with location must not have changed.
+   *
+   * @param columns the new columns, built from this data, not null.
+   */
+  public void setColumns(DataColumns columns)
   {
-    List<DataPoint> accelerationPoints = new ArrayList<>();
-    for (DataPoint point : points)
-    {
-      if (point.hasAcceleration())
-      {
-        accelerationPoints.add(point);
-      }
-    }
-    this.accelerationPoints = accelerationPoints;
+    this.columns = columns;
   }
 
   public void resetCache()
@@ -185,6 +521,7 @@ public class Data
     locationPoints = null;
     magneticFieldPoints = null;
     accelerationPoints = null;
+    columns = null;
   }
 
   public void setComment(String comment)
@@ -202,6 +539,20 @@ public class Data
     return tackSeriesList;
   }
 
+  /**
+   * Replaces the tack list and the tack series list.
+   * The lists are replaced, not modified, so lists obtained before this call
+   * stay unchanged and still belong to each other.
+   *
+   * @param tackList the new tack list, not null.
+   * @param tackSeriesList the tack series of the new tack list, not null.
+   */
+  public void setTacks(TackList tackList, List<TackSeries> tackSeriesList)
+  {
+    this.tackList = tackList;
+    this.tackSeriesList = tackSeriesList;
+  }
+
   public File getFile()
   {
     return file;
@@ -240,74 +591,80 @@ public class Data
 
   public Long getStartTime()
   {
-    if (points.isEmpty())
+    if (size == 0)
     {
       return null;
     }
-    return points.get(0).time;
+    return get(0).getTime();
   }
 
   public Long getEndTime()
   {
-    if (points.isEmpty())
+    if (size == 0)
     {
       return null;
     }
-    return points.get(points.size() - 1).time;
+    return getLast().getTime();
   }
 
   public Long getLocationStartTime()
   {
-    if (getPointsWithLocation().isEmpty())
+    List<DataPoint> locationPoints = getPointsWithLocation();
+    if (locationPoints.isEmpty())
     {
       return null;
     }
-    return locationPoints.get(0).time;
+    return locationPoints.get(0).getTime();
   }
 
   public Long getLocationEndTime()
   {
-    if (getPointsWithLocation().isEmpty())
+    List<DataPoint> locationPoints = getPointsWithLocation();
+    if (locationPoints.isEmpty())
     {
       return null;
     }
-    return locationPoints.get(locationPoints.size() - 1).time;
+    return locationPoints.get(locationPoints.size() - 1).getTime();
   }
 
   public Long getMagneticFieldStartTime()
   {
-    if (getPointsWithMagneticField().isEmpty())
+    List<DataPoint> magneticFieldPoints = getPointsWithMagneticField();
+    if (magneticFieldPoints.isEmpty())
     {
       return null;
     }
-    return magneticFieldPoints.get(0).time;
+    return magneticFieldPoints.get(0).getTime();
   }
 
   public Long getMagneticFieldEndTime()
   {
-    if (getPointsWithMagneticField().isEmpty())
+    List<DataPoint> magneticFieldPoints = getPointsWithMagneticField();
+    if (magneticFieldPoints.isEmpty())
     {
       return null;
     }
-    return magneticFieldPoints.get(magneticFieldPoints.size() - 1).time;
+    return magneticFieldPoints.get(magneticFieldPoints.size() - 1).getTime();
   }
 
   public Long getAccelerationStartTime()
   {
-    if (getPointsWithAcceleration().isEmpty())
+    List<DataPoint> accelerationPoints = getPointsWithAcceleration();
+    if (accelerationPoints.isEmpty())
     {
       return null;
     }
-    return accelerationPoints.get(0).time;
+    return accelerationPoints.get(0).getTime();
   }
 
   public Long getAccelerationEndTime()
   {
-    if (getPointsWithAcceleration().isEmpty())
+    List<DataPoint> accelerationPoints = getPointsWithAcceleration();
+    if (accelerationPoints.isEmpty())
     {
       return null;
     }
-    return accelerationPoints.get(accelerationPoints.size() - 1).time;
+    return accelerationPoints.get(accelerationPoints.size() - 1).getTime();
   }
 
   public double getAverageLocationPointFrequency()
@@ -354,20 +711,165 @@ public class Data
 
   public ThreeDimVector getAverageAcceleration()
   {
-    ThreeDimVector averageAcceleration = new ThreeDimVector(0d, 0d, 0d);
-    int accelerationCount = 0;
-
-    for (DataPoint point : getPointsWithAcceleration())
-    {
-      averageAcceleration.add(point.acceleration);
-      accelerationCount++;
-    }
+    AccelerationColumns acceleration = getColumns().getAcceleration();
+    int accelerationCount = acceleration.size();
     if (accelerationCount == 0)
     {
       return null;
     }
+    double x = 0;
+    double y = 0;
+    double z = 0;
+    for (int i = 0; i < accelerationCount; i++)
+    {
+      x += acceleration.x.get(i);
+      y += acceleration.y.get(i);
+      z += acceleration.z.get(i);
+    }
+    ThreeDimVector averageAcceleration = new ThreeDimVector(x, y, z);
     averageAcceleration = averageAcceleration.multiplyBy(1d / accelerationCount);
     return averageAcceleration;
   }
 
+  /**
+   * Creates a Data object from many points without the overhead of add(DataPoint).
+   * The values of the points are written to the columns of the data, either copied from a point by add()
+   * or set directly on the point returned by addPoint(), which avoids creating a point of its own.
+   * The ordering of the points in time is checked once when the data is built.
+   * A builder can only be used to build one Data object.
+   */
+  public static class Builder
+  {
+    private Data data;
+
+    public Builder()
+    {
+      this(16);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param expectedSize the expected number of points, used to size the list of chunks.
+     */
+    public Builder(int expectedSize)
+    {
+      data = new Data();
+      data.chunks.ensureCapacity((Math.max(expectedSize, 0) >> DEFAULT_CHUNK_SHIFT) + 1);
+    }
+
+    /**
+     * Adds a point, copying its values.
+     *
+     * @param point the point to add, not null. Can be changed and added again afterwards.
+     *
+     * @return this builder, not null.
+     */
+    public Builder add(DataPoint point)
+    {
+      DataPoint added = getData().addRow();
+      PointChunk.copy(point.chunk, point.row, added.chunk, added.row);
+      return this;
+    }
+
+    /**
+     * Adds a point without values.
+     * The values of the returned point are set in the columns of the data.
+     *
+     * @param index the index of the point, see DataPoint.getIndex().
+     *
+     * @return the added point, not null.
+     */
+    public DataPoint addPoint(int index)
+    {
+      DataPoint result = getData().addRow();
+      result.setIndex(index);
+      return result;
+    }
+
+    /**
+     * Marks that the next data point added starts a new track segment.
+     *
+     * @see Data#startNewSegment()
+     */
+    public Builder startNewSegment()
+    {
+      getData().startNewSegment();
+      return this;
+    }
+
+    public int size()
+    {
+      return getData().size;
+    }
+
+    /**
+     * Returns the data containing the added points.
+     *
+     * @return the data, not null.
+     *
+     * @throws IllegalArgumentException if the points are not ordered in time.
+     * @throws IllegalStateException if the data has already been built.
+     */
+    public Data build()
+    {
+      Data result = getData();
+      data = null;
+      result.checkOrderedInTime();
+      return result;
+    }
+
+    private Data getData()
+    {
+      if (data == null)
+      {
+        throw new IllegalStateException("Data has already been built");
+      }
+      return data;
+    }
+  }
+
+  /**
+   * Unmodifiable list of the points in the chunks at the time the list was created,
+   * either of all points or of the points at a list of indices.
+   */
+  private static final class PointList extends AbstractList<DataPoint> implements RandomAccess
+  {
+    private final PointChunk[] chunks;
+
+    private final int firstRow;
+
+    private final int chunkShift;
+
+    /** The indices of the points in the list, or null if the list contains all points. */
+    private final int[] indices;
+
+    private final int size;
+
+    PointList(PointChunk[] chunks, int firstRow, int chunkShift, int[] indices, int size)
+    {
+      this.chunks = chunks;
+      this.firstRow = firstRow;
+      this.chunkShift = chunkShift;
+      this.indices = indices;
+      this.size = size;
+    }
+
+    @Override
+    public DataPoint get(int index)
+    {
+      if (index < 0 || index >= size)
+      {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      int position = firstRow + (indices == null ? index : indices[index]);
+      return new DataPoint(chunks[position >> chunkShift], position & ((1 << chunkShift) - 1));
+    }
+
+    @Override
+    public int size()
+    {
+      return size;
+    }
+  }
 }
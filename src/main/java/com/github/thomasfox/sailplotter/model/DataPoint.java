@@ -11,64 +11,569 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.github.thomasfox.sailplotter.Constants;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
 import com.github.thomasfox.sailplotter.model.vector.TwoDimVector;
 
+/**
+ * A point of the recorded data, i.e. the values measured or calculated for one point in time.
+ * The values are not stored in the DataPoint object itself but in the primitive columns of the Data object
+ * the point belongs to, so a DataPoint is a lightweight view on one row of the columns:
+ * it can be created when needed and discarded afterwards, and changing its values changes the data.
+ * Two DataPoint objects are equal if they refer to the same row.
+ * A point created by one of the public constructors does not belong to a Data object
+ * and stores its values in columns of its own; adding it to a Data object copies the values.
+ *
+ * The location, wind, magnetic field and acceleration of the point are returned as copies,
+ * so they must be set again to change them. The get and set methods for the single values
+ * of these channels access the columns without creating objects.
+ */
 public class DataPoint
 {
+  final PointChunk chunk;
+
+  final int row;
+
+  public DataPoint(int index)
+  {
+    this(new PointChunk(1), 0);
+    chunk.index[0] = index;
+  }
+
+  public DataPoint(DataPoint toCopy)
+  {
+    this(new PointChunk(1), 0);
+    PointChunk.copy(toCopy.chunk, toCopy.row, chunk, 0);
+  }
+
   /**
-   * The index of the point in the global list of data points,
+   * Constructor for a view on a row of the columns of a Data object.
+   *
+   * @param chunk the columns containing the point, not null.
+   * @param row the row of the point in the columns.
+   */
+  DataPoint(PointChunk chunk, int row)
+  {
+    this.chunk = chunk;
+    this.row = row;
+  }
+
+  /**
+   * Returns the index of the point in the global list of data points,
    * or -1 to indicate that the data point is not a member of the global list of data points.
+   *
+   * @return the index of the point.
+   */
+  @JsonIgnore
+  public int getIndex()
+  {
+    return chunk.index[row];
+  }
+
+  public void setIndex(int index)
+  {
+    chunk.index[row] = index;
+  }
+
+  /**
+   * Returns the time of the point.
+   *
+   * @return millis since 01.01.1970 0:00:00.000 GMT, or null if not known.
+   */
+  public Long getTime()
+  {
+    return chunk.time.getOrNull(row);
+  }
+
+  public void setTime(Long time)
+  {
+    chunk.time.set(row, time);
+  }
+
+  /**
+   * Returns a copy of the location of the boat, typically obtained from GPS.
+   *
+   * @return the location, or null if the point has no location.
+   */
+  public Location getLocation()
+  {
+    if (!chunk.hasLocation(row))
+    {
+      return null;
+    }
+    return chunk.location.get(row);
+  }
+
+  /**
+   * Sets the location of the point to the values of a location.
+   * The location is copied, so changing it afterwards does not change the point.
+   *
+   * @param location the location, or null to remove the location from the point.
+   */
+  public void setLocation(Location location)
+  {
+    if (location != null)
+    {
+      chunk.location().set(row, location);
+    }
+    else if (chunk.location != null)
+    {
+      chunk.location.clear(row);
+    }
+  }
+
+  /**
+   * Returns whether a location is set for the point,
+   * though possibly without latitude and longitude or interpolated, see hasLocation().
+   *
+   * @return true if getLocation() is not null, false otherwise.
+   */
+  public boolean isLocationSet()
+  {
+    return chunk.hasLocation(row);
+  }
+
+  /** See Location.latitude. */
+  public Double getLatitude()
+  {
+    return chunk.hasLocation(row) ? chunk.location.latitude.getOrNull(row) : null;
+  }
+
+  /**
+   * Sets the latitude of the location, see Location.latitude.
+   * If the point has no location, a location with only this value is set.
+   * The same holds for the other set methods of the location values.
+   *
+   * @param latitude the latitude in arcs, or null.
+   */
+  public void setLatitude(Double latitude)
+  {
+    location().latitude.set(row, latitude);
+  }
+
+  /** See Location.longitude. */
+  public Double getLongitude()
+  {
+    return chunk.hasLocation(row) ? chunk.location.longitude.getOrNull(row) : null;
+  }
+
+  public void setLongitude(Double longitude)
+  {
+    location().longitude.set(row, longitude);
+  }
+
+  /** See Location.altitude. */
+  public Double getAltitude()
+  {
+    return chunk.hasLocation(row) ? chunk.location.altitude.getOrNull(row) : null;
+  }
+
+  public void setAltitude(Double altitude)
+  {
+    location().altitude.set(row, altitude);
+  }
+
+  /** See Location.velocity. */
+  public Double getVelocity()
+  {
+    return chunk.hasLocation(row) ? chunk.location.velocity.getOrNull(row) : null;
+  }
+
+  public void setVelocity(Double velocity)
+  {
+    location().velocity.set(row, velocity);
+  }
+
+  /** See Location.bearing. */
+  public Double getBearing()
+  {
+    return chunk.hasLocation(row) ? chunk.location.bearing.getOrNull(row) : null;
+  }
+
+  public void setBearing(Double bearing)
+  {
+    location().bearing.set(row, bearing);
+  }
+
+  /** See Location.velocityFromLatLong. */
+  public Double getVelocityFromLatLong()
+  {
+    return chunk.hasLocation(row) ? chunk.location.velocityFromLatLong.getOrNull(row) : null;
+  }
+
+  public void setVelocityFromLatLong(Double velocityFromLatLong)
+  {
+    location().velocityFromLatLong.set(row, velocityFromLatLong);
+  }
+
+  /** See Location.bearingFromLatLong. */
+  public Double getBearingFromLatLong()
+  {
+    return chunk.hasLocation(row) ? chunk.location.bearingFromLatLong.getOrNull(row) : null;
+  }
+
+  public void setBearingFromLatLong(Double bearingFromLatLong)
+  {
+    location().bearingFromLatLong.set(row, bearingFromLatLong);
+  }
+
+  /** See Location.velocityBearingAveragedOverDistance. */
+  public Double getVelocityBearingAveragedOverDistance()
+  {
+    return chunk.hasLocation(row) ? chunk.location.velocityBearingAveragedOverDistance.getOrNull(row) : null;
+  }
+
+  public void setVelocityBearingAveragedOverDistance(Double velocityBearingAveragedOverDistance)
+  {
+    location().velocityBearingAveragedOverDistance.set(row, velocityBearingAveragedOverDistance);
+  }
+
+  /** See Location.satelliteTime. */
+  public Long getSatelliteTime()
+  {
+    return chunk.hasLocation(row) ? chunk.location.satelliteTime.getOrNull(row) : null;
+  }
+
+  public void setSatelliteTime(Long satelliteTime)
+  {
+    location().satelliteTime.set(row, satelliteTime);
+  }
+
+  /** See Location.interpolated. */
+  public boolean isInterpolated()
+  {
+    return chunk.hasLocation(row) && chunk.location.interpolated.get(row);
+  }
+
+  public void setInterpolated(boolean interpolated)
+  {
+    location().interpolated.set(row, interpolated);
+  }
+
+  /**
+   * Returns the distance from the aequator in north direction in meters, see Location.getY().
+   *
+   * @return the north coordinate in meters, NaN if the point has no latitude.
+   */
+  @JsonIgnore
+  public double getY()
+  {
+    return getLocationValue(chunk.location == null ? null : chunk.location.latitude) * Constants.EARTH_RADIUS;
+  }
+
+  /**
+   * Returns the distance from the Greenwich meridian in west direction in meters, see Location.getX().
+   *
+   * @return the west coordinate in meters, NaN if the point has no latitude or longitude.
    */
   @JsonIgnore
-  public int index = -1;
+  public double getX()
+  {
+    if (chunk.location == null)
+    {
+      return Double.NaN;
+    }
+    double latitude = getLocationValue(chunk.location.latitude);
+    return getLocationValue(chunk.location.longitude) * Math.cos(latitude) * Constants.EARTH_RADIUS;
+  }
+
+  /**
+   * Sets latitude and longitude of the location from projected coordinates, see Location.setXY().
+   *
+   * @param x the west coordinate in meters.
+   * @param y the north coordinate in meters.
+   */
+  public void setXY(double x, double y)
+  {
+    double latitude = y / Constants.EARTH_RADIUS;
+    setLatitude(latitude);
+    setLongitude(x / Constants.EARTH_RADIUS / Math.cos(latitude));
+  }
+
+  private double getLocationValue(DoubleColumn column)
+  {
+    if (column == null || !chunk.location.present.get(row) || !column.isPresent(row))
+    {
+      return Double.NaN;
+    }
+    return column.get(row);
+  }
 
-  /** millis since 01.01.1970 0:00:00.000 GMT.*/
-  public Long time;
+  @JsonIgnore
+  public Double getBearingFromLatLongAs360Degrees()
+  {
+    Double bearingFromLatLong = getBearingFromLatLong();
+    if (bearingFromLatLong != null)
+    {
+      return bearingFromLatLong / 2 / Math.PI * 360;
+    }
+    return null;
+  }
 
-  /** Location of boat, typically obtained from GPS. */
-  public Location location;
+  @JsonIgnore
+  public Double getGpsBearingAs360Degrees()
+  {
+    Double bearing = getBearing();
+    if (bearing != null)
+    {
+      return bearing / 2 / Math.PI * 360;
+    }
+    return null;
+  }
 
   /**
-   * Magnetic field at boat position, typically obtained by a
+   * Calculates the distance between the locations of two points, see Location.approximateDistance().
+   *
+   * @param other the point to compute the distance to, not null.
+   *
+   * @return the distance in meters.
+   */
+  public double approximateDistance(DataPoint other)
+  {
+    double xDist = getX() - other.getX();
+    double yDist = getY() - other.getY();
+    return Math.sqrt(xDist * xDist + yDist * yDist);
+  }
+
+  private PointChunk.LocationValues location()
+  {
+    PointChunk.LocationValues result = chunk.location();
+    result.present.set(row);
+    return result;
+  }
+
+  /**
+   * Returns a copy of the wind data at the place of the boat, can be interpolated.
+   *
+   * @return the wind, or null if the point has no wind data.
+   */
+  @JsonInclude(Include.NON_NULL)
+  public Wind getWind()
+  {
+    if (!chunk.hasWind(row))
+    {
+      return null;
+    }
+    return chunk.wind.get(row);
+  }
+
+  /**
+   * Sets the wind of the point to the values of a wind.
+   * The wind is copied, so changing it afterwards does not change the point.
+   *
+   * @param wind the wind, or null to remove the wind from the point.
+   */
+  public void setWind(Wind wind)
+  {
+    if (wind != null)
+    {
+      chunk.wind().set(row, wind);
+    }
+    else if (chunk.wind != null)
+    {
+      chunk.wind.clear(row);
+    }
+  }
+
+  public boolean hasWind()
+  {
+    return chunk.hasWind(row);
+  }
+
+  /** See Wind.direction. */
+  @JsonIgnore
+  public Double getWindDirection()
+  {
+    return chunk.hasWind(row) ? chunk.wind.direction.getOrNull(row) : null;
+  }
+
+  /**
+   * Sets the wind direction, see Wind.direction.
+   * If the point has no wind, a wind with only this value is set.
+   *
+   * @param windDirection the direction in arcs where the wind comes from, or null.
+   */
+  public void setWindDirection(Double windDirection)
+  {
+    chunk.wind().direction.set(row, windDirection);
+    chunk.wind.present.set(row);
+  }
+
+  /** See Wind.velocity. */
+  @JsonIgnore
+  public Double getWindVelocity()
+  {
+    return chunk.hasWind(row) ? chunk.wind.velocity.getOrNull(row) : null;
+  }
+
+  public void setWindVelocity(Double windVelocity)
+  {
+    chunk.wind().velocity.set(row, windVelocity);
+    chunk.wind.present.set(row);
+  }
+
+  /**
+   * Returns a copy of the magnetic field at boat position, typically obtained by a
    * mobile phone's magnetic sensors.
+   *
+   * @return the magnetic field, or null if the point has no magnetic field.
    */
   @JsonInclude(Include.NON_NULL)
-  public MagneticField magneticField;
+  public MagneticField getMagneticField()
+  {
+    if (!chunk.hasMagneticField(row))
+    {
+      return null;
+    }
+    return chunk.magneticField.get(row);
+  }
+
+  /**
+   * Sets the magnetic field of the point to the values of a magnetic field.
+   * The magnetic field is copied, so changing it afterwards does not change the point.
+   *
+   * @param magneticField the magnetic field, or null to remove the magnetic field from the point.
+   */
+  public void setMagneticField(MagneticField magneticField)
+  {
+    if (magneticField != null)
+    {
+      chunk.magneticField().set(row, magneticField);
+    }
+    else if (chunk.magneticField != null)
+    {
+      chunk.magneticField.clear(row);
+    }
+  }
+
+  /** See MagneticField.compassBearing. */
+  @JsonIgnore
+  public Double getCompassBearing()
+  {
+    return chunk.hasMagneticField(row) ? chunk.magneticField.compassBearing.getOrNull(row) : null;
+  }
+
+  /**
+   * Sets the compass bearing of the magnetic field, see MagneticField.compassBearing.
+   *
+   * @param compassBearing the compass bearing in arcs, or null.
+   *
+   * @throws IllegalStateException if the point has no magnetic field.
+   */
+  public void setCompassBearing(Double compassBearing)
+  {
+    if (!chunk.hasMagneticField(row))
+    {
+      throw new IllegalStateException("The point has no magnetic field");
+    }
+    chunk.magneticField.compassBearing.set(row, compassBearing);
+  }
+
+  @JsonIgnore
+  public Double getCompassBearingAs360Degrees()
+  {
+    Double compassBearing = getCompassBearing();
+    if (compassBearing != null)
+    {
+      return compassBearing / 2 / Math.PI * 360;
+    }
+    return null;
+  }
 
   /**
-   * Measured acceleration in Nm/s^2, including gravitational acceleration,
+   * Returns a copy of the measured acceleration in Nm/s^2, including gravitational acceleration,
    * in arbitrary but constant orientation.
+   *
+   * @return the acceleration, or null if the point has no acceleration.
    */
   @JsonInclude(Include.NON_NULL)
-  public Acceleration acceleration;
+  public Acceleration getAcceleration()
+  {
+    if (!chunk.hasAcceleration(row))
+    {
+      return null;
+    }
+    return chunk.acceleration.get(row);
+  }
 
-  /** Wind data at place of boat, can be interpolated. */
-  @JsonInclude(Include.NON_NULL)
-  public Wind wind;
+  /**
+   * Sets the acceleration of the point to the values of an acceleration.
+   * The acceleration is copied, so changing it afterwards does not change the point.
+   *
+   * @param acceleration the acceleration, or null to remove the acceleration from the point.
+   */
+  public void setAcceleration(Acceleration acceleration)
+  {
+    if (acceleration != null)
+    {
+      chunk.acceleration().set(row, acceleration);
+    }
+    else if (chunk.acceleration != null)
+    {
+      chunk.acceleration.clear(row);
+    }
+  }
 
-  @JsonInclude(Include.NON_NULL)
-  public ManoeuverState manoeuverState;
+  /** See Acceleration.heel. */
+  @JsonIgnore
+  public Double getHeel()
+  {
+    return chunk.hasAcceleration(row) ? chunk.acceleration.heel.getOrNull(row) : null;
+  }
 
-  public DataPoint(int index)
+  /**
+   * Sets the heel angle, see Acceleration.heel.
+   *
+   * @param heel the heel angle in arcs, or null.
+   *
+   * @throws IllegalStateException if the point has no acceleration.
+   */
+  public void setHeel(Double heel)
   {
-    this.index = index;
+    if (!chunk.hasAcceleration(row))
+    {
+      throw new IllegalStateException("The point has no acceleration");
+    }
+    chunk.acceleration.heel.set(row, heel);
   }
 
-  public DataPoint(DataPoint toCopy)
+  /** See Acceleration.roll. */
+  @JsonIgnore
+  public Double getRoll()
+  {
+    return chunk.hasAcceleration(row) ? chunk.acceleration.roll.getOrNull(row) : null;
+  }
+
+  /**
+   * Sets the roll angle, see Acceleration.roll.
+   *
+   * @param roll the roll angle in arcs, or null.
+   *
+   * @throws IllegalStateException if the point has no acceleration.
+   */
+  public void setRoll(Double roll)
+  {
+    if (!chunk.hasAcceleration(row))
+    {
+      throw new IllegalStateException("The point has no acceleration");
+    }
+    chunk.acceleration.roll.set(row, roll);
+  }
+
+  @JsonInclude(Include.NON_NULL)
+  public ManoeuverState getManoeuverState()
   {
-    this.index = toCopy.index;
-    this.time = toCopy.time;
-    this.location = Location.copy(toCopy.location);
-    this.wind = Wind.copy(toCopy.wind);
-    this.magneticField = MagneticField.copy(toCopy.magneticField);
-    this.acceleration = Acceleration.copy(toCopy.acceleration);
-    this.manoeuverState = toCopy.manoeuverState;
+    return chunk.getManoeuverState(row);
+  }
+
+  public void setManoeuverState(ManoeuverState manoeuverState)
+  {
+    chunk.setManoeuverState(row, manoeuverState);
   }
 
   @JsonIgnore
   public LocalDateTime getLocalDateTime()
   {
-    return getLocalDateTime(time);
+    return getLocalDateTime(getTime());
   }
 
   private LocalDateTime getLocalDateTime(long millisSince1970)
@@ -92,57 +597,92 @@ public class DataPoint
 
   public boolean hasLocation()
   {
-    return location != null
-        && location.latitude != null
-        && location.longitude != null
-        && !location.interpolated;
+    return chunk.hasLocation(row)
+        && chunk.location.latitude.isPresent(row)
+        && chunk.location.longitude.isPresent(row)
+        && !chunk.location.interpolated.get(row);
   }
 
   public boolean hasAcceleration()
   {
-    return acceleration != null;
+    return chunk.hasAcceleration(row);
   }
 
   public boolean hasRoll()
   {
-    return acceleration != null && acceleration.roll != null;
+    return chunk.hasAcceleration(row) && chunk.acceleration.roll.isPresent(row);
   }
 
 
   public boolean hasHeel()
   {
-    return acceleration != null && acceleration.heel != null;
+    return chunk.hasAcceleration(row) && chunk.acceleration.heel.isPresent(row);
   }
 
 
   public boolean hasMagneticField()
   {
-    return magneticField != null;
+    return chunk.hasMagneticField(row);
   }
 
   public boolean hasCompassBearing()
   {
-    return magneticField != null && magneticField.compassBearing != null;
+    return chunk.hasMagneticField(row) && chunk.magneticField.compassBearing.isPresent(row);
   }
 
   public long averageTime(DataPoint other)
   {
-    return (time + other.time) / 2;
+    return (getTime() + other.getTime()) / 2;
   }
 
   public long timeDistanceMillis(DataPoint other)
   {
-    long result = time - other.time;
+    long result = getTime() - other.getTime();
     return result;
   }
 
   public Double getRelativeBearingInArcs()
   {
-    if (wind == null || wind.direction == null || location == null || location.bearingFromLatLong == null)
+    if (!chunk.hasWind(row))
+    {
+      return null;
+    }
+    return getRelativeBearingInArcs(getWindDirection());
+  }
+
+  /**
+   * Returns the bearing of this point relative to a wind direction which is not the wind direction of this point,
+   * e.g. a wind direction which is calculated but not yet set.
+   *
+   * @param windDirection the direction in arcs where the wind comes from, or null.
+   *
+   * @return the relative bearing in arcs, in the range [0, 2*PI[,
+   *         or null if the bearing of this point or the wind direction is not known.
+   */
+  public Double getRelativeBearingInArcs(Double windDirection)
+  {
+    if (!chunk.hasLocation(row))
+    {
+      return null;
+    }
+    return getRelativeBearingInArcs(getBearingFromLatLong(), windDirection);
+  }
+
+  /**
+   * Returns a bearing relative to a wind direction.
+   *
+   * @param bearing the absolute bearing in arcs, or null.
+   * @param windDirection the direction in arcs where the wind comes from, or null.
+   *
+   * @return the relative bearing in arcs, in the range [0, 2*PI[, or null if one of the parameters is null.
+   */
+  public static Double getRelativeBearingInArcs(Double bearing, Double windDirection)
+  {
+    if (bearing == null || windDirection == null)
     {
       return null;
     }
-    double result =  location.bearingFromLatLong - wind.direction;
+    double result =  bearing - windDirection;
     if (result < 0)
     {
       result += 2 * Math.PI;
@@ -187,8 +727,8 @@ public class DataPoint
    */
   public Double getBearingTo(DataPoint other)
   {
-    double xDistance = other.location.getX() - location.getX();
-    double yDistance = other.location.getY() - location.getY();
+    double xDistance = other.getX() - getX();
+    double yDistance = other.getY() - getY();
     return new TwoDimVector(xDistance, yDistance).getBearingToYInArcs();
   }
 
@@ -223,11 +763,12 @@ public class DataPoint
    */
   public Double getBearingDifference(Double absoluteBearingInArcs)
   {
-    if (location == null || location.bearingFromLatLong == null || absoluteBearingInArcs == null)
+    Double bearingFromLatLong = getBearingFromLatLong();
+    if (bearingFromLatLong == null || absoluteBearingInArcs == null)
     {
       return null;
     }
-    double bearingDifference = location.bearingFromLatLong - absoluteBearingInArcs;
+    double bearingDifference = bearingFromLatLong - absoluteBearingInArcs;
     if (bearingDifference > Math.PI)
     {
       bearingDifference -= 2 * Math.PI;
@@ -241,7 +782,35 @@ public class DataPoint
 
   public double getVelocityInKnotsBetween(DataPoint other)
   {
-    return location.approximateDistance(other.location) / timeDistanceMillis(other) * 1000 / Constants.NAUTICAL_MILE * 3600d;
+    return approximateDistance(other) / timeDistanceMillis(other) * 1000 / Constants.NAUTICAL_MILE * 3600d;
+  }
+
+  /**
+   * Checks whether another object refers to the same point, i.e. to the same row of the same columns.
+   *
+   * @param obj the object to compare with, or null.
+   *
+   * @return true if obj is a DataPoint referring to the same point, false otherwise.
+   */
+  @Override
+  public boolean equals(Object obj)
+  {
+    if (this == obj)
+    {
+      return true;
+    }
+    if (!(obj instanceof DataPoint))
+    {
+      return false;
+    }
+    DataPoint other = (DataPoint) obj;
+    return chunk == other.chunk && row == other.row;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return 31 * System.identityHashCode(chunk) + row;
   }
 
   @Override
@@ -249,30 +818,30 @@ public class DataPoint
   {
     StringBuilder result = new StringBuilder()
         .append("DataPoint: ");
-    if (time != null)
+    if (getTime() != null)
     {
       result.append(getLocalDateTime());
     }
-    if (location !=null && location.latitude != null && location.longitude != null)
+    if (getLatitude() != null && getLongitude() != null)
     {
       result.append(" (")
-        .append(new DecimalFormat("0").format(location.getX()))
+        .append(new DecimalFormat("0").format(getX()))
         .append("m,")
-        .append(new DecimalFormat("0").format(location.getY()))
+        .append(new DecimalFormat("0").format(getY()))
         .append("m) ");
     }
-    if (location !=null && location.velocityFromLatLong != null)
+    if (getVelocityFromLatLong() != null)
     {
-      result.append(new DecimalFormat("0.0").format(location.velocityFromLatLong))
+      result.append(new DecimalFormat("0.0").format(getVelocityFromLatLong()))
           .append("kts ");
     }
-    if (location !=null && location.bearingFromLatLong != null)
+    if (getBearingFromLatLong() != null)
     {
-      result.append(new DecimalFormat("0.0").format(location.getBearingFromLatLongAs360Degrees()))
+      result.append(new DecimalFormat("0.0").format(getBearingFromLatLongAs360Degrees()))
           .append("�Abs ");
     }
-    if (location !=null && location.bearingFromLatLong != null
-        && wind != null && wind.direction != null)
+    if (getBearingFromLatLong() != null
+        && getWindDirection() != null)
     {
       result.append(new DecimalFormat("0.0").format(getRelativeBearingAs360Degrees()))
           .append("�Rel");
@@ -285,18 +854,18 @@ public class DataPoint
   {
     StringBuilder result = new StringBuilder()
         .append(DateTimeFormatter.ISO_LOCAL_TIME.format(getLocalDateTime()));
-    if (location != null && location.velocityFromLatLong != null)
+    if (getVelocityFromLatLong() != null)
     {
-      result.append(new DecimalFormat("0.0").format(location.velocityFromLatLong))
+      result.append(new DecimalFormat("0.0").format(getVelocityFromLatLong()))
           .append("kts ");
     }
-    if (location != null && location.bearingFromLatLong != null)
+    if (getBearingFromLatLong() != null)
     {
-      result.append(new DecimalFormat("0.0").format(location.getBearingFromLatLongAs360Degrees()))
+      result.append(new DecimalFormat("0.0").format(getBearingFromLatLongAs360Degrees()))
           .append("�Abs ");
     }
-    if (location != null && location.bearingFromLatLong != null
-        && wind != null && wind.direction != null)
+    if (getBearingFromLatLong() != null
+        && getWindDirection() != null)
     {
       result.append(new DecimalFormat("0.0").format(getRelativeBearingAs360Degrees()))
           .append("�Rel");
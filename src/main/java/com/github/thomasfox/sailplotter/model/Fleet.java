@@ -0,0 +1,167 @@
+package com.github.thomasfox.sailplotter.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The recorded data of several boats which sailed in the same session.
+ *
+ * The boats are aligned on a common timeline of absolute times, which reaches
+ * from the first to the last location point of all boats and has one tick
+ * every TIMELINE_STEP_MILLIS milliseconds.
+ * A fleet is immutable, adding a boat creates a new fleet, so a fleet
+ * can be handed to the user interface while further boats are loaded.
+ */
+public class Fleet
+{
+  /** The time between two ticks of the timeline in milliseconds. */
+  public static final long TIMELINE_STEP_MILLIS = 1000L;
+
+  private final List<Data> boats;
+
+  private final Long startTime;
+
+  private final Long endTime;
+
+  /**
+   * Creates a fleet without boats.
+   */
+  public Fleet()
+  {
+    this(Collections.emptyList(), null, null);
+  }
+
+  private Fleet(List<Data> boats, Long startTime, Long endTime)
+  {
+    this.boats = boats;
+    this.startTime = startTime;
+    this.endTime = endTime;
+  }
+
+  /**
+   * Returns a fleet which contains the boats of this fleet and the passed boat.
+   *
+   * @param boat the analyzed data of the boat to add, not null.
+   *
+   * @return the new fleet, not null.
+   */
+  public Fleet withBoat(Data boat)
+  {
+    List<Data> newBoats = new ArrayList<>(boats);
+    newBoats.add(boat);
+    Long newStartTime = startTime;
+    Long newEndTime = endTime;
+    Long boatStartTime = boat.getLocationStartTime();
+    if (boatStartTime != null)
+    {
+      long boatEndTime = boat.getLocationEndTime();
+      newStartTime = (startTime == null) ? boatStartTime : Math.min(startTime, boatStartTime);
+      newEndTime = (endTime == null) ? boatEndTime : Math.max(endTime, boatEndTime);
+    }
+    return new Fleet(Collections.unmodifiableList(newBoats), newStartTime, newEndTime);
+  }
+
+  /**
+   * Returns the boats in the order they were added.
+   *
+   * @return the data of the boats, not null.
+   */
+  public List<Data> getBoats()
+  {
+    return boats;
+  }
+
+  public int size()
+  {
+    return boats.size();
+  }
+
+  /**
+   * Returns the time of the first location point of all boats.
+   *
+   * @return the start time in milliseconds since the epoch,
+   *         or null if no boat has location points.
+   */
+  public Long getStartTime()
+  {
+    return startTime;
+  }
+
+  /**
+   * Returns the time of the last location point of all boats.
+   *
+   * @return the end time in milliseconds since the epoch,
+   *         or null if no boat has location points.
+   */
+  public Long getEndTime()
+  {
+    return endTime;
+  }
+
+  /**
+   * Returns the number of ticks of the common timeline.
+   * The first tick is at the start time, the last tick is at or after the end time.
+   *
+   * @return the number of ticks, or 0 if no boat has location points.
+   */
+  public int getTimelineSize()
+  {
+    if (startTime == null)
+    {
+      return 0;
+    }
+    return (int) ((endTime - startTime + TIMELINE_STEP_MILLIS - 1) / TIMELINE_STEP_MILLIS) + 1;
+  }
+
+  /**
+   * Returns the absolute time of a tick of the common timeline.
+   *
+   * @param index the index of the tick, between 0 and getTimelineSize() - 1.
+   *
+   * @return the time of the tick in milliseconds since the epoch.
+   */
+  public long getTimelineTime(int index)
+  {
+    if (startTime == null)
+    {
+      throw new IllegalStateException("The fleet has no location points");
+    }
+    return startTime + index * TIMELINE_STEP_MILLIS;
+  }
+
+  /**
+   * Returns the tick of the common timeline which is nearest to an absolute time.
+   *
+   * @param time the time in milliseconds since the epoch.
+   *
+   * @return the index of the nearest tick, between 0 and getTimelineSize() - 1.
+   */
+  public int getTimelineIndex(long time)
+  {
+    if (startTime == null)
+    {
+      throw new IllegalStateException("The fleet has no location points");
+    }
+    long index = Math.round((time - startTime) / (double) TIMELINE_STEP_MILLIS);
+    return (int) Math.max(0, Math.min(index, getTimelineSize() - 1));
+  }
+
+  /**
+   * Returns the location relative to which the map coordinates of all boats are calculated,
+   * i.e. the first location point of the first boat with location points.
+   *
+   * @return the reference location, or null if no boat has location points.
+   */
+  public Location getReferenceLocation()
+  {
+    for (Data boat : boats)
+    {
+      if (!boat.getPointsWithLocation().isEmpty())
+      {
+        return boat.getPointsWithLocation().get(0).getLocation();
+      }
+    }
+    return null;
+  }
+}
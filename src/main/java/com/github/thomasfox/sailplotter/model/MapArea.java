@@ -1,12 +1,13 @@
 package com.github.thomasfox.sailplotter.model;
 
-import java.util.List;
-import java.util.function.UnaryOperator;
+import java.util.function.Function;
 
 import org.jfree.data.Range;
 
-import com.github.thomasfox.sailplotter.analyze.MinMax;
 import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
+import com.github.thomasfox.sailplotter.model.columns.LocationColumns;
+import com.github.thomasfox.sailplotter.model.columns.RangeIndex;
 import com.github.thomasfox.sailplotter.model.vector.TwoDimVector;
 
 /**
@@ -22,52 +23,92 @@ public class MapArea
 
   public double maximumY;
 
+  /**
+   * Calculates the area covered by the location points in a time window position,
+   * in map coordinates relative to the first location point.
+   * The area is calculated from the range indices of the projected coordinates,
+   * so the calculation time does not depend on the number of points in the area.
+   *
+   * @param zoomedData the data to calculate the area for, not null.
+   * @param filter the position relative to the zoom window, or null for all points.
+   *
+   * @return the area, not null.
+   *
+   * @see #calculateFrom(ZoomedData, TimeWindowPosition, Function)
+   */
   public static MapArea calculateFrom(ZoomedData zoomedData, TimeWindowPosition filter)
   {
-    TwoDimVector offset = zoomedData.getPointsWithLocation().get(0).location.getXY();
-    return MapArea.calculateFrom(zoomedData, filter, transformLocation(xy -> xy.subtract(offset)));
+    DataColumns columns = zoomedData.getColumns();
+    LocationColumns location = columns.getLocation();
+    int from = zoomedData.getLocationIndexFrom(filter);
+    int to = zoomedData.getLocationIndexTo(filter);
+    RangeIndex.Statistics x = columns.getRangeIndex(location.x).getStatistics(from, to);
+    RangeIndex.Statistics y = columns.getRangeIndex(location.y).getStatistics(from, to);
+    double firstPointX = location.x.get(0);
+    double firstPointY = location.y.get(0);
+    MapArea result = new MapArea();
+    result.minimumX = x.minimum - firstPointX;
+    result.maximumX = x.maximum - firstPointX;
+    result.minimumY = y.minimum - firstPointY;
+    result.maximumY = y.maximum - firstPointY;
+    result.extendAround(new TwoDimVector(0d, 0d));
+    return result;
   }
 
+  /**
+   * Calculates the area covered by the location points in a time window position.
+   * If the area is smaller than one metre in one direction, it is extended to two metres
+   * around the first location point in this direction.
+   *
+   * @param zoomedData the data to calculate the area for, not null.
+   * @param filter the position relative to the zoom window, or null for all points.
+   * @param xyProvider calculates the map coordinates of a location point, not null.
+   *
+   * @return the area, not null.
+   */
   public static MapArea calculateFrom(
       ZoomedData zoomedData,
       TimeWindowPosition filter,
-      UnaryOperator<DataPoint> transformation)
+      Function<DataPoint, TwoDimVector> xyProvider)
   {
     MapArea result = new MapArea();
-    List<DataPoint> dataSubset = zoomedData.getLocationSubset(filter);
-    result.minimumX = MinMax.getMinimum(dataSubset, d->transformation.apply(d).location.getX());
-    result.maximumX = MinMax.getMaximum(dataSubset, d->transformation.apply(d).location.getX());
-    if (result.maximumX - result.minimumX < 1)
+    result.minimumX = Double.MAX_VALUE;
+    result.maximumX = -Double.MAX_VALUE;
+    result.minimumY = Double.MAX_VALUE;
+    result.maximumY = -Double.MAX_VALUE;
+    for (DataPoint point : zoomedData.getLocationSubset(filter))
     {
-      double offsetX = transformation.apply(zoomedData.getPointsWithLocation().get(0)).location.getX();
-      result.minimumX = -1 + offsetX;
-      result.maximumX = 1 + offsetX;
+      TwoDimVector xy = xyProvider.apply(point);
+      result.minimumX = Math.min(result.minimumX, xy.x);
+      result.maximumX = Math.max(result.maximumX, xy.x);
+      result.minimumY = Math.min(result.minimumY, xy.y);
+      result.maximumY = Math.max(result.maximumY, xy.y);
     }
-
-    result.minimumY = MinMax.getMinimum(dataSubset, d->transformation.apply(d).location.getY());
-    result.maximumY = MinMax.getMaximum(dataSubset, d->transformation.apply(d).location.getY());
-    if (result.maximumY - result.minimumY < 1)
+    if (result.maximumX - result.minimumX < 1 || result.maximumY - result.minimumY < 1)
     {
-      double offsetY = transformation.apply(zoomedData.getPointsWithLocation().get(0)).location.getY();
-      result.minimumY = -1 + offsetY;
-      result.maximumY = 1 + offsetY;
+      result.extendAround(xyProvider.apply(zoomedData.getPointsWithLocation().get(0)));
     }
     return result;
   }
 
-  public static UnaryOperator<DataPoint> transformLocation(UnaryOperator<TwoDimVector> transformation)
+  /**
+   * Extends the area to two metres around a center point
+   * in each direction where it is smaller than one metre.
+   *
+   * @param center the point to extend the area around, not null.
+   */
+  private void extendAround(TwoDimVector center)
   {
-    return new UnaryOperator<DataPoint>()
+    if (maximumX - minimumX < 1)
     {
-
-      @Override
-      public DataPoint apply(DataPoint dataPoint)
-      {
-        DataPoint result = new DataPoint(dataPoint);
-        result.location = Location.fromXY(transformation.apply(dataPoint.location.getXY()));
-        return result;
-      }
-    };
+      minimumX = -1 + center.x;
+      maximumX = 1 + center.x;
+    }
+    if (maximumY - minimumY < 1)
+    {
+      minimumY = -1 + center.y;
+      maximumY = 1 + center.y;
+    }
   }
 
   public Range getXRangeWithMargin(double margin)
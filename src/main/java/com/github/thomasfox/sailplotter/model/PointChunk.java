@@ -0,0 +1,446 @@
+package com.github.thomasfox.sailplotter.model;
+
+import java.util.BitSet;
+
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
+import com.github.thomasfox.sailplotter.model.columns.LongColumn;
+
+/**
+ * Storage of the values of a fixed number of consecutive points, one primitive column per value.
+ * The columns of a channel (location, wind, magnetic field, acceleration) are only allocated
+ * when a value of the channel is set for a point of the chunk, and a bitmap per channel
+ * marks the points which have the channel.
+ * A chunk is never moved or resized, so a DataPoint referring to a row of a chunk stays valid
+ * while points are added to or dropped from the data.
+ */
+final class PointChunk
+{
+  final int capacity;
+
+  final int[] index;
+
+  final LongColumn time;
+
+  LocationValues location;
+
+  WindValues wind;
+
+  MagneticFieldValues magneticField;
+
+  AccelerationValues acceleration;
+
+  ManoeuverState[] manoeuverState;
+
+  PointChunk(int capacity)
+  {
+    this.capacity = capacity;
+    index = new int[capacity];
+    time = new LongColumn(capacity);
+  }
+
+  LocationValues location()
+  {
+    if (location == null)
+    {
+      location = new LocationValues(capacity);
+    }
+    return location;
+  }
+
+  WindValues wind()
+  {
+    if (wind == null)
+    {
+      wind = new WindValues(capacity);
+    }
+    return wind;
+  }
+
+  MagneticFieldValues magneticField()
+  {
+    if (magneticField == null)
+    {
+      magneticField = new MagneticFieldValues(capacity);
+    }
+    return magneticField;
+  }
+
+  AccelerationValues acceleration()
+  {
+    if (acceleration == null)
+    {
+      acceleration = new AccelerationValues(capacity);
+    }
+    return acceleration;
+  }
+
+  boolean hasLocation(int row)
+  {
+    return location != null && location.present.get(row);
+  }
+
+  boolean hasWind(int row)
+  {
+    return wind != null && wind.present.get(row);
+  }
+
+  boolean hasMagneticField(int row)
+  {
+    return magneticField != null && magneticField.present.get(row);
+  }
+
+  boolean hasAcceleration(int row)
+  {
+    return acceleration != null && acceleration.present.get(row);
+  }
+
+  ManoeuverState getManoeuverState(int row)
+  {
+    if (manoeuverState == null)
+    {
+      return null;
+    }
+    return manoeuverState[row];
+  }
+
+  void setManoeuverState(int row, ManoeuverState value)
+  {
+    if (manoeuverState == null)
+    {
+      if (value == null)
+      {
+        return;
+      }
+      manoeuverState = new ManoeuverState[capacity];
+    }
+    manoeuverState[row] = value;
+  }
+
+  /**
+   * Copies all values of a point to another point, replacing the values of the other point.
+   *
+   * @param from the chunk of the point to copy, not null.
+   * @param fromRow the row of the point to copy in its chunk.
+   * @param to the chunk of the point to write, not null.
+   * @param toRow the row of the point to write in its chunk.
+   */
+  static void copy(PointChunk from, int fromRow, PointChunk to, int toRow)
+  {
+    to.index[toRow] = from.index[fromRow];
+    to.time.set(toRow, from.time.getOrNull(fromRow));
+    to.setManoeuverState(toRow, from.getManoeuverState(fromRow));
+
+    if (from.hasLocation(fromRow))
+    {
+      to.location().copy(from.location, fromRow, toRow);
+    }
+    else if (to.location != null)
+    {
+      to.location.clear(toRow);
+    }
+
+    if (from.hasWind(fromRow))
+    {
+      to.wind().copy(from.wind, fromRow, toRow);
+    }
+    else if (to.wind != null)
+    {
+      to.wind.clear(toRow);
+    }
+
+    if (from.hasMagneticField(fromRow))
+    {
+      to.magneticField().copy(from.magneticField, fromRow, toRow);
+    }
+    else if (to.magneticField != null)
+    {
+      to.magneticField.clear(toRow);
+    }
+
+    if (from.hasAcceleration(fromRow))
+    {
+      to.acceleration().copy(from.acceleration, fromRow, toRow);
+    }
+    else if (to.acceleration != null)
+    {
+      to.acceleration.clear(toRow);
+    }
+  }
+
+  /**
+   * The values of the Location of the points of a chunk.
+   */
+  static final class LocationValues
+  {
+    final BitSet present;
+
+    final DoubleColumn latitude;
+
+    final DoubleColumn longitude;
+
+    final DoubleColumn altitude;
+
+    final DoubleColumn velocity;
+
+    final DoubleColumn bearing;
+
+    final DoubleColumn velocityFromLatLong;
+
+    final DoubleColumn bearingFromLatLong;
+
+    final DoubleColumn velocityBearingAveragedOverDistance;
+
+    final LongColumn satelliteTime;
+
+    final BitSet interpolated;
+
+    LocationValues(int capacity)
+    {
+      present = new BitSet(capacity);
+      latitude = new DoubleColumn(capacity);
+      longitude = new DoubleColumn(capacity);
+      altitude = new DoubleColumn(capacity);
+      velocity = new DoubleColumn(capacity);
+      bearing = new DoubleColumn(capacity);
+      velocityFromLatLong = new DoubleColumn(capacity);
+      bearingFromLatLong = new DoubleColumn(capacity);
+      velocityBearingAveragedOverDistance = new DoubleColumn(capacity);
+      satelliteTime = new LongColumn(capacity);
+      interpolated = new BitSet(capacity);
+    }
+
+    Location get(int row)
+    {
+      Location result = new Location();
+      result.latitude = latitude.getOrNull(row);
+      result.longitude = longitude.getOrNull(row);
+      result.altitude = altitude.getOrNull(row);
+      result.velocity = velocity.getOrNull(row);
+      result.bearing = bearing.getOrNull(row);
+      result.velocityFromLatLong = velocityFromLatLong.getOrNull(row);
+      result.bearingFromLatLong = bearingFromLatLong.getOrNull(row);
+      result.velocityBearingAveragedOverDistance = velocityBearingAveragedOverDistance.getOrNull(row);
+      result.satelliteTime = satelliteTime.getOrNull(row);
+      result.interpolated = interpolated.get(row);
+      return result;
+    }
+
+    void set(int row, Location value)
+    {
+      present.set(row);
+      latitude.set(row, value.latitude);
+      longitude.set(row, value.longitude);
+      altitude.set(row, value.altitude);
+      velocity.set(row, value.velocity);
+      bearing.set(row, value.bearing);
+      velocityFromLatLong.set(row, value.velocityFromLatLong);
+      bearingFromLatLong.set(row, value.bearingFromLatLong);
+      velocityBearingAveragedOverDistance.set(row, value.velocityBearingAveragedOverDistance);
+      satelliteTime.set(row, value.satelliteTime);
+      interpolated.set(row, value.interpolated);
+    }
+
+    void copy(LocationValues from, int fromRow, int toRow)
+    {
+      present.set(toRow);
+      latitude.set(toRow, from.latitude.getOrNull(fromRow));
+      longitude.set(toRow, from.longitude.getOrNull(fromRow));
+      altitude.set(toRow, from.altitude.getOrNull(fromRow));
+      velocity.set(toRow, from.velocity.getOrNull(fromRow));
+      bearing.set(toRow, from.bearing.getOrNull(fromRow));
+      velocityFromLatLong.set(toRow, from.velocityFromLatLong.getOrNull(fromRow));
+      bearingFromLatLong.set(toRow, from.bearingFromLatLong.getOrNull(fromRow));
+      velocityBearingAveragedOverDistance.set(toRow, from.velocityBearingAveragedOverDistance.getOrNull(fromRow));
+      satelliteTime.set(toRow, from.satelliteTime.getOrNull(fromRow));
+      interpolated.set(toRow, from.interpolated.get(fromRow));
+    }
+
+    void clear(int row)
+    {
+      present.clear(row);
+      latitude.set(row, (Double) null);
+      longitude.set(row, (Double) null);
+      altitude.set(row, (Double) null);
+      velocity.set(row, (Double) null);
+      bearing.set(row, (Double) null);
+      velocityFromLatLong.set(row, (Double) null);
+      bearingFromLatLong.set(row, (Double) null);
+      velocityBearingAveragedOverDistance.set(row, (Double) null);
+      satelliteTime.set(row, null);
+      interpolated.clear(row);
+    }
+  }
+
+  /**
+   * The values of the Wind of the points of a chunk.
+   */
+  static final class WindValues
+  {
+    final BitSet present;
+
+    final DoubleColumn direction;
+
+    final DoubleColumn velocity;
+
+    WindValues(int capacity)
+    {
+      present = new BitSet(capacity);
+      direction = new DoubleColumn(capacity);
+      velocity = new DoubleColumn(capacity);
+    }
+
+    Wind get(int row)
+    {
+      Wind result = new Wind();
+      result.direction = direction.getOrNull(row);
+      result.velocity = velocity.getOrNull(row);
+      return result;
+    }
+
+    void set(int row, Wind value)
+    {
+      present.set(row);
+      direction.set(row, value.direction);
+      velocity.set(row, value.velocity);
+    }
+
+    void copy(WindValues from, int fromRow, int toRow)
+    {
+      present.set(toRow);
+      direction.set(toRow, from.direction.getOrNull(fromRow));
+      velocity.set(toRow, from.velocity.getOrNull(fromRow));
+    }
+
+    void clear(int row)
+    {
+      present.clear(row);
+      direction.set(row, (Double) null);
+      velocity.set(row, (Double) null);
+    }
+  }
+
+  /**
+   * The values of the MagneticField of the points of a chunk.
+   */
+  static final class MagneticFieldValues
+  {
+    final BitSet present;
+
+    final double[] x;
+
+    final double[] y;
+
+    final double[] z;
+
+    final DoubleColumn compassBearing;
+
+    MagneticFieldValues(int capacity)
+    {
+      present = new BitSet(capacity);
+      x = new double[capacity];
+      y = new double[capacity];
+      z = new double[capacity];
+      compassBearing = new DoubleColumn(capacity);
+    }
+
+    MagneticField get(int row)
+    {
+      MagneticField result = new MagneticField(x[row], y[row], z[row]);
+      result.compassBearing = compassBearing.getOrNull(row);
+      return result;
+    }
+
+    void set(int row, MagneticField value)
+    {
+      present.set(row);
+      x[row] = value.x;
+      y[row] = value.y;
+      z[row] = value.z;
+      compassBearing.set(row, value.compassBearing);
+    }
+
+    void copy(MagneticFieldValues from, int fromRow, int toRow)
+    {
+      present.set(toRow);
+      x[toRow] = from.x[fromRow];
+      y[toRow] = from.y[fromRow];
+      z[toRow] = from.z[fromRow];
+      compassBearing.set(toRow, from.compassBearing.getOrNull(fromRow));
+    }
+
+    void clear(int row)
+    {
+      present.clear(row);
+      x[row] = 0d;
+      y[row] = 0d;
+      z[row] = 0d;
+      compassBearing.set(row, (Double) null);
+    }
+  }
+
+  /**
+   * The values of the Acceleration of the points of a chunk.
+   */
+  static final class AccelerationValues
+  {
+    final BitSet present;
+
+    final double[] x;
+
+    final double[] y;
+
+    final double[] z;
+
+    final DoubleColumn heel;
+
+    final DoubleColumn roll;
+
+    AccelerationValues(int capacity)
+    {
+      present = new BitSet(capacity);
+      x = new double[capacity];
+      y = new double[capacity];
+      z = new double[capacity];
+      heel = new DoubleColumn(capacity);
+      roll = new DoubleColumn(capacity);
+    }
+
+    Acceleration get(int row)
+    {
+      Acceleration result = new Acceleration(x[row], y[row], z[row]);
+      result.heel = heel.getOrNull(row);
+      result.roll = roll.getOrNull(row);
+      return result;
+    }
+
+    void set(int row, Acceleration value)
+    {
+      present.set(row);
+      x[row] = value.x;
+      y[row] = value.y;
+      z[row] = value.z;
+      heel.set(row, value.heel);
+      roll.set(row, value.roll);
+    }
+
+    void copy(AccelerationValues from, int fromRow, int toRow)
+    {
+      present.set(toRow);
+      x[toRow] = from.x[fromRow];
+      y[toRow] = from.y[fromRow];
+      z[toRow] = from.z[fromRow];
+      heel.set(toRow, from.heel.getOrNull(fromRow));
+      roll.set(toRow, from.roll.getOrNull(fromRow));
+    }
+
+    void clear(int row)
+    {
+      present.clear(row);
+      x[row] = 0d;
+      y[row] = 0d;
+      z[row] = 0d;
+      heel.set(row, (Double) null);
+      roll.set(row, (Double) null);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.github.thomasfox.sailplotter.model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list with a fixed capacity to which elements can only be appended.
+ * If the list is full, appending an element drops the oldest element,
+ * so the list always contains the last appended elements in the order they were appended.
+ *
+ * The elements are stored in an array of up to twice the capacity, and an element is never
+ * overwritten: appending writes behind the last element, and when the end of the array is reached,
+ * the retained elements are copied to a new array. So appending costs constant time on average,
+ * and views created by view() can share the array because the elements they contain are not changed
+ * by later appends.
+ *
+ * @param <E> the type of the elements.
+ */
+public class RingBuffer<E> extends AbstractList<E> implements RandomAccess
+{
+  private static final int MIN_STORAGE_LENGTH = 16;
+
+  private final int capacity;
+
+  private Object[] elements;
+
+  /** The position of the oldest element in the elements array. */
+  private int head;
+
+  private int size;
+
+  private int droppedCount;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity the maximum number of elements, must be positive.
+   */
+  public RingBuffer(int capacity)
+  {
+    if (capacity <= 0)
+    {
+      throw new IllegalArgumentException("capacity must be positive but is " + capacity);
+    }
+    this.capacity = capacity;
+    elements = new Object[Math.min(MIN_STORAGE_LENGTH, 2 * capacity)];
+  }
+
+  /**
+   * Appends an element, dropping the oldest element if the list is full.
+   *
+   * @param element the element to append.
+   *
+   * @return always true.
+   */
+  @Override
+  public boolean add(E element)
+  {
+    if (head + size == elements.length)
+    {
+      Object[] newElements = new Object[getStorageLength(size, capacity)];
+      System.arraycopy(elements, head, newElements, 0, size);
+      elements = newElements;
+      head = 0;
+    }
+    elements[head + size] = element;
+    if (size == capacity)
+    {
+      // the dropped element is not cleared because views may still contain it
+      head++;
+      droppedCount++;
+    }
+    else
+    {
+      size++;
+    }
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Returns the length of the storage arrays of a list which grows row by row
+   * but keeps at most capacity rows, when the rows have reached the end of the current storage.
+   * The storage grows like an ArrayList until it has twice the capacity,
+   * so the retained rows are copied at most once per capacity appended rows.
+   *
+   * @param size the number of retained rows.
+   * @param capacity the maximum number of retained rows.
+   *
+   * @return the length of the new storage arrays.
+   */
+  public static int getStorageLength(int size, int capacity)
+  {
+    return (int) Math.min(Math.max(2L * size, MIN_STORAGE_LENGTH), Math.min(2L * capacity, Integer.MAX_VALUE - 8));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index)
+  {
+    if (index < 0 || index >= size)
+    {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return (E) elements[head + index];
+  }
+
+  @Override
+  public int size()
+  {
+    return size;
+  }
+
+  public int getCapacity()
+  {
+    return capacity;
+  }
+
+  public boolean isFull()
+  {
+    return size == capacity;
+  }
+
+  /**
+   * Returns the number of elements which were dropped because the list was full.
+   * This is the number of elements appended before the current first element.
+   *
+   * @return the number of dropped elements, not negative.
+   */
+  public int getDroppedCount()
+  {
+    return droppedCount;
+  }
+
+  /**
+   * Returns an unmodifiable view of a range of the current elements,
+   * which shares the storage with this list but is not changed by appending to this list later,
+   * also not if the elements in the view are dropped from this list.
+   * Creating the view costs constant time.
+   *
+   * @param fromIndex the index of the first element in the view.
+   * @param toIndex the index after the last element in the view.
+   *
+   * @return the view, not null.
+   *
+   * @throws IndexOutOfBoundsException if the range is not within the current elements.
+   */
+  public List<E> view(int fromIndex, int toIndex)
+  {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+    {
+      throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + size);
+    }
+    return new View<>(elements, head + fromIndex, toIndex - fromIndex);
+  }
+
+  private static class View<E> extends AbstractList<E> implements RandomAccess
+  {
+    private final Object[] elements;
+
+    private final int offset;
+
+    private final int size;
+
+    View(Object[] elements, int offset, int size)
+    {
+      this.elements = elements;
+      this.offset = offset;
+      this.size = size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index)
+    {
+      if (index < 0 || index >= size)
+      {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return (E) elements[offset + index];
+    }
+
+    @Override
+    public int size()
+    {
+      return size;
+    }
+  }
+}
@@ -2,6 +2,11 @@ package com.github.thomasfox.sailplotter.model;
 
 import java.text.DecimalFormat;
 import java.util.List;
+import java.util.Objects;
+
+import com.github.thomasfox.sailplotter.Constants;
+import com.github.thomasfox.sailplotter.model.columns.LocationProjection;
+import com.github.thomasfox.sailplotter.model.columns.TrackSums;
 
 public class Tack
 {
@@ -39,11 +44,65 @@ public class Tack
   public DataPoint tackStraightLineIntersectionEnd;
 
   /**
-   * @return the length of the tack in meters
+   * The projected locations of the data the tack belongs to, or null.
+   * If set, it is used for the geometric calculations of this tack.
+   */
+  public LocationProjection projection;
+
+  /**
+   * The cumulative sums along the track of the data the tack belongs to, or null.
+   * If set, the distance sailed and the average speed over ground of this tack are read from it,
+   * otherwise they are calculated from the points within the tack.
+   */
+  public TrackSums trackSums;
+
+  /** The start, end and points of the tack for which the main section was determined, or null. */
+  private DataPoint mainSectionStart;
+
+  private DataPoint mainSectionEnd;
+
+  private List<DataPoint> mainSectionPoints;
+
+  private DataPoint afterStartManeuver;
+
+  private DataPoint beforeEndManeuver;
+
+  /**
+   * @return the length of the tack in meters, i.e. the straight-line distance from start to end.
    */
   public double getLength()
   {
-    return end.location.approximateDistance(start.location);
+    return getDistance(end, start);
+  }
+
+  /**
+   * Returns the distance sailed in the tack, i.e. the sum of the distances
+   * between consecutive points with location from start to end.
+   * Unlike getLength(), this includes the distance sailed sideways to the straight line.
+   *
+   * @return the distance sailed in metres.
+   */
+  public double getDistanceSailed()
+  {
+    if (trackSums != null)
+    {
+      return trackSums.getDistance(startOfTackDataPointIndex, endOfTackDataPointIndex);
+    }
+    double result = 0d;
+    DataPoint previous = null;
+    for (DataPoint point : pointsWithinTack)
+    {
+      if (!point.hasLocation())
+      {
+        continue;
+      }
+      if (previous != null)
+      {
+        result += getDistance(point, previous);
+      }
+      previous = point;
+    }
+    return result;
   }
 
   /**
@@ -51,7 +110,7 @@ public class Tack
    */
   public long getDuration()
   {
-    return end.time - start.time;
+    return end.getTime() - start.getTime();
   }
 
   /**
@@ -66,7 +125,7 @@ public class Tack
     {
       return null;
     }
-    return start.getBearingTo(end);
+    return getBearing(start, end);
   }
 
   /**
@@ -91,7 +150,7 @@ public class Tack
     {
       return null;
     }
-    Double absoluteBearing = start.getBearingTo(end);
+    Double absoluteBearing = getBearing(start, end);
     if (absoluteBearing == null)
     {
       return null;
@@ -119,13 +178,84 @@ public class Tack
     return result;
   }
 
+  /**
+   * Returns the velocity made along the straight line from start to end of the tack.
+   *
+   * @return getLength() divided by the duration in knots, or null if the tack has not ended.
+   */
   public Double getVelocityInKnots()
   {
     if (end == null)
     {
       return null;
     }
-    return end.getVelocityInKnotsBetween(start);
+    return getDistance(end, start) / end.timeDistanceMillis(start) * 1000 / Constants.NAUTICAL_MILE * 3600d;
+  }
+
+  /**
+   * Returns the average speed over ground in the tack.
+   * Unlike getVelocityInKnots(), this includes the distance sailed sideways to the straight line.
+   *
+   * @return getDistanceSailed() divided by the duration in knots,
+   *         or null if the tack has not ended or has no duration.
+   */
+  public Double getAverageSpeedOverGroundInKnots()
+  {
+    if (end == null)
+    {
+      return null;
+    }
+    if (trackSums != null)
+    {
+      return toKnots(trackSums.getAverageVelocity(startOfTackDataPointIndex, endOfTackDataPointIndex));
+    }
+    long duration = end.timeDistanceMillis(start);
+    if (duration <= 0)
+    {
+      return null;
+    }
+    return toKnots(getDistanceSailed() / duration * 1000);
+  }
+
+  /**
+   * Returns the straight-line distance of the main part of the tack,
+   * i.e. between getAfterStartManeuver() and getBeforeEndManeuver().
+   * Must only be called if hasMainPoints() returns true.
+   *
+   * @return the straight-line distance in metres.
+   */
+  public synchronized double getMainPartDistance()
+  {
+    determineMainSection();
+    return getDistance(afterStartManeuver, beforeEndManeuver);
+  }
+
+  /**
+   * Returns the velocity made along the straight line of the main part of the tack,
+   * i.e. between getAfterStartManeuver() and getBeforeEndManeuver().
+   * Must only be called if hasMainPoints() returns true.
+   *
+   * @return getMainPartDistance() divided by the duration of the main part in knots,
+   *         or null if the main part has no duration.
+   */
+  public synchronized Double getMainPartVelocityInKnots()
+  {
+    determineMainSection();
+    long duration = beforeEndManeuver.timeDistanceMillis(afterStartManeuver);
+    if (duration == 0)
+    {
+      return null;
+    }
+    return getDistance(afterStartManeuver, beforeEndManeuver) / duration * 1000 / Constants.NAUTICAL_MILE * 3600d;
+  }
+
+  private static Double toKnots(Double metresPerSecond)
+  {
+    if (metresPerSecond == null)
+    {
+      return null;
+    }
+    return metresPerSecond / Constants.NAUTICAL_MILE * 3600d;
   }
 
   public Double getAverageVMGInKnots()
@@ -140,13 +270,26 @@ public class Tack
   }
 
   public void start(DataPoint startPoint, int dataPointIndex)
+  {
+    start(startPoint, dataPointIndex, startPoint.getWindDirection());
+  }
+
+  /**
+   * Starts the tack at a point, using a wind direction which need not be set in the point.
+   *
+   * @param startPoint the point which starts the tack, not null.
+   * @param dataPointIndex the index of the start point.
+   * @param startWindDirection the wind direction at the start point in arcs,
+   *        or null to keep the wind direction of the tack.
+   */
+  public void start(DataPoint startPoint, int dataPointIndex, Double startWindDirection)
   {
     start = startPoint;
     startOfTackDataPointIndex = dataPointIndex;
-    pointOfSail = startPoint.getPointOfSail();
-    if (startPoint.wind != null)
+    pointOfSail = PointOfSail.ofRelativeBearing(startPoint.getRelativeBearingInArcs(startWindDirection));
+    if (startWindDirection != null)
     {
-      windDirection = startPoint.wind.direction;
+      windDirection = startWindDirection;
     }
   }
 
@@ -165,7 +308,13 @@ public class Tack
    * @return a point in the tack after the maneuver starting the tack has finished,
    *         or null if no such point can be determined.
    */
-  public DataPoint getAfterStartManeuver()
+  public synchronized DataPoint getAfterStartManeuver()
+  {
+    determineMainSection();
+    return afterStartManeuver;
+  }
+
+  private DataPoint findAfterStartManeuver()
   {
     // simplistic approach: must have sailed n metres
     DataPoint result = null;
@@ -175,14 +324,14 @@ public class Tack
       {
         continue;
       }
-      if (candidate.location.approximateDistance(start.location) > MAIN_SECTION_START_AFTER_TACK_START_METRES)
+      if (getDistance(candidate, start) > MAIN_SECTION_START_AFTER_TACK_START_METRES)
       {
         result = candidate;
         break;
       }
     }
     // sanity check: must not be too close to end
-    if (result != null && result.location.approximateDistance(end.location) > MAIN_SECTION_END_BEFORE_TACK_END_METRES)
+    if (result != null && getDistance(result, end) > MAIN_SECTION_END_BEFORE_TACK_END_METRES)
     {
       return result;
     }
@@ -196,27 +345,53 @@ public class Tack
    * @return a point in the tack before the maneuver ending the tack has begun,
    *         or null if no such point can be determined.
    */
-  public DataPoint getBeforeEndManeuver()
+  public synchronized DataPoint getBeforeEndManeuver()
+  {
+    determineMainSection();
+    return beforeEndManeuver;
+  }
+
+  private DataPoint findBeforeEndManeuver()
   {
     // simplistic approach: must have sailed n metres
     DataPoint result = null;
     for (int i = pointsWithinTack.size() - 1; i >= 0; --i)
     {
       DataPoint candidate = pointsWithinTack.get(i);
-      if (candidate.location.approximateDistance(end.location) > MAIN_SECTION_END_BEFORE_TACK_END_METRES)
+      if (getDistance(candidate, end) > MAIN_SECTION_END_BEFORE_TACK_END_METRES)
       {
         result = candidate;
         break;
       }
     }
     // sanity check: must not be too close to start
-    if (result != null && result.location.approximateDistance(start.location) > MAIN_SECTION_START_AFTER_TACK_START_METRES)
+    if (result != null && getDistance(result, start) > MAIN_SECTION_START_AFTER_TACK_START_METRES)
     {
       return result;
     }
     return null;
   }
 
+  /**
+   * Determines the points after the start maneuver and before the end maneuver,
+   * unless they have already been determined for the current start, end and points of the tack.
+   * Must be called while holding the lock of this tack.
+   */
+  private void determineMainSection()
+  {
+    if (Objects.equals(mainSectionStart, start)
+        && Objects.equals(mainSectionEnd, end)
+        && mainSectionPoints == pointsWithinTack)
+    {
+      return;
+    }
+    afterStartManeuver = findAfterStartManeuver();
+    beforeEndManeuver = findBeforeEndManeuver();
+    mainSectionStart = start;
+    mainSectionEnd = end;
+    mainSectionPoints = pointsWithinTack;
+  }
+
   /**
    * Checks whether there is data between AfterStartManeuver and beforeEndManeuver
    * @return
@@ -233,7 +408,7 @@ public class Tack
     {
       return false;
     }
-    return (afterStartManeuver.location.approximateDistance(beforeEndManeuver.location) > 10d);
+    return (getDistance(afterStartManeuver, beforeEndManeuver) > 10d);
   }
 
   /**
@@ -253,9 +428,9 @@ public class Tack
       return null;
     }
     double thisTackBearing
-        = getAfterStartManeuver().getBearingTo(getBeforeEndManeuver());
+        = getBearing(getAfterStartManeuver(), getBeforeEndManeuver());
     double otherTackBearing
-        = other.getAfterStartManeuver().getBearingTo(other.getBeforeEndManeuver());
+        = other.getBearing(other.getAfterStartManeuver(), other.getBeforeEndManeuver());
     double tackAngle = otherTackBearing - thisTackBearing;
     if (tackAngle < - Math.PI)
     {
@@ -292,7 +467,7 @@ public class Tack
       {
         return null;
       }
-      intersectionTimeDifferenceMillis = other.tackStraightLineIntersectionStart.time - this.tackStraightLineIntersectionEnd.time;
+      intersectionTimeDifferenceMillis = other.tackStraightLineIntersectionStart.getTime() - this.tackStraightLineIntersectionEnd.getTime();
     }
     else if (other.endOfTackDataPointIndex == this.startOfTackDataPointIndex)
     {
@@ -300,7 +475,7 @@ public class Tack
       {
         return null;
       }
-      intersectionTimeDifferenceMillis = this.tackStraightLineIntersectionStart.time - other.tackStraightLineIntersectionEnd.time;
+      intersectionTimeDifferenceMillis = this.tackStraightLineIntersectionStart.getTime() - other.tackStraightLineIntersectionEnd.getTime();
     }
     else
     {
@@ -358,4 +533,32 @@ public class Tack
     }
     return result.toString();
   }
+
+  /**
+   * Calculates the distance between two points, using the projection if available.
+   *
+   * @return the distance in metres.
+   */
+  double getDistance(DataPoint point, DataPoint other)
+  {
+    if (projection != null)
+    {
+      return projection.getDistance(point, other);
+    }
+    return point.approximateDistance(other);
+  }
+
+  /**
+   * Calculates the bearing from one point to another, using the projection if available.
+   *
+   * @return the bearing in arcs, in the range [0, 2*PI[, or null.
+   */
+  Double getBearing(DataPoint point, DataPoint other)
+  {
+    if (projection != null)
+    {
+      return projection.getBearing(point, other);
+    }
+    return point.getBearingTo(other);
+  }
 }
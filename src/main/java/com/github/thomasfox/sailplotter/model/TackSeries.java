@@ -50,8 +50,13 @@ public class TackSeries
 
     DataPoint startPoint = tack.getAfterStartManeuver();
     DataPoint endPoint = tack.getBeforeEndManeuver();
-    Double distance = startPoint.location.approximateDistance(endPoint.location);
-    Double bearing = startPoint.getBearingTo(endPoint);
+    double distance = tack.getMainPartDistance();
+    Double bearing = tack.getBearing(startPoint, endPoint);
+    Double velocity = tack.getMainPartVelocityInKnots();
+    if (velocity == null)
+    {
+      return;
+    }
     if (tack.pointOfSail == PointOfSail.CLOSE_HAULED_PORT
         || tack.pointOfSail == PointOfSail.BEAM_REACH_PORT
         || tack.pointOfSail == PointOfSail.BROAD_REACH_PORT)
@@ -75,7 +80,7 @@ public class TackSeries
         weighedSumMainPartBearingPort += bearing * distance;
       }
 
-      weighedSumMainPartVelocityPort += endPoint.getVelocityInKnotsBetween(startPoint) * distance;
+      weighedSumMainPartVelocityPort += velocity * distance;
       weighSumPort += distance;
     }
     else if (tack.pointOfSail == PointOfSail.CLOSE_HAULED_STARBOARD
@@ -100,7 +105,7 @@ public class TackSeries
       {
         weighedSumMainPartBearingStarboard += bearing * distance;
       }
-      weighedSumMainPartVelocityStarboard += endPoint.getVelocityInKnotsBetween(startPoint) * distance;
+      weighedSumMainPartVelocityStarboard += velocity * distance;
       weighSumStarboard += distance;
     }
   }
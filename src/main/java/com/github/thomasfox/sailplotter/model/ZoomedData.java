@@ -13,12 +13,28 @@ import org.jfree.data.xy.XYSeries;
 import com.github.thomasfox.sailplotter.gui.component.panel.TimeWindowPosition;
 import com.github.thomasfox.sailplotter.gui.component.panel.ZoomChangeEvent;
 import com.github.thomasfox.sailplotter.listener.ZoomChangeListener;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
+import com.github.thomasfox.sailplotter.model.columns.LongColumn;
+import com.github.thomasfox.sailplotter.model.columns.MinMaxPyramid;
 import com.github.thomasfox.sailplotter.model.vector.TwoDimVector;
 
 public class ZoomedData implements ZoomChangeListener
 {
   private Data data;
 
+  /**
+   * The state of the data captured by withZoom(),
+   * or null if this object reads the current state of the data.
+   */
+  private List<DataPoint> capturedPointsWithLocation;
+
+  private DataColumns capturedColumns;
+
+  private TackList capturedTackList;
+
+  private double capturedAverageWindBearing;
+
   private int zoomWindowLocationStartIndex = 0;
 
   private int zoomWindowLocationEndIndex = 1;
@@ -51,18 +67,109 @@ public class ZoomedData implements ZoomChangeListener
     this.zoomWindowLocationEndIndex = e.getEndIndex();
   }
 
+  /**
+   * Returns a new ZoomedData object for the same data and another zoom window.
+   * This object is not changed.
+   * The returned object captures the location points, the location columns, the tack list
+   * and the average wind bearing of the data, so it can be read in a background thread
+   * while the caches of the data are reset or the tacks are replaced.
+   * Must be called on the thread which changes the data, i.e. the event dispatch thread.
+   *
+   * @param e the zoom window of the new object, not null.
+   *
+   * @return the new object, not null.
+   */
+  public ZoomedData withZoom(ZoomChangeEvent e)
+  {
+    ZoomedData result = new ZoomedData();
+    result.data = data;
+    if (data != null)
+    {
+      result.capturedPointsWithLocation = data.getPointsWithLocation();
+      result.capturedColumns = data.getColumns();
+      // the columns built from the points must be built before the points can change
+      result.capturedColumns.getLocation();
+      result.capturedColumns.getLocationProjection();
+      result.capturedTackList = data.getTackList();
+      result.capturedAverageWindBearing = data.getAverageWindBearing();
+    }
+    result.zoomChanged(e);
+    return result;
+  }
+
+  /**
+   * Returns the columns of the data.
+   *
+   * @return the columns, not null. Must only be called if the data is set.
+   */
+  public DataColumns getColumns()
+  {
+    if (capturedColumns != null)
+    {
+      return capturedColumns;
+    }
+    return data.getColumns();
+  }
+
+  /**
+   * Returns the tacks of the data.
+   *
+   * @return the tack list, not null. Must only be called if the data is set.
+   */
+  public TackList getTackList()
+  {
+    if (capturedTackList != null)
+    {
+      return capturedTackList;
+    }
+    return data.getTackList();
+  }
+
+  public double getAverageWindBearing()
+  {
+    if (capturedTackList != null)
+    {
+      return capturedAverageWindBearing;
+    }
+    return data.getAverageWindBearing();
+  }
+
   public LocalDateTime getLocationDataStartTime()
   {
-    return data.getPointsWithLocation().get(getLocationDataStartIndex()).getLocalDateTime();
+    return getPointsWithLocation().get(getLocationDataStartIndex()).getLocalDateTime();
   }
 
   public LocalDateTime getLocationDataEndTime()
   {
-    return data.getPointsWithLocation().get(getLocationDataEndIndex()).getLocalDateTime();
+    return getPointsWithLocation().get(getLocationDataEndIndex()).getLocalDateTime();
+  }
+
+  /**
+   * Returns the time of the location point at the start of the zoom window.
+   *
+   * @return the time in milliseconds since the epoch.
+   */
+  public long getLocationDataStartMillis()
+  {
+    return getColumns().getLocation().time.get(getLocationDataStartIndex());
+  }
+
+  /**
+   * Returns the time of the location point at the end of the zoom window.
+   *
+   * @return the time in milliseconds since the epoch.
+   */
+  public long getLocationDataEndMillis()
+  {
+    return getColumns().getLocation().time.get(getLocationDataEndIndex());
   }
 
   public List<DataPoint> getPointsWithLocation()
   {
+    if (capturedPointsWithLocation != null)
+    {
+      return capturedPointsWithLocation;
+    }
     return data.getPointsWithLocation();
   }
 
@@ -72,23 +179,70 @@ public class ZoomedData implements ZoomChangeListener
     {
       return true;
     }
-    if (position == TimeWindowPosition.BEFORE && point.getLocalDateTime().isAfter(getLocationDataStartTime()))
+    LongColumn time = getColumns().getLocation().time;
+    long startTime = time.get(getLocationDataStartIndex());
+    long endTime = time.get(getLocationDataEndIndex());
+    if (position == TimeWindowPosition.BEFORE && point.getTime() > startTime)
     {
       return false;
     }
     if (position == TimeWindowPosition.IN
-        && (!point.getLocalDateTime().isAfter(getLocationDataStartTime())
-            || !point.getLocalDateTime().isBefore(getLocationDataEndTime())))
+        && (point.getTime() <= startTime || point.getTime() >= endTime))
     {
       return false;
     }
-    if (position == TimeWindowPosition.AFTER && point.getLocalDateTime().isBefore(getLocationDataEndTime()))
+    if (position == TimeWindowPosition.AFTER && point.getTime() < endTime)
     {
       return false;
     }
     return true;
   }
 
+  /**
+   * Returns the first index in the location points which is in the selected position.
+   *
+   * @param position the position relative to the zoom window, or null for all points.
+   *
+   * @return the first index, inclusive.
+   */
+  public int getLocationIndexFrom(TimeWindowPosition position)
+  {
+    LongColumn time = getColumns().getLocation().time;
+    if (position == null || position == TimeWindowPosition.BEFORE)
+    {
+      return 0;
+    }
+    if (position == TimeWindowPosition.IN)
+    {
+      return time.upperBound(time.get(getLocationDataStartIndex()));
+    }
+    return time.lowerBound(time.get(getLocationDataEndIndex()));
+  }
+
+  /**
+   * Returns the index after the last index in the location points
+   * which is in the selected position.
+   *
+   * @param position the position relative to the zoom window, or null for all points.
+   *
+   * @return the last index, exclusive.
+   */
+  public int getLocationIndexTo(TimeWindowPosition position)
+  {
+    LongColumn time = getColumns().getLocation().time;
+    if (position == null || position == TimeWindowPosition.AFTER)
+    {
+      return time.size();
+    }
+    if (position == TimeWindowPosition.BEFORE)
+    {
+      return time.upperBound(time.get(getLocationDataStartIndex()));
+    }
+    return Math.max(
+        getLocationIndexFrom(position),
+        time.lowerBound(time.get(getLocationDataEndIndex())));
+  }
+
   public List<DataPoint> getLocationSubset(TimeWindowPosition position)
   {
     if (data == null)
@@ -96,16 +250,9 @@ public class ZoomedData implements ZoomChangeListener
       return new ArrayList<>();
     }
 
-    List<DataPoint> result = new ArrayList<>();
-    for (DataPoint point : data.getPointsWithLocation())
-    {
-      if (!isInSelectedPosition(point, position))
-      {
-        continue;
-      }
-      result.add(point);
-    }
-    return result;
+    return getPointsWithLocation().subList(
+        getLocationIndexFrom(position),
+        getLocationIndexTo(position));
   }
 
   public TimeSeries getTimeSeries(
@@ -146,9 +293,69 @@ public class ZoomedData implements ZoomChangeListener
     return series;
   }
 
+  /**
+   * Returns a time series of location points which contains at most about two points
+   * per bucket, where the whole track is divided into bucketBudget buckets.
+   * For each bucket, the points with the minimal and maximal value are kept.
+   *
+   * @param name the name of the series.
+   * @param position the position relative to the zoom window, or null for all points.
+   * @param column the column to select the minimal and maximal values from.
+   * @param mapper calculates the value in the series from a point,
+   *        must be monotonic in the column value.
+   * @param bucketBudget the number of buckets for the whole track,
+   *        typically the width of the plot in pixels.
+   *
+   * @return the time series, not null.
+   */
+  public TimeSeries getDownsampledLocationTimeSeries(
+      String name,
+      TimeWindowPosition position,
+      DoubleColumn column,
+      Function<DataPoint, Double> mapper,
+      int bucketBudget)
+  {
+    TimeSeries series = new TimeSeries(name);
+    if (data == null)
+    {
+      return series;
+    }
+    MinMaxPyramid pyramid = getColumns().getPyramid(column);
+    int level = pyramid.getLevel(column.size(), bucketBudget);
+    List<DataPoint> pointsWithLocation = getPointsWithLocation();
+    for (int index : pyramid.select(getLocationIndexFrom(position), getLocationIndexTo(position), level))
+    {
+      DataPoint point = pointsWithLocation.get(index);
+      series.addOrUpdate(point.getMillisecond(), mapper.apply(point));
+    }
+    return series;
+  }
+
+  public TimeSeries getDownsampledVelocityTimeSeries(TimeWindowPosition position, int bucketBudget)
+  {
+    return getDownsampledLocationTimeSeries(
+        "velocity",
+        position,
+        data == null ? null : getColumns().getLocation().velocityFromLatLong,
+        DataPoint::getVelocityFromLatLong,
+        bucketBudget);
+  }
+
+  public TimeSeries getDownsampledBearingInDegreesFromLatLongTimeSeries(
+      TimeWindowPosition position,
+      int bucketBudget)
+  {
+    return getDownsampledLocationTimeSeries(
+        "bearing from pos",
+        position,
+        data == null ? null : getColumns().getLocation().bearingFromLatLong,
+        DataPoint::getBearingFromLatLongAs360Degrees,
+        bucketBudget);
+  }
+
   public TimeSeries getVelocityTimeSeries(TimeWindowPosition position)
   {
-    return getLocationTimeSeries("velocity", position, point -> point.location.velocityFromLatLong);
+    return getLocationTimeSeries("velocity", position, DataPoint::getVelocityFromLatLong);
   }
 
   public TimeSeries getBearingInDegreesFromLatLongTimeSeries(TimeWindowPosition position)
@@ -156,7 +363,7 @@ public class ZoomedData implements ZoomChangeListener
     return getLocationTimeSeries(
         "bearing from pos",
         position,
-        point -> point.location.getBearingFromLatLongAs360Degrees());
+        DataPoint::getBearingFromLatLongAs360Degrees);
   }
 
 
@@ -165,7 +372,7 @@ public class ZoomedData implements ZoomChangeListener
     return getLocationTimeSeries(
         "bearing from pos",
         position,
-        point -> point.getRelativeBearingAs360Degrees());
+        DataPoint::getRelativeBearingAs360Degrees);
   }
 
   public XYSeries getTackIntersectionSeries(
@@ -173,7 +380,7 @@ public class ZoomedData implements ZoomChangeListener
       Function<Location, TwoDimVector> xyProvider)
   {
     XYSeries series = new XYSeries("XY", false, true);
-    for (Tack tack : data.getTackList())
+    for (Tack tack : getTackList())
     {
       if (!isInSelectedPosition(tack.start, position)
           && !isInSelectedPosition(tack.end, position))
@@ -182,8 +389,8 @@ public class ZoomedData implements ZoomChangeListener
       }
       if (tack.tackStraightLineIntersectionStart != null && tack.tackStraightLineIntersectionEnd != null)
       {
-        TwoDimVector start = xyProvider.apply(tack.tackStraightLineIntersectionStart.location);
-        TwoDimVector end = xyProvider.apply(tack.tackStraightLineIntersectionEnd.location);
+        TwoDimVector start = xyProvider.apply(tack.tackStraightLineIntersectionStart.getLocation());
+        TwoDimVector end = xyProvider.apply(tack.tackStraightLineIntersectionEnd.getLocation());
         series.add(start.x, start.y);
         series.add(end.x, end.y);
       }
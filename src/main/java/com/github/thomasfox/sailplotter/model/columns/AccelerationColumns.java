@@ -0,0 +1,45 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.model.Acceleration;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * Columnar copy of the points with acceleration.
+ * The column index is the index in Data.getPointsWithAcceleration().
+ */
+public class AccelerationColumns extends ChannelColumns
+{
+  public final DoubleColumn x;
+
+  public final DoubleColumn y;
+
+  public final DoubleColumn z;
+
+  /** Heel angle of the boat in arcs. */
+  public final DoubleColumn heel;
+
+  /** Roll angle of the boat in arcs. */
+  public final DoubleColumn roll;
+
+  public AccelerationColumns(List<DataPoint> points)
+  {
+    super(points);
+    int size = points.size();
+    x = new DoubleColumn(size);
+    y = new DoubleColumn(size);
+    z = new DoubleColumn(size);
+    heel = new DoubleColumn(size);
+    roll = new DoubleColumn(size);
+    for (int i = 0; i < size; i++)
+    {
+      Acceleration acceleration = points.get(i).getAcceleration();
+      x.set(i, acceleration.x);
+      y.set(i, acceleration.y);
+      z.set(i, acceleration.z);
+      heel.set(i, acceleration.heel);
+      roll.set(i, acceleration.roll);
+    }
+  }
+}
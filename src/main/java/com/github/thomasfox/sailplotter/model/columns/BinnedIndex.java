@@ -0,0 +1,191 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.Arrays;
+
+/**
+ * Index over a column which is divided into bins, e.g. by the bearing of each point.
+ * For any index range of the column, it returns the number of entries in a bin
+ * and the k-th smallest value of the entries in a bin, in O(log n) time
+ * independent of the length of the range.
+ *
+ * For each bin, the column indices of its entries are stored in ascending order,
+ * so the number of entries in an index range is the difference of two binary search results.
+ * If values are indexed, the values of each bin are replaced by their rank in the bin
+ * and stored in a wavelet matrix, which returns the k-th smallest rank in a range of entries.
+ */
+public class BinnedIndex
+{
+  /** The bin value of entries which are not in any bin. */
+  public static final int NO_BIN = -1;
+
+  /** indices[b] contains the column indices of the entries of bin b in ascending order. */
+  private final int[][] indices;
+
+  /** sortedValues[b] contains the values of the entries of bin b in ascending order, or is null. */
+  private final double[][] sortedValues;
+
+  /** Contains the rank of the value of each entry of bin b, in the order of indices[b], or is null. */
+  private final WaveletMatrix[] valueRanks;
+
+  /**
+   * Constructor.
+   *
+   * @param bins the bin of each column index, in the range [0, binCount[, or NO_BIN, not null.
+   * @param binCount the number of bins.
+   * @param values the values to index, or null if only the entries should be counted.
+   *        If not null, indices without a present value are not contained in any bin.
+   */
+  public BinnedIndex(int[] bins, int binCount, DoubleColumn values)
+  {
+    int[] count = new int[binCount];
+    for (int i = 0; i < bins.length; i++)
+    {
+      if (isContained(bins, values, i))
+      {
+        count[bins[i]]++;
+      }
+    }
+    indices = new int[binCount][];
+    for (int bin = 0; bin < binCount; bin++)
+    {
+      indices[bin] = new int[count[bin]];
+    }
+    Arrays.fill(count, 0);
+    for (int i = 0; i < bins.length; i++)
+    {
+      if (isContained(bins, values, i))
+      {
+        indices[bins[i]][count[bins[i]]++] = i;
+      }
+    }
+    if (values == null)
+    {
+      sortedValues = null;
+      valueRanks = null;
+      return;
+    }
+    sortedValues = new double[binCount][];
+    valueRanks = new WaveletMatrix[binCount];
+    for (int bin = 0; bin < binCount; bin++)
+    {
+      int[] binIndices = indices[bin];
+      Integer[] entriesByValue = new Integer[binIndices.length];
+      for (int entry = 0; entry < binIndices.length; entry++)
+      {
+        entriesByValue[entry] = entry;
+      }
+      Arrays.sort(entriesByValue, (a, b) -> Double.compare(values.get(binIndices[a]), values.get(binIndices[b])));
+      double[] binSortedValues = new double[binIndices.length];
+      int[] ranks = new int[binIndices.length];
+      for (int rank = 0; rank < entriesByValue.length; rank++)
+      {
+        binSortedValues[rank] = values.get(binIndices[entriesByValue[rank]]);
+        ranks[entriesByValue[rank]] = rank;
+      }
+      sortedValues[bin] = binSortedValues;
+      valueRanks[bin] = new WaveletMatrix(ranks, ranks.length);
+    }
+  }
+
+  private static boolean isContained(int[] bins, DoubleColumn values, int index)
+  {
+    return bins[index] != NO_BIN && (values == null || values.isPresent(index));
+  }
+
+  public int getBinCount()
+  {
+    return indices.length;
+  }
+
+  /**
+   * Returns the number of entries of a bin in an index range.
+   *
+   * @param bin the bin.
+   * @param from the first column index of the range, inclusive.
+   * @param to the last column index of the range, exclusive.
+   *
+   * @return the number of entries.
+   */
+  public int getCount(int bin, int from, int to)
+  {
+    if (from >= to)
+    {
+      return 0;
+    }
+    return lowerBound(indices[bin], to) - lowerBound(indices[bin], from);
+  }
+
+  /**
+   * Returns the k-th smallest value of the entries of a bin in an index range.
+   *
+   * @param bin the bin.
+   * @param from the first column index of the range, inclusive.
+   * @param to the last column index of the range, exclusive.
+   * @param k the rank of the value, 0 for the smallest value,
+   *        must be smaller than getCount(bin, from, to).
+   *
+   * @return the k-th smallest value.
+   */
+  public double getKthSmallest(int bin, int from, int to, int k)
+  {
+    if (valueRanks == null)
+    {
+      throw new IllegalStateException("No values are indexed");
+    }
+    int firstEntry = lowerBound(indices[bin], from);
+    int endEntry = Math.max(firstEntry, lowerBound(indices[bin], to));
+    return sortedValues[bin][valueRanks[bin].getKthSmallest(firstEntry, endEntry, k)];
+  }
+
+  /**
+   * Returns the first position in a sorted array whose value is not smaller than the given value.
+   */
+  private static int lowerBound(int[] sorted, int value)
+  {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high)
+    {
+      int middle = (low + high) >>> 1;
+      if (sorted[middle] < value)
+      {
+        low = middle + 1;
+      }
+      else
+      {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Assigns angles to bins of equal width which together cover the full circle.
+   *
+   * @param anglesInArcs the angles to assign, not null.
+   * @param binCount the number of bins.
+   * @param startInArcs the angle where the first bin starts.
+   *
+   * @return the bin of each angle, or NO_BIN for absent angles, not null.
+   */
+  public static int[] getAngleBins(DoubleColumn anglesInArcs, int binCount, double startInArcs)
+  {
+    int[] result = new int[anglesInArcs.size()];
+    for (int i = 0; i < result.length; i++)
+    {
+      if (!anglesInArcs.isPresent(i))
+      {
+        result[i] = NO_BIN;
+        continue;
+      }
+      double angle = (anglesInArcs.get(i) - startInArcs) % (2 * Math.PI);
+      if (angle < 0)
+      {
+        angle += 2 * Math.PI;
+      }
+      // rounding may give 2 * PI * binCount / (2 * PI) for angles just below 2 * PI
+      result[i] = Math.min((int) (angle * binCount / 2 / Math.PI), binCount - 1);
+    }
+    return result;
+  }
+}
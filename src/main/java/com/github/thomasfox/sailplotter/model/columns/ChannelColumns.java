@@ -0,0 +1,44 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+/**
+ * Columnar copy of the data points of one channel (e.g. all points with location).
+ * The index in the columns is the index of the point in the channel's point list.
+ */
+public abstract class ChannelColumns
+{
+  /** The time of the data points in milliseconds since the epoch. */
+  public final LongColumn time;
+
+  protected ChannelColumns(List<DataPoint> points)
+  {
+    time = new LongColumn(points.size());
+    for (int i = 0; i < points.size(); i++)
+    {
+      time.set(i, points.get(i).getTime());
+    }
+  }
+
+  /**
+   * Constructor for columns which share the time column with other columns of the same points.
+   *
+   * @param time the time column, not null.
+   */
+  protected ChannelColumns(LongColumn time)
+  {
+    this.time = time;
+  }
+
+  public int size()
+  {
+    return time.size();
+  }
+
+  public boolean isEmpty()
+  {
+    return time.size() == 0;
+  }
+}
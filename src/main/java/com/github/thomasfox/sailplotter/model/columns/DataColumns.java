@@ -0,0 +1,238 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.github.thomasfox.sailplotter.Constants;
+import com.github.thomasfox.sailplotter.model.Data;
+
+/**
+ * Read-only columnar index over a Data object, one column group per channel,
+ * together with the indices built on the columns.
+ * The values of the points are stored in the columns of the Data object itself;
+ * the column groups here contain only the points which have the channel, in dense columns,
+ * together with derived values such as the projected x and y,
+ * for the scans, searches and aggregations of the display and analysis.
+ * The column groups are built on first access and are a snapshot of the data points
+ * at that time; Data creates a new DataColumns object after resetCache() has been called.
+ * If only the wind direction of the points has changed, withChangedWind() reuses
+ * everything which does not depend on the wind instead of building it again.
+ */
+public class DataColumns
+{
+  private final Data data;
+
+  private LocationColumns location;
+
+  private MagneticFieldColumns magneticField;
+
+  private AccelerationColumns acceleration;
+
+  private LocationProjection locationProjection;
+
+  private LocationKdTree locationKdTree;
+
+  private TrackSums trackSums;
+
+  private BinnedIndex relativeBearingBins;
+
+  private BinnedIndex velocityByRelativeBearingBins;
+
+  private final Map<DoubleColumn, MinMaxPyramid> pyramids = new IdentityHashMap<>();
+
+  private final Map<DoubleColumn, RangeIndex> rangeIndices = new IdentityHashMap<>();
+
+  public DataColumns(Data data)
+  {
+    this.data = data;
+  }
+
+  /**
+   * Constructor for data whose location columns are already built, e.g. appended row by row
+   * by a LocationColumns.Builder while the points were received.
+   *
+   * @param data the data, not null.
+   * @param location the columns of the points with location of the data, not null.
+   * @param locationProjection the projection used for the x and y columns, not null.
+   * @param trackSums the track sums of the location columns, not null.
+   */
+  public DataColumns(Data data, LocationColumns location, LocationProjection locationProjection, TrackSums trackSums)
+  {
+    this.data = data;
+    this.location = location;
+    this.locationProjection = locationProjection;
+    this.trackSums = trackSums;
+  }
+
+  /**
+   * Returns columns for the same data with other wind directions of its points,
+   * e.g. wind directions which are calculated but not yet set in the points.
+   * The column groups and indices which do not depend on the wind direction are shared with this object,
+   * those which do are built again on first access.
+   *
+   * @param windDirection the new wind directions of the points with location, not null.
+   *        The column is used by the result and must not be changed afterwards.
+   *
+   * @return the columns for the new wind directions, not null.
+   */
+  public synchronized DataColumns withChangedWind(DoubleColumn windDirection)
+  {
+    DataColumns result = new DataColumns(data);
+    LocationColumns oldLocation = getLocation();
+    result.location = oldLocation.withChangedWind(windDirection);
+    result.magneticField = magneticField;
+    result.acceleration = acceleration;
+    result.locationProjection = locationProjection;
+    result.locationKdTree = locationKdTree;
+    for (Map.Entry<DoubleColumn, MinMaxPyramid> entry : pyramids.entrySet())
+    {
+      if (!oldLocation.isWindDependent(entry.getKey()))
+      {
+        result.pyramids.put(entry.getKey(), entry.getValue());
+      }
+    }
+    for (Map.Entry<DoubleColumn, RangeIndex> entry : rangeIndices.entrySet())
+    {
+      if (!oldLocation.isWindDependent(entry.getKey()))
+      {
+        result.rangeIndices.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return result;
+  }
+
+  public synchronized LocationColumns getLocation()
+  {
+    if (location == null)
+    {
+      location = new LocationColumns(data.getPointsWithLocation());
+    }
+    return location;
+  }
+
+  public synchronized MagneticFieldColumns getMagneticField()
+  {
+    if (magneticField == null)
+    {
+      magneticField = new MagneticFieldColumns(data.getPointsWithMagneticField());
+    }
+    return magneticField;
+  }
+
+  public synchronized AccelerationColumns getAcceleration()
+  {
+    if (acceleration == null)
+    {
+      acceleration = new AccelerationColumns(data.getPointsWithAcceleration());
+    }
+    return acceleration;
+  }
+
+  public synchronized LocationProjection getLocationProjection()
+  {
+    if (locationProjection == null)
+    {
+      locationProjection = new LocationProjection(data.getAllPoints());
+    }
+    return locationProjection;
+  }
+
+  /**
+   * Returns the KD-tree over the projected locations of the points with location.
+   * The tree is built on first access and then reused.
+   *
+   * @return the KD-tree over getLocation().x and getLocation().y, not null.
+   */
+  public synchronized LocationKdTree getLocationKdTree()
+  {
+    if (locationKdTree == null)
+    {
+      LocationColumns locationColumns = getLocation();
+      locationKdTree = new LocationKdTree(locationColumns.x, locationColumns.y);
+    }
+    return locationKdTree;
+  }
+
+  /**
+   * Returns the cumulative sums along the track of the points with location.
+   * The sums are calculated on first access and then reused.
+   *
+   * @return the sums over getLocation(), not null.
+   */
+  public synchronized TrackSums getTrackSums()
+  {
+    if (trackSums == null)
+    {
+      trackSums = new TrackSums(getLocation());
+    }
+    return trackSums;
+  }
+
+  /**
+   * Returns the points with location binned by their relative bearing,
+   * as shown in the relative bearing histogram.
+   * There are Constants.NUMBER_OF_BEARING_BINS bins, the first bin starts at -180 degrees.
+   * The index is built on first access and then reused.
+   *
+   * @return the binned index over getLocation().relativeBearing, without values, not null.
+   */
+  public synchronized BinnedIndex getRelativeBearingBins()
+  {
+    if (relativeBearingBins == null)
+    {
+      relativeBearingBins = new BinnedIndex(
+          BinnedIndex.getAngleBins(getLocation().relativeBearing, Constants.NUMBER_OF_BEARING_BINS, Math.PI),
+          Constants.NUMBER_OF_BEARING_BINS,
+          null);
+    }
+    return relativeBearingBins;
+  }
+
+  /**
+   * Returns the velocities of the points with location binned by their relative bearing,
+   * as shown in the velocity polar.
+   * There are Constants.NUMBER_OF_BEARING_BINS bins, the first bin starts at 0 degrees.
+   * The index is built on first access and then reused.
+   *
+   * @return the binned index over getLocation().relativeBearing,
+   *         with the values of getLocation().velocityFromLatLong, not null.
+   */
+  public synchronized BinnedIndex getVelocityByRelativeBearingBins()
+  {
+    if (velocityByRelativeBearingBins == null)
+    {
+      LocationColumns locationColumns = getLocation();
+      velocityByRelativeBearingBins = new BinnedIndex(
+          BinnedIndex.getAngleBins(locationColumns.relativeBearing, Constants.NUMBER_OF_BEARING_BINS, 0d),
+          Constants.NUMBER_OF_BEARING_BINS,
+          locationColumns.velocityFromLatLong);
+    }
+    return velocityByRelativeBearingBins;
+  }
+
+  /**
+   * Returns the min/max pyramid for a column of this object.
+   * The pyramid is built on first access and then reused.
+   *
+   * @param column the column, e.g. getLocation().velocityFromLatLong.
+   *
+   * @return the pyramid for the column, not null.
+   */
+  public synchronized MinMaxPyramid getPyramid(DoubleColumn column)
+  {
+    return pyramids.computeIfAbsent(column, MinMaxPyramid::new);
+  }
+
+  /**
+   * Returns the range index for a column of this object.
+   * The index is built on first access and then reused.
+   *
+   * @param column the column, e.g. getLocation().x.
+   *
+   * @return the range index for the column, not null.
+   */
+  public synchronized RangeIndex getRangeIndex(DoubleColumn column)
+  {
+    return rangeIndices.computeIfAbsent(column, RangeIndex::new);
+  }
+}
@@ -0,0 +1,134 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.BitSet;
+
+/**
+ * A column of nullable double values, stored as a primitive array
+ * and a bitmap marking the values which are present.
+ * The values can be a range of a larger array which is shared with other columns, see view().
+ */
+public class DoubleColumn
+{
+  private final double[] values;
+
+  /** The position of the value with index 0 in the values array. */
+  private final int offset;
+
+  private final int size;
+
+  private final BitSet present;
+
+  public DoubleColumn(int size)
+  {
+    this(new double[size], new BitSet(size));
+  }
+
+  /**
+   * Creates a column from existing values.
+   * The arrays are not copied.
+   *
+   * @param values the values, absent values should be NaN.
+   * @param present the bitmap of present values.
+   */
+  public DoubleColumn(double[] values, BitSet present)
+  {
+    this(values, 0, values.length, present);
+  }
+
+  private DoubleColumn(double[] values, int offset, int size, BitSet present)
+  {
+    this.values = values;
+    this.offset = offset;
+    this.size = size;
+    this.present = present;
+  }
+
+  public void set(int index, Double value)
+  {
+    if (value == null)
+    {
+      values[offset + index] = Double.NaN;
+      present.clear(index);
+      return;
+    }
+    set(index, value.doubleValue());
+  }
+
+  public void set(int index, double value)
+  {
+    values[offset + index] = value;
+    present.set(index);
+  }
+
+  /**
+   * Returns the value at a given index.
+   *
+   * @param index the index of the value.
+   * @return the value, or NaN if no value is present at the index.
+   */
+  public double get(int index)
+  {
+    return values[offset + index];
+  }
+
+  public Double getOrNull(int index)
+  {
+    if (!present.get(index))
+    {
+      return null;
+    }
+    return values[offset + index];
+  }
+
+  public boolean isPresent(int index)
+  {
+    return present.get(index);
+  }
+
+  public int size()
+  {
+    return size;
+  }
+
+  /**
+   * Returns a copy of this column which can be changed without changing this column.
+   *
+   * @return the copy, not null.
+   */
+  public DoubleColumn copy()
+  {
+    return copy(0, size, size);
+  }
+
+  /**
+   * Returns a copy of a range of this column, e.g. to move it to larger storage.
+   *
+   * @param fromIndex the index of the first value to copy.
+   * @param toIndex the index after the last value to copy.
+   * @param length the size of the copy, not smaller than toIndex - fromIndex.
+   *        The values after the copied values are absent.
+   *
+   * @return the copy, not null.
+   */
+  public DoubleColumn copy(int fromIndex, int toIndex, int length)
+  {
+    double[] copiedValues = new double[length];
+    System.arraycopy(values, offset + fromIndex, copiedValues, 0, toIndex - fromIndex);
+    return new DoubleColumn(copiedValues, present.get(fromIndex, toIndex));
+  }
+
+  /**
+   * Returns a read-only view of a range of this column which shares the values with this column.
+   * Only the bitmap of present values is copied, so setting values outside the range later
+   * does not affect the view; the values within the range must not be changed any more.
+   *
+   * @param fromIndex the index of the first value in the view.
+   * @param toIndex the index after the last value in the view.
+   *
+   * @return the view, not null.
+   */
+  public DoubleColumn view(int fromIndex, int toIndex)
+  {
+    return new DoubleColumn(values, offset + fromIndex, toIndex - fromIndex, present.get(fromIndex, toIndex));
+  }
+}
@@ -0,0 +1,303 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.RingBuffer;
+
+/**
+ * Columnar copy of the points with location.
+ * The column index is the index in Data.getPointsWithLocation().
+ * The columns are immutable once built; columns for changed wind directions
+ * are created by withChangedWind(), which shares the columns that do not depend on the wind.
+ * Columns of points received live are appended row by row by a Builder.
+ */
+public class LocationColumns extends ChannelColumns
+{
+  /** Latitude in arcs. */
+  public final DoubleColumn latitude;
+
+  /** Longitude in arcs. */
+  public final DoubleColumn longitude;
+
+  /** Altitude in meters. */
+  public final DoubleColumn altitude;
+
+  /** Velocity in m/s, as reported by the GPS device. */
+  public final DoubleColumn velocity;
+
+  /** Bearing in arcs, as reported by the GPS device. */
+  public final DoubleColumn bearing;
+
+  /** Velocity over ground in knots, calculated from latitude and longitude. */
+  public final DoubleColumn velocityFromLatLong;
+
+  /** Bearing in arcs, calculated from latitude and longitude. */
+  public final DoubleColumn bearingFromLatLong;
+
+  /** Direction where the wind comes from, in arcs. */
+  public final DoubleColumn windDirection;
+
+  /** Bearing relative to the wind direction in arcs, see DataPoint.getRelativeBearingInArcs(). */
+  public final DoubleColumn relativeBearing;
+
+  /** Projected x coordinate in metres, see Location.getX(). */
+  public final DoubleColumn x;
+
+  /** Projected y coordinate in metres, see Location.getY(). */
+  public final DoubleColumn y;
+
+  public LocationColumns(List<DataPoint> points)
+  {
+    super(points);
+    int size = points.size();
+    latitude = new DoubleColumn(size);
+    longitude = new DoubleColumn(size);
+    altitude = new DoubleColumn(size);
+    velocity = new DoubleColumn(size);
+    bearing = new DoubleColumn(size);
+    velocityFromLatLong = new DoubleColumn(size);
+    bearingFromLatLong = new DoubleColumn(size);
+    windDirection = new DoubleColumn(size);
+    relativeBearing = new DoubleColumn(size);
+    x = new DoubleColumn(size);
+    y = new DoubleColumn(size);
+    for (int i = 0; i < size; i++)
+    {
+      setRow(i, points.get(i));
+    }
+  }
+
+  /**
+   * Constructor for the empty storage of a Builder.
+   *
+   * @param length the number of rows in the storage.
+   */
+  private LocationColumns(int length)
+  {
+    super(new LongColumn(length));
+    latitude = new DoubleColumn(length);
+    longitude = new DoubleColumn(length);
+    altitude = new DoubleColumn(length);
+    velocity = new DoubleColumn(length);
+    bearing = new DoubleColumn(length);
+    velocityFromLatLong = new DoubleColumn(length);
+    bearingFromLatLong = new DoubleColumn(length);
+    windDirection = new DoubleColumn(length);
+    relativeBearing = new DoubleColumn(length);
+    x = new DoubleColumn(length);
+    y = new DoubleColumn(length);
+  }
+
+  /**
+   * Constructor for views on and copies of a range of rows of other columns.
+   *
+   * @param other the columns to view or copy, not null.
+   * @param timeMapper creates the time column from the time column of other, not null.
+   * @param mapper creates each of the other columns from the respective column of other, not null.
+   */
+  private LocationColumns(LocationColumns other, UnaryOperator<LongColumn> timeMapper, UnaryOperator<DoubleColumn> mapper)
+  {
+    super(timeMapper.apply(other.time));
+    latitude = mapper.apply(other.latitude);
+    longitude = mapper.apply(other.longitude);
+    altitude = mapper.apply(other.altitude);
+    velocity = mapper.apply(other.velocity);
+    bearing = mapper.apply(other.bearing);
+    velocityFromLatLong = mapper.apply(other.velocityFromLatLong);
+    bearingFromLatLong = mapper.apply(other.bearingFromLatLong);
+    windDirection = mapper.apply(other.windDirection);
+    relativeBearing = mapper.apply(other.relativeBearing);
+    x = mapper.apply(other.x);
+    y = mapper.apply(other.y);
+  }
+
+  /**
+   * Sets all columns except the time column from a point.
+   *
+   * @param index the index of the row to set.
+   * @param point the point with location, not null.
+   */
+  private void setRow(int index, DataPoint point)
+  {
+    latitude.set(index, point.getLatitude());
+    longitude.set(index, point.getLongitude());
+    altitude.set(index, point.getAltitude());
+    velocity.set(index, point.getVelocity());
+    bearing.set(index, point.getBearing());
+    velocityFromLatLong.set(index, point.getVelocityFromLatLong());
+    bearingFromLatLong.set(index, point.getBearingFromLatLong());
+    x.set(index, point.getX());
+    y.set(index, point.getY());
+    windDirection.set(index, point.getWindDirection());
+    relativeBearing.set(index, point.getRelativeBearingInArcs());
+  }
+
+  private LocationColumns(LocationColumns other, DoubleColumn windDirection)
+  {
+    super(other.time);
+    latitude = other.latitude;
+    longitude = other.longitude;
+    altitude = other.altitude;
+    velocity = other.velocity;
+    bearing = other.bearing;
+    velocityFromLatLong = other.velocityFromLatLong;
+    bearingFromLatLong = other.bearingFromLatLong;
+    x = other.x;
+    y = other.y;
+    this.windDirection = windDirection;
+    int size = windDirection.size();
+    relativeBearing = new DoubleColumn(size);
+    for (int i = 0; i < size; i++)
+    {
+      relativeBearing.set(i, DataPoint.getRelativeBearingInArcs(
+          bearingFromLatLong.getOrNull(i),
+          windDirection.getOrNull(i)));
+    }
+  }
+
+  /**
+   * Returns the columns of the same points for other wind directions of the points,
+   * e.g. wind directions which are calculated but not yet set in the points.
+   * All columns except windDirection and relativeBearing are shared with this object.
+   *
+   * @param windDirection the new wind directions of the points, not null.
+   *        The column is used by the result and must not be changed afterwards.
+   *
+   * @return the columns with the new wind directions, not null.
+   *
+   * @throws IllegalArgumentException if the size of the wind direction column is not the size of this object.
+   */
+  public LocationColumns withChangedWind(DoubleColumn windDirection)
+  {
+    if (windDirection.size() != size())
+    {
+      throw new IllegalArgumentException(
+          "The columns contain " + size() + " points but " + windDirection.size() + " wind directions were passed");
+    }
+    return new LocationColumns(this, windDirection);
+  }
+
+  /**
+   * Returns whether a column depends on the wind direction of the points.
+   *
+   * @param column the column to check, not null.
+   *
+   * @return true if the column is windDirection or relativeBearing of this object, false otherwise.
+   */
+  public boolean isWindDependent(DoubleColumn column)
+  {
+    return column == windDirection || column == relativeBearing;
+  }
+
+  /**
+   * Appends the rows of points with location one by one, keeping only the rows of the most recently
+   * appended points like RingBuffer, and maintains the TrackSums of the retained rows along with them.
+   * Columns and sums returned by build(int) and buildTrackSums(int) are views on the storage of the builder,
+   * so creating them costs no copy, and they are not changed by appending rows later.
+   */
+  public static class Builder
+  {
+    private final int capacity;
+
+    private LocationColumns storage;
+
+    private final TrackSums.Builder trackSums;
+
+    /** The position of the oldest retained row in the storage. */
+    private int head;
+
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of retained rows, must be positive.
+     */
+    public Builder(int capacity)
+    {
+      if (capacity <= 0)
+      {
+        throw new IllegalArgumentException("capacity must be positive but is " + capacity);
+      }
+      this.capacity = capacity;
+      int storageLength = RingBuffer.getStorageLength(0, capacity);
+      storage = new LocationColumns(storageLength);
+      trackSums = new TrackSums.Builder(capacity, storageLength);
+    }
+
+    /**
+     * Appends the row of a point, dropping the oldest row if capacity rows are retained.
+     * The point must be final, i.e. its velocity, bearing and wind must not change afterwards.
+     *
+     * @param point the point with location, not null.
+     */
+    public void add(DataPoint point)
+    {
+      if (head + size == storage.size())
+      {
+        int from = head;
+        int to = head + size;
+        int length = RingBuffer.getStorageLength(size, capacity);
+        storage = new LocationColumns(storage, c -> c.copy(from, to, length), c -> c.copy(from, to, length));
+        head = 0;
+      }
+      int index = head + size;
+      storage.time.set(index, point.getTime());
+      storage.setRow(index, point);
+      trackSums.add(storage, index);
+      if (size == capacity)
+      {
+        head++;
+      }
+      else
+      {
+        size++;
+      }
+    }
+
+    public int size()
+    {
+      return size;
+    }
+
+    /**
+     * Returns the columns of the most recently appended rows.
+     *
+     * @param rowCount the number of rows to return, not larger than size().
+     *
+     * @return the columns, not null.
+     */
+    public LocationColumns build(int rowCount)
+    {
+      checkRowCount(rowCount);
+      int from = head + size - rowCount;
+      int to = head + size;
+      return new LocationColumns(storage, c -> c.view(from, to), c -> c.view(from, to));
+    }
+
+    /**
+     * Returns the track sums of the most recently appended rows. The sums between two of these rows
+     * are those of new TrackSums(build(rowCount)), except that a segment which starts
+     * at an earlier row is also summed.
+     *
+     * @param rowCount the number of rows to return the sums for, not larger than size().
+     *
+     * @return the track sums, not null.
+     */
+    public TrackSums buildTrackSums(int rowCount)
+    {
+      checkRowCount(rowCount);
+      return trackSums.build(rowCount);
+    }
+
+    private void checkRowCount(int rowCount)
+    {
+      if (rowCount < 0 || rowCount > size)
+      {
+        throw new IndexOutOfBoundsException("rowCount: " + rowCount + ", Size: " + size);
+      }
+    }
+  }
+}
@@ -0,0 +1,312 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.Arrays;
+
+/**
+ * KD-tree over projected locations, used to find the points near a position on a map
+ * and the points in a rectangle in logarithmic time.
+ * The points are identified by their column index; points without x or y value are not contained.
+ * All queries can be restricted to a range of column indices, e.g. to the points of the zoom window.
+ *
+ * The tree is stored implicitly: the node of a subtree covering the positions [from, to[
+ * is at the position (from + to) / 2, its left subtree covers [from, node[
+ * and its right subtree covers ]node, to[. The nodes on even depth split by x, on odd depth by y.
+ */
+public class LocationKdTree
+{
+  /** Column index of the point at each node position. */
+  private final int[] index;
+
+  private final double[] x;
+
+  private final double[] y;
+
+  /** Smallest column index in the subtree of each node position. */
+  private final int[] minIndex;
+
+  /** Largest column index in the subtree of each node position. */
+  private final int[] maxIndex;
+
+  /**
+   * Constructor.
+   *
+   * @param xColumn the x coordinates of the points, not null.
+   * @param yColumn the y coordinates of the points, same size as xColumn, not null.
+   */
+  public LocationKdTree(DoubleColumn xColumn, DoubleColumn yColumn)
+  {
+    int[] presentIndices = new int[xColumn.size()];
+    int count = 0;
+    for (int i = 0; i < xColumn.size(); i++)
+    {
+      if (xColumn.isPresent(i) && yColumn.isPresent(i))
+      {
+        presentIndices[count++] = i;
+      }
+    }
+    index = Arrays.copyOf(presentIndices, count);
+    x = new double[count];
+    y = new double[count];
+    for (int i = 0; i < count; i++)
+    {
+      x[i] = xColumn.get(index[i]);
+      y[i] = yColumn.get(index[i]);
+    }
+    minIndex = new int[count];
+    maxIndex = new int[count];
+    build(0, count, 0);
+  }
+
+  public int size()
+  {
+    return index.length;
+  }
+
+  /**
+   * Returns the point nearest to a position.
+   *
+   * @param positionX the x coordinate of the position.
+   * @param positionY the y coordinate of the position.
+   * @param fromIndex the smallest column index of the points to consider, inclusive.
+   * @param toIndex the largest column index of the points to consider, exclusive.
+   *
+   * @return the column index of the nearest point, or -1 if no point is in the index range.
+   */
+  public int getNearest(double positionX, double positionY, int fromIndex, int toIndex)
+  {
+    Nearest nearest = new Nearest(positionX, positionY, fromIndex, toIndex);
+    nearest.search(0, index.length, 0);
+    return nearest.resultIndex;
+  }
+
+  /**
+   * Returns the points in a rectangle, borders included.
+   *
+   * @param minX the smallest x coordinate of the rectangle.
+   * @param minY the smallest y coordinate of the rectangle.
+   * @param maxX the largest x coordinate of the rectangle.
+   * @param maxY the largest y coordinate of the rectangle.
+   * @param fromIndex the smallest column index of the points to consider, inclusive.
+   * @param toIndex the largest column index of the points to consider, exclusive.
+   *
+   * @return the column indices of the points in the rectangle, in ascending order, not null.
+   */
+  public int[] getInRectangle(double minX, double minY, double maxX, double maxY, int fromIndex, int toIndex)
+  {
+    InRectangle inRectangle = new InRectangle(minX, minY, maxX, maxY, fromIndex, toIndex);
+    inRectangle.search(0, index.length, 0);
+    int[] result = Arrays.copyOf(inRectangle.result, inRectangle.count);
+    Arrays.sort(result);
+    return result;
+  }
+
+  private void build(int from, int to, int depth)
+  {
+    if (from >= to)
+    {
+      return;
+    }
+    int node = (from + to) >>> 1;
+    select(from, to, node, depth % 2 == 0 ? x : y);
+    build(from, node, depth + 1);
+    build(node + 1, to, depth + 1);
+    int min = index[node];
+    int max = index[node];
+    if (from < node)
+    {
+      min = Math.min(min, minIndex[(from + node) >>> 1]);
+      max = Math.max(max, maxIndex[(from + node) >>> 1]);
+    }
+    if (node + 1 < to)
+    {
+      min = Math.min(min, minIndex[(node + 1 + to) >>> 1]);
+      max = Math.max(max, maxIndex[(node + 1 + to) >>> 1]);
+    }
+    minIndex[node] = min;
+    maxIndex[node] = max;
+  }
+
+  /**
+   * Reorders the positions [from, to[ so that the position k contains the point
+   * which would be there if the positions were sorted by the passed coordinate.
+   */
+  private void select(int from, int to, int k, double[] coordinate)
+  {
+    int left = from;
+    int right = to - 1;
+    while (left < right)
+    {
+      double pivot = coordinate[(left + right) >>> 1];
+      int i = left;
+      int j = right;
+      while (i <= j)
+      {
+        while (coordinate[i] < pivot)
+        {
+          i++;
+        }
+        while (coordinate[j] > pivot)
+        {
+          j--;
+        }
+        if (i <= j)
+        {
+          swap(i++, j--);
+        }
+      }
+      if (k <= j)
+      {
+        right = j;
+      }
+      else if (k >= i)
+      {
+        left = i;
+      }
+      else
+      {
+        return;
+      }
+    }
+  }
+
+  private void swap(int i, int j)
+  {
+    int swappedIndex = index[i];
+    index[i] = index[j];
+    index[j] = swappedIndex;
+    double swappedX = x[i];
+    x[i] = x[j];
+    x[j] = swappedX;
+    double swappedY = y[i];
+    y[i] = y[j];
+    y[j] = swappedY;
+  }
+
+  private final class Nearest
+  {
+    private final double positionX;
+
+    private final double positionY;
+
+    private final int fromIndex;
+
+    private final int toIndex;
+
+    private int resultIndex = -1;
+
+    private double resultDistanceSquared = Double.POSITIVE_INFINITY;
+
+    private Nearest(double positionX, double positionY, int fromIndex, int toIndex)
+    {
+      this.positionX = positionX;
+      this.positionY = positionY;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    private void search(int from, int to, int depth)
+    {
+      if (from >= to)
+      {
+        return;
+      }
+      int node = (from + to) >>> 1;
+      if (maxIndex[node] < fromIndex || minIndex[node] >= toIndex)
+      {
+        return;
+      }
+      if (index[node] >= fromIndex && index[node] < toIndex)
+      {
+        double dx = x[node] - positionX;
+        double dy = y[node] - positionY;
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared < resultDistanceSquared
+            || (distanceSquared == resultDistanceSquared && index[node] < resultIndex))
+        {
+          resultIndex = index[node];
+          resultDistanceSquared = distanceSquared;
+        }
+      }
+      double difference = depth % 2 == 0 ? positionX - x[node] : positionY - y[node];
+      if (difference < 0)
+      {
+        search(from, node, depth + 1);
+        if (difference * difference <= resultDistanceSquared)
+        {
+          search(node + 1, to, depth + 1);
+        }
+      }
+      else
+      {
+        search(node + 1, to, depth + 1);
+        if (difference * difference <= resultDistanceSquared)
+        {
+          search(from, node, depth + 1);
+        }
+      }
+    }
+  }
+
+  private final class InRectangle
+  {
+    private final double minX;
+
+    private final double minY;
+
+    private final double maxX;
+
+    private final double maxY;
+
+    private final int fromIndex;
+
+    private final int toIndex;
+
+    private int[] result = new int[16];
+
+    private int count;
+
+    private InRectangle(double minX, double minY, double maxX, double maxY, int fromIndex, int toIndex)
+    {
+      this.minX = minX;
+      this.minY = minY;
+      this.maxX = maxX;
+      this.maxY = maxY;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    private void search(int from, int to, int depth)
+    {
+      if (from >= to)
+      {
+        return;
+      }
+      int node = (from + to) >>> 1;
+      if (maxIndex[node] < fromIndex || minIndex[node] >= toIndex)
+      {
+        return;
+      }
+      if (index[node] >= fromIndex && index[node] < toIndex
+          && x[node] >= minX && x[node] <= maxX
+          && y[node] >= minY && y[node] <= maxY)
+      {
+        if (count == result.length)
+        {
+          result = Arrays.copyOf(result, 2 * count);
+        }
+        result[count++] = index[node];
+      }
+      double split = depth % 2 == 0 ? x[node] : y[node];
+      double min = depth % 2 == 0 ? minX : minY;
+      double max = depth % 2 == 0 ? maxX : maxY;
+      if (min <= split)
+      {
+        search(from, node, depth + 1);
+      }
+      if (max >= split)
+      {
+        search(node + 1, to, depth + 1);
+      }
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.vector.TwoDimVector;
+
+/**
+ * The measured locations of a data set, projected into a plane in metres.
+ * The projection is the same as in Location.getX() and Location.getY(),
+ * but is calculated only once per point, so repeated geometric calculations
+ * do not need to evaluate the cosine of the latitude again.
+ * Points are looked up by their index in the data.
+ * Points which are not part of the projected data, or which have no measured location,
+ * are projected on the fly, so all methods give the same results as the methods of Location.
+ */
+public class LocationProjection
+{
+  private final DataPoint[] points;
+
+  private final double[] x;
+
+  private final double[] y;
+
+  /**
+   * Constructor.
+   *
+   * @param points all points of the data set, in the order of their index, not null.
+   */
+  public LocationProjection(List<DataPoint> points)
+  {
+    this.points = points.toArray(new DataPoint[points.size()]);
+    x = new double[this.points.length];
+    y = new double[this.points.length];
+    Arrays.fill(x, Double.NaN);
+    Arrays.fill(y, Double.NaN);
+    for (int i = 0; i < this.points.length; i++)
+    {
+      DataPoint point = this.points[i];
+      if (point.hasLocation())
+      {
+        x[i] = point.getX();
+        y[i] = point.getY();
+      }
+    }
+  }
+
+  /**
+   * Checks whether the projected location of a point is stored.
+   *
+   * @param point the point to check, not null.
+   *
+   * @return true if the point is part of the projected data and has a measured location.
+   */
+  public boolean isProjected(DataPoint point)
+  {
+    int index = point.getIndex();
+    return index >= 0
+        && index < points.length
+        && points[index].equals(point)
+        && !Double.isNaN(x[index]);
+  }
+
+  public double getX(DataPoint point)
+  {
+    if (isProjected(point))
+    {
+      return x[point.getIndex()];
+    }
+    return point.getX();
+  }
+
+  public double getY(DataPoint point)
+  {
+    if (isProjected(point))
+    {
+      return y[point.getIndex()];
+    }
+    return point.getY();
+  }
+
+  public TwoDimVector getXY(DataPoint point)
+  {
+    return new TwoDimVector(getX(point), getY(point));
+  }
+
+  /**
+   * Returns the difference vector between the location of a point and the location of a reference point.
+   *
+   * @param point the point to calculate the difference vector for, not null.
+   * @param reference the reference point, not null.
+   *
+   * @return the difference in x and y coordinates between the two locations, in metres.
+   */
+  public TwoDimVector getXYRelativeTo(DataPoint point, DataPoint reference)
+  {
+    return new TwoDimVector(getX(point) - getX(reference), getY(point) - getY(reference));
+  }
+
+  /**
+   * Calculates the distance between the locations of two points.
+   *
+   * @see com.github.thomasfox.sailplotter.model.Location#approximateDistance(com.github.thomasfox.sailplotter.model.Location)
+   *
+   * @param point the first point, not null.
+   * @param other the second point, not null.
+   *
+   * @return the distance in meters.
+   */
+  public double getDistance(DataPoint point, DataPoint other)
+  {
+    double xDist = getX(point) - getX(other);
+    double yDist = getY(point) - getY(other);
+    return Math.sqrt(xDist * xDist + yDist * yDist);
+  }
+
+  /**
+   * Gets the bearing from one point to another point.
+   *
+   * @see DataPoint#getBearingTo(DataPoint)
+   *
+   * @param point the point to calculate the bearing from, not null.
+   * @param other the point to calculate the bearing to, not null.
+   *
+   * @return the bearing to the other point, in arcs, in the range [0, 2*PI[,
+   *         or null if the distance between the two points is null.
+   */
+  public Double getBearing(DataPoint point, DataPoint other)
+  {
+    return new TwoDimVector(getX(other) - getX(point), getY(other) - getY(point)).getBearingToYInArcs();
+  }
+}
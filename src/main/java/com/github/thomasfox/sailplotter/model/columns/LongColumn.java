@@ -0,0 +1,175 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.BitSet;
+
+/**
+ * A column of nullable long values, stored as a primitive array
+ * and a bitmap marking the values which are present.
+ * The values can be a range of a larger array which is shared with other columns, see view().
+ */
+public class LongColumn
+{
+  private final long[] values;
+
+  /** The position of the value with index 0 in the values array. */
+  private final int offset;
+
+  private final int size;
+
+  private final BitSet present;
+
+  public LongColumn(int size)
+  {
+    this(new long[size], new BitSet(size));
+  }
+
+  /**
+   * Creates a column from existing values.
+   * The arrays are not copied.
+   *
+   * @param values the values, absent values should be 0.
+   * @param present the bitmap of present values.
+   */
+  public LongColumn(long[] values, BitSet present)
+  {
+    this(values, 0, values.length, present);
+  }
+
+  private LongColumn(long[] values, int offset, int size, BitSet present)
+  {
+    this.values = values;
+    this.offset = offset;
+    this.size = size;
+    this.present = present;
+  }
+
+  public void set(int index, Long value)
+  {
+    if (value == null)
+    {
+      values[offset + index] = 0L;
+      present.clear(index);
+      return;
+    }
+    values[offset + index] = value;
+    present.set(index);
+  }
+
+  /**
+   * Returns the value at a given index.
+   *
+   * @param index the index of the value.
+   * @return the value, or 0 if no value is present at the index.
+   */
+  public long get(int index)
+  {
+    return values[offset + index];
+  }
+
+  public Long getOrNull(int index)
+  {
+    if (!present.get(index))
+    {
+      return null;
+    }
+    return values[offset + index];
+  }
+
+  public boolean isPresent(int index)
+  {
+    return present.get(index);
+  }
+
+  public int size()
+  {
+    return size;
+  }
+
+  /**
+   * Returns a copy of a range of this column, e.g. to move it to larger storage.
+   *
+   * @param fromIndex the index of the first value to copy.
+   * @param toIndex the index after the last value to copy.
+   * @param length the size of the copy, not smaller than toIndex - fromIndex.
+   *        The values after the copied values are absent.
+   *
+   * @return the copy, not null.
+   */
+  public LongColumn copy(int fromIndex, int toIndex, int length)
+  {
+    long[] copiedValues = new long[length];
+    System.arraycopy(values, offset + fromIndex, copiedValues, 0, toIndex - fromIndex);
+    return new LongColumn(copiedValues, present.get(fromIndex, toIndex));
+  }
+
+  /**
+   * Returns a read-only view of a range of this column which shares the values with this column.
+   * Only the bitmap of present values is copied, so setting values outside the range later
+   * does not affect the view; the values within the range must not be changed any more.
+   *
+   * @param fromIndex the index of the first value in the view.
+   * @param toIndex the index after the last value in the view.
+   *
+   * @return the view, not null.
+   */
+  public LongColumn view(int fromIndex, int toIndex)
+  {
+    return new LongColumn(values, offset + fromIndex, toIndex - fromIndex, present.get(fromIndex, toIndex));
+  }
+
+  /**
+   * Returns the first index whose value is equal to or larger than the given value.
+   * The values in the column must be sorted in ascending order.
+   *
+   * @param value the value to search for.
+   *
+   * @return the first index with a value equal to or larger than the given value,
+   *         or size() if no such index exists.
+   */
+  public int lowerBound(long value)
+  {
+    int low = 0;
+    int high = size;
+    while (low < high)
+    {
+      int middle = (low + high) >>> 1;
+      if (values[offset + middle] < value)
+      {
+        low = middle + 1;
+      }
+      else
+      {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the first index whose value is larger than the given value.
+   * The values in the column must be sorted in ascending order.
+   *
+   * @param value the value to search for.
+   *
+   * @return the first index with a value larger than the given value,
+   *         or size() if no such index exists.
+   */
+  public int upperBound(long value)
+  {
+    int low = 0;
+    int high = size;
+    while (low < high)
+    {
+      int middle = (low + high) >>> 1;
+      if (values[offset + middle] <= value)
+      {
+        low = middle + 1;
+      }
+      else
+      {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
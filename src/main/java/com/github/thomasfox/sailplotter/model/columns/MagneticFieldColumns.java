@@ -0,0 +1,40 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.List;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.MagneticField;
+
+/**
+ * Columnar copy of the points with magnetic field.
+ * The column index is the index in Data.getPointsWithMagneticField().
+ */
+public class MagneticFieldColumns extends ChannelColumns
+{
+  public final DoubleColumn x;
+
+  public final DoubleColumn y;
+
+  public final DoubleColumn z;
+
+  /** Angle between geographic north and boat front direction, in arcs. */
+  public final DoubleColumn compassBearing;
+
+  public MagneticFieldColumns(List<DataPoint> points)
+  {
+    super(points);
+    int size = points.size();
+    x = new DoubleColumn(size);
+    y = new DoubleColumn(size);
+    z = new DoubleColumn(size);
+    compassBearing = new DoubleColumn(size);
+    for (int i = 0; i < size; i++)
+    {
+      MagneticField magneticField = points.get(i).getMagneticField();
+      x.set(i, magneticField.x);
+      y.set(i, magneticField.y);
+      z.set(i, magneticField.z);
+      compassBearing.set(i, magneticField.compassBearing);
+    }
+  }
+}
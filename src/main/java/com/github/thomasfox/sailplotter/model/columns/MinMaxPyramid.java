@@ -0,0 +1,224 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import java.util.Arrays;
+
+/**
+ * Multi-resolution min/max summary of a DoubleColumn, used to draw long series
+ * with a bounded number of points while keeping their visual shape.
+ *
+ * Level 0 are the values themselves. On level k, the column is divided into buckets
+ * of 2^k consecutive indices, and for each bucket the indices of the minimum
+ * and maximum present value are stored. Selecting the minimum and maximum of each bucket
+ * keeps all peaks of the series, which is not true for taking every n-th point.
+ */
+public class MinMaxPyramid
+{
+  private static final int NO_INDEX = -1;
+
+  private final DoubleColumn column;
+
+  /** minIndex[k - 1][b] is the index of the minimum in bucket b of level k. */
+  private final int[][] minIndex;
+
+  /** maxIndex[k - 1][b] is the index of the maximum in bucket b of level k. */
+  private final int[][] maxIndex;
+
+  public MinMaxPyramid(DoubleColumn column)
+  {
+    this.column = column;
+    int levelCount = 0;
+    while ((1 << levelCount) < column.size())
+    {
+      levelCount++;
+    }
+    minIndex = new int[levelCount][];
+    maxIndex = new int[levelCount][];
+    for (int level = 1; level <= levelCount; level++)
+    {
+      int bucketCount = (column.size() + (1 << level) - 1) >> level;
+      int[] levelMin = new int[bucketCount];
+      int[] levelMax = new int[bucketCount];
+      for (int bucket = 0; bucket < bucketCount; bucket++)
+      {
+        int first = 2 * bucket;
+        int second = first + 1;
+        if (level == 1)
+        {
+          int firstIndex = presentOrNoIndex(first);
+          int secondIndex = second < column.size() ? presentOrNoIndex(second) : NO_INDEX;
+          levelMin[bucket] = min(firstIndex, secondIndex);
+          levelMax[bucket] = max(firstIndex, secondIndex);
+        }
+        else
+        {
+          int[] lowerMin = minIndex[level - 2];
+          int[] lowerMax = maxIndex[level - 2];
+          boolean hasSecond = second < lowerMin.length;
+          levelMin[bucket] = min(lowerMin[first], hasSecond ? lowerMin[second] : NO_INDEX);
+          levelMax[bucket] = max(lowerMax[first], hasSecond ? lowerMax[second] : NO_INDEX);
+        }
+      }
+      minIndex[level - 1] = levelMin;
+      maxIndex[level - 1] = levelMax;
+    }
+  }
+
+  /**
+   * Returns the number of levels above level 0.
+   *
+   * @return the highest level which can be passed to select().
+   */
+  public int getMaxLevel()
+  {
+    return minIndex.length;
+  }
+
+  /**
+   * Returns the lowest level on which a number of consecutive values
+   * falls into at most the given number of buckets.
+   *
+   * @param valueCount the number of values which should be displayed.
+   * @param bucketBudget the maximum number of buckets, typically the width in pixels.
+   *
+   * @return the level, between 0 and getMaxLevel().
+   */
+  public int getLevel(int valueCount, int bucketBudget)
+  {
+    int budget = Math.max(bucketBudget, 1);
+    int level = 0;
+    while (level < getMaxLevel() && ((valueCount + (1 << level) - 1) >> level) > budget)
+    {
+      level++;
+    }
+    return level;
+  }
+
+  /**
+   * Selects the indices of the values to display for an index range.
+   * On level 0, these are all indices with a present value.
+   * On higher levels, these are the indices of the minimum and the maximum in each bucket.
+   * Buckets which are only partially contained in the range are summarized
+   * by scanning the values in the range.
+   *
+   * @param from the first index of the range, inclusive.
+   * @param to the last index of the range, exclusive.
+   * @param level the level to select on.
+   *
+   * @return the selected indices in ascending order, not null.
+   */
+  public int[] select(int from, int to, int level)
+  {
+    if (from >= to)
+    {
+      return new int[0];
+    }
+    if (level == 0)
+    {
+      return selectPresent(from, to);
+    }
+    int bucketSize = 1 << level;
+    int firstFullBucket = (from + bucketSize - 1) >> level;
+    int endFullBucket = to >> level;
+    int[] result = new int[2 * Math.max(endFullBucket - firstFullBucket, 0) + 4];
+    int count = 0;
+    if (firstFullBucket >= endFullBucket)
+    {
+      count = appendMinMax(result, count, scanMin(from, to), scanMax(from, to));
+      return Arrays.copyOf(result, count);
+    }
+    int fullStart = firstFullBucket << level;
+    int fullEnd = endFullBucket << level;
+    count = appendMinMax(result, count, scanMin(from, fullStart), scanMax(from, fullStart));
+    for (int bucket = firstFullBucket; bucket < endFullBucket; bucket++)
+    {
+      count = appendMinMax(result, count, minIndex[level - 1][bucket], maxIndex[level - 1][bucket]);
+    }
+    count = appendMinMax(result, count, scanMin(fullEnd, to), scanMax(fullEnd, to));
+    return Arrays.copyOf(result, count);
+  }
+
+  private int[] selectPresent(int from, int to)
+  {
+    int[] result = new int[to - from];
+    int count = 0;
+    for (int i = from; i < to; i++)
+    {
+      if (column.isPresent(i))
+      {
+        result[count++] = i;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private int appendMinMax(int[] result, int count, int minIndexInBucket, int maxIndexInBucket)
+  {
+    int first = Math.min(minIndexInBucket, maxIndexInBucket);
+    int second = Math.max(minIndexInBucket, maxIndexInBucket);
+    int resultCount = count;
+    if (first != NO_INDEX)
+    {
+      result[resultCount++] = first;
+    }
+    if (second != NO_INDEX && second != first)
+    {
+      result[resultCount++] = second;
+    }
+    return resultCount;
+  }
+
+  private int scanMin(int from, int to)
+  {
+    int result = NO_INDEX;
+    for (int i = from; i < to; i++)
+    {
+      result = min(result, presentOrNoIndex(i));
+    }
+    return result;
+  }
+
+  private int scanMax(int from, int to)
+  {
+    int result = NO_INDEX;
+    for (int i = from; i < to; i++)
+    {
+      result = max(result, presentOrNoIndex(i));
+    }
+    return result;
+  }
+
+  private int presentOrNoIndex(int index)
+  {
+    if (column.isPresent(index))
+    {
+      return index;
+    }
+    return NO_INDEX;
+  }
+
+  private int min(int index, int otherIndex)
+  {
+    if (index == NO_INDEX)
+    {
+      return otherIndex;
+    }
+    if (otherIndex == NO_INDEX)
+    {
+      return index;
+    }
+    return column.get(otherIndex) < column.get(index) ? otherIndex : index;
+  }
+
+  private int max(int index, int otherIndex)
+  {
+    if (index == NO_INDEX)
+    {
+      return otherIndex;
+    }
+    if (otherIndex == NO_INDEX)
+    {
+      return index;
+    }
+    return column.get(otherIndex) > column.get(index) ? otherIndex : index;
+  }
+}
@@ -0,0 +1,143 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+/**
+ * Index over a DoubleColumn which returns minimum, maximum, sum and count
+ * of the present values in any index range in O(log n).
+ *
+ * The column is divided into blocks of BLOCK_SIZE values, and a segment tree
+ * stores the statistics of the blocks. The values at the ends of a range
+ * which do not fill a whole block are read from the column,
+ * so the index needs far less memory than a segment tree over single values.
+ */
+public class RangeIndex
+{
+  static final int BLOCK_SIZE = 32;
+
+  private final DoubleColumn column;
+
+  private final int blockCount;
+
+  /** Segment tree nodes, the node i has the children 2i and 2i+1, block b is node blockCount + b. */
+  private final double[] minimum;
+
+  private final double[] maximum;
+
+  private final double[] sum;
+
+  private final int[] count;
+
+  public RangeIndex(DoubleColumn column)
+  {
+    this.column = column;
+    blockCount = (column.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    minimum = new double[2 * blockCount];
+    maximum = new double[2 * blockCount];
+    sum = new double[2 * blockCount];
+    count = new int[2 * blockCount];
+    for (int block = 0; block < blockCount; block++)
+    {
+      Statistics blockStatistics = new Statistics();
+      scan(block * BLOCK_SIZE, Math.min((block + 1) * BLOCK_SIZE, column.size()), blockStatistics);
+      int node = blockCount + block;
+      minimum[node] = blockStatistics.minimum;
+      maximum[node] = blockStatistics.maximum;
+      sum[node] = blockStatistics.sum;
+      count[node] = blockStatistics.count;
+    }
+    for (int node = blockCount - 1; node > 0; node--)
+    {
+      minimum[node] = Math.min(minimum[2 * node], minimum[2 * node + 1]);
+      maximum[node] = Math.max(maximum[2 * node], maximum[2 * node + 1]);
+      sum[node] = sum[2 * node] + sum[2 * node + 1];
+      count[node] = count[2 * node] + count[2 * node + 1];
+    }
+  }
+
+  /**
+   * Returns the statistics of the present values in an index range.
+   *
+   * @param from the first index of the range, inclusive.
+   * @param to the last index of the range, exclusive.
+   *
+   * @return the statistics, not null.
+   */
+  public Statistics getStatistics(int from, int to)
+  {
+    Statistics result = new Statistics();
+    if (from >= to)
+    {
+      return result;
+    }
+    int firstFullBlock = (from + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    int endFullBlock = to / BLOCK_SIZE;
+    if (firstFullBlock >= endFullBlock)
+    {
+      scan(from, to, result);
+      return result;
+    }
+    scan(from, firstFullBlock * BLOCK_SIZE, result);
+    for (int left = firstFullBlock + blockCount, right = endFullBlock + blockCount;
+        left < right;
+        left >>= 1, right >>= 1)
+    {
+      if ((left & 1) == 1)
+      {
+        add(left++, result);
+      }
+      if ((right & 1) == 1)
+      {
+        add(--right, result);
+      }
+    }
+    scan(endFullBlock * BLOCK_SIZE, to, result);
+    return result;
+  }
+
+  private void add(int node, Statistics statistics)
+  {
+    statistics.minimum = Math.min(statistics.minimum, minimum[node]);
+    statistics.maximum = Math.max(statistics.maximum, maximum[node]);
+    statistics.sum += sum[node];
+    statistics.count += count[node];
+  }
+
+  private void scan(int from, int to, Statistics statistics)
+  {
+    for (int i = from; i < to; i++)
+    {
+      if (column.isPresent(i))
+      {
+        double value = column.get(i);
+        statistics.minimum = Math.min(statistics.minimum, value);
+        statistics.maximum = Math.max(statistics.maximum, value);
+        statistics.sum += value;
+        statistics.count++;
+      }
+    }
+  }
+
+  /**
+   * Minimum, maximum, sum and count of the present values in a range.
+   * If no value is present, the minimum is positive infinity
+   * and the maximum is negative infinity.
+   */
+  public static class Statistics
+  {
+    public double minimum = Double.POSITIVE_INFINITY;
+
+    public double maximum = Double.NEGATIVE_INFINITY;
+
+    public double sum;
+
+    public int count;
+
+    public Double getAverage()
+    {
+      if (count == 0)
+      {
+        return null;
+      }
+      return sum / count;
+    }
+  }
+}
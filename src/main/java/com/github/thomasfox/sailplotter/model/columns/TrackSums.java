@@ -0,0 +1,320 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import com.github.thomasfox.sailplotter.model.RingBuffer;
+
+/**
+ * Cumulative sums along the track of the points with location,
+ * from which the distance, duration and averages between any two points are calculated in O(1).
+ * The points are identified by their column index in LocationColumns.
+ *
+ * Each sum contains the contributions of the segments between consecutive points
+ * up to and including a point, so the value for the part of the track between two points
+ * is the difference of the sums at the two points.
+ * Segments where a coordinate or the time is missing contribute nothing.
+ * The sums can be a range of larger arrays which are shared with other sums, see Builder.
+ */
+public class TrackSums
+{
+  /** The time of each point in milliseconds, the time of the previous point if missing. */
+  private final long[] time;
+
+  /** Distance sailed in metres up to each point. */
+  private final double[] distance;
+
+  /** Distance made good towards the wind in metres up to each point. */
+  private final double[] vmgDistance;
+
+  /** Number of segments without wind direction up to each point. */
+  private final int[] segmentsWithoutWind;
+
+  /** Integral of the velocity over the time in seconds up to each point. */
+  private final double[] velocityTime;
+
+  /** Duration in milliseconds of the segments with velocity up to each point. */
+  private final long[] velocityDuration;
+
+  /** The position of the sums of the point with index 0 in the arrays. */
+  private final int offset;
+
+  private final int size;
+
+  /**
+   * Constructor.
+   *
+   * @param columns the columns of the points with location, not null.
+   *        The wind direction of the end point of each segment is used for the segment,
+   *        as is its velocity from latitude and longitude.
+   */
+  public TrackSums(LocationColumns columns)
+  {
+    this(new Builder(columns.size(), columns.size()).addAll(columns), columns.size());
+  }
+
+  private TrackSums(Builder builder, int size)
+  {
+    time = builder.time;
+    distance = builder.distance;
+    vmgDistance = builder.vmgDistance;
+    segmentsWithoutWind = builder.segmentsWithoutWind;
+    velocityTime = builder.velocityTime;
+    velocityDuration = builder.velocityDuration;
+    offset = builder.head + builder.size - size;
+    this.size = size;
+  }
+
+  public int size()
+  {
+    return size;
+  }
+
+  /**
+   * Returns the distance sailed between two points along the track.
+   *
+   * @param from the index of the first point.
+   * @param to the index of the last point, not smaller than from.
+   *
+   * @return the distance in metres.
+   */
+  public double getDistance(int from, int to)
+  {
+    return distance[offset + to] - distance[offset + from];
+  }
+
+  /**
+   * Returns the time between two points.
+   *
+   * @param from the index of the first point.
+   * @param to the index of the last point, not smaller than from.
+   *
+   * @return the duration in milliseconds.
+   */
+  public long getDuration(int from, int to)
+  {
+    return time[offset + to] - time[offset + from];
+  }
+
+  /**
+   * Returns the average velocity over ground between two points,
+   * i.e. the distance sailed divided by the time.
+   *
+   * @param from the index of the first point.
+   * @param to the index of the last point, not smaller than from.
+   *
+   * @return the average velocity in m/s, or null if no time has passed between the points.
+   */
+  public Double getAverageVelocity(int from, int to)
+  {
+    long duration = getDuration(from, to);
+    if (duration <= 0)
+    {
+      return null;
+    }
+    return getDistance(from, to) / duration * 1000d;
+  }
+
+  /**
+   * Returns the average velocity made good towards the wind between two points,
+   * i.e. the distance made good towards the wind divided by the time.
+   * If the wind direction does not change, this is the velocity between the two points
+   * times the cosine of the bearing between the points relative to the wind.
+   *
+   * @param from the index of the first point.
+   * @param to the index of the last point, not smaller than from.
+   *
+   * @return the average velocity made good in m/s, negative when sailing downwind,
+   *         or null if no time has passed between the points
+   *         or the wind direction is unknown for a part of the track.
+   */
+  public Double getAverageVMG(int from, int to)
+  {
+    long duration = getDuration(from, to);
+    if (duration <= 0 || segmentsWithoutWind[offset + to] != segmentsWithoutWind[offset + from])
+    {
+      return null;
+    }
+    return (vmgDistance[offset + to] - vmgDistance[offset + from]) / duration * 1000d;
+  }
+
+  /**
+   * Returns the time-weighted average of the velocities of the points between two points.
+   * The velocity of a point is weighted with the time since the previous point;
+   * the velocity of the first point is not used.
+   *
+   * @param from the index of the first point.
+   * @param to the index of the last point, not smaller than from.
+   *
+   * @return the average of the velocities in the unit of the velocity column, i.e. in knots,
+   *         or null if no point has a velocity.
+   */
+  public Double getTimeWeightedAverageVelocity(int from, int to)
+  {
+    long duration = velocityDuration[offset + to] - velocityDuration[offset + from];
+    if (duration <= 0)
+    {
+      return null;
+    }
+    return (velocityTime[offset + to] - velocityTime[offset + from]) / duration * 1000d;
+  }
+
+  /**
+   * Calculates the sums point by point, keeping only the sums of the most recently added points
+   * like RingBuffer, so the sums of points received live can be extended in constant time per point.
+   * The sums returned by build(int) share the storage with the builder
+   * and are not changed by adding points later.
+   */
+  static class Builder
+  {
+    private final int capacity;
+
+    private long[] time;
+
+    private double[] distance;
+
+    private double[] vmgDistance;
+
+    private int[] segmentsWithoutWind;
+
+    private double[] velocityTime;
+
+    private long[] velocityDuration;
+
+    /** The position of the oldest retained point in the arrays. */
+    private int head;
+
+    private int size;
+
+    /** The projected coordinates of the last added point with coordinates. */
+    private double lastX;
+
+    private double lastY;
+
+    private boolean hasLast;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of retained points, must be positive unless no point is added.
+     * @param storageLength the initial length of the storage arrays.
+     */
+    Builder(int capacity, int storageLength)
+    {
+      this.capacity = capacity;
+      allocate(storageLength);
+    }
+
+    Builder addAll(LocationColumns columns)
+    {
+      for (int i = 0; i < columns.size(); i++)
+      {
+        add(columns, i);
+      }
+      return this;
+    }
+
+    /**
+     * Adds the sums up to a point.
+     *
+     * @param columns the columns containing the point, not null.
+     * @param index the index of the point in the columns.
+     */
+    void add(LocationColumns columns, int index)
+    {
+      if (head + size == time.length)
+      {
+        moveToNewStorage();
+      }
+      int i = head + size;
+      if (size == 0)
+      {
+        time[i] = columns.time.isPresent(index) ? columns.time.get(index) : 0L;
+      }
+      else
+      {
+        time[i] = columns.time.isPresent(index) ? columns.time.get(index) : time[i - 1];
+        distance[i] = distance[i - 1];
+        vmgDistance[i] = vmgDistance[i - 1];
+        segmentsWithoutWind[i] = segmentsWithoutWind[i - 1];
+        velocityTime[i] = velocityTime[i - 1];
+        velocityDuration[i] = velocityDuration[i - 1];
+        if (!columns.windDirection.isPresent(index))
+        {
+          segmentsWithoutWind[i]++;
+        }
+        if (columns.velocityFromLatLong.isPresent(index))
+        {
+          long segmentDuration = time[i] - time[i - 1];
+          velocityTime[i] += columns.velocityFromLatLong.get(index) * segmentDuration / 1000d;
+          velocityDuration[i] += segmentDuration;
+        }
+      }
+      if (columns.x.isPresent(index) && columns.y.isPresent(index))
+      {
+        double x = columns.x.get(index);
+        double y = columns.y.get(index);
+        if (hasLast)
+        {
+          double dx = x - lastX;
+          double dy = y - lastY;
+          distance[i] += Math.sqrt(dx * dx + dy * dy);
+          if (columns.windDirection.isPresent(index))
+          {
+            // bearings are measured from the y axis towards the x axis
+            double windDirection = columns.windDirection.get(index);
+            vmgDistance[i] += dx * Math.sin(windDirection) + dy * Math.cos(windDirection);
+          }
+        }
+        lastX = x;
+        lastY = y;
+        hasLast = true;
+      }
+      if (size == capacity)
+      {
+        head++;
+      }
+      else
+      {
+        size++;
+      }
+    }
+
+    /**
+     * Returns the sums of the most recently added points.
+     *
+     * @param pointCount the number of points, not larger than the number of retained points.
+     *
+     * @return the sums, indexed by the position of the point among the returned points, not null.
+     */
+    TrackSums build(int pointCount)
+    {
+      return new TrackSums(this, pointCount);
+    }
+
+    private void moveToNewStorage()
+    {
+      long[] oldTime = time;
+      double[] oldDistance = distance;
+      double[] oldVmgDistance = vmgDistance;
+      int[] oldSegmentsWithoutWind = segmentsWithoutWind;
+      double[] oldVelocityTime = velocityTime;
+      long[] oldVelocityDuration = velocityDuration;
+      allocate(RingBuffer.getStorageLength(size, capacity));
+      System.arraycopy(oldTime, head, time, 0, size);
+      System.arraycopy(oldDistance, head, distance, 0, size);
+      System.arraycopy(oldVmgDistance, head, vmgDistance, 0, size);
+      System.arraycopy(oldSegmentsWithoutWind, head, segmentsWithoutWind, 0, size);
+      System.arraycopy(oldVelocityTime, head, velocityTime, 0, size);
+      System.arraycopy(oldVelocityDuration, head, velocityDuration, 0, size);
+      head = 0;
+    }
+
+    private void allocate(int length)
+    {
+      time = new long[length];
+      distance = new double[length];
+      vmgDistance = new double[length];
+      segmentsWithoutWind = new int[length];
+      velocityTime = new double[length];
+      velocityDuration = new long[length];
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+/**
+ * Wavelet matrix over a sequence of small non-negative integers,
+ * which returns the k-th smallest value in any index range in O(log sigma),
+ * where sigma is the upper bound of the values.
+ *
+ * On each level, from the highest bit of the values to the lowest,
+ * the sequence is stored as a bit vector of the current bit, and is then stably reordered
+ * so that the values with the bit 0 come before the values with the bit 1.
+ * Rank queries on the bit vectors use precomputed counts per 64-bit word.
+ */
+public class WaveletMatrix
+{
+  private final int size;
+
+  private final int levelCount;
+
+  /** bits[level][w] contains the bits of the indices 64w to 64w+63 on the level. */
+  private final long[][] bits;
+
+  /** onesBefore[level][w] is the number of set bits in bits[level][0] to bits[level][w - 1]. */
+  private final int[][] onesBefore;
+
+  /** Number of zero bits on each level. */
+  private final int[] zeroCount;
+
+  /**
+   * Constructor.
+   *
+   * @param values the sequence, each value must be in the range [0, sigma[, not null.
+   * @param sigma the upper bound of the values, exclusive.
+   */
+  public WaveletMatrix(int[] values, int sigma)
+  {
+    size = values.length;
+    int levels = 0;
+    while ((1L << levels) < sigma)
+    {
+      levels++;
+    }
+    levelCount = levels;
+    int wordCount = (size >>> 6) + 1;
+    bits = new long[levelCount][wordCount];
+    onesBefore = new int[levelCount][wordCount + 1];
+    zeroCount = new int[levelCount];
+    int[] current = values.clone();
+    int[] next = new int[size];
+    for (int level = levelCount - 1; level >= 0; level--)
+    {
+      int zeros = 0;
+      for (int i = 0; i < size; i++)
+      {
+        if (((current[i] >>> level) & 1) == 1)
+        {
+          bits[level][i >>> 6] |= 1L << (i & 63);
+        }
+        else
+        {
+          zeros++;
+        }
+      }
+      for (int word = 0; word < wordCount; word++)
+      {
+        onesBefore[level][word + 1] = onesBefore[level][word] + Long.bitCount(bits[level][word]);
+      }
+      zeroCount[level] = zeros;
+      int zeroPosition = 0;
+      int onePosition = zeros;
+      for (int i = 0; i < size; i++)
+      {
+        if (((current[i] >>> level) & 1) == 1)
+        {
+          next[onePosition++] = current[i];
+        }
+        else
+        {
+          next[zeroPosition++] = current[i];
+        }
+      }
+      int[] swap = current;
+      current = next;
+      next = swap;
+    }
+  }
+
+  public int size()
+  {
+    return size;
+  }
+
+  /**
+   * Returns the k-th smallest value in an index range.
+   *
+   * @param from the first index of the range, inclusive.
+   * @param to the last index of the range, exclusive.
+   * @param k the rank of the value to return, 0 for the smallest value, must be smaller than to - from.
+   *
+   * @return the k-th smallest value.
+   */
+  public int getKthSmallest(int from, int to, int k)
+  {
+    if (k < 0 || k >= to - from)
+    {
+      throw new IllegalArgumentException("k must be in [0, " + (to - from) + "[ but is " + k);
+    }
+    int result = 0;
+    int rangeStart = from;
+    int rangeEnd = to;
+    int remaining = k;
+    for (int level = levelCount - 1; level >= 0; level--)
+    {
+      int zerosBeforeStart = rangeStart - countOnes(level, rangeStart);
+      int zerosBeforeEnd = rangeEnd - countOnes(level, rangeEnd);
+      int zerosInRange = zerosBeforeEnd - zerosBeforeStart;
+      if (remaining < zerosInRange)
+      {
+        rangeStart = zerosBeforeStart;
+        rangeEnd = zerosBeforeEnd;
+      }
+      else
+      {
+        remaining -= zerosInRange;
+        result |= 1 << level;
+        rangeStart = zeroCount[level] + rangeStart - zerosBeforeStart;
+        rangeEnd = zeroCount[level] + rangeEnd - zerosBeforeEnd;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of set bits before an index on a level.
+   */
+  private int countOnes(int level, int index)
+  {
+    int word = index >>> 6;
+    return onesBefore[level][word]
+        + Long.bitCount(bits[level][word] & ((1L << (index & 63)) - 1));
+  }
+}
@@ -1,10 +1,18 @@
 package com.github.thomasfox.sailplotter;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import org.junit.rules.TemporaryFolder;
+
 import com.github.thomasfox.sailplotter.model.Acceleration;
 import com.github.thomasfox.sailplotter.model.Data;
 import com.github.thomasfox.sailplotter.model.DataPoint;
 import com.github.thomasfox.sailplotter.model.Location;
 import com.github.thomasfox.sailplotter.model.MagneticField;
+import com.github.thomasfox.sailplotter.model.columns.DoubleColumn;
 import com.github.thomasfox.sailplotter.model.vector.ThreeDimVector;
 
 public class TestData
@@ -15,7 +23,7 @@ public class TestData
     for (ThreeDimVector acceleration : accelerationData)
     {
       DataPoint point = new DataPoint(0);
-      point.acceleration = new Acceleration(acceleration.x, acceleration.y, acceleration.z);
+      point.setAcceleration(new Acceleration(acceleration.x, acceleration.y, acceleration.z));
       data.add(point);
     }
     return data;
@@ -26,7 +34,7 @@ public class TestData
     int i = 0;
     for (DataPoint point : data.getAllPoints())
     {
-      point.magneticField = magenticFields[i];
+      point.setMagneticField(magenticFields[i]);
       ++i;
     }
     data.resetCache();
@@ -37,11 +45,11 @@ public class TestData
     int i = 0;
     for (DataPoint point : data.getAllPoints())
     {
-      if (point.magneticField == null)
+      if (!point.hasMagneticField())
       {
-        point.magneticField = new MagneticField();
+        point.setMagneticField(new MagneticField());
       }
-      point.magneticField.compassBearing = compassBearings[i];
+      point.setCompassBearing(compassBearings[i]);
       ++i;
     }
     data.resetCache();
@@ -52,10 +60,88 @@ public class TestData
     int i = 0;
     for (DataPoint point : data.getAllPoints())
     {
-      point.location = new Location();
-      point.location.bearing = bearings[i];
+      point.setLocation(new Location());
+      point.setBearing(bearings[i]);
       ++i;
     }
     data.resetCache();
   }
+
+  /**
+   * Creates a track which zig-zags upwind with the wind coming from north,
+   * sailing at 3 m/s with one location point per second.
+   *
+   * @param numberOfTacks the number of tacks in the track.
+   * @param secondsPerTack the duration of each tack in seconds.
+   *
+   * @return the track data, not analyzed.
+   */
+  public static Data givenZigZagTrack(int numberOfTacks, int secondsPerTack)
+  {
+    Data data = new Data();
+    double latitude = 54d / 180d * Math.PI;
+    double longitude = 10d / 180d * Math.PI;
+    long time = 1474466536000L;
+    int index = 0;
+    for (int tack = 0; tack < numberOfTacks; tack++)
+    {
+      double bearing = (tack % 2 == 0) ? Math.PI / 4 : 7 * Math.PI / 4;
+      for (int second = 0; second < secondsPerTack; second++)
+      {
+        DataPoint point = new DataPoint(index++);
+        point.setTime(time);
+        point.setLocation(new Location());
+        point.setLatitude(latitude);
+        point.setLongitude(longitude);
+        point.setVelocity(3d);
+        point.setBearing(bearing);
+        data.add(point);
+        latitude += 3d * Math.cos(bearing) / Constants.EARTH_RADIUS;
+        longitude += 3d * Math.sin(bearing) / Constants.EARTH_RADIUS / Math.cos(latitude);
+        time += 1000L;
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Creates a column with the given values.
+   *
+   * @param values the values of the column, null for a missing value.
+   *
+   * @return the column, not null.
+   */
+  public static DoubleColumn givenColumn(Double... values)
+  {
+    DoubleColumn result = new DoubleColumn(values.length);
+    for (int i = 0; i < values.length; i++)
+    {
+      result.set(i, values[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Writes a file into a temporary folder.
+   *
+   * @param temporaryFolder the folder to create the file in, not null.
+   * @param fileName the name of the file, not null.
+   * @param content the content of the file, not null.
+   * @param charset the encoding of the content, not null.
+   *
+   * @return the written file, not null.
+   */
+  public static File givenFileWithContent(TemporaryFolder temporaryFolder, String fileName, String content, Charset charset)
+  {
+    try
+    {
+      File file = temporaryFolder.newFile(fileName);
+      Files.write(file.toPath(), content.getBytes(charset));
+      return file;
+    }
+    catch (IOException e)
+    {
+      throw new RuntimeException(e);
+    }
+  }
 }
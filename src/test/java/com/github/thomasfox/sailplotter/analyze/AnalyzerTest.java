@@ -0,0 +1,90 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Tack;
+
+public class AnalyzerTest
+{
+  @Test
+  public void testAnalyzeWindDirectionChange_sameResultAsCompleteAnalysis()
+  {
+    // prepare
+    double windBearing = Math.PI / 2;
+    Data expected = givenZigZagTrack(6, 60);
+    expected.setAverageWindBearing(windBearing);
+    Analyzer.analyze(expected, new LoadProgress(null));
+    Data data = givenZigZagTrack(6, 60);
+    Analyzer.analyze(data, new LoadProgress(null));
+    Double oldWindDirection = data.getPointsWithLocation().get(1).getWindDirection();
+
+    // execute
+    TackAnalysis result = Analyzer.analyzeWindDirectionChange(data, windBearing);
+
+    // verify
+    assertThat(data.getPointsWithLocation().get(1).getWindDirection()).isEqualTo(oldWindDirection);
+    assertThat(result.columns.getLocation().windDirection.get(1)).isEqualTo(windBearing);
+    assertThat(result.tackList).hasSize(expected.getTackList().size());
+    for (int i = 0; i < result.tackList.size(); i++)
+    {
+      Tack expectedTack = expected.getTackList().get(i);
+      Tack actualTack = result.tackList.get(i);
+      assertThat(actualTack.startOfTackDataPointIndex).isEqualTo(expectedTack.startOfTackDataPointIndex);
+      assertThat(actualTack.pointOfSail).isEqualTo(expectedTack.pointOfSail);
+      assertThat(actualTack.windDirection).isEqualTo(expectedTack.windDirection);
+      if (i < result.tackList.size() - 1)
+      {
+        // the last point has no wind direction, so the last tack has no average VMG
+        assertThat(actualTack.getAverageVMGInKnots()).isCloseTo(expectedTack.getAverageVMGInKnots(), within(1e-9d));
+      }
+    }
+    assertThat(result.tackSeriesList).hasSize(expected.getTackSeriesList().size());
+    assertThat(data.getTackList()).isNotSameAs(result.tackList);
+  }
+
+  @Test
+  public void testPublishWindDirectionChange()
+  {
+    // prepare
+    double windBearing = Math.PI / 2;
+    Data data = givenZigZagTrack(2, 30);
+    Analyzer.analyze(data, new LoadProgress(null));
+    TackAnalysis tackAnalysis = Analyzer.analyzeWindDirectionChange(data, windBearing);
+
+    // execute
+    Analyzer.publishWindDirectionChange(data, windBearing, tackAnalysis);
+
+    // verify
+    for (DataPoint point : data.getPointsWithLocation().subList(1, data.getPointsWithLocation().size() - 1))
+    {
+      assertThat(point.getWindDirection()).isEqualTo(windBearing);
+    }
+    assertThat(data.getAverageWindBearing()).isEqualTo(windBearing);
+    assertThat(data.getTackList()).containsExactlyElementsOf(tackAnalysis.tackList);
+    assertThat(data.getColumns()).isSameAs(tackAnalysis.columns);
+  }
+
+  @Test
+  public void testAnalyze_setsWindDirection()
+  {
+    // prepare
+    Data data = givenZigZagTrack(2, 30);
+    data.setAverageWindBearing(1d);
+
+    // execute
+    Analyzer.analyze(data, new LoadProgress(null));
+
+    // verify
+    for (DataPoint point : data.getPointsWithLocation().subList(1, data.getPointsWithLocation().size() - 1))
+    {
+      assertThat(point.getWindDirection()).isEqualTo(1d);
+    }
+  }
+}
@@ -91,11 +91,11 @@ public class DeviceOrientationAnalyzerTest
         new ThreeDimVector(1d, 0d, 10d),
         new ThreeDimVector(10d, 0d, 0d));
     data.add(2, new DataPoint(0));
-    data.getAllPoints().get(0).time = 0l;
-    data.getAllPoints().get(1).time = 500l;
-    data.getAllPoints().get(2).time = 800l;
-    data.getAllPoints().get(3).time = 1000l;
-    data.getAllPoints().get(4).time = 1500l;
+    data.getAllPoints().get(0).setTime(0l);
+    data.getAllPoints().get(1).setTime(500l);
+    data.getAllPoints().get(2).setTime(800l);
+    data.getAllPoints().get(3).setTime(1000l);
+    data.getAllPoints().get(4).setTime(1500l);
     data.resetCache();
 
     // act
@@ -116,10 +116,10 @@ public class DeviceOrientationAnalyzerTest
         new ThreeDimVector(1d, 10d, 2d),
         new ThreeDimVector(10d, 0d, 0d),
         new ThreeDimVector(10d, 0d, 0d));
-    data.getAllPoints().get(0).time = 0l;
-    data.getAllPoints().get(1).time = 500l;
-    data.getAllPoints().get(2).time = 1000l;
-    data.getAllPoints().get(3).time = 1500l;
+    data.getAllPoints().get(0).setTime(0l);
+    data.getAllPoints().get(1).setTime(500l);
+    data.getAllPoints().get(2).setTime(1000l);
+    data.getAllPoints().get(3).setTime(1500l);
     data.resetCache();
 
     // act
@@ -139,9 +139,9 @@ public class DeviceOrientationAnalyzerTest
         new ThreeDimVector(10d, 0d, 0d),
         new ThreeDimVector(1d, 10d, 2d));
     data.add(1, new DataPoint(0));
-    data.getAllPoints().get(0).time = 0l;
-    data.getAllPoints().get(1).time = 500l;
-    data.getAllPoints().get(2).time = 5000l;
+    data.getAllPoints().get(0).setTime(0l);
+    data.getAllPoints().get(1).setTime(500l);
+    data.getAllPoints().get(2).setTime(5000l);
     data.resetCache();
 
     // act
@@ -159,9 +159,9 @@ public class DeviceOrientationAnalyzerTest
         new ThreeDimVector(10d, 0d, 0d),
         new ThreeDimVector(1d, 10d, 2d));
     data.add(0, new DataPoint(0));
-    data.getAllPoints().get(0).time = 0l;
-    data.getAllPoints().get(1).time = 1000l;
-    data.getAllPoints().get(2).time = 5000l;
+    data.getAllPoints().get(0).setTime(0l);
+    data.getAllPoints().get(1).setTime(1000l);
+    data.getAllPoints().get(2).setTime(5000l);
     data.resetCache();
 
     // act
@@ -179,9 +179,9 @@ public class DeviceOrientationAnalyzerTest
         new ThreeDimVector(10d, 0d, 0d),
         new ThreeDimVector(1d, 10d, 2d));
     data.add(new DataPoint(0));
-    data.getAllPoints().get(0).time = 0l;
-    data.getAllPoints().get(1).time = 100l;
-    data.getAllPoints().get(2).time = 200l;
+    data.getAllPoints().get(0).setTime(0l);
+    data.getAllPoints().get(1).setTime(100l);
+    data.getAllPoints().get(2).setTime(200l);
     data.resetCache();
 
     // act
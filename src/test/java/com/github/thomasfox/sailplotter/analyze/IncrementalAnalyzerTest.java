@@ -0,0 +1,144 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.columns.LocationColumns;
+import com.github.thomasfox.sailplotter.model.columns.TrackSums;
+
+public class IncrementalAnalyzerTest
+{
+  @Test
+  public void add_sameResultsAsBatchAnalysis()
+  {
+    // arrange
+    Data batch = givenZigZagTrack(8, 45);
+    Analyzer.analyze(batch, new LoadProgress(null), Runnable::run);
+    IncrementalAnalyzer sut = new IncrementalAnalyzer(Data.bounded(1000));
+
+    // act
+    for (DataPoint point : givenZigZagTrack(8, 45).getAllPoints())
+    {
+      sut.add(point);
+    }
+    sut.finish();
+
+    // assert
+    for (int i = 1; i < batch.size() - 1; i++)
+    {
+      assertThat(sut.getData().get(i).getVelocityFromLatLong()).isEqualTo(batch.get(i).getVelocityFromLatLong());
+      assertThat(sut.getData().get(i).getBearingFromLatLong()).isEqualTo(batch.get(i).getBearingFromLatLong());
+      assertThat(sut.getData().get(i).getWindDirection()).isEqualTo(batch.get(i).getWindDirection());
+    }
+    List<Tack> tacks = sut.getClosedTacks();
+    assertThat(tacks).hasSize(batch.getTackList().size());
+    for (int i = 0; i < tacks.size(); i++)
+    {
+      Tack expected = batch.getTackList().get(i);
+      assertThat(tacks.get(i).startOfTackDataPointIndex).isEqualTo(expected.startOfTackDataPointIndex);
+      assertThat(tacks.get(i).endOfTackDataPointIndex).isEqualTo(expected.endOfTackDataPointIndex);
+      assertThat(tacks.get(i).pointOfSail).isEqualTo(expected.pointOfSail);
+      assertThat(tacks.get(i).maneuverTypeAtEnd).isEqualTo(expected.maneuverTypeAtEnd);
+    }
+  }
+
+  @Test
+  public void createSnapshot_containsRetainedPointsAndTacks()
+  {
+    // arrange
+    IncrementalAnalyzer sut = new IncrementalAnalyzer(Data.bounded(100));
+    for (DataPoint point : givenZigZagTrack(10, 40).getAllPoints())
+    {
+      sut.add(point);
+    }
+
+    // act
+    Data snapshot = sut.createSnapshot();
+
+    // assert
+    assertThat(sut.getData().getDroppedPointCount()).isEqualTo(300);
+    assertThat(snapshot.size()).isEqualTo(99);
+    assertThat(snapshot.get(0)).isEqualTo(sut.getData().get(0));
+    assertThat(snapshot.get(0).getIndex()).isEqualTo(300);
+    assertThat(snapshot.getTackList()).isNotEmpty();
+    for (Tack tack : snapshot.getTackList())
+    {
+      assertThat(tack.startOfTackDataPointIndex).isGreaterThanOrEqualTo(0);
+      assertThat(tack.pointsWithinTack.get(0)).isEqualTo(tack.start);
+      assertThat(tack.pointsWithinTack.get(tack.pointsWithinTack.size() - 1)).isEqualTo(tack.end);
+      assertThat(tack.getAverageVMGInKnots()).isNotNull();
+    }
+  }
+
+  @Test
+  public void createSnapshot_notChangedByLaterAdds()
+  {
+    // arrange
+    IncrementalAnalyzer sut = new IncrementalAnalyzer(Data.bounded(100));
+    List<DataPoint> points = givenZigZagTrack(10, 40).getAllPoints();
+    for (DataPoint point : points.subList(0, 200))
+    {
+      sut.add(point);
+    }
+    Data snapshot = sut.createSnapshot();
+
+    // act
+    for (DataPoint point : points.subList(200, points.size()))
+    {
+      sut.add(point);
+    }
+
+    // assert
+    assertThat(snapshot.size()).isEqualTo(99);
+    assertThat(snapshot.getDroppedPointCount()).isEqualTo(100);
+    assertThat(snapshot.get(0).getIndex()).isEqualTo(100);
+    assertThat(snapshot.getLast().getIndex()).isEqualTo(198);
+    LocationColumns expectedColumns = new LocationColumns(snapshot.getPointsWithLocation());
+    TrackSums expectedTrackSums = new TrackSums(expectedColumns);
+    LocationColumns columns = snapshot.getColumns().getLocation();
+    TrackSums trackSums = snapshot.getColumns().getTrackSums();
+    assertThat(columns.size()).isEqualTo(99);
+    assertThat(trackSums.size()).isEqualTo(99);
+    for (int i = 0; i < 99; i++)
+    {
+      assertThat(columns.time.get(i)).isEqualTo(expectedColumns.time.get(i));
+      assertThat(columns.x.get(i)).isEqualTo(expectedColumns.x.get(i));
+      assertThat(columns.relativeBearing.getOrNull(i)).isEqualTo(expectedColumns.relativeBearing.getOrNull(i));
+      assertThat(trackSums.getDistance(0, i)).isCloseTo(expectedTrackSums.getDistance(0, i), within(1e-6d));
+      assertThat(trackSums.getDuration(0, i)).isEqualTo(expectedTrackSums.getDuration(0, i));
+    }
+  }
+
+  @Test
+  public void add_closesTacksLongerThanCapacity()
+  {
+    // arrange
+    IncrementalAnalyzer sut = new IncrementalAnalyzer(Data.bounded(100));
+
+    // act
+    for (DataPoint point : givenZigZagTrack(1, 350).getAllPoints())
+    {
+      sut.add(point);
+    }
+    sut.finish();
+
+    // assert
+    List<Tack> tacks = sut.getClosedTacks();
+    assertThat(tacks).isNotEmpty();
+    int firstRetainedIndex = sut.getData().getDroppedPointCount();
+    for (Tack tack : tacks)
+    {
+      assertThat(tack.startOfTackDataPointIndex).isGreaterThanOrEqualTo(firstRetainedIndex);
+      assertThat(tack.endOfTackDataPointIndex - tack.startOfTackDataPointIndex).isLessThan(100);
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static  org.assertj.core.api.Assertions.assertThat;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.listener.TackListener;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Location;
+import com.github.thomasfox.sailplotter.model.ManeuverType;
+import com.github.thomasfox.sailplotter.model.PointOfSail;
+import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.TackList;
+
+public class OnlineTackDetectorTest
+{
+  /** The expected tack starts in givenZigZagTrack(8, 45), which has a turn every 45 points. */
+  private static final int[] ZIG_ZAG_TACK_STARTS = {1, 45, 91, 135, 181, 225, 271, 315};
+
+  /** The expected tack ends in givenZigZagTrack(8, 45). The last tack ends at the last location point. */
+  private static final int[] ZIG_ZAG_TACK_ENDS = {45, 91, 135, 181, 225, 271, 315, 359};
+
+  @Test
+  public void analyze_zigZagTrack()
+  {
+    // arrange
+    Data data = givenZigZagTrack(8, 45);
+    Analyzer.analyze(data, new LoadProgress(null), Runnable::run);
+
+    // act
+    TackList result = new TackListByCorrelationAnalyzer().analyze(data);
+
+    // assert
+    assertThat(result).hasSize(ZIG_ZAG_TACK_STARTS.length);
+    for (int i = 0; i < result.size(); i++)
+    {
+      Tack tack = result.get(i);
+      assertThat(tack.startOfTackDataPointIndex).isEqualTo(ZIG_ZAG_TACK_STARTS[i]);
+      assertThat(tack.endOfTackDataPointIndex).isEqualTo(ZIG_ZAG_TACK_ENDS[i]);
+      assertThat(tack.pointOfSail).isEqualTo(
+          i % 2 == 0 ? PointOfSail.CLOSE_HAULED_STARBOARD : PointOfSail.CLOSE_HAULED_PORT);
+      assertThat(tack.maneuverTypeAtStart).isEqualTo(i == 0 ? null : ManeuverType.TACK);
+      assertThat(tack.maneuverTypeAtEnd).isEqualTo(i == result.size() - 1 ? null : ManeuverType.TACK);
+      assertThat(tack.trackSums).isSameAs(data.getColumns().getTrackSums());
+    }
+  }
+
+  @Test
+  public void finish_closesLastTack()
+  {
+    // arrange
+    Data data = givenZigZagTrack(4, 60);
+    Analyzer.analyze(data, new LoadProgress(null), Runnable::run);
+    List<DataPoint> points = data.getPointsWithLocation();
+    List<Tack> closedTacks = new ArrayList<>();
+    OnlineTackDetector detector = new OnlineTackDetector(points, null, closedTacks::add);
+
+    // act
+    detector.processPoints();
+    detector.finish();
+
+    // assert
+    assertThat(closedTacks).hasSize(4);
+    for (int i = 0; i < closedTacks.size(); i++)
+    {
+      Tack tack = closedTacks.get(i);
+      assertThat(tack.index).isEqualTo(i);
+      assertThat(tack.pointOfSail).isEqualTo(
+          i % 2 == 0 ? PointOfSail.CLOSE_HAULED_STARBOARD : PointOfSail.CLOSE_HAULED_PORT);
+      assertThat(tack.pointsWithinTack).hasSize(tack.endOfTackDataPointIndex - tack.startOfTackDataPointIndex + 1);
+    }
+    assertThat(closedTacks.get(0).maneuverTypeAtStart).isNull();
+    assertThat(closedTacks.get(1).maneuverTypeAtStart).isEqualTo(ManeuverType.TACK);
+    assertThat(closedTacks.get(3).maneuverTypeAtStart).isEqualTo(ManeuverType.TACK);
+    assertThat(closedTacks.get(3).maneuverTypeAtEnd).isNull();
+    assertThat(closedTacks.get(3).endOfTackDataPointIndex).isEqualTo(points.size() - 1);
+    assertThat(detector.getOpenTack()).isNull();
+  }
+
+  @Test
+  public void processPoints_appendedPoints()
+  {
+    // arrange
+    Data data = givenZigZagTrack(8, 45);
+    Analyzer.analyze(data, new LoadProgress(null), Runnable::run);
+    GrowingList points = new GrowingList(data.getPointsWithLocation());
+    List<Tack> closedTacks = new ArrayList<>();
+    List<Tack> openedTacks = new ArrayList<>();
+    OnlineTackDetector detector = new OnlineTackDetector(points, null, new TackListener()
+    {
+      @Override
+      public void tackOpened(Tack tack)
+      {
+        openedTacks.add(tack);
+      }
+
+      @Override
+      public void tackClosed(Tack tack)
+      {
+        assertThat(tack.index).isEqualTo(closedTacks.size());
+        closedTacks.add(tack);
+      }
+    });
+
+    // act
+    while (points.size < points.points.size())
+    {
+      points.size = Math.min(points.size + 7, points.points.size());
+      detector.processPoints();
+      assertThat(openedTacks.size() - closedTacks.size()).isBetween(0, 3);
+    }
+    detector.finish();
+
+    // assert
+    assertThat(closedTacks).hasSize(ZIG_ZAG_TACK_STARTS.length);
+    assertThat(openedTacks).hasSize(ZIG_ZAG_TACK_STARTS.length);
+    for (int i = 0; i < closedTacks.size(); i++)
+    {
+      Tack tack = closedTacks.get(i);
+      assertThat(tack.startOfTackDataPointIndex).isEqualTo(ZIG_ZAG_TACK_STARTS[i]);
+      assertThat(tack.endOfTackDataPointIndex).isEqualTo(ZIG_ZAG_TACK_ENDS[i]);
+      assertThat(tack.pointOfSail).isEqualTo(
+          i % 2 == 0 ? PointOfSail.CLOSE_HAULED_STARBOARD : PointOfSail.CLOSE_HAULED_PORT);
+      assertThat(tack.maneuverTypeAtEnd).isEqualTo(i == closedTacks.size() - 1 ? null : ManeuverType.TACK);
+    }
+  }
+
+  @Test
+  public void testCalculateTackIntersectionTimesByYDifference()
+  {
+    Tack lastTack = new Tack();
+    lastTack.tackStraightLineIntersectionEnd = new DataPoint(-1);
+    lastTack.tackStraightLineIntersectionEnd.setLocation(Location.fromXY(0, 110));
+    lastTack.pointsWithinTack = new ArrayList<>();
+    DataPoint start = new DataPoint(0);
+    start.setTime(0l);
+    start.setLocation(Location.fromXY(0, 0));
+    lastTack.pointsWithinTack.add(start);
+    DataPoint point1 = new DataPoint(1);
+    point1.setTime(3000l);
+    point1.setLocation(Location.fromXY(0, 30));
+    lastTack.pointsWithinTack.add(point1);
+    DataPoint point2 = new DataPoint(2);
+    point2.setTime(7000l);
+    point2.setLocation(Location.fromXY(0, 70));
+    lastTack.pointsWithinTack.add(point2);
+    DataPoint end = new DataPoint(3);
+    end.setTime(11500l);
+    end.setLocation(Location.fromXY(0, 115));
+    lastTack.pointsWithinTack.add(end);
+    lastTack.startOfTackDataPointIndex = 0;
+    lastTack.endOfTackDataPointIndex = 3;
+    lastTack.start = start;
+    lastTack.end = end;
+
+    Tack nextTack = new Tack();
+    nextTack.tackStraightLineIntersectionStart = new DataPoint(-1);
+    nextTack.tackStraightLineIntersectionStart.setLocation(Location.fromXY(0, 120));
+    nextTack.pointsWithinTack = new ArrayList<>();
+    start = end;
+    nextTack.pointsWithinTack.add(start);
+    point1 = new DataPoint(4);
+    point1.setTime(16000l);
+    point1.setLocation(Location.fromXY(0, 160));
+    nextTack.pointsWithinTack.add(point1);
+    point2 = new DataPoint(5);
+    point2.setTime(20000l);
+    point2.setLocation(Location.fromXY(0, 200));
+    nextTack.pointsWithinTack.add(point2);
+    end = new DataPoint(6);
+    end.setTime(23000l);
+    end.setLocation(Location.fromXY(0, 230));
+    nextTack.pointsWithinTack.add(end);
+    nextTack.startOfTackDataPointIndex = 3;
+    nextTack.endOfTackDataPointIndex = 6;
+    nextTack.start = start;
+    nextTack.end = end;
+
+    // execute
+    OnlineTackDetector.calculateTackIntersectionTimes(lastTack, nextTack);
+
+    // verify
+    assertThat(lastTack.tackStraightLineIntersectionEnd.getTime()).isBetween(10999l, 11001l);
+    assertThat(nextTack.tackStraightLineIntersectionStart.getTime()).isBetween(11999l, 12001l);
+  }
+
+  @Test
+  public void testCalculateTackIntersectionTimesByXDifference()
+  {
+    Tack lastTack = new Tack();
+    lastTack.tackStraightLineIntersectionEnd = new DataPoint(-1);
+    lastTack.tackStraightLineIntersectionEnd.setLocation(Location.fromXY(110, 0d));
+    lastTack.pointsWithinTack = new ArrayList<>();
+    DataPoint start = new DataPoint(0);
+    start.setTime(0l);
+    start.setLocation(Location.fromXY(0, 0));
+    lastTack.pointsWithinTack.add(start);
+    DataPoint point1 = new DataPoint(1);
+    point1.setTime(3000l);
+    point1.setLocation(Location.fromXY(30, 0));
+    lastTack.pointsWithinTack.add(point1);
+    DataPoint point2 = new DataPoint(2);
+    point2.setTime(7000l);
+    point2.setLocation(Location.fromXY(70, 0));
+    lastTack.pointsWithinTack.add(point2);
+    DataPoint end = new DataPoint(3);
+    end.setTime(11500l);
+    end.setLocation(Location.fromXY(115, 0));
+    lastTack.pointsWithinTack.add(end);
+    lastTack.startOfTackDataPointIndex = 0;
+    lastTack.endOfTackDataPointIndex = 3;
+    lastTack.start = start;
+    lastTack.end = end;
+
+    Tack nextTack = new Tack();
+    nextTack.tackStraightLineIntersectionStart = new DataPoint(-1);
+    nextTack.tackStraightLineIntersectionStart.setLocation(Location.fromXY(120, 0d));
+    nextTack.pointsWithinTack = new ArrayList<>();
+    start = end;
+    nextTack.pointsWithinTack.add(start);
+    point1 = new DataPoint(5);
+    point1.setTime(16000l);
+    point1.setLocation(Location.fromXY(160, 0));
+    nextTack.pointsWithinTack.add(point1);
+    point2 = new DataPoint(6);
+    point2.setTime(20000l);
+    point2.setLocation(Location.fromXY(200, 0));
+    nextTack.pointsWithinTack.add(point2);
+    end = new DataPoint(7);
+    end.setTime(23000l);
+    end.setLocation(Location.fromXY(230, 0));
+    nextTack.pointsWithinTack.add(end);
+    nextTack.startOfTackDataPointIndex = 4;
+    nextTack.endOfTackDataPointIndex = 7;
+    nextTack.start = start;
+    nextTack.end = end;
+
+    // execute
+    OnlineTackDetector.calculateTackIntersectionTimes(lastTack, nextTack);
+
+    // verify
+    assertThat(lastTack.tackStraightLineIntersectionEnd.getTime()).isBetween(10999l, 11001l);
+    assertThat(nextTack.tackStraightLineIntersectionStart.getTime()).isBetween(11999l, 12001l);
+  }
+
+  /**
+   * A list which shows the first size points of the wrapped list.
+   * Increasing size appends points without invalidating the sub lists of the list.
+   */
+  private static class GrowingList extends AbstractList<DataPoint>
+  {
+    private final List<DataPoint> points;
+
+    private int size;
+
+    GrowingList(List<DataPoint> points)
+    {
+      this.points = points;
+    }
+
+    @Override
+    public DataPoint get(int index)
+    {
+      if (index >= size)
+      {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return points.get(index);
+    }
+
+    @Override
+    public int size()
+    {
+      return size;
+    }
+  }
+}
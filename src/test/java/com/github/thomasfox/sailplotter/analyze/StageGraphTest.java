@@ -0,0 +1,150 @@
+package com.github.thomasfox.sailplotter.analyze;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+
+public class StageGraphTest
+{
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void shutdownExecutor()
+  {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testRun_dependentStagesRunAfterTheirInputs()
+  {
+    // prepare
+    List<String> executed = new CopyOnWriteArrayList<>();
+    StageGraph sut = new StageGraph()
+        .add(stage("time", Collections.emptyList(), Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME), executed))
+        .add(stage("location", Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME),
+            Arrays.asList(AnalysisArtifact.INTERPOLATED_LOCATION), executed))
+        .add(stage("bearing", Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME),
+            Arrays.asList(AnalysisArtifact.VELOCITY_AND_BEARING), executed))
+        .add(stage("tacks", Arrays.asList(AnalysisArtifact.VELOCITY_AND_BEARING, AnalysisArtifact.INTERPOLATED_LOCATION),
+            Arrays.asList(AnalysisArtifact.TACK_LIST), executed));
+
+    // execute
+    Map<String, Long> timings = sut.run(new Data(), new LoadProgress(null), executor);
+
+    // verify
+    assertThat(executed).hasSize(4);
+    assertThat(executed.get(0)).isEqualTo("time");
+    assertThat(executed.get(3)).isEqualTo("tacks");
+    assertThat(timings.keySet()).containsExactly("time", "location", "bearing", "tacks");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAdd_inputNotProduced()
+  {
+    new StageGraph().add(stage("tacks", Arrays.asList(AnalysisArtifact.VELOCITY_AND_BEARING),
+        Arrays.asList(AnalysisArtifact.TACK_LIST), null));
+  }
+
+  @Test
+  public void testRun_failureSkipsDependentStagesAndIsRethrown()
+  {
+    // prepare
+    List<String> executed = new CopyOnWriteArrayList<>();
+    StageGraph sut = new StageGraph()
+        .add(new AnalysisStage("time", Collections.emptyList(), Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME),
+            (data, loadProgress) -> { throw new IllegalStateException("failed"); }))
+        .add(stage("location", Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME),
+            Arrays.asList(AnalysisArtifact.INTERPOLATED_LOCATION), executed))
+        .add(stage("independent", Collections.emptyList(), Arrays.asList(AnalysisArtifact.WIND_DIRECTION), executed));
+
+    // execute
+    IllegalStateException thrown = null;
+    try
+    {
+      sut.run(new Data(), new LoadProgress(null), executor);
+    }
+    catch (IllegalStateException e)
+    {
+      thrown = e;
+    }
+
+    // verify
+    assertThat(thrown).hasMessage("failed");
+    assertThat(executed).containsExactly("independent");
+  }
+
+  @Test
+  public void testAnalyzerStageGraph_stagesDeclareTheArtifactsTheyRead()
+  {
+    // prepare
+    Map<String, List<AnalysisArtifact>> readArtifacts = new HashMap<>();
+    readArtifacts.put("correct time using GPS time", Collections.emptyList());
+    readArtifacts.put("interpolate location", Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME));
+    readArtifacts.put("calculate velocity and bearing",
+        Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME, AnalysisArtifact.INTERPOLATED_LOCATION));
+    readArtifacts.put("set wind direction", Collections.emptyList());
+    readArtifacts.put("calculate tack list", Arrays.asList(
+        AnalysisArtifact.GPS_CORRECTED_TIME,
+        AnalysisArtifact.INTERPOLATED_LOCATION,
+        AnalysisArtifact.VELOCITY_AND_BEARING,
+        AnalysisArtifact.WIND_DIRECTION));
+    readArtifacts.put("calculate tack series list", Arrays.asList(AnalysisArtifact.TACK_LIST));
+    readArtifacts.put("analyze orientation",
+        Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME, AnalysisArtifact.INTERPOLATED_LOCATION));
+
+    // execute
+    StageGraph sut = Analyzer.createStageGraph();
+
+    // verify
+    assertThat(sut.getStages()).hasSize(readArtifacts.size());
+    for (AnalysisStage stage : sut.getStages())
+    {
+      assertThat(sut.getAvailableArtifacts(stage))
+          .as("artifacts available to stage " + stage.getName())
+          .containsAll(readArtifacts.get(stage.getName()));
+    }
+  }
+
+  @Test
+  public void testGetAvailableArtifacts_containsInputsOfProducers()
+  {
+    // prepare
+    StageGraph sut = new StageGraph()
+        .add(stage("time", Collections.emptyList(), Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME), null))
+        .add(stage("location", Arrays.asList(AnalysisArtifact.GPS_CORRECTED_TIME),
+            Arrays.asList(AnalysisArtifact.INTERPOLATED_LOCATION), null))
+        .add(stage("wind", Collections.emptyList(), Arrays.asList(AnalysisArtifact.WIND_DIRECTION), null))
+        .add(stage("bearing", Arrays.asList(AnalysisArtifact.INTERPOLATED_LOCATION),
+            Arrays.asList(AnalysisArtifact.VELOCITY_AND_BEARING), null));
+
+    // execute
+    AnalysisStage bearingStage = sut.getStages().get(3);
+
+    // verify
+    assertThat(sut.getAvailableArtifacts(bearingStage)).containsOnly(
+        AnalysisArtifact.GPS_CORRECTED_TIME,
+        AnalysisArtifact.INTERPOLATED_LOCATION);
+  }
+
+  private AnalysisStage stage(
+      String name,
+      List<AnalysisArtifact> inputs,
+      List<AnalysisArtifact> outputs,
+      List<String> executed)
+  {
+    return new AnalysisStage(name, inputs, outputs, (data, loadProgress) -> executed.add(name));
+  }
+}
@@ -0,0 +1,97 @@
+package com.github.thomasfox.sailplotter.batch;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.exporter.Exporter;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+
+public class BatchAnalysisTest
+{
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void run_csv() throws IOException
+  {
+    // arrange
+    File inputDirectory = temporaryFolder.newFolder("input");
+    Data data = givenZigZagTrack(8, 60);
+    Analyzer.analyze(data, new LoadProgress(null));
+    new Exporter().save(new File(inputDirectory, "track.sailplot"), data);
+    Files.write(new File(inputDirectory, "broken.gpx").toPath(), "no gpx".getBytes(StandardCharsets.UTF_8));
+    Files.write(new File(inputDirectory, "ignored.txt").toPath(), "text".getBytes(StandardCharsets.UTF_8));
+    File outputDirectory = temporaryFolder.newFolder("output");
+
+    // act
+    BatchAnalysis batchAnalysis;
+    try (SummaryWriter summaryWriter = new CsvSummaryWriter(outputDirectory))
+    {
+      batchAnalysis = new BatchAnalysis(2, summaryWriter);
+      batchAnalysis.run(BatchAnalysis.collectFiles(Arrays.asList(inputDirectory)));
+    }
+
+    // assert
+    assertThat(batchAnalysis.getSessionCount()).isEqualTo(2);
+    assertThat(batchAnalysis.getFailedCount()).isEqualTo(1);
+    assertThat(batchAnalysis.getThroughputReport()).startsWith("Processed 2 files (1 failed)");
+    List<String> sessions = readLines(new File(outputDirectory, "sessions.csv"));
+    assertThat(sessions).hasSize(3);
+    assertThat(sessions.get(0)).startsWith("file,error,");
+    List<String> tacks = readLines(new File(outputDirectory, "tacks.csv"));
+    assertThat(tacks).hasSize(data.getTackList().size() + 1);
+    List<String> tackSeries = readLines(new File(outputDirectory, "tackseries.csv"));
+    assertThat(tackSeries).hasSize(data.getTackSeriesList().size() + 1);
+  }
+
+  @Test
+  public void run_json() throws IOException
+  {
+    // arrange
+    Data data = givenZigZagTrack(8, 60);
+    Analyzer.analyze(data, new LoadProgress(null));
+    File input = temporaryFolder.newFile("track.sailplot");
+    new Exporter().save(input, data);
+    File outputDirectory = temporaryFolder.newFolder("output");
+
+    // act
+    try (SummaryWriter summaryWriter = new JsonSummaryWriter(outputDirectory))
+    {
+      new BatchAnalysis(1, summaryWriter).run(Arrays.asList(input));
+    }
+
+    // assert
+    List<String> sessions = readLines(new File(outputDirectory, "sessions.jsonl"));
+    assertThat(sessions).hasSize(1);
+    assertThat(sessions.get(0))
+        .contains("\"numberOfTacks\":" + data.getTackList().size())
+        .contains("\"error\":null");
+    assertThat(readLines(new File(outputDirectory, "tacks.jsonl"))).hasSize(data.getTackList().size());
+  }
+
+  @Test
+  public void toCsvValue()
+  {
+    assertThat(CsvSummaryWriter.toCsvValue(null)).isEqualTo("");
+    assertThat(CsvSummaryWriter.toCsvValue(1.5d)).isEqualTo("1.5");
+    assertThat(CsvSummaryWriter.toCsvValue("a,\"b\"")).isEqualTo("\"a,\"\"b\"\"\"");
+  }
+
+  private List<String> readLines(File file) throws IOException
+  {
+    return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,144 @@
+package com.github.thomasfox.sailplotter.cache;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.exporter.SailplotFormat;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
+
+public class AnalysisCacheTest
+{
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void read_storesAndReusesAnalysis() throws IOException
+  {
+    // arrange
+    File cacheDirectory = temporaryFolder.newFolder("cache");
+    AnalysisCache analysisCache = new AnalysisCache(cacheDirectory, 100_000_000L);
+    File file = givenGpxFile("track.gpx", givenZigZagTrack(8, 60));
+    Data analyzed = analysisCache.read(file, new LoadProgress(null), Runnable::run);
+    File renamedFile = new File(temporaryFolder.getRoot(), "renamed.gpx");
+    Files.copy(file.toPath(), renamedFile.toPath());
+
+    // act
+    Data cached = analysisCache.read(renamedFile, new LoadProgress(null), Runnable::run);
+
+    // assert
+    assertThat(cacheDirectory.list()).containsExactly(analysisCache.getKey(file) + SailplotFormat.EXTENSION);
+    assertThat(analysisCache.getKey(file)).endsWith("-a" + Analyzer.VERSION);
+    assertThat(cached).isNotSameAs(analyzed);
+    assertThat(cached.getFile()).isEqualTo(renamedFile);
+    assertThat(cached.size()).isEqualTo(analyzed.size());
+    assertThat(cached.getTackList()).hasSize(analyzed.getTackList().size());
+    assertThat(cached.getTackSeriesList()).hasSize(analyzed.getTackSeriesList().size());
+  }
+
+  @Test
+  public void getKey_dependsOnContent() throws IOException
+  {
+    // arrange
+    AnalysisCache analysisCache = new AnalysisCache(temporaryFolder.newFolder("cache"), 100_000_000L);
+    File file = givenGpxFile("track.gpx", givenZigZagTrack(2, 10));
+    File otherFile = givenGpxFile("other.gpx", givenZigZagTrack(2, 11));
+
+    // act
+    String key = analysisCache.getKey(file);
+    String otherKey = analysisCache.getKey(otherFile);
+
+    // assert
+    assertThat(key).isNotEqualTo(otherKey);
+  }
+
+  @Test
+  public void getKey_disabled() throws IOException
+  {
+    // arrange
+    File cacheDirectory = temporaryFolder.newFolder("cache");
+    AnalysisCache analysisCache = new AnalysisCache(cacheDirectory, 0L);
+    File file = givenGpxFile("track.gpx", givenZigZagTrack(8, 60));
+
+    // act
+    Data data = analysisCache.read(file, new LoadProgress(null), Runnable::run);
+
+    // assert
+    assertThat(analysisCache.getKey(file)).isNull();
+    assertThat(data.getTackList()).isNotEmpty();
+    assertThat(cacheDirectory.list()).isEmpty();
+  }
+
+  @Test
+  public void put_keepsColumnsOfAnalyzedData() throws IOException
+  {
+    // arrange
+    File cacheDirectory = temporaryFolder.newFolder("cache");
+    AnalysisCache analysisCache = new AnalysisCache(cacheDirectory, 100_000_000L);
+    Data data = givenZigZagTrack(8, 60);
+    Analyzer.analyze(data, new LoadProgress(null), Runnable::run);
+    DataColumns columns = data.getColumns();
+
+    // act
+    analysisCache.put("entry", data);
+
+    // assert
+    assertThat(cacheDirectory.list()).containsExactly("entry" + SailplotFormat.EXTENSION);
+    assertThat(data.getColumns()).isSameAs(columns);
+  }
+
+  @Test
+  public void put_evictsLeastRecentlyUsed() throws IOException
+  {
+    // arrange
+    File cacheDirectory = temporaryFolder.newFolder("cache");
+    Data data = givenZigZagTrack(8, 60);
+    Analyzer.analyze(data, new LoadProgress(null), Runnable::run);
+    new AnalysisCache(cacheDirectory, Long.MAX_VALUE).put("first", data);
+    long entrySize = new File(cacheDirectory, "first" + SailplotFormat.EXTENSION).length();
+    AnalysisCache analysisCache = new AnalysisCache(cacheDirectory, 2 * entrySize);
+    analysisCache.put("second", data);
+    long now = System.currentTimeMillis();
+    new File(cacheDirectory, "first" + SailplotFormat.EXTENSION).setLastModified(now - 10_000L);
+    new File(cacheDirectory, "second" + SailplotFormat.EXTENSION).setLastModified(now - 20_000L);
+    analysisCache.get("first", new File("first.gpx"), new LoadProgress(null));
+
+    // act
+    analysisCache.put("third", data);
+
+    // assert
+    assertThat(cacheDirectory.list()).containsOnly(
+        "first" + SailplotFormat.EXTENSION,
+        "third" + SailplotFormat.EXTENSION);
+  }
+
+  private File givenGpxFile(String name, Data data) throws IOException
+  {
+    StringBuilder content = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<gpx xmlns=\"http://www.topografix.com/GPX/1/1\" version=\"1.1\"><trk><trkseg>");
+    for (DataPoint point : data.getAllPoints())
+    {
+      content.append("<trkpt lat=\"").append(point.getLatitude() * 180d / Math.PI)
+          .append("\" lon=\"").append(point.getLongitude() * 180d / Math.PI)
+          .append("\"><time>").append(Instant.ofEpochMilli(point.getTime()))
+          .append("</time></trkpt>");
+    }
+    content.append("</trkseg></trk></gpx>");
+    File file = temporaryFolder.newFile(name);
+    Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+}
@@ -0,0 +1,130 @@
+package com.github.thomasfox.sailplotter.exporter;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.importer.FormatAwareImporter;
+import com.github.thomasfox.sailplotter.model.Acceleration;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.MagneticField;
+import com.github.thomasfox.sailplotter.model.Tack;
+import com.github.thomasfox.sailplotter.model.TackSeries;
+import com.github.thomasfox.sailplotter.model.columns.DataColumns;
+
+public class ExporterTest
+{
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void saveAndRead()
+  {
+    // prepare
+    Data data = givenZigZagTrack(8, 60);
+    DataPoint sensorPoint = new DataPoint(1000);
+    sensorPoint.setTime(data.getLast().getTime());
+    sensorPoint.setMagneticField(new MagneticField(1d, 2d, 3d));
+    sensorPoint.setAcceleration(new Acceleration(4d, 5d, 6d));
+    data.add(sensorPoint);
+    data.setComment("Kieler Woche äöü");
+    data.setAverageWindBearing(0.1d);
+    Analyzer.analyze(data, new LoadProgress(null));
+    File file = getFile();
+
+    // execute
+    new Exporter().save(file, data);
+    Data read = new FormatAwareImporter(new LoadProgress(null)).read(file);
+
+    // verify
+    assertThat(new FormatAwareImporter(new LoadProgress(null)).isAnalysisNeeded(file)).isFalse();
+    assertThat(read.size()).isEqualTo(data.size());
+    assertThat(read.comment).isEqualTo(data.comment);
+    assertThat(read.getAverageWindBearing()).isEqualTo(0.1d);
+    for (int i = 0; i < data.size(); i++)
+    {
+      DataPoint expected = data.get(i);
+      DataPoint actual = read.get(i);
+      assertThat(actual.getIndex()).isEqualTo(expected.getIndex());
+      assertThat(actual.getTime()).isEqualTo(expected.getTime());
+      assertThat(actual.toString()).isEqualTo(expected.toString());
+      if (expected.isLocationSet())
+      {
+        assertThat(actual.getVelocityFromLatLong()).isEqualTo(expected.getVelocityFromLatLong());
+        assertThat(actual.getBearingFromLatLong()).isEqualTo(expected.getBearingFromLatLong());
+        assertThat(actual.getVelocity()).isEqualTo(expected.getVelocity());
+      }
+      if (expected.hasWind())
+      {
+        assertThat(actual.getWindDirection()).isEqualTo(expected.getWindDirection());
+      }
+      else
+      {
+        assertThat(actual.getWind()).isNull();
+      }
+    }
+    assertThat(read.getLast().getMagneticField().z).isEqualTo(3d);
+    assertThat(read.getLast().getAcceleration().y).isEqualTo(5d);
+    assertThat(read.getLast().getLocation()).isNull();
+
+    assertThat(read.getTackList()).hasSize(data.getTackList().size());
+    assertThat(data.getTackList().size()).isGreaterThan(4);
+    for (int i = 0; i < data.getTackList().size(); i++)
+    {
+      Tack expected = data.getTackList().get(i);
+      Tack actual = read.getTackList().get(i);
+      assertThat(actual.toString()).isEqualTo(expected.toString());
+      assertThat(actual.getLabel()).isEqualTo(expected.getLabel());
+      assertThat(actual.startOfTackDataPointIndex).isEqualTo(expected.startOfTackDataPointIndex);
+      assertThat(actual.endOfTackDataPointIndex).isEqualTo(expected.endOfTackDataPointIndex);
+      assertThat(actual.pointsWithinTack).hasSize(expected.pointsWithinTack.size());
+      assertThat(actual.maneuverTypeAtStart).isEqualTo(expected.maneuverTypeAtStart);
+      assertThat(actual.getIntersectionTimeDistance(read.getTackList().get(Math.max(i - 1, 0))))
+          .isEqualTo(expected.getIntersectionTimeDistance(data.getTackList().get(Math.max(i - 1, 0))));
+    }
+    assertThat(read.getTackSeriesList()).hasSize(data.getTackSeriesList().size());
+    for (int i = 0; i < data.getTackSeriesList().size(); i++)
+    {
+      TackSeries expected = data.getTackSeriesList().get(i);
+      TackSeries actual = read.getTackSeriesList().get(i);
+      assertThat(actual.toString()).isEqualTo(expected.toString());
+    }
+  }
+
+  @Test
+  public void save_keepsColumns()
+  {
+    // prepare
+    Data data = givenZigZagTrack(2, 20);
+    Analyzer.analyze(data, new LoadProgress(null));
+    DataColumns columns = data.getColumns();
+    File file = getFile();
+
+    // execute
+    new Exporter().save(file, data);
+
+    // verify
+    assertThat(data.getColumns()).isSameAs(columns);
+  }
+
+  private File getFile()
+  {
+    try
+    {
+      return new File(temporaryFolder.newFolder(), "test.sailplot");
+    }
+    catch (IOException e)
+    {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.github.thomasfox.sailplotter.gui.component.plot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ScreenPointGridTest
+{
+  private static final Rectangle2D AREA = new Rectangle2D.Double(0, 0, 100, 80);
+
+  @Test
+  public void getNearest_sameCell()
+  {
+    // arrange
+    ScreenPointGrid sut = new ScreenPointGrid(new double[] {10, 13, 15}, new double[] {10, 11, 15}, AREA, 20);
+
+    // act
+    int result = sut.getNearest(12, 11, 5);
+
+    // assert
+    assertThat(result).isEqualTo(1);
+  }
+
+  @Test
+  public void getNearest_neighbouringCell()
+  {
+    // arrange
+    ScreenPointGrid sut = new ScreenPointGrid(new double[] {5, 21}, new double[] {5, 39}, AREA, 20);
+
+    // act
+    int result = sut.getNearest(19, 41, 5);
+
+    // assert
+    assertThat(result).isEqualTo(1);
+  }
+
+  @Test
+  public void getNearest_beyondMaxDistance()
+  {
+    // arrange
+    ScreenPointGrid sut = new ScreenPointGrid(new double[] {25, 18}, new double[] {5, 11}, AREA, 20);
+
+    // act
+    int result = sut.getNearest(19, 5, 5);
+
+    // assert
+    assertThat(result).isEqualTo(-1);
+  }
+
+  @Test
+  public void getNearest_sameDistanceReturnsHighestIndex()
+  {
+    // arrange
+    ScreenPointGrid sut = new ScreenPointGrid(new double[] {22, 18, 20}, new double[] {30, 30, 34}, AREA, 20);
+
+    // act
+    int result = sut.getNearest(20, 30, 5);
+
+    // assert
+    assertThat(result).isEqualTo(1);
+  }
+
+  @Test
+  public void getNearest_pointOutsideArea()
+  {
+    // arrange
+    ScreenPointGrid sut = new ScreenPointGrid(new double[] {-10, 50}, new double[] {-10, 50}, AREA, 20);
+
+    // act
+    int result = sut.getNearest(-8, -7, 5);
+
+    // assert
+    assertThat(result).isEqualTo(0);
+  }
+
+  @Test
+  public void getNearest_emptyGrid()
+  {
+    // arrange
+    ScreenPointGrid sut = new ScreenPointGrid(new double[0], new double[0], AREA, 20);
+
+    // act
+    int result = sut.getNearest(10, 10, 5);
+
+    // assert
+    assertThat(result).isEqualTo(-1);
+  }
+
+  @Test
+  public void getNearest_sameAsScan()
+  {
+    // arrange
+    Random random = new Random(1);
+    double[] x = new double[1000];
+    double[] y = new double[1000];
+    for (int i = 0; i < x.length; i++)
+    {
+      x[i] = random.nextDouble() * 110 - 5;
+      y[i] = random.nextDouble() * 90 - 5;
+    }
+    ScreenPointGrid sut = new ScreenPointGrid(x, y, AREA, 20);
+
+    for (int query = 0; query < 200; query++)
+    {
+      double positionX = random.nextDouble() * 110 - 5;
+      double positionY = random.nextDouble() * 90 - 5;
+      int expected = -1;
+      double expectedDistance = 5;
+      for (int i = 0; i < x.length; i++)
+      {
+        double distance = Math.hypot(x[i] - positionX, y[i] - positionY);
+        if (distance <= expectedDistance)
+        {
+          expected = i;
+          expectedDistance = distance;
+        }
+      }
+
+      // act
+      int result = sut.getNearest(positionX, positionY, 5);
+
+      // assert
+      assertThat(result).isEqualTo(expected);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.github.thomasfox.sailplotter.gui.component.plot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.data.Range;
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+public class TimeWindowXYDatasetTest
+{
+  private static final long START_TIME = 1474466536000L;
+
+  private final TimeWindowXYDataset sut = new TimeWindowXYDataset();
+
+  @Test
+  public void setTimeWindow_showsItemsStrictlyInsideWindow()
+  {
+    // arrange
+    List<DataPoint> points = givenPoints(5);
+    sut.addSeries("y", points, point -> 10d * point.getIndex());
+
+    // act
+    sut.setTimeWindow(START_TIME + 1000L, START_TIME + 4000L);
+
+    // assert
+    assertThat(sut.getItemCount(0)).isEqualTo(2);
+    assertThat(sut.getXValue(0, 0)).isEqualTo(xOf(points.get(2)));
+    assertThat(sut.getXValue(0, 1)).isEqualTo(xOf(points.get(3)));
+    assertThat(sut.getYValue(0, 0)).isEqualTo(20d);
+    assertThat(sut.getYValue(0, 1)).isEqualTo(30d);
+    assertThat(sut.getDomainBounds(false)).isEqualTo(new Range(xOf(points.get(2)), xOf(points.get(3))));
+    assertThat(sut.getRangeBounds(false)).isEqualTo(new Range(20d, 30d));
+  }
+
+  @Test
+  public void setTimeWindow_moveWindow()
+  {
+    // arrange
+    List<DataPoint> points = givenPoints(5);
+    sut.addSeries("y", points, point -> 10d * point.getIndex());
+    sut.setTimeWindow(START_TIME + 1000L, START_TIME + 4000L);
+
+    // act
+    sut.setTimeWindow(START_TIME - 1L, START_TIME + 1500L);
+
+    // assert
+    assertThat(sut.getItemCount(0)).isEqualTo(2);
+    assertThat(sut.getXValue(0, 0)).isEqualTo(xOf(points.get(0)));
+    assertThat(sut.getYValue(0, 1)).isEqualTo(10d);
+    assertThat(sut.getRangeBounds(false)).isEqualTo(new Range(0d, 10d));
+  }
+
+  @Test
+  public void addSeries_usesCurrentTimeWindowAndSkipsNullValues()
+  {
+    // arrange
+    List<DataPoint> points = givenPoints(5);
+    sut.setTimeWindow(START_TIME, Long.MAX_VALUE);
+
+    // act
+    sut.addSeries("y", points, point -> point.getIndex() == 2 ? null : 10d * point.getIndex());
+
+    // assert
+    assertThat(sut.getItemCount(0)).isEqualTo(3);
+    assertThat(sut.getYValue(0, 0)).isEqualTo(10d);
+    assertThat(sut.getYValue(0, 1)).isEqualTo(30d);
+    assertThat(sut.getYValue(0, 2)).isEqualTo(40d);
+  }
+
+  @Test
+  public void getBounds_emptyWindow()
+  {
+    // arrange
+    sut.addSeries("y", givenPoints(5), point -> 10d * point.getIndex());
+
+    // act
+    sut.setTimeWindow(START_TIME + 1000L, START_TIME + 2000L);
+
+    // assert
+    assertThat(sut.getItemCount(0)).isEqualTo(0);
+    assertThat(sut.getDomainBounds(false)).isNull();
+    assertThat(sut.getRangeBounds(false)).isNull();
+    assertThat(sut.getDomainLowerBound(false)).isNaN();
+    assertThat(sut.getRangeUpperBound(false)).isNaN();
+  }
+
+  @Test
+  public void getBounds_noSeries()
+  {
+    // act
+    sut.setTimeWindow(START_TIME, START_TIME + 2000L);
+
+    // assert
+    assertThat(sut.getSeriesCount()).isEqualTo(0);
+    assertThat(sut.getDomainBounds(false)).isNull();
+    assertThat(sut.getRangeBounds(false)).isNull();
+  }
+
+  @Test
+  public void getDomainBounds_mappedX()
+  {
+    // arrange
+    double[] xValues = {5d, -3d, 8d, 1d, -7d};
+    sut.addSeries("track", givenPoints(5), point -> xValues[point.getIndex()], point -> 10d * point.getIndex());
+
+    // act
+    sut.setTimeWindow(START_TIME, START_TIME + 4000L);
+
+    // assert
+    assertThat(sut.getItemCount(0)).isEqualTo(3);
+    assertThat(sut.getXValue(0, 0)).isEqualTo(-3d);
+    assertThat(sut.getDomainBounds(false)).isEqualTo(new Range(-3d, 8d));
+    assertThat(sut.getRangeBounds(false)).isEqualTo(new Range(10d, 30d));
+  }
+
+  @Test
+  public void getDomainBounds_mappedXAndTimeSeries()
+  {
+    // arrange
+    List<DataPoint> points = givenPoints(5);
+    sut.addSeries("track", points, point -> point.getIndex() == 0 ? null : -1d * point.getIndex(), point -> 1d);
+    sut.addSeries("time", points, point -> 1d);
+
+    // act
+    sut.setTimeWindow(Long.MIN_VALUE, START_TIME + 2000L);
+
+    // assert
+    assertThat(sut.getItemCount(0)).isEqualTo(1);
+    assertThat(sut.getItemCount(1)).isEqualTo(2);
+    assertThat(sut.getDomainBounds(false)).isEqualTo(new Range(-1d, xOf(points.get(1))));
+  }
+
+  private List<DataPoint> givenPoints(int count)
+  {
+    List<DataPoint> result = new ArrayList<>();
+    for (int i = 0; i < count; i++)
+    {
+      DataPoint point = new DataPoint(i);
+      point.setTime(START_TIME + 1000L * i);
+      result.add(point);
+    }
+    return result;
+  }
+
+  private double xOf(DataPoint point)
+  {
+    return point.getMillisecond().getFirstMillisecond();
+  }
+}
@@ -0,0 +1,62 @@
+package com.github.thomasfox.sailplotter.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thomasfox.sailplotter.TestData;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+
+public class GpxImporterTest
+{
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void read_multipleTracksAndSegments()
+  {
+    // prepare
+    File file = givenFileWithContent("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<gpx xmlns=\"http://www.topografix.com/GPX/1/1\" version=\"1.1\">"
+        + "<metadata><time>2000-01-01T00:00:00Z</time></metadata>"
+        + "<trk><name>first</name>"
+        + "<trkseg>"
+        + "<trkpt lat=\"45.0\" lon=\"9.0\"><ele>12.5</ele><time>2016-09-21T14:02:16Z</time></trkpt>"
+        + "<trkpt lat=\"45.1\" lon=\"9.1\"><time>2016-09-21T14:02:17.250Z</time></trkpt>"
+        + "</trkseg>"
+        + "<trkseg>"
+        + "<trkpt lat=\"45.2\" lon=\"9.2\"><time>2016-09-21T16:02:20+02:00</time></trkpt>"
+        + "</trkseg>"
+        + "</trk>"
+        + "<trk><trkseg>"
+        + "<trkpt lat=\"-45.3\" lon=\"-9.3\"><time>2016-09-21T14:02:21Z</time></trkpt>"
+        + "</trkseg></trk>"
+        + "</gpx>");
+
+    // execute
+    Data data = new GpxImporter(new LoadProgress(null)).read(file);
+
+    // verify
+    assertThat(data.size()).isEqualTo(4);
+    assertThat(data.getSegmentStartIndices()).containsExactly(2, 3);
+    assertThat(data.get(0).getTime()).isEqualTo(1474466536000L);
+    assertThat(data.get(0).getLatitude()).isCloseTo(Math.PI / 4, within(1E-10));
+    assertThat(data.get(0).getAltitude()).isEqualTo(12.5d);
+    assertThat(data.get(1).getTime()).isEqualTo(1474466537250L);
+    assertThat(data.get(2).getTime()).isEqualTo(1474466540000L);
+    assertThat(data.get(3).getLongitude()).isCloseTo(-9.3d / 180d * Math.PI, within(1E-10));
+    assertThat(data.get(3).getIndex()).isEqualTo(3);
+  }
+
+  private File givenFileWithContent(String content)
+  {
+    return TestData.givenFileWithContent(temporaryFolder, "test.gpx", content, StandardCharsets.UTF_8);
+  }
+}
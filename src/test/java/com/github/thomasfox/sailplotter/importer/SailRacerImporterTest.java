@@ -0,0 +1,85 @@
+package com.github.thomasfox.sailplotter.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thomasfox.sailplotter.TestData;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+
+public class SailRacerImporterTest
+{
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void read()
+  {
+    // prepare
+    File file = givenFileWithContent("2016.09.21 14:02:16:000\t54.4383933\t10.1873483\t137\t2.5\t140\t0\n"
+        + "2016.09.21 14:02:17:5\t-54.43839\t-10.1E-1\t137\t2.5\t140\t0\r\n"
+        + "\n"
+        + "2016.09.21 14:03\t0.123456789012345678\t10\t137\t2.5\t140\t0");
+
+    // execute
+    Data data = new SailRacerImporter(new LoadProgress(null)).read(file);
+
+    // verify
+    assertThat(data.size()).isEqualTo(3);
+    assertThat(data.get(0).getTime()).isEqualTo(1474466536000L);
+    assertThat(data.get(0).getLatitude()).isEqualTo(54.4383933d / 180d * Math.PI);
+    assertThat(data.get(0).getLongitude()).isEqualTo(10.1873483d / 180d * Math.PI);
+    assertThat(data.get(1).getTime()).isEqualTo(1474466537500L);
+    assertThat(data.get(1).getLatitude()).isEqualTo(-54.43839d / 180d * Math.PI);
+    assertThat(data.get(1).getLongitude()).isEqualTo(-1.01d / 180d * Math.PI);
+    assertThat(data.get(2).getTime()).isEqualTo(1474466580000L);
+    assertThat(data.get(2).getLatitude()).isEqualTo(0.123456789012345678d / 180d * Math.PI);
+  }
+
+  @Test
+  public void read_multipleChunks()
+  {
+    // prepare
+    StringBuilder content = new StringBuilder();
+    LocalDateTime startTime = LocalDateTime.of(2016, 9, 21, 14, 2, 16);
+    int lineCount = 60000;
+    for (int i = 0; i < lineCount; i++)
+    {
+      LocalDateTime time = startTime.plusNanos(i * 250_000_000L);
+      content.append(String.format("%04d.%02d.%02d %02d:%02d:%02d:%03d\t%s\t%s\t137\t2.5\t140\t0\n",
+          time.getYear(), time.getMonthValue(), time.getDayOfMonth(),
+          time.getHour(), time.getMinute(), time.getSecond(), time.getNano() / 1_000_000,
+          Double.toString(54d + i * 1E-7d), Double.toString(10d - i * 3E-7d)));
+    }
+    File file = givenFileWithContent(content.toString());
+
+    // execute
+    Data data = new SailRacerImporter(new LoadProgress(null), new ForkJoinPool(4)).read(file);
+
+    // verify
+    assertThat(file.length()).isGreaterThan(2L << 20);
+    assertThat(data.size()).isEqualTo(lineCount);
+    for (int i = 0; i < lineCount; i++)
+    {
+      assertThat(data.get(i).getIndex()).isEqualTo(i);
+      assertThat(data.get(i).getTime())
+          .isEqualTo(startTime.plusNanos(i * 250_000_000L).toInstant(ZoneOffset.UTC).toEpochMilli());
+      assertThat(data.get(i).getLatitude()).isEqualTo((54d + i * 1E-7d) / 180d * Math.PI);
+      assertThat(data.get(i).getLongitude()).isEqualTo((10d - i * 3E-7d) / 180d * Math.PI);
+    }
+  }
+
+  private File givenFileWithContent(String content)
+  {
+    return TestData.givenFileWithContent(temporaryFolder, "test.log", content, StandardCharsets.ISO_8859_1);
+  }
+}
@@ -0,0 +1,31 @@
+package com.github.thomasfox.sailplotter.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+import org.junit.Test;
+
+public class TimestampParserTest
+{
+  @Test
+  public void parseIsoDateTime()
+  {
+    assertThat(TimestampParser.parseIsoDateTime("2016-09-21T14:02:16Z"))
+        .isEqualTo(Instant.parse("2016-09-21T14:02:16Z").toEpochMilli());
+    assertThat(TimestampParser.parseIsoDateTime("2016-09-21T14:02:16.1234Z"))
+        .isEqualTo(Instant.parse("2016-09-21T14:02:16.123Z").toEpochMilli());
+    assertThat(TimestampParser.parseIsoDateTime("2016-09-21T14:02:16"))
+        .isEqualTo(Instant.parse("2016-09-21T14:02:16Z").toEpochMilli());
+    assertThat(TimestampParser.parseIsoDateTime("2016-02-29T23:59:59.5-0130"))
+        .isEqualTo(OffsetDateTime.parse("2016-02-29T23:59:59.5-01:30").toInstant().toEpochMilli());
+    assertThat(TimestampParser.parseIsoDateTime("1969-12-31T23:59:59Z")).isEqualTo(-1000L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseIsoDateTime_invalid()
+  {
+    TimestampParser.parseIsoDateTime("2016-09-21 14:02");
+  }
+}
@@ -0,0 +1,56 @@
+package com.github.thomasfox.sailplotter.importer.saillogger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thomasfox.sailplotter.TestData;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+
+public class SailLoggerImporterTest
+{
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void read()
+  {
+    // prepare
+    File file = givenFileWithContent("{\"start\":{\"format\":\"1.0\",\"startT\":1000},"
+        + "\"track\":["
+        + "{\"locT\":1500,\"locLat\":45.0,\"locLong\":9.0,\"locBear\":90.0,\"locVel\":1.852,\"locAlt\":3.5,\"locDevT\":1000},"
+        + "{\"locAcc\":null},"
+        + "{\"magT\":2000,\"magX\":1.0,\"magY\":2.0,\"magZ\":3.0,\"unknown\":{\"a\":[1,2]}},"
+        + "{\"accT\":3000,\"accX\":4.0,\"accY\":5.0,\"accZ\":6.0}"
+        + "],\"end\":{\"endT\":4000}}");
+
+    // execute
+    Data data = new SailLoggerImporter(new LoadProgress(null)).read(file);
+
+    // verify
+    assertThat(data.size()).isEqualTo(3);
+    assertThat(data.get(0).getTime()).isEqualTo(1000L);
+    assertThat(data.get(0).getLatitude()).isCloseTo(Math.PI / 4, within(1E-10));
+    assertThat(data.get(0).getBearing()).isCloseTo(Math.PI / 2, within(1E-7));
+    assertThat(data.get(0).getVelocity()).isCloseTo(3.6d, within(1E-5));
+    assertThat(data.get(0).getSatelliteTime()).isEqualTo(1500L);
+    assertThat(data.get(0).getMagneticField()).isNull();
+    assertThat(data.get(1).getTime()).isEqualTo(2000L);
+    assertThat(data.get(1).getLocation()).isNull();
+    assertThat(data.get(1).getMagneticField().z).isEqualTo(3d);
+    assertThat(data.get(2).getIndex()).isEqualTo(2);
+    assertThat(data.get(2).getAcceleration().x).isEqualTo(4d);
+  }
+
+  private File givenFileWithContent(String content)
+  {
+    return TestData.givenFileWithContent(temporaryFolder, "test.saillog", content, StandardCharsets.UTF_8);
+  }
+}
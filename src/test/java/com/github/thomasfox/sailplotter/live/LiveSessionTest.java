@@ -0,0 +1,133 @@
+package com.github.thomasfox.sailplotter.live;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thomasfox.sailplotter.analyze.Analyzer;
+import com.github.thomasfox.sailplotter.gui.component.progress.LoadProgress;
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+public class LiveSessionTest
+{
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicReference<Data> snapshot = new AtomicReference<>();
+
+  private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+  @Test
+  public void tcpInput_analyzesReplayedTrack() throws Exception
+  {
+    // arrange
+    Data track = givenZigZagTrack(6, 45);
+    Analyzer.analyze(track, new LoadProgress(null), Runnable::run);
+    List<String> sentences = givenRmcSentences(givenZigZagTrack(6, 45));
+    try (ServerSocket replayServer = new ServerSocket(0))
+    {
+      Thread replayThread = new Thread(() -> replay(replayServer, sentences));
+      replayThread.start();
+      LiveSession sut = createSession(new TcpNmeaInput("localhost", replayServer.getLocalPort()));
+
+      // act
+      sut.start();
+      sut.join();
+      replayThread.join();
+    }
+
+    // assert
+    assertThat(error.get()).isNull();
+    assertThat(snapshot.get().size()).isEqualTo(track.size());
+    assertThat(snapshot.get().getTackList()).hasSize(track.getTackList().size());
+    assertThat(snapshot.get().getTackSeriesList()).hasSize(track.getTackSeriesList().size());
+    assertThat(snapshot.get().get(100).getBearingFromLatLong())
+        .isCloseTo(track.get(100).getBearingFromLatLong(), within(0.01d));
+  }
+
+  @Test
+  public void fileInput_readsAppendedSentences() throws Exception
+  {
+    // arrange
+    List<String> sentences = givenRmcSentences(givenZigZagTrack(4, 45));
+    File file = temporaryFolder.newFile("live.nmea");
+    append(file, sentences.subList(0, 50));
+    LiveSession sut = createSession(new FileNmeaInput(file));
+    sut.start();
+    waitForSnapshotSize(48);
+
+    // act
+    append(file, sentences.subList(50, sentences.size()));
+    waitForSnapshotSize(sentences.size() - 2);
+    sut.close();
+    sut.join();
+
+    // assert
+    assertThat(error.get()).isNull();
+    assertThat(snapshot.get().size()).isEqualTo(sentences.size());
+    assertThat(snapshot.get().getTackList()).hasSize(4);
+  }
+
+  private LiveSession createSession(NmeaInput input)
+  {
+    return new LiveSession(input, 10_000, 0L, Runnable::run, snapshot::set, error::set);
+  }
+
+  private void waitForSnapshotSize(int size) throws InterruptedException
+  {
+    long end = System.currentTimeMillis() + 10_000L;
+    while (snapshot.get() == null || snapshot.get().size() < size)
+    {
+      assertThat(System.currentTimeMillis()).isLessThan(end);
+      Thread.sleep(10);
+    }
+  }
+
+  private void replay(ServerSocket replayServer, List<String> sentences)
+  {
+    try (Socket socket = replayServer.accept(); OutputStream outputStream = socket.getOutputStream())
+    {
+      for (String sentence : sentences)
+      {
+        outputStream.write((sentence + "\r\n").getBytes(StandardCharsets.US_ASCII));
+      }
+    }
+    catch (IOException e)
+    {
+      error.set(e);
+    }
+  }
+
+  private void append(File file, List<String> sentences) throws IOException
+  {
+    Files.write(file.toPath(), sentences, StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+  }
+
+  private List<String> givenRmcSentences(Data data)
+  {
+    NmeaWriter writer = new NmeaWriter();
+    List<String> result = new ArrayList<>();
+    for (DataPoint point : data.getAllPoints())
+    {
+      result.add(writer.toSentences(point).trim());
+    }
+    return result;
+  }
+}
@@ -0,0 +1,113 @@
+package com.github.thomasfox.sailplotter.live;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+public class NmeaParserTest
+{
+  private final List<DataPoint> points = new ArrayList<>();
+
+  private final NmeaParser sut = new NmeaParser(points::add);
+
+  @Test
+  public void parse_combinesSentencesOfFix()
+  {
+    // act
+    parse("$GPRMC,123519,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6A");
+    parse("$GPGGA,123519,4807.038,N,01131.000,E,1,08,0.9,545.4,M,46.9,M,,*47");
+    parse(withChecksum("$GPVTG,054.7,T,034.4,M,005.5,N,010.2,K"));
+    parse(withChecksum("$HCHDG,101.1,,,7.1,W"));
+    sut.flush();
+
+    // assert
+    assertThat(points).hasSize(1);
+    DataPoint point = points.get(0);
+    assertThat(point.getIndex()).isEqualTo(0);
+    assertThat(point.getTime()).isEqualTo(Instant.parse("1994-03-23T12:35:19Z").toEpochMilli());
+    assertThat(point.getLatitude() * 180d / Math.PI).isCloseTo(48.1173d, within(0.0001d));
+    assertThat(point.getLongitude() * 180d / Math.PI).isCloseTo(11.5167d, within(0.0001d));
+    assertThat(point.getAltitude()).isEqualTo(545.4d);
+    assertThat(point.getVelocity()).isEqualTo(5.5d);
+    assertThat(point.getBearing() * 180d / Math.PI).isCloseTo(54.7d, within(0.0001d));
+    assertThat(point.getCompassBearingAs360Degrees()).isCloseTo(94d, within(0.0001d));
+  }
+
+  @Test
+  public void parse_newTimeStartsNewFix()
+  {
+    // act
+    parse(withChecksum("$GPRMC,235959.50,A,5400.000,N,01000.000,W,5.0,45.0,311220,,"));
+    parse(withChecksum("$GPRMC,000000.50,A,5400.010,S,01000.010,W,5.0,45.0,010121,,"));
+
+    // assert
+    assertThat(points).hasSize(1);
+    assertThat(sut.getPointCount()).isEqualTo(1);
+    sut.flush();
+    assertThat(points).hasSize(2);
+    assertThat(points.get(0).getTime()).isEqualTo(Instant.parse("2020-12-31T23:59:59.500Z").toEpochMilli());
+    assertThat(points.get(1).getTime()).isEqualTo(Instant.parse("2021-01-01T00:00:00.500Z").toEpochMilli());
+    assertThat(points.get(1).getIndex()).isEqualTo(1);
+    assertThat(points.get(1).getLatitude()).isNegative();
+    assertThat(points.get(1).getLongitude()).isNegative();
+  }
+
+  @Test
+  public void parse_discardsInvalidSentences()
+  {
+    // act
+    boolean wrongChecksum = parse("$GPRMC,123519,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6B");
+    boolean noFix = parse(withChecksum("$GPRMC,123520,V,,,,,,,230394,,"));
+    boolean unknownType = parse(withChecksum("$GPGSV,3,1,11,03,03,111,00"));
+    boolean truncated = parse("$GPRMC,123521,A,4807.038,N");
+    boolean notNmea = parse("hello world");
+    sut.flush();
+
+    // assert
+    assertThat(wrongChecksum).isFalse();
+    assertThat(noFix).isFalse();
+    assertThat(unknownType).isFalse();
+    assertThat(truncated).isFalse();
+    assertThat(notNmea).isFalse();
+    assertThat(sut.getDiscardedSentenceCount()).isEqualTo(4);
+    assertThat(points).isEmpty();
+  }
+
+  @Test
+  public void flush_discardsFixNotLaterThanPreviousFix()
+  {
+    // arrange
+    parse(withChecksum("$GPGGA,120001,5400.000,N,01000.000,E,1,08,0.9,5.0,M,,,,"));
+    parse(withChecksum("$GPGGA,120000,5400.000,N,01000.000,E,1,08,0.9,5.0,M,,,,"));
+
+    // act
+    sut.flush();
+
+    // assert
+    assertThat(points).hasSize(1);
+  }
+
+  private boolean parse(String sentence)
+  {
+    byte[] bytes = ("  " + sentence).getBytes(StandardCharsets.US_ASCII);
+    return sut.parse(bytes, 2, bytes.length - 2);
+  }
+
+  static String withChecksum(String sentence)
+  {
+    int checksum = 0;
+    for (int i = 1; i < sentence.length(); i++)
+    {
+      checksum ^= sentence.charAt(i);
+    }
+    return String.format("%s*%02X", sentence, checksum);
+  }
+}
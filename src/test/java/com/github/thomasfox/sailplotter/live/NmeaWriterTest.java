@@ -0,0 +1,82 @@
+package com.github.thomasfox.sailplotter.live;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Location;
+import com.github.thomasfox.sailplotter.model.MagneticField;
+
+public class NmeaWriterTest
+{
+  private final NmeaWriter sut = new NmeaWriter();
+
+  @Test
+  public void toSentences_rmcAndHdg()
+  {
+    // arrange
+    DataPoint point = givenPoint(Instant.parse("1994-03-23T12:35:19.500Z").toEpochMilli(), 48.1173d, -11.5167d);
+    point.setMagneticField(new MagneticField());
+    point.setCompassBearing(-10d / 180d * Math.PI);
+
+    // act
+    String result = sut.toSentences(point);
+
+    // assert
+    assertThat(result).isEqualTo(
+        NmeaParserTest.withChecksum("$GPRMC,123519.500,A,4807.038000,N,01131.002000,W,5.50,54.70,230394,,") + "\r\n"
+        + NmeaParserTest.withChecksum("$HCHDG,350.0,,,,") + "\r\n");
+  }
+
+  @Test
+  public void write_canBeParsed() throws Exception
+  {
+    // arrange
+    List<DataPoint> parsedPoints = new ArrayList<>();
+    NmeaParser parser = new NmeaParser(parsedPoints::add);
+    DataPoint point = givenPoint(Instant.parse("2021-01-01T00:00:00.250Z").toEpochMilli(), -33.8568d, 151.2153d);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // act
+    sut.write(point, outputStream);
+
+    // assert
+    byte[] bytes = outputStream.toByteArray();
+    int lineStart = 0;
+    for (int i = 0; i < bytes.length; i++)
+    {
+      if (bytes[i] == '\r')
+      {
+        assertThat(parser.parse(bytes, lineStart, i - lineStart)).isTrue();
+        lineStart = i + 2;
+      }
+    }
+    parser.flush();
+    assertThat(parsedPoints).hasSize(1);
+    DataPoint parsed = parsedPoints.get(0);
+    assertThat(parsed.getTime()).isEqualTo(point.getTime());
+    assertThat(parsed.getLatitude()).isCloseTo(point.getLatitude(), within(1e-9d));
+    assertThat(parsed.getLongitude()).isCloseTo(point.getLongitude(), within(1e-9d));
+    assertThat(parsed.getVelocity()).isEqualTo(5.5d);
+    assertThat(parsed.getBearing()).isCloseTo(point.getBearing(), within(1e-4d));
+  }
+
+  private DataPoint givenPoint(long time, double latitudeDegrees, double longitudeDegrees)
+  {
+    DataPoint point = new DataPoint(0);
+    point.setTime(time);
+    point.setLocation(new Location());
+    point.setLatitude(latitudeDegrees / 180d * Math.PI);
+    point.setLongitude(longitudeDegrees / 180d * Math.PI);
+    point.setVelocity(5.5d);
+    point.setBearing(54.7d / 180d * Math.PI);
+    return point;
+  }
+}
@@ -0,0 +1,138 @@
+package com.github.thomasfox.sailplotter.live;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+
+public class ReplayTest
+{
+  private final List<DataPoint> emittedPoints = new ArrayList<>();
+
+  private final AtomicReference<Data> snapshot = new AtomicReference<>();
+
+  private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+  @Test
+  public void readPoints_emitsPointsInTimeOrder()
+  {
+    // arrange
+    Data data = givenZigZagTrack(1, 5);
+    DataPoint first = data.get(2);
+    DataPoint second = data.get(1);
+    DataPoint third = data.get(3);
+    long firstTime = second.getTime();
+    second.setTime(first.getTime());
+    first.setTime(firstTime);
+    data.get(0).setLocation(null);
+    data.get(4).setTime(third.getTime());
+    Replay sut = new Replay(data, Replay.AS_FAST_AS_POSSIBLE);
+
+    // act
+    sut.readPoints(emittedPoints::add);
+
+    // assert
+    assertThat(sut.getPointCount()).isEqualTo(3);
+    assertThat(emittedPoints).hasSize(3);
+    assertThat(emittedPoints.get(0).getTime()).isEqualTo(first.getTime());
+    assertThat(emittedPoints.get(1).getTime()).isEqualTo(second.getTime());
+    assertThat(emittedPoints.get(2).getTime()).isEqualTo(third.getTime());
+    assertThat(emittedPoints.get(0).getIndex()).isEqualTo(0);
+    assertThat(emittedPoints.get(0)).isNotSameAs(first);
+    assertThat(first.getIndex()).isEqualTo(2);
+    assertThat(sut.getEmissionNanos(2)).isGreaterThanOrEqualTo(sut.getEmissionNanos(1));
+    assertThat(sut.getEmissionNanos(3)).isEqualTo(Long.MIN_VALUE);
+  }
+
+  @Test
+  public void readPoints_waitsAccordingToSpeed()
+  {
+    // arrange
+    Data data = givenZigZagTrack(2, 10);
+    DataPoint last = data.get(data.size() - 1);
+    last.setTime(last.getTime() + 60_000L);
+    Replay sut = new Replay(data, 100d);
+
+    // act
+    sut.readPoints(emittedPoints::add);
+
+    // assert
+    assertThat(emittedPoints).hasSize(20);
+    long expectedReplayMillis = 18_000L + Replay.MAX_GAP_MILLIS;
+    assertThat(sut.getEmissionNanos(19) - sut.getStartNanos()).isGreaterThanOrEqualTo(expectedReplayMillis * 10_000L);
+    assertThat(sut.getEmissionNanos(10) - sut.getStartNanos()).isGreaterThanOrEqualTo(100_000_000L);
+  }
+
+  @Test
+  public void close_stopsReplay() throws Exception
+  {
+    // arrange
+    Replay sut = new Replay(givenZigZagTrack(1, 100), 1d);
+    Thread replayThread = new Thread(() -> sut.readPoints(emittedPoints::add));
+    replayThread.start();
+
+    // act
+    sut.close();
+    replayThread.join(5_000L);
+
+    // assert
+    assertThat(replayThread.isAlive()).isFalse();
+    assertThat(sut.getEmittedCount()).isLessThan(100);
+  }
+
+  @Test
+  public void liveSession_reportsThroughputAndLatency() throws Exception
+  {
+    // arrange
+    Replay replay = new Replay(givenZigZagTrack(6, 45), Replay.AS_FAST_AS_POSSIBLE);
+    ReplayStatistics sut = new ReplayStatistics(replay);
+    LiveSession session = new LiveSession(replay, 10_000, 0L, Runnable::run, snapshot::set, error::set);
+    session.setListener(sut);
+
+    // act
+    session.start();
+    session.join();
+
+    // assert
+    assertThat(error.get()).isNull();
+    assertThat(snapshot.get().size()).isEqualTo(270);
+    assertThat(sut.getAnalyzedCount()).isEqualTo(270);
+    assertThat(sut.getSnapshotCount()).isGreaterThanOrEqualTo(1);
+    assertThat(sut.getPointsPerSecond()).isGreaterThan(0d);
+    assertThat(sut.getReport())
+        .contains("Replayed 270 of 270 points at maximum speed")
+        .contains("Throughput: ");
+  }
+
+  @Test
+  public void replayServer_sendsReplayOverSocket() throws Exception
+  {
+    // arrange
+    Replay replay = new Replay(givenZigZagTrack(6, 45), Replay.AS_FAST_AS_POSSIBLE);
+    ReplayStatistics sut = new ReplayStatistics(replay);
+    try (ReplayServer server = new ReplayServer(replay, 0))
+    {
+      server.start();
+      LiveSession session = new LiveSession(
+          new TcpNmeaInput("localhost", server.getPort()), 10_000, 0L, Runnable::run, snapshot::set, error::set);
+      session.setListener(sut);
+
+      // act
+      session.start();
+      session.join();
+    }
+
+    // assert
+    assertThat(error.get()).isNull();
+    assertThat(snapshot.get().size()).isEqualTo(270);
+    assertThat(snapshot.get().getTackList()).hasSize(6);
+    assertThat(sut.getAnalyzedCount()).isEqualTo(270);
+  }
+}
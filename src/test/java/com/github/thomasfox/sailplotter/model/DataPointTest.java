@@ -13,24 +13,24 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(37);
-    point.time = 1234567890l;
+    point.setTime(1234567890l);
 
-    point.location = new Location();
-    point.location.latitude = 0.1d;
-    point.location.longitude = -0.2d;
-    point.location.bearingFromLatLong = 0.3d;
-    point.location.velocityFromLatLong = 4d;
-    point.location.velocityBearingAveragedOverDistance = 5d;
+    point.setLocation(new Location());
+    point.setLatitude(0.1d);
+    point.setLongitude(-0.2d);
+    point.setBearingFromLatLong(0.3d);
+    point.setVelocityFromLatLong(4d);
+    point.setVelocityBearingAveragedOverDistance(5d);
 
-    point.wind = new Wind();
-    point.wind.direction = 0.5d;
-    point.wind.velocity = 6d;
+    point.setWind(new Wind());
+    point.setWindDirection(0.5d);
+    point.setWindVelocity(6d);
 
-    point.magneticField = new MagneticField(70d, -80d, 90d);
-    point.magneticField.compassBearing = Math.PI / 2;
-    point.acceleration = new Acceleration(71d, -81d, 91d);
+    point.setMagneticField(new MagneticField(70d, -80d, 90d));
+    point.setCompassBearing(Math.PI / 2);
+    point.setAcceleration(new Acceleration(71d, -81d, 91d));
 
-    point.manoeuverState = ManoeuverState.IN_TACK;
+    point.setManoeuverState(ManoeuverState.IN_TACK);
 
     // execute
     DataPoint copy = new DataPoint(point);
@@ -38,32 +38,32 @@ public class DataPointTest
     // verify
     assertThat(copy).isNotSameAs(point);
 
-    assertThat(copy.index).isEqualTo(37);
-    assertThat(copy.time).isEqualTo(1234567890l);
+    assertThat(copy.getIndex()).isEqualTo(37);
+    assertThat(copy.getTime()).isEqualTo(1234567890l);
 
-    assertThat(copy.location).isNotSameAs(point.location);
-    assertThat(copy.location.latitude).isEqualTo(0.1d);
-    assertThat(copy.location.longitude).isEqualTo(-0.2d);
-    assertThat(copy.location.bearingFromLatLong).isEqualTo(0.3d);
-    assertThat(copy.location.velocityFromLatLong).isEqualTo(4d);
-    assertThat(copy.location.velocityBearingAveragedOverDistance).isEqualTo(5d);
+    assertThat(copy.getLocation()).isNotSameAs(point.getLocation());
+    assertThat(copy.getLatitude()).isEqualTo(0.1d);
+    assertThat(copy.getLongitude()).isEqualTo(-0.2d);
+    assertThat(copy.getBearingFromLatLong()).isEqualTo(0.3d);
+    assertThat(copy.getVelocityFromLatLong()).isEqualTo(4d);
+    assertThat(copy.getVelocityBearingAveragedOverDistance()).isEqualTo(5d);
 
-    assertThat(copy.wind).isNotSameAs(point.wind);
-    assertThat(copy.wind.direction).isEqualTo(0.5d);
-    assertThat(copy.wind.velocity).isEqualTo(6d);
+    assertThat(copy.getWind()).isNotSameAs(point.getWind());
+    assertThat(copy.getWindDirection()).isEqualTo(0.5d);
+    assertThat(copy.getWindVelocity()).isEqualTo(6d);
 
-    assertThat(copy.magneticField).isNotSameAs(point.magneticField);
-    assertThat(copy.magneticField.x).isEqualTo(70d);
-    assertThat(copy.magneticField.y).isEqualTo(-80d);
-    assertThat(copy.magneticField.z).isEqualTo(90d);
-    assertThat(copy.magneticField.compassBearing).isEqualTo(Math.PI / 2);
+    assertThat(copy.getMagneticField()).isNotSameAs(point.getMagneticField());
+    assertThat(copy.getMagneticField().x).isEqualTo(70d);
+    assertThat(copy.getMagneticField().y).isEqualTo(-80d);
+    assertThat(copy.getMagneticField().z).isEqualTo(90d);
+    assertThat(copy.getCompassBearing()).isEqualTo(Math.PI / 2);
 
-    assertThat(copy.acceleration).isNotSameAs(point.acceleration);
-    assertThat(copy.acceleration.x).isEqualTo(71d);
-    assertThat(copy.acceleration.y).isEqualTo(-81d);
-    assertThat(copy.acceleration.z).isEqualTo(91d);
+    assertThat(copy.getAcceleration()).isNotSameAs(point.getAcceleration());
+    assertThat(copy.getAcceleration().x).isEqualTo(71d);
+    assertThat(copy.getAcceleration().y).isEqualTo(-81d);
+    assertThat(copy.getAcceleration().z).isEqualTo(91d);
 
-    assertThat(copy.manoeuverState).isEqualTo(ManoeuverState.IN_TACK);
+    assertThat(copy.getManoeuverState()).isEqualTo(ManoeuverState.IN_TACK);
   }
 
   @Test
@@ -71,7 +71,7 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(-1);
-    point.time = 315630245006l;
+    point.setTime(315630245006l);
 
     // execute
     Millisecond millisecond = point.getMillisecond();
@@ -85,9 +85,9 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(-1);
-    point.time = 123L;
+    point.setTime(123L);
     DataPoint other = new DataPoint(-1);
-    other.time = 127L;
+    other.setTime(127L);
 
     // execute
     long averageTime = point.averageTime(other);
@@ -101,9 +101,9 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(-1);
-    point.time = 10000127L;
+    point.setTime(10000127L);
     DataPoint other = new DataPoint(-1);
-    other.time = 10000123L;
+    other.setTime(10000123L);
 
     // execute
     long timeDistanceMillis = point.timeDistanceMillis(other);
@@ -117,10 +117,10 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(-1);
-    point.location = new Location();
-    point.location.bearingFromLatLong = 2d;
-    point.wind = new Wind();
-    point.wind.direction = 1d;
+    point.setLocation(new Location());
+    point.setBearingFromLatLong(2d);
+    point.setWind(new Wind());
+    point.setWindDirection(1d);
 
     // execute
     double relativeBearingInArcs = point.getRelativeBearingInArcs();
@@ -134,10 +134,10 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(-1);
-    point.location = new Location();
-    point.location.bearingFromLatLong = 1d;
-    point.wind = new Wind();
-    point.wind.direction = 2d;
+    point.setLocation(new Location());
+    point.setBearingFromLatLong(1d);
+    point.setWind(new Wind());
+    point.setWindDirection(2d);
 
     // execute
     double relativeBearingInArcs = point.getRelativeBearingInArcs();
@@ -151,10 +151,10 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(-1);
-    point.location = new Location();
-    point.location.bearingFromLatLong = 1.5 * Math.PI;
-    point.wind = new Wind();
-    point.wind.direction = Math.PI / 2;
+    point.setLocation(new Location());
+    point.setBearingFromLatLong(1.5 * Math.PI);
+    point.setWind(new Wind());
+    point.setWindDirection(Math.PI / 2);
 
     // execute
     double relativeBearingInArcs = point.getRelativeBearingAs360Degrees();
@@ -168,10 +168,10 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(-1);
-    point.location = new Location();
-    point.location.bearingFromLatLong = Math.PI / 2;
-    point.wind = new Wind();
-    point.wind.direction = Math.PI;
+    point.setLocation(new Location());
+    point.setBearingFromLatLong(Math.PI / 2);
+    point.setWind(new Wind());
+    point.setWindDirection(Math.PI);
 
     // execute
     double relativeBearingInArcs = point.getRelativeBearingAs360Degrees();
@@ -185,10 +185,10 @@ public class DataPointTest
   {
     // prepare
     DataPoint point = new DataPoint(-1);
-    point.location = new Location();
-    point.location.bearingFromLatLong = Math.PI / 2;
-    point.wind = new Wind();
-    point.wind.direction = Math.PI;
+    point.setLocation(new Location());
+    point.setBearingFromLatLong(Math.PI / 2);
+    point.setWind(new Wind());
+    point.setWindDirection(Math.PI);
 
     // execute
     PointOfSail pointOfSail = point.getPointOfSail();
@@ -202,13 +202,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = 0.00001d;
-    point2.location.longitude = 0d;
+    point2.setLocation(new Location());
+    point2.setLatitude(0.00001d);
+    point2.setLongitude(0d);
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -222,13 +222,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = 0.00001d * Math.cos(22.5d / 360 * 2 * Math.PI);
-    point2.location.longitude = 0.00001d * Math.sin(22.5d / 360 * 2 * Math.PI);
+    point2.setLocation(new Location());
+    point2.setLatitude(0.00001d * Math.cos(22.5d / 360 * 2 * Math.PI));
+    point2.setLongitude(0.00001d * Math.sin(22.5d / 360 * 2 * Math.PI));
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -242,13 +242,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = 0.00001d;
-    point2.location.longitude = 0.00001d;
+    point2.setLocation(new Location());
+    point2.setLatitude(0.00001d);
+    point2.setLongitude(0.00001d);
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -262,13 +262,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = 0.00001d * Math.cos(67.5d / 360 * 2 * Math.PI);
-    point2.location.longitude = 0.00001d * Math.sin(67.5d / 360 * 2 * Math.PI);
+    point2.setLocation(new Location());
+    point2.setLatitude(0.00001d * Math.cos(67.5d / 360 * 2 * Math.PI));
+    point2.setLongitude(0.00001d * Math.sin(67.5d / 360 * 2 * Math.PI));
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -282,13 +282,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = 0d;
-    point2.location.longitude = 0.00001d;
+    point2.setLocation(new Location());
+    point2.setLatitude(0d);
+    point2.setLongitude(0.00001d);
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -302,13 +302,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = 0.00001d * Math.cos(112.5d / 360 * 2 * Math.PI);
-    point2.location.longitude = 0.00001d * Math.sin(112.5d / 360 * 2 * Math.PI);
+    point2.setLocation(new Location());
+    point2.setLatitude(0.00001d * Math.cos(112.5d / 360 * 2 * Math.PI));
+    point2.setLongitude(0.00001d * Math.sin(112.5d / 360 * 2 * Math.PI));
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -322,13 +322,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = -0.00001d;
-    point2.location.longitude = 0.00001d;
+    point2.setLocation(new Location());
+    point2.setLatitude(-0.00001d);
+    point2.setLongitude(0.00001d);
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -342,13 +342,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = -0.00001d;
-    point2.location.longitude = 0d;
+    point2.setLocation(new Location());
+    point2.setLatitude(-0.00001d);
+    point2.setLongitude(0d);
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -362,13 +362,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = -0.00001d;
-    point2.location.longitude = -0.00001d;
+    point2.setLocation(new Location());
+    point2.setLatitude(-0.00001d);
+    point2.setLongitude(-0.00001d);
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -382,13 +382,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = 0d;
-    point2.location.longitude = -0.00001d;
+    point2.setLocation(new Location());
+    point2.setLatitude(0d);
+    point2.setLongitude(-0.00001d);
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -402,13 +402,13 @@ public class DataPointTest
   {
     // prepare
     DataPoint point1 = new DataPoint(0);
-    point1.location = new Location();
-    point1.location.latitude = 0d;
-    point1.location.longitude = 0d;
+    point1.setLocation(new Location());
+    point1.setLatitude(0d);
+    point1.setLongitude(0d);
     DataPoint point2 = new DataPoint(1);
-    point2.location = new Location();
-    point2.location.latitude = 0.00001d;
-    point2.location.longitude = -0.00001d;
+    point2.setLocation(new Location());
+    point2.setLatitude(0.00001d);
+    point2.setLongitude(-0.00001d);
 
     // execute
     double bearingArcs = point1.getBearingTo(point2);
@@ -456,12 +456,12 @@ public class DataPointTest
   {
     // prepare
     DataPoint dataPoint = new DataPoint(-1);
-    dataPoint.time = 315576000000l;
-    dataPoint.location = Location.fromXY(2d, 7d);
-    dataPoint.location.velocityFromLatLong = 12d;
-    dataPoint.location.bearingFromLatLong = Math.PI / 2;
-    dataPoint.wind = new Wind();
-    dataPoint.wind.direction = Math.PI;
+    dataPoint.setTime(315576000000l);
+    dataPoint.setLocation(Location.fromXY(2d, 7d));
+    dataPoint.setVelocityFromLatLong(12d);
+    dataPoint.setBearingFromLatLong(Math.PI / 2);
+    dataPoint.setWind(new Wind());
+    dataPoint.setWindDirection(Math.PI);
 
     // execute
     String result = dataPoint.toString();
@@ -475,7 +475,7 @@ public class DataPointTest
   {
     // prepare
     DataPoint dataPoint = new DataPoint(-1);
-    dataPoint.wind = new Wind();
+    dataPoint.setWind(new Wind());
 
     // execute
     String result = dataPoint.toString();
@@ -489,8 +489,8 @@ public class DataPointTest
   {
     // prepare
     DataPoint dataPoint = new DataPoint(-1);
-    dataPoint.location = null;
-    dataPoint.wind = null;
+    dataPoint.setLocation(null);
+    dataPoint.setWind(null);
 
     // execute
     String result = dataPoint.toString();
@@ -53,5 +53,200 @@ public class DataTest
     assertThat(averageAcceleration).isNull();
   }
 
+  @Test
+  public void builder_copiesPoints()
+  {
+    // arrange
+    DataPoint first = new DataPoint(0);
+    first.setTime(1000L);
+    DataPoint second = new DataPoint(1);
+    second.setTime(2000L);
+
+    // act
+    Data data = new Data.Builder(2).add(first).add(second).build();
+    first.setTime(1500L);
+
+    // assert
+    assertThat(data.getAllPoints()).hasSize(2);
+    assertThat(data.get(0).getIndex()).isEqualTo(0);
+    assertThat(data.get(0).getTime()).isEqualTo(1000L);
+    assertThat(data.get(1).getIndex()).isEqualTo(1);
+    assertThat(data.get(1).getTime()).isEqualTo(2000L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builder_pointsNotOrderedInTime()
+  {
+    // arrange
+    DataPoint first = new DataPoint(0);
+    first.setTime(2000L);
+    DataPoint second = new DataPoint(1);
+    second.setTime(1000L);
+    Data.Builder builder = new Data.Builder().add(first).add(second);
+
+    // act
+    builder.build();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void builder_alreadyBuilt()
+  {
+    // arrange
+    Data.Builder builder = new Data.Builder();
+    builder.build();
+
+    // act
+    builder.add(new DataPoint(0));
+  }
+
+  @Test
+  public void bounded_dropsOldestPoints()
+  {
+    // arrange
+    Data data = Data.bounded(3);
+
+    // act
+    for (int i = 0; i < 5; i++)
+    {
+      DataPoint point = new DataPoint(i);
+      point.setTime(1000L * i);
+      data.add(point);
+    }
+
+    // assert
+    assertThat(data.size()).isEqualTo(3);
+    assertThat(data.isFull()).isTrue();
+    assertThat(data.getDroppedPointCount()).isEqualTo(2);
+    assertThat(data.get(0).getIndex()).isEqualTo(2);
+    assertThat(data.getLast().getIndex()).isEqualTo(4);
+    assertThat(data.getStartTime()).isEqualTo(2000L);
+  }
+
+  @Test
+  public void createLocationView_notChangedByLaterAppends()
+  {
+    // arrange
+    Data data = Data.bounded(20);
+    for (int i = 0; i < 10; i++)
+    {
+      data.add(givenPointWithLocation(i));
+    }
+    data.startNewSegment();
+    data.add(givenPointWithLocation(10));
+    Data view = data.createLocationView(11);
+
+    // act
+    for (int i = 11; i < 50; i++)
+    {
+      data.add(givenPointWithLocation(i));
+    }
+
+    // assert
+    assertThat(view.size()).isEqualTo(11);
+    assertThat(view.getDroppedPointCount()).isEqualTo(0);
+    assertThat(view.get(0).getIndex()).isEqualTo(0);
+    assertThat(view.getLast().getIndex()).isEqualTo(10);
+    assertThat(view.getPointsWithLocation()).hasSize(11);
+    assertThat(view.getSegmentStartIndices()).containsExactly(10);
+    Data laterView = data.createLocationView(20);
+    assertThat(laterView.getDroppedPointCount()).isEqualTo(30);
+    assertThat(laterView.get(0).getIndex()).isEqualTo(30);
+    assertThat(laterView.isViewOfSameData(view)).isTrue();
+    assertThat(laterView.isViewOfSameData(data)).isFalse();
+    assertThat(Data.bounded(20).createLocationView(0).isViewOfSameData(view)).isFalse();
+  }
+
+  @Test
+  public void bounded_shiftsSegmentStartIndices()
+  {
+    // arrange
+    Data data = Data.bounded(3);
+    data.add(new DataPoint(0));
+    data.startNewSegment();
+    data.add(new DataPoint(1));
+    data.add(new DataPoint(2));
+    data.startNewSegment();
+
+    // act
+    data.add(new DataPoint(3));
+
+    // assert
+    assertThat(data.getSegmentStartIndices()).containsExactly(2);
+  }
+
+  @Test
+  public void builder_addPoint_setsValuesInData()
+  {
+    // arrange
+    Data.Builder builder = new Data.Builder(2);
+
+    // act
+    DataPoint first = builder.addPoint(0);
+    first.setTime(1000L);
+    first.setLatitude(0.95d);
+    first.setLongitude(0.17d);
+    DataPoint second = builder.addPoint(1);
+    second.setTime(2000L);
+    second.setMagneticField(new MagneticField(1d, 2d, 3d));
+    Data data = builder.build();
 
+    // assert
+    assertThat(data.get(0)).isEqualTo(first);
+    assertThat(data.get(0).getLatitude()).isEqualTo(0.95d);
+    assertThat(data.get(0).getLongitude()).isEqualTo(0.17d);
+    assertThat(data.get(1).getTime()).isEqualTo(2000L);
+    assertThat(data.getPointsWithLocation()).containsExactly(first);
+    assertThat(data.getPointsWithMagneticField()).containsExactly(second);
+    assertThat(data.getColumns().getLocation().latitude.get(0)).isEqualTo(0.95d);
+  }
+
+  @Test
+  public void bounded_pointsStayValidWhenOldestPointsAreDropped()
+  {
+    // arrange
+    Data data = Data.bounded(3);
+    data.add(givenPointWithLocation(0));
+    data.add(givenPointWithLocation(1));
+    DataPoint point = data.get(1);
+
+    // act
+    for (int i = 2; i < 20; i++)
+    {
+      data.add(givenPointWithLocation(i));
+    }
+
+    // assert
+    assertThat(point.getIndex()).isEqualTo(1);
+    assertThat(point.getX()).isEqualTo(1d);
+    assertThat(data.get(0).getIndex()).isEqualTo(17);
+    assertThat(data.get(0)).isNotEqualTo(point);
+  }
+
+  @Test
+  public void add_atPosition_movesFollowingPoints()
+  {
+    // arrange
+    Data data = new Data();
+    data.add(givenPointWithLocation(0));
+    data.add(givenPointWithLocation(2));
+
+    // act
+    data.add(1, givenPointWithLocation(1));
+
+    // assert
+    assertThat(data.size()).isEqualTo(3);
+    assertThat(data.get(1).getIndex()).isEqualTo(1);
+    assertThat(data.get(1).getX()).isEqualTo(1d);
+    assertThat(data.get(2).getIndex()).isEqualTo(2);
+    assertThat(data.get(2).getX()).isEqualTo(2d);
+  }
+
+  private DataPoint givenPointWithLocation(int index)
+  {
+    DataPoint point = new DataPoint(index);
+    point.setTime(1000L * index);
+    point.setLocation(new Location());
+    point.setXY(index, 0d);
+    return point;
+  }
 }
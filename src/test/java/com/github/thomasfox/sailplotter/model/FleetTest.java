@@ -0,0 +1,73 @@
+package com.github.thomasfox.sailplotter.model;
+
+import static com.github.thomasfox.sailplotter.TestData.givenZigZagTrack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class FleetTest
+{
+  @Test
+  public void withBoat_alignsTimeline()
+  {
+    // arrange
+    Data first = givenZigZagTrack(2, 10);
+    Data second = givenZigZagTrack(2, 10);
+    for (DataPoint point : second.getAllPoints())
+    {
+      point.setTime(point.getTime() + 5500L);
+    }
+
+    // act
+    Fleet fleet = new Fleet().withBoat(first).withBoat(second);
+
+    // assert
+    assertThat(fleet.size()).isEqualTo(2);
+    assertThat(fleet.getBoats()).containsExactly(first, second);
+    assertThat(fleet.getStartTime()).isEqualTo(first.getLocationStartTime());
+    assertThat(fleet.getEndTime()).isEqualTo(second.getLocationEndTime());
+    assertThat(fleet.getTimelineSize()).isEqualTo(26);
+    assertThat(fleet.getTimelineTime(0)).isEqualTo(first.getLocationStartTime());
+    assertThat(fleet.getTimelineTime(25)).isGreaterThanOrEqualTo(second.getLocationEndTime());
+    assertThat(fleet.getTimelineIndex(second.getLocationStartTime())).isEqualTo(6);
+    assertThat(fleet.getTimelineIndex(0L)).isEqualTo(0);
+    assertThat(fleet.getTimelineIndex(Long.MAX_VALUE / 2)).isEqualTo(25);
+    assertThat(fleet.getReferenceLocation().latitude).isEqualTo(first.getPointsWithLocation().get(0).getLatitude());
+    assertThat(fleet.getReferenceLocation().longitude).isEqualTo(first.getPointsWithLocation().get(0).getLongitude());
+  }
+
+  @Test
+  public void withBoat_keepsOriginalFleet()
+  {
+    // arrange
+    Fleet fleet = new Fleet();
+
+    // act
+    Fleet withBoat = fleet.withBoat(givenZigZagTrack(1, 10));
+
+    // assert
+    assertThat(fleet.size()).isEqualTo(0);
+    assertThat(fleet.getTimelineSize()).isEqualTo(0);
+    assertThat(fleet.getReferenceLocation()).isNull();
+    assertThat(withBoat.size()).isEqualTo(1);
+    assertThat(withBoat.getTimelineSize()).isEqualTo(10);
+  }
+
+  @Test
+  public void withBoat_boatWithoutLocation()
+  {
+    // arrange
+    Data data = new Data();
+    DataPoint point = new DataPoint(0);
+    point.setTime(1000L);
+    data.add(point);
+
+    // act
+    Fleet fleet = new Fleet().withBoat(data);
+
+    // assert
+    assertThat(fleet.size()).isEqualTo(1);
+    assertThat(fleet.getStartTime()).isNull();
+    assertThat(fleet.getTimelineSize()).isEqualTo(0);
+  }
+}
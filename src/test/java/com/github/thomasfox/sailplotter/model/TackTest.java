@@ -0,0 +1,89 @@
+package com.github.thomasfox.sailplotter.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.Constants;
+import com.github.thomasfox.sailplotter.model.columns.LocationColumns;
+import com.github.thomasfox.sailplotter.model.columns.TrackSums;
+
+public class TackTest
+{
+  /** 10 metres per second in knots. */
+  private static final double TEN_METRES_PER_SECOND = 10d / Constants.NAUTICAL_MILE * 3600d;
+
+  @Test
+  public void straightLineAndAlongTrackValues_zigZagTack()
+  {
+    // arrange
+    List<DataPoint> points = givenZigZagPoints();
+    Tack sut = givenTack(points);
+
+    // act
+    double length = sut.getLength();
+    double distanceSailed = sut.getDistanceSailed();
+
+    // assert
+    assertThat(length).isCloseTo(100d, within(0.01d));
+    assertThat(distanceSailed).isCloseTo(100d * Math.sqrt(2d), within(0.01d));
+    assertThat(sut.getDuration()).isEqualTo(10000L);
+    assertThat(sut.getVelocityInKnots()).isCloseTo(TEN_METRES_PER_SECOND, within(0.001d));
+    assertThat(sut.getAverageSpeedOverGroundInKnots()).isCloseTo(TEN_METRES_PER_SECOND * Math.sqrt(2d), within(0.001d));
+    assertThat(sut.getAverageVMGInKnots()).isCloseTo(TEN_METRES_PER_SECOND, within(0.001d));
+  }
+
+  @Test
+  public void straightLineAndAlongTrackValues_zigZagTackWithTrackSums()
+  {
+    // arrange
+    List<DataPoint> points = givenZigZagPoints();
+    Tack sut = givenTack(points);
+    sut.trackSums = new TrackSums(new LocationColumns(points));
+
+    // act
+    double length = sut.getLength();
+    double distanceSailed = sut.getDistanceSailed();
+
+    // assert
+    assertThat(length).isCloseTo(100d, within(0.01d));
+    assertThat(distanceSailed).isCloseTo(100d * Math.sqrt(2d), within(0.01d));
+    assertThat(sut.getDuration()).isEqualTo(10000L);
+    assertThat(sut.getVelocityInKnots()).isCloseTo(TEN_METRES_PER_SECOND, within(0.001d));
+    assertThat(sut.getAverageSpeedOverGroundInKnots()).isCloseTo(TEN_METRES_PER_SECOND * Math.sqrt(2d), within(0.001d));
+    assertThat(sut.getAverageVMGInKnots()).isCloseTo(TEN_METRES_PER_SECOND, within(0.001d));
+  }
+
+  /**
+   * Returns points which zig-zag east by 10 metres per second, moving 10 metres north or south in between.
+   */
+  private List<DataPoint> givenZigZagPoints()
+  {
+    List<DataPoint> result = new ArrayList<>();
+    for (int i = 0; i <= 10; i++)
+    {
+      DataPoint point = new DataPoint(i);
+      point.setTime(1000L * i);
+      point.setLocation(new Location());
+      point.setXY(10d * i, i % 2 == 0 ? 0d : 10d);
+      result.add(point);
+    }
+    return result;
+  }
+
+  private Tack givenTack(List<DataPoint> points)
+  {
+    Tack result = new Tack();
+    result.windDirection = Math.PI / 2;
+    result.start = points.get(0);
+    result.startOfTackDataPointIndex = 0;
+    result.end = points.get(points.size() - 1);
+    result.endOfTackDataPointIndex = points.size() - 1;
+    result.pointsWithinTack = points;
+    return result;
+  }
+}
@@ -0,0 +1,89 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BinnedIndexTest
+{
+  @Test
+  public void getCount_withoutValues()
+  {
+    // arrange
+    BinnedIndex binnedIndex = new BinnedIndex(new int[] {0, 1, BinnedIndex.NO_BIN, 1, 0, 1}, 2, null);
+
+    // act & assert
+    assertThat(binnedIndex.getCount(0, 0, 6)).isEqualTo(2);
+    assertThat(binnedIndex.getCount(1, 0, 6)).isEqualTo(3);
+    assertThat(binnedIndex.getCount(1, 2, 5)).isEqualTo(1);
+    assertThat(binnedIndex.getCount(0, 4, 2)).isEqualTo(0);
+  }
+
+  @Test
+  public void getKthSmallest_sameAsSort()
+  {
+    // arrange
+    Random random = new Random(1);
+    int size = 2000;
+    int binCount = 7;
+    int[] bins = new int[size];
+    DoubleColumn values = new DoubleColumn(size);
+    for (int i = 0; i < size; i++)
+    {
+      bins[i] = random.nextInt(binCount + 1) - 1;
+      if (random.nextInt(10) != 0)
+      {
+        values.set(i, (double) random.nextInt(50));
+      }
+    }
+    BinnedIndex binnedIndex = new BinnedIndex(bins, binCount, values);
+
+    for (int run = 0; run < 200; run++)
+    {
+      int bin = random.nextInt(binCount);
+      int from = random.nextInt(size);
+      int to = from + random.nextInt(size - from + 1);
+      List<Double> expected = new ArrayList<>();
+      for (int i = from; i < to; i++)
+      {
+        if (bins[i] == bin && values.isPresent(i))
+        {
+          expected.add(values.get(i));
+        }
+      }
+      Collections.sort(expected);
+
+      // act
+      int count = binnedIndex.getCount(bin, from, to);
+
+      // assert
+      assertThat(count).isEqualTo(expected.size());
+      for (int k = 0; k < count; k++)
+      {
+        assertThat(binnedIndex.getKthSmallest(bin, from, to, k)).isEqualTo(expected.get(k));
+      }
+    }
+  }
+
+  @Test
+  public void getAngleBins()
+  {
+    // arrange
+    DoubleColumn angles = new DoubleColumn(5);
+    angles.set(0, 0d);
+    angles.set(1, Math.PI / 2);
+    angles.set(2, Math.PI);
+    angles.set(4, 2 * Math.PI - 1e-12);
+
+    // act
+    int[] bins = BinnedIndex.getAngleBins(angles, 4, Math.PI);
+
+    // assert
+    assertThat(bins).containsExactly(2, 3, 0, BinnedIndex.NO_BIN, 1);
+  }
+}
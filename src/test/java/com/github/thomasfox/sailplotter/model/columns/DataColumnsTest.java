@@ -0,0 +1,114 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Location;
+
+public class DataColumnsTest
+{
+  @Test
+  public void getLocation()
+  {
+    // arrange
+    Data data = new Data();
+    data.add(givenPointWithLocation(1000L, 0.1d, 0.2d, 3d));
+    data.add(new DataPoint(1));
+    data.add(givenPointWithLocation(3000L, 0.3d, 0.4d, null));
+
+    // act
+    LocationColumns location = data.getColumns().getLocation();
+
+    // assert
+    assertThat(location.size()).isEqualTo(2);
+    assertThat(location.time.get(0)).isEqualTo(1000L);
+    assertThat(location.time.get(1)).isEqualTo(3000L);
+    assertThat(location.latitude.get(1)).isEqualTo(0.3d);
+    assertThat(location.longitude.get(0)).isEqualTo(0.2d);
+    assertThat(location.velocity.getOrNull(0)).isEqualTo(3d);
+    assertThat(location.velocity.isPresent(1)).isFalse();
+    assertThat(location.velocity.getOrNull(1)).isNull();
+    assertThat(location.velocity.get(1)).isNaN();
+  }
+
+  @Test
+  public void getLocation_resetCache()
+  {
+    // arrange
+    Data data = new Data();
+    data.add(givenPointWithLocation(1000L, 0.1d, 0.2d, 3d));
+    LocationColumns oldColumns = data.getColumns().getLocation();
+    data.get(0).setVelocity(4d);
+    data.resetCache();
+
+    // act
+    LocationColumns location = data.getColumns().getLocation();
+
+    // assert
+    assertThat(oldColumns.velocity.get(0)).isEqualTo(3d);
+    assertThat(location.velocity.get(0)).isEqualTo(4d);
+  }
+
+  @Test
+  public void withChangedWind()
+  {
+    // arrange
+    Data data = new Data();
+    data.add(givenPointWithLocation(1000L, 0.1d, 0.2d, 3d));
+    data.add(givenPointWithLocation(2000L, 0.3d, 0.4d, 3d));
+    DataColumns oldColumns = data.getColumns();
+    LocationColumns oldLocation = oldColumns.getLocation();
+    MinMaxPyramid velocityPyramid = oldColumns.getPyramid(oldLocation.velocity);
+    MinMaxPyramid windPyramid = oldColumns.getPyramid(oldLocation.windDirection);
+    LocationKdTree kdTree = oldColumns.getLocationKdTree();
+    DoubleColumn windDirection = new DoubleColumn(2);
+    windDirection.set(1, 1.5d);
+
+    // act
+    DataColumns columns = oldColumns.withChangedWind(windDirection);
+
+    // assert
+    LocationColumns location = columns.getLocation();
+    assertThat(location.velocity).isSameAs(oldLocation.velocity);
+    assertThat(location.x).isSameAs(oldLocation.x);
+    assertThat(location.time).isSameAs(oldLocation.time);
+    assertThat(columns.getLocationKdTree()).isSameAs(kdTree);
+    assertThat(columns.getPyramid(location.velocity)).isSameAs(velocityPyramid);
+    assertThat(columns.getPyramid(location.windDirection)).isNotSameAs(windPyramid);
+    assertThat(location.windDirection).isSameAs(windDirection);
+    assertThat(location.relativeBearing).isNotSameAs(oldLocation.relativeBearing);
+    assertThat(oldLocation.windDirection.isPresent(1)).isFalse();
+  }
+
+  @Test
+  public void lowerAndUpperBound()
+  {
+    // arrange
+    LongColumn column = new LongColumn(4);
+    column.set(0, 10L);
+    column.set(1, 20L);
+    column.set(2, 20L);
+    column.set(3, 30L);
+
+    // act and assert
+    assertThat(column.lowerBound(5L)).isEqualTo(0);
+    assertThat(column.lowerBound(20L)).isEqualTo(1);
+    assertThat(column.upperBound(20L)).isEqualTo(3);
+    assertThat(column.lowerBound(25L)).isEqualTo(3);
+    assertThat(column.upperBound(30L)).isEqualTo(4);
+  }
+
+  private DataPoint givenPointWithLocation(long time, double latitude, double longitude, Double velocity)
+  {
+    DataPoint point = new DataPoint(0);
+    point.setTime(time);
+    point.setLocation(new Location());
+    point.setLatitude(latitude);
+    point.setLongitude(longitude);
+    point.setVelocity(velocity);
+    return point;
+  }
+}
@@ -0,0 +1,96 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import static com.github.thomasfox.sailplotter.TestData.givenColumn;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LocationKdTreeTest
+{
+  @Test
+  public void getNearest_smallTree()
+  {
+    // arrange
+    LocationKdTree tree = new LocationKdTree(
+        givenColumn(0d, 10d, null, 10d),
+        givenColumn(0d, 0d, 5d, 10d));
+
+    // act & assert
+    assertThat(tree.size()).isEqualTo(3);
+    assertThat(tree.getNearest(1d, 1d, 0, 4)).isEqualTo(0);
+    assertThat(tree.getNearest(9d, 6d, 0, 4)).isEqualTo(3);
+    assertThat(tree.getNearest(1d, 1d, 1, 4)).isEqualTo(1);
+    assertThat(tree.getNearest(1d, 1d, 2, 3)).isEqualTo(-1);
+  }
+
+  @Test
+  public void getInRectangle_smallTree()
+  {
+    // arrange
+    LocationKdTree tree = new LocationKdTree(
+        givenColumn(0d, 10d, 5d, 10d),
+        givenColumn(0d, 0d, 5d, 10d));
+
+    // act & assert
+    assertThat(tree.getInRectangle(4d, -1d, 10d, 5d, 0, 4)).containsExactly(1, 2);
+    assertThat(tree.getInRectangle(4d, -1d, 10d, 5d, 2, 4)).containsExactly(2);
+    assertThat(tree.getInRectangle(20d, 20d, 30d, 30d, 0, 4)).isEmpty();
+  }
+
+  @Test
+  public void queries_sameAsScan()
+  {
+    // arrange
+    Random random = new Random(1);
+    int size = 2000;
+    DoubleColumn x = new DoubleColumn(size);
+    DoubleColumn y = new DoubleColumn(size);
+    for (int i = 0; i < size; i++)
+    {
+      // a track with many equal coordinates, like a boat lying still
+      x.set(i, (double) Math.round(random.nextGaussian() * 20));
+      y.set(i, (double) Math.round(random.nextGaussian() * 20));
+    }
+    LocationKdTree tree = new LocationKdTree(x, y);
+
+    for (int run = 0; run < 200; run++)
+    {
+      int from = random.nextInt(size);
+      int to = from + random.nextInt(size - from + 1);
+      double positionX = random.nextGaussian() * 30;
+      double positionY = random.nextGaussian() * 30;
+      double minX = positionX - random.nextDouble() * 10;
+      double minY = positionY - random.nextDouble() * 10;
+      double maxX = positionX + random.nextDouble() * 10;
+      double maxY = positionY + random.nextDouble() * 10;
+
+      // act
+      int nearest = tree.getNearest(positionX, positionY, from, to);
+      int[] inRectangle = tree.getInRectangle(minX, minY, maxX, maxY, from, to);
+
+      // assert
+      int expectedNearest = -1;
+      double expectedDistance = Double.POSITIVE_INFINITY;
+      List<Integer> expectedInRectangle = new ArrayList<>();
+      for (int i = from; i < to; i++)
+      {
+        double distance = Math.hypot(x.get(i) - positionX, y.get(i) - positionY);
+        if (distance < expectedDistance)
+        {
+          expectedNearest = i;
+          expectedDistance = distance;
+        }
+        if (x.get(i) >= minX && x.get(i) <= maxX && y.get(i) >= minY && y.get(i) <= maxY)
+        {
+          expectedInRectangle.add(i);
+        }
+      }
+      assertThat(nearest).isEqualTo(expectedNearest);
+      assertThat(inRectangle).containsExactly(expectedInRectangle.stream().mapToInt(Integer::intValue).toArray());
+    }
+  }
+}
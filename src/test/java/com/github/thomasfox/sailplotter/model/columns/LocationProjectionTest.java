@@ -0,0 +1,62 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.model.Data;
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Location;
+
+public class LocationProjectionTest
+{
+  @Test
+  public void getDistanceAndBearing_sameAsLocation()
+  {
+    // arrange
+    Data data = new Data();
+    data.add(givenPointWithLocation(0, 0.95d, 0.17d));
+    data.add(new DataPoint(1));
+    data.add(givenPointWithLocation(2, 0.95001d, 0.17002d));
+    DataPoint first = data.get(0);
+    DataPoint second = data.get(2);
+
+    // act
+    LocationProjection projection = data.getColumns().getLocationProjection();
+
+    // assert
+    assertThat(projection.isProjected(first)).isTrue();
+    assertThat(projection.isProjected(data.get(1))).isFalse();
+    assertThat(projection.getX(second)).isEqualTo(second.getX());
+    assertThat(projection.getY(second)).isEqualTo(second.getY());
+    assertThat(projection.getDistance(first, second)).isEqualTo(first.getLocation().approximateDistance(second.getLocation()));
+    assertThat(projection.getBearing(first, second)).isEqualTo(first.getBearingTo(second));
+    assertThat(projection.getXYRelativeTo(second, first).x).isEqualTo(second.getLocation().xRelativeTo(first.getLocation()));
+  }
+
+  @Test
+  public void getX_pointNotInData()
+  {
+    // arrange
+    Data data = new Data();
+    data.add(givenPointWithLocation(0, 0.95d, 0.17d));
+    DataPoint other = givenPointWithLocation(0, 0.5d, 0.5d);
+
+    // act
+    LocationProjection projection = data.getColumns().getLocationProjection();
+
+    // assert
+    assertThat(projection.isProjected(other)).isFalse();
+    assertThat(projection.getX(other)).isEqualTo(other.getX());
+  }
+
+  private DataPoint givenPointWithLocation(int index, double latitude, double longitude)
+  {
+    DataPoint point = new DataPoint(index);
+    point.setTime(index * 1000L);
+    point.setLocation(new Location());
+    point.setLatitude(latitude);
+    point.setLongitude(longitude);
+    return point;
+  }
+}
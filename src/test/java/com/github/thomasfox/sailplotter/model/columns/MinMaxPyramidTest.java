@@ -0,0 +1,88 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import static com.github.thomasfox.sailplotter.TestData.givenColumn;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class MinMaxPyramidTest
+{
+  @Test
+  public void select_level0()
+  {
+    // arrange
+    MinMaxPyramid pyramid = new MinMaxPyramid(givenColumn(3d, null, 1d, 4d, 1d));
+
+    // act
+    int[] result = pyramid.select(0, 5, 0);
+
+    // assert
+    assertThat(result).containsExactly(0, 2, 3, 4);
+  }
+
+  @Test
+  public void select_fullBuckets()
+  {
+    // arrange
+    MinMaxPyramid pyramid = new MinMaxPyramid(givenColumn(3d, 1d, 4d, 1d, 5d, 9d, 2d, 6d));
+
+    // act
+    int[] result = pyramid.select(0, 8, 2);
+
+    // assert
+    assertThat(result).containsExactly(1, 2, 5, 6);
+  }
+
+  @Test
+  public void select_partialBuckets()
+  {
+    // arrange
+    MinMaxPyramid pyramid = new MinMaxPyramid(givenColumn(3d, 1d, 4d, 1d, 5d, 9d, 2d, 6d, 5d, 3d));
+
+    // act
+    int[] result = pyramid.select(1, 10, 2);
+
+    // assert
+    assertThat(result).containsExactly(1, 2, 5, 6, 8, 9);
+  }
+
+  @Test
+  public void select_withinOneBucket()
+  {
+    // arrange
+    MinMaxPyramid pyramid = new MinMaxPyramid(givenColumn(3d, 1d, 4d, 1d, 5d, 9d, 2d, 6d));
+
+    // act
+    int[] result = pyramid.select(1, 3, 3);
+
+    // assert
+    assertThat(result).containsExactly(1, 2);
+  }
+
+  @Test
+  public void select_noPresentValues()
+  {
+    // arrange
+    MinMaxPyramid pyramid = new MinMaxPyramid(givenColumn(null, null, null, 2d));
+
+    // act
+    int[] result = pyramid.select(0, 4, 1);
+
+    // assert
+    assertThat(result).containsExactly(3);
+  }
+
+  @Test
+  public void getLevel()
+  {
+    // arrange
+    MinMaxPyramid pyramid = new MinMaxPyramid(new DoubleColumn(1000));
+
+    // act & assert
+    assertThat(pyramid.getMaxLevel()).isEqualTo(10);
+    assertThat(pyramid.getLevel(1000, 2000)).isEqualTo(0);
+    assertThat(pyramid.getLevel(1000, 500)).isEqualTo(1);
+    assertThat(pyramid.getLevel(1000, 100)).isEqualTo(4);
+    assertThat(pyramid.getLevel(1000, 0)).isEqualTo(10);
+  }
+}
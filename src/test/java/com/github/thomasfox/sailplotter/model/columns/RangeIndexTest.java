@@ -0,0 +1,95 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class RangeIndexTest
+{
+  @Test
+  public void getStatistics_smallRange()
+  {
+    // arrange
+    DoubleColumn column = new DoubleColumn(4);
+    column.set(0, 3d);
+    column.set(2, -1d);
+    column.set(3, 5d);
+    RangeIndex rangeIndex = new RangeIndex(column);
+
+    // act
+    RangeIndex.Statistics statistics = rangeIndex.getStatistics(0, 3);
+
+    // assert
+    assertThat(statistics.minimum).isEqualTo(-1d);
+    assertThat(statistics.maximum).isEqualTo(3d);
+    assertThat(statistics.sum).isEqualTo(2d);
+    assertThat(statistics.count).isEqualTo(2);
+    assertThat(statistics.getAverage()).isEqualTo(1d);
+  }
+
+  @Test
+  public void getStatistics_emptyRange()
+  {
+    // arrange
+    DoubleColumn column = new DoubleColumn(100);
+    column.set(50, 1d);
+    RangeIndex rangeIndex = new RangeIndex(column);
+
+    // act
+    RangeIndex.Statistics statistics = rangeIndex.getStatistics(0, 50);
+
+    // assert
+    assertThat(statistics.count).isEqualTo(0);
+    assertThat(statistics.minimum).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(statistics.maximum).isEqualTo(Double.NEGATIVE_INFINITY);
+    assertThat(statistics.getAverage()).isNull();
+  }
+
+  @Test
+  public void getStatistics_sameAsScan()
+  {
+    // arrange
+    Random random = new Random(1);
+    DoubleColumn column = new DoubleColumn(1000);
+    for (int i = 0; i < column.size(); i++)
+    {
+      if (random.nextInt(10) != 0)
+      {
+        column.set(i, random.nextGaussian());
+      }
+    }
+    RangeIndex rangeIndex = new RangeIndex(column);
+
+    for (int run = 0; run < 200; run++)
+    {
+      int from = random.nextInt(column.size());
+      int to = from + random.nextInt(column.size() - from + 1);
+
+      // act
+      RangeIndex.Statistics statistics = rangeIndex.getStatistics(from, to);
+
+      // assert
+      double minimum = Double.POSITIVE_INFINITY;
+      double maximum = Double.NEGATIVE_INFINITY;
+      double sum = 0d;
+      int count = 0;
+      for (int i = from; i < to; i++)
+      {
+        if (column.isPresent(i))
+        {
+          minimum = Math.min(minimum, column.get(i));
+          maximum = Math.max(maximum, column.get(i));
+          sum += column.get(i);
+          count++;
+        }
+      }
+      assertThat(statistics.minimum).isEqualTo(minimum);
+      assertThat(statistics.maximum).isEqualTo(maximum);
+      assertThat(statistics.sum).isEqualTo(sum, offset(1e-9));
+      assertThat(statistics.count).isEqualTo(count);
+    }
+  }
+}
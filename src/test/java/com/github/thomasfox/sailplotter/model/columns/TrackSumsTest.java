@@ -0,0 +1,191 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.thomasfox.sailplotter.model.DataPoint;
+import com.github.thomasfox.sailplotter.model.Location;
+import com.github.thomasfox.sailplotter.model.Wind;
+
+public class TrackSumsTest
+{
+  @Test
+  public void getDistanceAndDuration()
+  {
+    // arrange
+    List<DataPoint> points = new ArrayList<>();
+    points.add(givenPoint(0L, 0d, 0d, null, 0d));
+    points.add(givenPoint(10000L, 30d, 0d, 3d, 0d));
+    points.add(givenPoint(20000L, 30d, 40d, 4d, 0d));
+
+    // act
+    TrackSums trackSums = new TrackSums(new LocationColumns(points));
+
+    // assert
+    assertThat(trackSums.size()).isEqualTo(3);
+    assertThat(trackSums.getDistance(0, 2)).isCloseTo(70d, within(0.001d));
+    assertThat(trackSums.getDistance(1, 2)).isCloseTo(40d, within(0.001d));
+    assertThat(trackSums.getDistance(1, 1)).isEqualTo(0d);
+    assertThat(trackSums.getDuration(0, 2)).isEqualTo(20000L);
+    assertThat(trackSums.getAverageVelocity(0, 2)).isCloseTo(3.5d, within(0.001d));
+    assertThat(trackSums.getAverageVelocity(1, 1)).isNull();
+  }
+
+  @Test
+  public void getAverageVMG()
+  {
+    // arrange
+    List<DataPoint> points = new ArrayList<>();
+    points.add(givenPoint(0L, 0d, 0d, null, 0d));
+    points.add(givenPoint(10000L, 30d, 0d, 3d, 0d));
+    points.add(givenPoint(20000L, 30d, 40d, 4d, 0d));
+    points.add(givenPoint(30000L, 30d, 0d, 4d, 0d));
+
+    // act
+    TrackSums trackSums = new TrackSums(new LocationColumns(points));
+
+    // assert
+    assertThat(trackSums.getAverageVMG(0, 1)).isCloseTo(0d, within(0.001d));
+    assertThat(trackSums.getAverageVMG(1, 2)).isCloseTo(4d, within(0.001d));
+    // same as the velocity between the points times the cosine of the relative bearing
+    assertThat(trackSums.getAverageVMG(0, 2)).isCloseTo(2.5d * 0.8d, within(0.001d));
+    assertThat(trackSums.getAverageVMG(2, 3)).isCloseTo(-4d, within(0.001d));
+  }
+
+  @Test
+  public void getAverageVMG_windMissing()
+  {
+    // arrange
+    List<DataPoint> points = new ArrayList<>();
+    points.add(givenPoint(0L, 0d, 0d, null, 0d));
+    points.add(givenPoint(10000L, 0d, 10d, 1d, null));
+    points.add(givenPoint(20000L, 0d, 20d, 1d, 0d));
+
+    // act
+    TrackSums trackSums = new TrackSums(new LocationColumns(points));
+
+    // assert
+    assertThat(trackSums.getAverageVMG(0, 1)).isNull();
+    assertThat(trackSums.getAverageVMG(0, 2)).isNull();
+    assertThat(trackSums.getAverageVMG(1, 2)).isCloseTo(1d, within(0.001d));
+  }
+
+  @Test
+  public void getTimeWeightedAverageVelocity()
+  {
+    // arrange
+    List<DataPoint> points = new ArrayList<>();
+    points.add(givenPoint(0L, 0d, 0d, 10d, 0d));
+    points.add(givenPoint(10000L, 30d, 0d, 3d, 0d));
+    points.add(givenPoint(40000L, 30d, 40d, 4d, 0d));
+    points.add(givenPoint(50000L, 30d, 50d, null, 0d));
+
+    // act
+    TrackSums trackSums = new TrackSums(new LocationColumns(points));
+
+    // assert
+    assertThat(trackSums.getTimeWeightedAverageVelocity(0, 1)).isCloseTo(3d, within(0.001d));
+    assertThat(trackSums.getTimeWeightedAverageVelocity(0, 2)).isCloseTo(3.75d, within(0.001d));
+    assertThat(trackSums.getTimeWeightedAverageVelocity(0, 3)).isCloseTo(3.75d, within(0.001d));
+    assertThat(trackSums.getTimeWeightedAverageVelocity(2, 3)).isNull();
+  }
+
+  @Test
+  public void builder_sameAsBatchForRetainedRows()
+  {
+    // arrange
+    List<DataPoint> points = new ArrayList<>();
+    for (int i = 0; i < 40; i++)
+    {
+      points.add(givenPoint(1000L * i, 10d * i, i % 2 == 0 ? 0d : 5d, 1d + i % 3, i % 7 == 0 ? null : 0.5d));
+    }
+    LocationColumns.Builder sut = new LocationColumns.Builder(10);
+
+    // act
+    for (DataPoint point : points)
+    {
+      sut.add(point);
+    }
+
+    // assert
+    assertThat(sut.size()).isEqualTo(10);
+    LocationColumns columns = sut.build(8);
+    TrackSums trackSums = sut.buildTrackSums(8);
+    LocationColumns expectedColumns = new LocationColumns(points.subList(32, 40));
+    TrackSums expectedTrackSums = new TrackSums(expectedColumns);
+    assertThat(columns.size()).isEqualTo(8);
+    assertThat(trackSums.size()).isEqualTo(8);
+    for (int i = 0; i < 8; i++)
+    {
+      assertThat(columns.time.get(i)).isEqualTo(expectedColumns.time.get(i));
+      assertThat(columns.x.get(i)).isEqualTo(expectedColumns.x.get(i));
+      assertThat(columns.windDirection.isPresent(i)).isEqualTo(expectedColumns.windDirection.isPresent(i));
+      for (int j = i; j < 8; j++)
+      {
+        assertThat(trackSums.getDistance(i, j)).isCloseTo(expectedTrackSums.getDistance(i, j), within(1e-9d));
+        assertThat(trackSums.getDuration(i, j)).isEqualTo(expectedTrackSums.getDuration(i, j));
+        assertCloseTo(trackSums.getAverageVMG(i, j), expectedTrackSums.getAverageVMG(i, j));
+        assertCloseTo(trackSums.getTimeWeightedAverageVelocity(i, j),
+            expectedTrackSums.getTimeWeightedAverageVelocity(i, j));
+      }
+    }
+  }
+
+  @Test
+  public void builder_buildNotChangedByLaterAdds()
+  {
+    // arrange
+    LocationColumns.Builder sut = new LocationColumns.Builder(4);
+    for (int i = 0; i < 4; i++)
+    {
+      sut.add(givenPoint(1000L * i, i, 0d, 1d, 0d));
+    }
+    LocationColumns columns = sut.build(4);
+    TrackSums trackSums = sut.buildTrackSums(4);
+
+    // act
+    for (int i = 4; i < 40; i++)
+    {
+      sut.add(givenPoint(1000L * i, 2d * i, 0d, 1d, 0d));
+    }
+
+    // assert
+    assertThat(columns.size()).isEqualTo(4);
+    assertThat(columns.x.get(0)).isEqualTo(0d);
+    assertThat(columns.x.get(3)).isEqualTo(3d);
+    assertThat(trackSums.getDistance(0, 3)).isCloseTo(3d, within(1e-9d));
+    assertThat(trackSums.getDuration(0, 3)).isEqualTo(3000L);
+  }
+
+  private void assertCloseTo(Double actual, Double expected)
+  {
+    if (expected == null)
+    {
+      assertThat(actual).isNull();
+    }
+    else
+    {
+      assertThat(actual).isCloseTo(expected, within(1e-9d));
+    }
+  }
+
+  private DataPoint givenPoint(long time, double x, double y, Double velocity, Double windDirection)
+  {
+    DataPoint point = new DataPoint(0);
+    point.setTime(time);
+    point.setLocation(new Location());
+    point.setXY(x, y);
+    point.setVelocityFromLatLong(velocity);
+    if (windDirection != null)
+    {
+      point.setWind(new Wind());
+      point.setWindDirection(windDirection);
+    }
+    return point;
+  }
+}
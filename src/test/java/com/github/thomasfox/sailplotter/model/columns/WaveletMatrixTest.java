@@ -0,0 +1,58 @@
+package com.github.thomasfox.sailplotter.model.columns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class WaveletMatrixTest
+{
+  @Test
+  public void getKthSmallest_smallSequence()
+  {
+    // arrange
+    WaveletMatrix waveletMatrix = new WaveletMatrix(new int[] {5, 1, 4, 1, 3}, 6);
+
+    // act & assert
+    assertThat(waveletMatrix.getKthSmallest(0, 5, 0)).isEqualTo(1);
+    assertThat(waveletMatrix.getKthSmallest(0, 5, 2)).isEqualTo(3);
+    assertThat(waveletMatrix.getKthSmallest(0, 5, 4)).isEqualTo(5);
+    assertThat(waveletMatrix.getKthSmallest(2, 4, 1)).isEqualTo(4);
+  }
+
+  @Test
+  public void getKthSmallest_sameAsSort()
+  {
+    // arrange
+    Random random = new Random(1);
+    int[] values = new int[1000];
+    for (int i = 0; i < values.length; i++)
+    {
+      values[i] = random.nextInt(300);
+    }
+    WaveletMatrix waveletMatrix = new WaveletMatrix(values, 300);
+
+    for (int run = 0; run < 200; run++)
+    {
+      int from = random.nextInt(values.length);
+      int to = from + 1 + random.nextInt(values.length - from);
+      int k = random.nextInt(to - from);
+
+      // act
+      int result = waveletMatrix.getKthSmallest(from, to, k);
+
+      // assert
+      int[] sorted = Arrays.copyOfRange(values, from, to);
+      Arrays.sort(sorted);
+      assertThat(result).isEqualTo(sorted[k]);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getKthSmallest_kOutOfRange()
+  {
+    new WaveletMatrix(new int[] {1, 2}, 3).getKthSmallest(0, 2, 2);
+  }
+}